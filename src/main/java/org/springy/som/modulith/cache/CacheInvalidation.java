@@ -0,0 +1,11 @@
+package org.springy.som.modulith.cache;
+
+/** A write on node {@code origin} that other nodes must evict; {@code id} is {@code null} for the whole collection. */
+public record CacheInvalidation(String collection, String id, long version, String origin) {
+    public static final String WHOLE_COLLECTION = "*";
+
+    /** Kafka record key; keeps the invalidations of one entry on one partition, in order. */
+    public String key() {
+        return collection + ":" + (id == null ? WHOLE_COLLECTION : id);
+    }
+}
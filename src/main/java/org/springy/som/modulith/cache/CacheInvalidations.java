@@ -0,0 +1,31 @@
+package org.springy.som.modulith.cache;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Announces local writes to the other nodes after the local caches are updated. */
+@Component
+public class CacheInvalidations {
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong versions = new AtomicLong();
+
+    public CacheInvalidations(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public void publish(String collection, String id) {
+        eventPublisher.publishEvent(new CacheInvalidation(collection, id, versions.incrementAndGet(), nodeId));
+    }
+
+    public void publishAll(String collection) {
+        publish(collection, null);
+    }
+}
@@ -0,0 +1,134 @@
+package org.springy.som.modulith.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** Carries {@link CacheInvalidation}s between nodes and republishes them as {@link RemoteCacheInvalidation}. */
+@Slf4j
+@Component
+@ConditionalOnBooleanProperty(name = "som.cache.invalidation.enabled")
+class KafkaCacheInvalidationBus implements ConsumerSeekAware {
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final String topic;
+    // Highest version applied per origin and entry; an entry that expires only costs one extra eviction.
+    private final Cache<String, Long> appliedVersions = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    private final AtomicBoolean assigned = new AtomicBoolean();
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter applied;
+    private final Counter duplicates;
+
+    KafkaCacheInvalidationBus(KafkaTemplate<String, String> kafkaTemplate,
+                              ObjectMapper objectMapper,
+                              ApplicationEventPublisher eventPublisher,
+                              CacheInvalidations cacheInvalidations,
+                              MeterRegistry meterRegistry,
+                              @Value("${som.cache.invalidation.topic:som.cache-invalidations}") String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = cacheInvalidations.nodeId();
+        this.topic = topic;
+        this.sent = meterRegistry.counter("som.cache.invalidation.sent");
+        this.failed = meterRegistry.counter("som.cache.invalidation.failed");
+        this.applied = meterRegistry.counter("som.cache.invalidation.applied");
+        this.duplicates = meterRegistry.counter("som.cache.invalidation.duplicates");
+    }
+
+    @EventListener
+    void onCacheInvalidation(CacheInvalidation invalidation) {
+        if (!nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        kafkaTemplate.send(topic, invalidation.key(), write(invalidation)).whenComplete((result, ex) -> {
+            if (ex != null) {
+                failed.increment();
+                log.warn("Could not send cache invalidation {}; other nodes keep the entry until it is next written",
+                        invalidation.key(), ex);
+            } else {
+                sent.increment();
+            }
+        });
+    }
+
+    // Each node needs every message, so each has its own group; a stable id lets a restart resume from its offsets.
+    @KafkaListener(topics = "${som.cache.invalidation.topic:som.cache-invalidations}",
+            groupId = "${som.cache.invalidation.group-id:som-cache-${HOSTNAME:local}}",
+            properties = "auto.offset.reset=latest")
+    void onMessage(String payload) {
+        CacheInvalidation invalidation = read(payload);
+        if (invalidation == null || nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        if (!firstDelivery(invalidation)) {
+            duplicates.increment();
+            return;
+        }
+        eventPublisher.publishEvent(new RemoteCacheInvalidation(invalidation.collection(), invalidation.id()));
+        applied.increment();
+    }
+
+    /** Invalidations sent before the first assignment were never seen, so everything cached so far is dropped. */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (!assignments.isEmpty() && assigned.compareAndSet(false, true)) {
+            log.info("Receiving cache invalidations on {}; dropping every local cache once", assignments.keySet());
+            eventPublisher.publishEvent(RemoteCacheInvalidation.everything());
+        }
+    }
+
+    boolean firstDelivery(CacheInvalidation invalidation) {
+        AtomicBoolean fresh = new AtomicBoolean();
+        appliedVersions.asMap().compute(invalidation.origin() + "|" + invalidation.key(), (key, last) -> {
+            if (last != null && last >= invalidation.version()) {
+                return last;
+            }
+            fresh.set(true);
+            return invalidation.version();
+        });
+        return fresh.get();
+    }
+
+    private String write(CacheInvalidation invalidation) {
+        try {
+            return objectMapper.writeValueAsString(invalidation);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialise cache invalidation " + invalidation.key(), ex);
+        }
+    }
+
+    private CacheInvalidation read(String payload) {
+        try {
+            return objectMapper.readValue(payload, CacheInvalidation.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Ignoring unreadable cache invalidation: {}", payload, ex);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.springy.som.modulith.cache;
+
+/** Published locally when another node changed {@code collection}; {@code id} is {@code null} for all of it. */
+public record RemoteCacheInvalidation(String collection, String id) {
+    /** Every collection at once, for when this node may have missed invalidations. */
+    public static RemoteCacheInvalidation everything() {
+        return new RemoteCacheInvalidation(null, null);
+    }
+
+    public boolean concerns(String name) {
+        return collection == null || collection.equals(name);
+    }
+}
@@ -15,7 +15,7 @@ public class WebSecurityConfig {
     SecurityFilterChain apiChain(HttpSecurity http, JwtAuthenticationConverter jwtAuthConverter) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
-            .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+            .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
             .requestMatchers("/ops/**").hasAuthority("ROLE_somadmin")
             .requestMatchers("/gm/**").hasAnyAuthority("ROLE_game-master", "ROLE_somadmin")
             .requestMatchers("/api/v1/**").hasAnyAuthority("ROLE_somplayer", "ROLE_game-master", "ROLE_somadmin")
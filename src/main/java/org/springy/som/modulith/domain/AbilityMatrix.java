@@ -0,0 +1,143 @@
+package org.springy.som.modulith.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/** Skill or spell levels and ratings per class, compiled into dense tables. */
+public final class AbilityMatrix {
+    public static final int UNAVAILABLE = Integer.MAX_VALUE;
+
+    public record Available(String id, String name, int level, int rating) {}
+
+    private final Map<String, Integer> classOrdinals;
+    private final Map<String, Integer> slots;
+    private final String[] ids;
+    private final String[] names;
+    private final int[][] levels;
+    private final int[][] ratings;
+    private final int[][] slotsByLevel;
+
+    private AbilityMatrix(Map<String, Integer> classOrdinals, Map<String, Integer> slots, String[] ids, String[] names,
+                          int[][] levels, int[][] ratings, int[][] slotsByLevel) {
+        this.classOrdinals = classOrdinals;
+        this.slots = slots;
+        this.ids = ids;
+        this.names = names;
+        this.levels = levels;
+        this.ratings = ratings;
+        this.slotsByLevel = slotsByLevel;
+    }
+
+    public static <T> AbilityMatrix of(Collection<T> abilities,
+                                       Function<T, String> id,
+                                       Function<T, String> name,
+                                       Function<T, Map<String, Integer>> levelByClass,
+                                       Function<T, Map<String, Integer>> ratingByClass) {
+        Map<String, Integer> classOrdinals = new HashMap<>();
+        for (T ability : abilities) {
+            register(classOrdinals, levelByClass.apply(ability));
+            register(classOrdinals, ratingByClass.apply(ability));
+        }
+        int classes = classOrdinals.size();
+        int count = abilities.size();
+
+        Map<String, Integer> slots = new HashMap<>();
+        String[] ids = new String[count];
+        String[] names = new String[count];
+        int[][] levels = new int[count][classes];
+        int[][] ratings = new int[count][classes];
+        int slot = 0;
+        for (T ability : abilities) {
+            ids[slot] = id.apply(ability);
+            names[slot] = name.apply(ability);
+            if (names[slot] != null) {
+                slots.put(key(names[slot]), slot);
+            }
+            Arrays.fill(levels[slot], UNAVAILABLE);
+            fill(levels[slot], classOrdinals, levelByClass.apply(ability));
+            fill(ratings[slot], classOrdinals, ratingByClass.apply(ability));
+            slot++;
+        }
+
+        int[][] slotsByLevel = new int[classes][];
+        for (int c = 0; c < classes; c++) {
+            int column = c;
+            slotsByLevel[c] = IntStream.range(0, count)
+                    .filter(s -> levels[s][column] != UNAVAILABLE)
+                    .boxed()
+                    .sorted(Comparator.<Integer>comparingInt(s -> levels[s][column])
+                            .thenComparing(s -> names[s], Comparator.nullsLast(Comparator.<String>naturalOrder())))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        return new AbilityMatrix(Collections.unmodifiableMap(classOrdinals), Collections.unmodifiableMap(slots),
+                ids, names, levels, ratings, slotsByLevel);
+    }
+
+    public int level(String ability, String className) {
+        Integer slot = slots.get(key(ability));
+        Integer column = classOrdinals.get(key(className));
+        return slot == null || column == null ? UNAVAILABLE : levels[slot][column];
+    }
+
+    public int rating(String ability, String className) {
+        Integer slot = slots.get(key(ability));
+        Integer column = classOrdinals.get(key(className));
+        return slot == null || column == null ? 0 : ratings[slot][column];
+    }
+
+    public boolean canUse(String ability, String className, int level) {
+        return level(ability, className) <= level;
+    }
+
+    public List<Available> availableTo(String className, int level) {
+        Integer column = classOrdinals.get(key(className));
+        if (column == null) {
+            return List.of();
+        }
+        int[] ordered = slotsByLevel[column];
+        List<Available> available = new ArrayList<>();
+        for (int i = 0; i < ordered.length && levels[ordered[i]][column] <= level; i++) {
+            int slot = ordered[i];
+            available.add(new Available(ids[slot], names[slot], levels[slot][column], ratings[slot][column]));
+        }
+        return available;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    private static void register(Map<String, Integer> classOrdinals, Map<String, Integer> byClass) {
+        if (byClass == null) {
+            return;
+        }
+        for (String className : byClass.keySet()) {
+            classOrdinals.putIfAbsent(key(className), classOrdinals.size());
+        }
+    }
+
+    private static void fill(int[] row, Map<String, Integer> classOrdinals, Map<String, Integer> byClass) {
+        if (byClass == null) {
+            return;
+        }
+        byClass.forEach((className, value) -> {
+            if (value != null) {
+                row[classOrdinals.get(key(className))] = value;
+            }
+        });
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -15,6 +15,7 @@ import org.springy.som.modulith.domain.note.internal.InvalidNoteException;
 import org.springy.som.modulith.domain.note.internal.NoteNotFoundException;
 import org.springy.som.modulith.domain.player.internal.InvalidPlayerException;
 import org.springy.som.modulith.domain.race.internal.InvalidRomRaceException;
+import org.springy.som.modulith.domain.reference.internal.InvalidReferenceException;
 import org.springy.som.modulith.domain.reset.internal.InvalidResetException;
 import org.springy.som.modulith.domain.room.internal.InvalidRoomException;
 import org.springy.som.modulith.domain.shop.internal.InvalidShopException;
@@ -43,6 +44,14 @@ public final class DomainGuards {
         return () -> new InvalidPlayerCharacterException("CharacterDocument id must be provided");
     }
 
+    public static Supplier<InvalidPlayerCharacterException> playerCharacterRoomIdMissing() {
+        return () -> new InvalidPlayerCharacterException("CharacterDocument room id must be provided");
+    }
+
+    public static Supplier<InvalidPlayerCharacterException> playerCharacterAreaIdMissing() {
+        return () -> new InvalidPlayerCharacterException("CharacterDocument area id must be provided");
+    }
+
     public static Supplier<InvalidClassException> romClassMissing() {
         return () -> new InvalidClassException("ClassDocument must be provided");
     }
@@ -59,6 +68,10 @@ public final class DomainGuards {
         return () -> new InvalidCommandException("ROM command id must be provided");
     }
 
+    public static Supplier<InvalidCommandException> commandInputMissing() {
+        return () -> new InvalidCommandException("ROM command input must be provided");
+    }
+
     public static Supplier<SocialNotFoundException> socialMissing() {
         return () -> new SocialNotFoundException("ROM social not found in repository");
     }
@@ -67,6 +80,14 @@ public final class DomainGuards {
         return () -> new InvalidSocialException("ROM social id must be provided");
     }
 
+    public static Supplier<InvalidSocialException> socialNameMissing() {
+        return () -> new InvalidSocialException("ROM social name must be provided");
+    }
+
+    public static Supplier<InvalidSocialException> socialActorMissing() {
+        return () -> new InvalidSocialException("ROM social actor must be provided");
+    }
+
     public static Supplier<HelpNotFoundException> helpMissing() {
         return () -> new HelpNotFoundException("ROM help not found in repository");
     }
@@ -75,6 +96,10 @@ public final class DomainGuards {
         return () -> new InvalidHelpException("ROM help id must be provided");
     }
 
+    public static Supplier<InvalidHelpException> helpQueryMissing() {
+        return () -> new InvalidHelpException("ROM help query must be provided");
+    }
+
     public static Supplier<InvalidItemException> itemMissing() {
         return () -> new InvalidItemException("ROM item must be provided");
     }
@@ -115,6 +140,14 @@ public final class DomainGuards {
         return () -> new InvalidRomRaceException("ROM race id must be provided");
     }
 
+    public static Supplier<InvalidReferenceException> referenceRaceMissing() {
+        return () -> new InvalidReferenceException("ROM race id or name must be provided");
+    }
+
+    public static Supplier<InvalidReferenceException> referenceClassMissing() {
+        return () -> new InvalidReferenceException("ROM class id or name must be provided");
+    }
+
     public static Supplier<InvalidResetException> resetMissing() {
         return () -> new InvalidResetException("ROM reset must be provided");
     }
@@ -123,6 +156,10 @@ public final class DomainGuards {
         return () -> new InvalidResetException("ROM reset id must be provided");
     }
 
+    public static Supplier<InvalidResetException> resetAreaIdMissing() {
+        return () -> new InvalidResetException("ROM reset area id must be provided");
+    }
+
     public static Supplier<InvalidRoomException> roomMissing() {
         return () -> new InvalidRoomException("ROM room must be provided");
     }
@@ -131,6 +168,10 @@ public final class DomainGuards {
         return () -> new InvalidRoomException("ROM room id must be provided");
     }
 
+    public static Supplier<InvalidRoomException> roomAreaIdMissing() {
+        return () -> new InvalidRoomException("ROM room area id must be provided");
+    }
+
     public static Supplier<InvalidShopException> shopMissing() {
         return () -> new InvalidShopException("ROM shop must be provided");
     }
@@ -159,6 +200,10 @@ public final class DomainGuards {
         return () -> new InvalidSkillException("ROM skill must be provided");
     }
 
+    public static Supplier<InvalidSkillException> skillClassMissing() {
+        return () -> new InvalidSkillException("ROM skill class name must be provided");
+    }
+
     public static Supplier<InvalidSpellException> spellNameMissing() {
         return () -> new InvalidSpellException("ROM spell name must be provided");
     }
@@ -170,4 +215,8 @@ public final class DomainGuards {
     public static Supplier<InvalidSpellException> spellMissing() {
         return () -> new InvalidSpellException("ROM spell must be provided");
     }
+
+    public static Supplier<InvalidSpellException> spellClassMissing() {
+        return () -> new InvalidSpellException("ROM spell class name must be provided");
+    }
 }
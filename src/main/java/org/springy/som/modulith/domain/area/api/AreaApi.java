@@ -1,14 +1,19 @@
 package org.springy.som.modulith.domain.area.api;
 
 import org.springy.som.modulith.domain.area.internal.AreaDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AreaApi {
     List<AreaDocument> getAllAreas();
+    Stream<AreaDocument> streamAllAreas();
+    KeysetPage<AreaDocument> getAreasPage(String after, int size);
     AreaDocument getAreaById(String id);
     AreaDocument createArea(AreaDocument areaDocument);
     AreaDocument saveAreaForId(String id, AreaDocument areaDocument);
     void deleteAreaById(String id);
-    long deleteAllAreas();
+    AreaCascadeReport deleteAllAreas();
+    AreaBundle getAreaBundle(String id);
 }
@@ -0,0 +1,19 @@
+package org.springy.som.modulith.domain.area.api;
+
+import java.util.List;
+import java.util.Map;
+
+/** Views of an area and all of its content, keyed by {@link AreaContentSource#kind()}. */
+public record AreaBundle(AreaView area, Map<String, List<?>> content) {
+    public AreaBundle {
+        content = Map.copyOf(content);
+    }
+
+    public List<?> content(String kind) {
+        return content.getOrDefault(kind, List.of());
+    }
+
+    public int documents() {
+        return content.values().stream().mapToInt(List::size).sum();
+    }
+}
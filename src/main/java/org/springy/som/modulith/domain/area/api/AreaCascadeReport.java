@@ -0,0 +1,9 @@
+package org.springy.som.modulith.domain.area.api;
+
+import java.util.Map;
+
+public record AreaCascadeReport(long deletedCount, Map<String, Long> dependentsRemoved) {
+    public AreaCascadeReport {
+        dependentsRemoved = Map.copyOf(dependentsRemoved);
+    }
+}
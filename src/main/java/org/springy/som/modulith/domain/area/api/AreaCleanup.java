@@ -0,0 +1,9 @@
+package org.springy.som.modulith.domain.area.api;
+
+import java.util.Collection;
+
+public interface AreaCleanup {
+    String kind();
+
+    long deleteAllByAreaIds(Collection<String> areaIds);
+}
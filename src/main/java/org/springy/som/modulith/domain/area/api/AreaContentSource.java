@@ -0,0 +1,22 @@
+package org.springy.som.modulith.domain.area.api;
+
+import java.util.List;
+import java.util.Optional;
+
+/** One kind of area content, filed under {@code kind} in the {@link AreaBundle}. */
+public interface AreaContentSource<T> {
+    String kind();
+
+    Class<T> documentType();
+
+    List<T> findAllByAreaId(String areaId);
+
+    Optional<T> findById(String id);
+
+    String idOf(T document);
+
+    String areaIdOf(T document);
+
+    /** The immutable form the document is kept and handed out in. */
+    Object toView(T document);
+}
@@ -1,4 +0,0 @@
-package org.springy.som.modulith.domain.area.api;
-
-public record AreaDeletedEvent(String areaId) {
-}
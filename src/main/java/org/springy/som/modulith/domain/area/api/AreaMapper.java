@@ -18,7 +18,8 @@ public final class AreaMapper {
                 doc.getObjects(),
                 doc.getShops(),
                 doc.getResets(),
-                doc.getSpecials()
+                doc.getSpecials(),
+                doc.getVersion()
         );
     }
 }
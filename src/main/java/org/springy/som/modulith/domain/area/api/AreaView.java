@@ -13,5 +13,6 @@ public record AreaView(
         List<String> objects,
         List<String> shops,
         List<String> resets,
-        List<String> specials
+        List<String> specials,
+        Long version
 ) {}
@@ -0,0 +1,9 @@
+package org.springy.som.modulith.domain.area.api;
+
+import java.util.List;
+
+public record AreasDeletedEvent(List<String> areaIds) {
+    public AreasDeletedEvent {
+        areaIds = List.copyOf(areaIds);
+    }
+}
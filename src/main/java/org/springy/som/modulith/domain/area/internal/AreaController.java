@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.area.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -8,11 +10,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.ResponseEntity;
-import org.springy.som.modulith.web.DeleteAllResponse;
+import org.springy.som.modulith.domain.area.api.AreaCascadeReport;
 import org.springy.som.modulith.domain.area.api.AreaMapper;
 import org.springy.som.modulith.domain.area.api.AreaView;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
 import java.net.URI;
 import java.util.ArrayList;
@@ -23,9 +29,11 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/api/v1/areas", produces = "application/json")
 public class AreaController {
     private final AreaService areaService;
+    private final ObjectMapper objectMapper;
 
-    public AreaController(AreaService areaService) {
+    public AreaController(AreaService areaService, ObjectMapper objectMapper) {
         this.areaService = areaService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -37,6 +45,17 @@ public class AreaController {
         return ResponseEntity.ok(areaViews);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAreas() {
+        return NdjsonStreams.respond(areaService::streamAllAreas, AreaMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<AreaView>> getAreasPage(@RequestParam int size,
+                                                             @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(areaService.getAreasPage(after, size).map(AreaMapper::toView));
+    }
+
     @GetMapping(path = "/{id}")
     public ResponseEntity<AreaView> getAreaById(@PathVariable String id) {
         return ResponseEntity.ok(AreaMapper.toView(areaService.getAreaById(id)));
@@ -65,7 +84,7 @@ public class AreaController {
     }
 
     @DeleteMapping
-    public ResponseEntity<DeleteAllResponse> deleteAll() {
-        return ResponseEntity.ok(new DeleteAllResponse(areaService.deleteAllAreas()));
+    public ResponseEntity<AreaCascadeReport> deleteAll() {
+        return ResponseEntity.ok(areaService.deleteAllAreas());
     }
 }
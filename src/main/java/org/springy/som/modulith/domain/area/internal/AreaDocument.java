@@ -3,6 +3,8 @@ package org.springy.som.modulith.domain.area.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -13,6 +15,7 @@ public class AreaDocument {
     private String author;
     @NotBlank(message = "name must not be blank")
     private String name;
+    @Indexed(unique = true, sparse = true)
     private String vnum;
     private String suggestedLevelRange;
     private List<String> rooms;
@@ -24,4 +27,7 @@ public class AreaDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
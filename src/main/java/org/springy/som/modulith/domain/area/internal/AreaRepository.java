@@ -1,8 +1,13 @@
 package org.springy.som.modulith.domain.area.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface AreaRepository extends MongoRepository<AreaDocument, String> {
     @Query("{id: '?0'}")
@@ -10,4 +15,17 @@ public interface AreaRepository extends MongoRepository<AreaDocument, String> {
 
     @Query("{vnum: '?0'}")
     AreaDocument findAreaByVnum(String vnum);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<AreaDocument> streamAllBy();
+
+    @Meta(cursorBatchSize = 500)
+    @Query(value = "{}", fields = "{ '_id': 1 }")
+    Stream<AreaDocument> streamIdsBy();
+
+    long deleteAllByIdIn(Collection<String> ids);
+
+    List<AreaDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<AreaDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
@@ -0,0 +1,412 @@
+package org.springy.som.modulith.domain.area.internal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.area.api.AreaBundle;
+import org.springy.som.modulith.domain.area.api.AreaContentSource;
+import org.springy.som.modulith.domain.area.api.AreaMapper;
+import org.springy.som.modulith.domain.character.api.CharacterApi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/** Keeps recently used areas in memory; idle areas are dropped once the budget is exceeded. */
+@Slf4j
+@Component
+class AreaResidency {
+    static final String AREA = "area";
+
+    private static final ObjectMapper SIZER = JsonMapper.builder().findAndAddModules().build();
+
+    private static final class Resident {
+        private final AreaBundle bundle;
+        private final Map<String, Set<String>> ids;
+        private final long bytes;
+        private volatile long lastAccess;
+
+        private Resident(AreaBundle bundle, Map<String, Set<String>> ids, long bytes) {
+            this.bundle = bundle;
+            this.ids = ids;
+            this.bytes = bytes;
+            touch();
+        }
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+
+        private boolean holds(String kind, String id) {
+            return ids.getOrDefault(kind, Set.of()).contains(id);
+        }
+    }
+
+    private final AreaRepository areaRepository;
+    private final List<AreaContentSource<?>> sources;
+    private final ToIntFunction<String> population;
+    private final long budgetBytes;
+    private final Map<String, Resident> residents = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<AreaBundle>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong residentBytes = new AtomicLong();
+    private final Object lock = new Object();
+    private final Timer pageIns;
+    private final Counter budgetEvictions;
+    private final Counter staleEvictions;
+    // Write sequence numbers, checked when a page-in finishes so a load that overlapped a write is not kept.
+    private long writes;
+    private long clearedAt;
+    private final Map<String, Long> areaWrites = new HashMap<>();
+    private final Map<String, Long> documentWrites = new HashMap<>();
+
+    AreaResidency(AreaRepository areaRepository,
+                  List<AreaContentSource<?>> sources,
+                  ObjectProvider<CharacterApi> characters,
+                  MeterRegistry meterRegistry,
+                  @Value("${som.areas.residency.budget-mb:64}") long budgetMegabytes) {
+        this.areaRepository = areaRepository;
+        this.sources = List.copyOf(sources);
+        CharacterApi characterApi = characters.getIfAvailable();
+        this.population = characterApi == null ? areaId -> 0 : areaId -> characterApi.getAreaPopulation(areaId).characters();
+        this.budgetBytes = Math.max(1, budgetMegabytes) * 1024 * 1024;
+        this.pageIns = meterRegistry.timer("som.areas.page-in");
+        this.budgetEvictions = meterRegistry.counter("som.areas.evictions", "cause", "budget");
+        this.staleEvictions = meterRegistry.counter("som.areas.evictions", "cause", "stale");
+        meterRegistry.gauge("som.areas.resident", residents, Map::size);
+        meterRegistry.gauge("som.areas.resident.bytes", residentBytes, AtomicLong::get);
+    }
+
+    /** The area's bundle, paged in from Mongo if it is not resident. */
+    AreaBundle get(String areaId) {
+        Resident resident = residents.get(areaId);
+        if (resident != null) {
+            resident.touch();
+            return resident.bundle;
+        }
+        return pageIn(areaId);
+    }
+
+    boolean isResident(String areaId) {
+        return residents.containsKey(areaId);
+    }
+
+    int residentAreas() {
+        return residents.size();
+    }
+
+    long residentBytes() {
+        return residentBytes.get();
+    }
+
+    void evict(String areaId) {
+        synchronized (lock) {
+            areaWritten(areaId);
+            drop(areaId, staleEvictions);
+        }
+    }
+
+    void clear() {
+        synchronized (lock) {
+            clearedAt = ++writes;
+            new ArrayList<>(residents.keySet()).forEach(areaId -> drop(areaId, staleEvictions));
+        }
+    }
+
+    @EventListener
+    void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (invalidation.concerns(AreaService.COLLECTION)) {
+            if (invalidation.id() == null) {
+                clear();
+            } else {
+                evict(invalidation.id());
+            }
+            return;
+        }
+        for (AreaContentSource<?> source : sources) {
+            if (source.kind().equals(invalidation.collection())) {
+                if (invalidation.id() == null) {
+                    clear();
+                } else {
+                    onRemoteContentChanged(source, invalidation.id());
+                }
+            }
+        }
+    }
+
+    @EventListener
+    void onAfterSave(AfterSaveEvent<?> event) {
+        Object document = event.getSource();
+        if (document instanceof AreaDocument area) {
+            evict(area.getId());
+            return;
+        }
+        for (AreaContentSource<?> source : sources) {
+            if (source.documentType().isInstance(document)) {
+                onContentSaved(source, document);
+            }
+        }
+    }
+
+    @EventListener
+    void onAfterDelete(AfterDeleteEvent<?> event) {
+        Class<?> type = event.getType();
+        String kind = type == AreaDocument.class ? AREA : kindOf(type);
+        if (kind == null) {
+            return;
+        }
+        Document filter = event.getSource();
+        Set<String> ids = values(filter.get("_id"));
+        Set<String> areaIds = values(filter.get("areaId"));
+        synchronized (lock) {
+            if (ids == null && areaIds == null) {
+                clearedAt = ++writes;
+            }
+            if (areaIds != null) {
+                areaIds.forEach(this::areaWritten);
+            }
+            if (ids != null) {
+                ids.forEach(id -> {
+                    if (kind.equals(AREA)) {
+                        areaWritten(id);
+                    } else {
+                        documentWritten(kind, id);
+                    }
+                });
+            }
+            for (String areaId : new ArrayList<>(residents.keySet())) {
+                Resident resident = residents.get(areaId);
+                if (resident == null) {
+                    continue;
+                }
+                boolean affected = ids == null && areaIds == null
+                        || kind.equals(AREA) && ids != null && ids.contains(areaId)
+                        || areaIds != null && areaIds.contains(areaId)
+                        || ids != null && ids.stream().anyMatch(id -> resident.holds(kind, id));
+                if (affected) {
+                    drop(areaId, staleEvictions);
+                }
+            }
+        }
+    }
+
+    private AreaBundle pageIn(String areaId) {
+        CompletableFuture<AreaBundle> mine = new CompletableFuture<>();
+        CompletableFuture<AreaBundle> running = loading.putIfAbsent(areaId, mine);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            Resident resident = residents.get(areaId);
+            AreaBundle bundle = resident != null ? resident.bundle : load(areaId);
+            mine.complete(bundle);
+            return bundle;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(areaId, mine);
+        }
+    }
+
+    private AreaBundle load(String areaId) {
+        long startedAt;
+        synchronized (lock) {
+            startedAt = writes;
+        }
+        long started = System.nanoTime();
+        AreaDocument area = areaRepository.findAreaById(areaId);
+        if (area == null) {
+            throw new AreaNotFoundException(areaId);
+        }
+        Map<String, List<?>> content = new HashMap<>();
+        Map<String, Set<String>> ids = new HashMap<>();
+        for (AreaContentSource<?> source : sources) {
+            collect(source, areaId, content, ids);
+        }
+        AreaBundle bundle = new AreaBundle(AreaMapper.toView(area), content);
+        Resident resident = new Resident(bundle, Map.copyOf(ids), weigh(bundle));
+        pageIns.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        synchronized (lock) {
+            if (!writtenSince(startedAt, areaId, resident)) {
+                residents.put(areaId, resident);
+                residentBytes.addAndGet(resident.bytes);
+                evictOverBudget();
+            }
+        }
+        log.debug("Paged in area {}: {} documents, ~{} bytes", areaId, bundle.documents(), resident.bytes);
+        return bundle;
+    }
+
+    /** Drops idle areas, least recently accessed first, until the residents fit; occupied areas stay. */
+    private void evictOverBudget() {
+        if (residentBytes.get() <= budgetBytes) {
+            return;
+        }
+        List<Map.Entry<String, Resident>> byAge = new ArrayList<>(residents.entrySet());
+        byAge.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+        for (Map.Entry<String, Resident> entry : byAge) {
+            if (residentBytes.get() <= budgetBytes) {
+                return;
+            }
+            if (population.applyAsInt(entry.getKey()) == 0) {
+                drop(entry.getKey(), budgetEvictions);
+            }
+        }
+    }
+
+    private void drop(String areaId, Counter cause) {
+        Resident removed = residents.remove(areaId);
+        if (removed != null) {
+            residentBytes.addAndGet(-removed.bytes);
+            cause.increment();
+        }
+    }
+
+    private <T> void onContentSaved(AreaContentSource<T> source, Object saved) {
+        T document = source.documentType().cast(saved);
+        onContentChanged(source.kind(), source.idOf(document), source.areaIdOf(document));
+    }
+
+    private <T> void onRemoteContentChanged(AreaContentSource<T> source, String id) {
+        String areaId;
+        try {
+            areaId = source.findById(id).map(source::areaIdOf).orElse(null);
+        } catch (DataAccessException ex) {
+            log.warn("Could not look up {} {} after a remote write; dropping every resident area", source.kind(), id, ex);
+            clear();
+            return;
+        }
+        onContentChanged(source.kind(), id, areaId);
+    }
+
+    private void onContentChanged(String kind, String id, String areaId) {
+        synchronized (lock) {
+            documentWritten(kind, id);
+            if (areaId != null) {
+                areaWritten(areaId);
+                drop(areaId, staleEvictions);
+            }
+            // The document may have moved here from another resident area.
+            for (String residentId : new ArrayList<>(residents.keySet())) {
+                Resident resident = residents.get(residentId);
+                if (resident != null && resident.holds(kind, id)) {
+                    drop(residentId, staleEvictions);
+                }
+            }
+        }
+    }
+
+    private void areaWritten(String areaId) {
+        areaWrites.put(areaId, ++writes);
+    }
+
+    private void documentWritten(String kind, String id) {
+        writes++;
+        // Only a page-in still running can have read the document before this write.
+        if (loading.isEmpty()) {
+            documentWrites.clear();
+        } else {
+            documentWrites.put(kind + ":" + id, writes);
+        }
+    }
+
+    private boolean writtenSince(long startedAt, String areaId, Resident resident) {
+        if (clearedAt > startedAt || areaWrites.getOrDefault(areaId, 0L) > startedAt) {
+            return true;
+        }
+        for (Map.Entry<String, Set<String>> kind : resident.ids.entrySet()) {
+            for (String id : kind.getValue()) {
+                if (documentWrites.getOrDefault(kind.getKey() + ":" + id, 0L) > startedAt) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String kindOf(Class<?> type) {
+        if (type == null) {
+            return null;
+        }
+        for (AreaContentSource<?> source : sources) {
+            if (source.documentType().isAssignableFrom(type)) {
+                return source.kind();
+            }
+        }
+        return null;
+    }
+
+    private static <T> void collect(AreaContentSource<T> source, String areaId,
+                                    Map<String, List<?>> content, Map<String, Set<String>> ids) {
+        List<T> documents = source.findAllByAreaId(areaId);
+        List<Object> views = new ArrayList<>(documents.size());
+        Set<String> documentIds = new HashSet<>(documents.size() * 2);
+        for (T document : documents) {
+            views.add(source.toView(document));
+            String id = source.idOf(document);
+            if (id != null) {
+                documentIds.add(id);
+            }
+        }
+        content.put(source.kind(), List.copyOf(views));
+        ids.put(source.kind(), Set.copyOf(documentIds));
+    }
+
+    /** The ids a delete filter names, or {@code null} when it matches by anything else. */
+    private static Set<String> values(Object criterion) {
+        if (criterion instanceof String value) {
+            return Set.of(value);
+        }
+        if (criterion instanceof Document operators && operators.get("$in") instanceof Collection<?> values) {
+            Set<String> ids = new HashSet<>();
+            values.forEach(value -> ids.add(String.valueOf(value)));
+            return ids;
+        }
+        return null;
+    }
+
+    private static long weigh(AreaBundle bundle) {
+        try {
+            return SIZER.writeValueAsBytes(bundle).length;
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not size bundle of area {}; counting 1 KiB per document", bundle.area().id(), ex);
+            return 1024L * (bundle.documents() + 1);
+        }
+    }
+
+    private static AreaBundle await(CompletableFuture<AreaBundle> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -6,27 +6,55 @@ import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import org.springy.som.modulith.domain.area.api.AreaDeletedEvent;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.area.api.AreaBundle;
+import org.springy.som.modulith.domain.area.api.AreaCascadeReport;
+import org.springy.som.modulith.domain.area.api.AreaCleanup;
+import org.springy.som.modulith.domain.area.api.AreasDeletedEvent;
 import org.springy.som.modulith.domain.area.api.AreaApi;
 import org.springy.som.modulith.domain.DomainGuards;
+import org.springy.som.modulith.mongo.DuplicateKeys;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.KeysetPage;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class AreaService implements AreaApi {
+    static final String COLLECTION = "areas";
+    private static final int CASCADE_BATCH_SIZE = 500;
+
     private final AreaRepository areaRepository;
     private final ApplicationEventPublisher eventPublisher;
-
-    public AreaService(AreaRepository areaRepository, ApplicationEventPublisher eventPublisher) {
+    private final AreaResidency areaResidency;
+    private final List<AreaCleanup> cleanups;
+    private final CacheInvalidations cacheInvalidations;
+
+    public AreaService(AreaRepository areaRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       AreaResidency areaResidency,
+                       List<AreaCleanup> cleanups,
+                       CacheInvalidations cacheInvalidations) {
         this.areaRepository = areaRepository;
         this.eventPublisher = eventPublisher;
+        this.areaResidency = areaResidency;
+        this.cleanups = List.copyOf(cleanups);
+        this.cacheInvalidations = cacheInvalidations;
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllAreasFallback")
@@ -41,6 +69,28 @@ public class AreaService implements AreaApi {
         }
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<AreaDocument> streamAllAreas() {
+        return areaRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<AreaDocument> getAreasPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<AreaDocument> fetched = lastId == null
+                    ? areaRepository.findAllByOrderByIdAsc(limit)
+                    : areaRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, AreaDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getAreasPage after={}", after, ex);
+            throw new AreaPersistenceException("Failed to load areas page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAreaByIdFallback")
     @Retry(name = "somAPI")
     @Bulkhead(name = "somAPI")
@@ -72,14 +122,14 @@ public class AreaService implements AreaApi {
             throw new InvalidAreaException("Area vnum must not be blank");
         }
 
-        // Check for duplicate vnum
-        AreaDocument existing = areaRepository.findAreaByVnum(vnum);
-        if (existing != null) {
-            throw new DuplicateAreaException("Area with vnum '" + vnum + "' already exists");
-        }
-
         try {
-            return areaRepository.save(areaDocument);
+            AreaDocument saved = areaRepository.insert(areaDocument);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
+        } catch (DuplicateKeyException ex) {
+            throw new DuplicateAreaException(DuplicateKeys.onId(areaDocument.getId(), areaRepository::existsById)
+                    ? "Area with id '" + areaDocument.getId() + "' already exists"
+                    : "Area with vnum '" + vnum + "' already exists");
         } catch (DataAccessException ex) {
             log.warn("DB failure in createArea areaId={}", safeId(areaDocument, AreaDocument::getId), ex);
             throw new AreaPersistenceException("Failed to create areaDocument"+ex);
@@ -89,11 +139,13 @@ public class AreaService implements AreaApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public AreaDocument saveAreaForId(String id, AreaDocument areaDocument) {
-        AreaDocument existing = areaRepository.findAreaById(id);
-        requireText(existing.getId(), DomainGuards.areaIdMissing());
-        requireEntityWithId(existing, AreaDocument::getId, DomainGuards.areaMissing(), DomainGuards.areaIdMissing());
+        requireText(id, DomainGuards.areaIdMissing());
+        requireNonNull(areaDocument, DomainGuards.areaMissing());
+        areaDocument.setId(id);
 
-        return areaRepository.save(areaDocument);
+        AreaDocument saved = VersionedSave.save(areaRepository, id, areaDocument, AreaDocument::getVersion, AreaNotFoundException::new);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -106,7 +158,8 @@ public class AreaService implements AreaApi {
                 throw new AreaNotFoundException(id);
             }
             areaRepository.deleteById(id);
-            eventPublisher.publishEvent(new AreaDeletedEvent(id));
+            cascade(List.of(id), new TreeMap<>());
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAreaById id={}", id, ex);
             throw new AreaPersistenceException("Failed to delete area: " + id+" "+ex);
@@ -115,22 +168,57 @@ public class AreaService implements AreaApi {
 
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
-    public long deleteAllAreas() {
-        try {
-            List<String> areaIds = areaRepository.findAll()
-                    .stream()
-                    .map(AreaDocument::getId)
-                    .toList();
-            long itemCount = areaIds.size();
-            areaRepository.deleteAll();
-            for (String areaId : areaIds) {
-                eventPublisher.publishEvent(new AreaDeletedEvent(areaId));
+    public AreaCascadeReport deleteAllAreas() {
+        Map<String, Long> removed = new TreeMap<>();
+        long deleted = 0;
+        try (Stream<AreaDocument> areas = areaRepository.streamIdsBy()) {
+            List<String> batch = new ArrayList<>(CASCADE_BATCH_SIZE);
+            Iterator<AreaDocument> iterator = areas.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next().getId());
+                if (batch.size() == CASCADE_BATCH_SIZE) {
+                    deleted += deleteBatch(batch, removed);
+                    batch = new ArrayList<>(CASCADE_BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                deleted += deleteBatch(batch, removed);
             }
-            return itemCount;
         } catch (DataAccessException ex) {
-            log.warn("DB failure in deleteAllAreas", ex);
+            log.warn("DB failure in deleteAllAreas after {} areas", deleted, ex);
             throw new AreaPersistenceException("Failed to delete all areas "+ ex);
         }
+        cacheInvalidations.publishAll(COLLECTION);
+        AreaCascadeReport report = new AreaCascadeReport(deleted, removed);
+        log.info("Deleted {} areas and their dependents {}", report.deletedCount(), report.dependentsRemoved());
+        return report;
+    }
+
+    /** Served from memory once the area is resident; the first access pages in all of its content. */
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public AreaBundle getAreaBundle(String id) {
+        requireText(id, DomainGuards.areaIdMissing());
+
+        try {
+            return areaResidency.get(id);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getAreaBundle id={}", id, ex);
+            throw new AreaPersistenceException("Failed to page in area: " + id + " " + ex);
+        }
+    }
+
+    private long deleteBatch(List<String> areaIds, Map<String, Long> removed) {
+        long deleted = areaRepository.deleteAllByIdIn(areaIds);
+        cascade(areaIds, removed);
+        return deleted;
+    }
+
+    private void cascade(List<String> areaIds, Map<String, Long> removed) {
+        for (AreaCleanup cleanup : cleanups) {
+            removed.merge(cleanup.kind(), cleanup.deleteAllByAreaIds(areaIds), Long::sum);
+        }
+        eventPublisher.publishEvent(new AreasDeletedEvent(areaIds));
     }
 
     private List<AreaDocument> getAllAreasFallback(Throwable t) {
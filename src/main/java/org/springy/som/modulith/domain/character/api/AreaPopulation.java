@@ -0,0 +1,4 @@
+package org.springy.som.modulith.domain.character.api;
+
+public record AreaPopulation(String areaId, int characters) {
+}
@@ -1,15 +1,26 @@
 package org.springy.som.modulith.domain.character.api;
 
 import org.springy.som.modulith.domain.character.internal.CharacterDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CharacterApi {
     List<CharacterDocument> getAllPlayerCharacters();
+    Stream<CharacterDocument> streamAllPlayerCharacters();
+    KeysetPage<CharacterDocument> getPlayerCharactersPage(String after, int size);
+    KeysetPage<CharacterDocument> getPlayerCharactersPageByAccountId(String accountId, String after, int size);
     List<CharacterDocument> getPlayerCharactersByAccountId(String accountId);
     CharacterDocument getPlayerCharacterById(String id);
     CharacterDocument createPlayerCharacter(CharacterDocument characterDocument);
     CharacterDocument savePlayerCharacterForId(String id, CharacterDocument characterDocument);
+    CharacterVitalsView patchPlayerCharacter(String id, CharacterPatch patch);
+    void queuePlayerCharacterPatch(String id, CharacterPatch patch);
+    void movePlayerCharacter(String id, String roomId, String areaId);
+    void logoutPlayerCharacter(String id);
     void deletePlayerCharacterById(String id);
     long deleteAllPlayerCharacters();
+    RoomOccupants getRoomOccupants(String roomId);
+    AreaPopulation getAreaPopulation(String areaId);
 }
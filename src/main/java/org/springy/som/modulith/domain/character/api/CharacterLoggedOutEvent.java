@@ -0,0 +1,4 @@
+package org.springy.som.modulith.domain.character.api;
+
+public record CharacterLoggedOutEvent(String accountId, String characterId) {
+}
@@ -40,7 +40,22 @@ public final class CharacterMapper {
                 doc.getLevel(),
                 doc.getGold(),
                 doc.getSilver(),
-                doc.getTrust()
+                doc.getTrust(),
+                doc.getVersion()
+        );
+    }
+
+    public static CharacterVitalsView toVitalsView(CharacterDocument doc) {
+        return new CharacterVitalsView(
+                doc.getId(),
+                doc.getHit(),
+                doc.getMaxHit(),
+                doc.getMana(),
+                doc.getMaxMana(),
+                doc.getMovement(),
+                doc.getMaxMovement(),
+                doc.getGold(),
+                doc.getSilver()
         );
     }
 }
@@ -0,0 +1,5 @@
+package org.springy.som.modulith.domain.character.api;
+
+/** Published by {@link CharacterApi#movePlayerCharacter} once the new room is stored; a {@code null} room means it left the world. */
+public record CharacterMovedEvent(String characterId, String roomId, String areaId) {
+}
@@ -0,0 +1,8 @@
+package org.springy.som.modulith.domain.character.api;
+
+import java.util.Map;
+
+public record CharacterPatch(
+        Map<String, Integer> set,
+        Map<String, Integer> inc
+) {}
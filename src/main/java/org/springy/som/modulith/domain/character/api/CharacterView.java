@@ -36,5 +36,6 @@ public record CharacterView(
         int level,
         int gold,
         int silver,
-        int trust
+        int trust,
+        Long version
 ) {}
@@ -0,0 +1,13 @@
+package org.springy.som.modulith.domain.character.api;
+
+public record CharacterVitalsView(
+        String id,
+        int hit,
+        int maxHit,
+        int mana,
+        int maxMana,
+        int movement,
+        int maxMovement,
+        int gold,
+        int silver
+) {}
@@ -0,0 +1,9 @@
+package org.springy.som.modulith.domain.character.api;
+
+import java.util.List;
+
+public record RoomOccupants(String roomId, List<String> characterIds) {
+    public RoomOccupants {
+        characterIds = List.copyOf(characterIds);
+    }
+}
@@ -0,0 +1,144 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.character.api.CharacterDeletedEvent;
+import org.springy.som.modulith.domain.character.api.NewCharacterEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/** Read-through cache of characters by id and of the character ids of each account. */
+@Component
+class CharacterCache {
+    static final String BY_ID = "characters.byId";
+    static final String BY_ACCOUNT_ID = "characters.byAccountId";
+    static final String CHARACTERS = "characters";
+    static final String ACCOUNTS = "characterAccounts";
+
+    private final Cache<String, CharacterDocument> byId;
+    private final Cache<String, List<String>> idsByAccount;
+    private final CacheInvalidations cacheInvalidations;
+
+    CharacterCache(MeterRegistry meterRegistry,
+                   CacheInvalidations cacheInvalidations,
+                   @Value("${som.characters.cache.maximum-size:10000}") long maximumSize,
+                   @Value("${som.characters.cache.expire-after-write-seconds:300}") long expireAfterWriteSeconds) {
+        this.byId = CaffeineCacheMetrics.monitor(meterRegistry, build(maximumSize, expireAfterWriteSeconds), BY_ID);
+        this.idsByAccount = CaffeineCacheMetrics.monitor(meterRegistry, build(maximumSize, expireAfterWriteSeconds), BY_ACCOUNT_ID);
+        this.cacheInvalidations = cacheInvalidations;
+    }
+
+    /** The cached character, or whatever {@code loader} returns; a {@code null} result is not cached. */
+    CharacterDocument get(String id, Function<String, CharacterDocument> loader) {
+        return byId.get(id, loader);
+    }
+
+    /** The characters of an account; on a hit, ids no longer cached are fetched in one call to {@code bulkLoader}. */
+    List<CharacterDocument> getByAccountId(String accountId,
+                                           Function<String, List<CharacterDocument>> loader,
+                                           Function<List<String>, List<CharacterDocument>> bulkLoader) {
+        AtomicReference<List<CharacterDocument>> loaded = new AtomicReference<>();
+        List<String> ids = idsByAccount.get(accountId, key -> {
+            List<CharacterDocument> characters = loader.apply(key);
+            if (characters == null) {
+                return null;
+            }
+            loaded.set(characters);
+            characters.forEach(character -> byId.put(character.getId(), character));
+            return characters.stream().map(CharacterDocument::getId).toList();
+        });
+        if (ids == null || loaded.get() != null) {
+            return loaded.get();
+        }
+
+        Map<String, CharacterDocument> found = byId.getAll(ids, missing -> index(bulkLoader.apply(List.copyOf(missing))));
+        List<CharacterDocument> characters = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            CharacterDocument character = found.get(id);
+            // A character moved to another account by a full save is dropped here rather than chased down.
+            if (character != null && accountId.equals(character.getAccountId())) {
+                characters.add(character);
+            }
+        }
+        return characters;
+    }
+
+    void evict(String id) {
+        if (id != null) {
+            byId.invalidate(id);
+            cacheInvalidations.publish(CHARACTERS, id);
+        }
+    }
+
+    void evictAccount(String accountId) {
+        if (accountId != null) {
+            idsByAccount.invalidate(accountId);
+            cacheInvalidations.publish(ACCOUNTS, accountId);
+        }
+    }
+
+    void clear() {
+        byId.invalidateAll();
+        idsByAccount.invalidateAll();
+        cacheInvalidations.publishAll(CHARACTERS);
+        cacheInvalidations.publishAll(ACCOUNTS);
+    }
+
+    @EventListener
+    void onNewCharacter(NewCharacterEvent event) {
+        evictAccount(event.accountId());
+    }
+
+    @EventListener
+    void onCharacterDeleted(CharacterDeletedEvent event) {
+        evict(event.characterId());
+        evictAccount(event.accountId());
+    }
+
+    @EventListener
+    void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (invalidation.concerns(CHARACTERS)) {
+            invalidate(byId, invalidation.id());
+        }
+        if (invalidation.concerns(ACCOUNTS)) {
+            invalidate(idsByAccount, invalidation.id());
+        }
+    }
+
+    private static void invalidate(Cache<String, ?> cache, String id) {
+        if (id == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(id);
+        }
+    }
+
+    private static <V> Cache<String, V> build(long maximumSize, long expireAfterWriteSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
+    private static Map<String, CharacterDocument> index(List<CharacterDocument> characters) {
+        Map<String, CharacterDocument> byKey = new HashMap<>(characters.size() * 2);
+        for (CharacterDocument character : characters) {
+            byKey.put(character.getId(), character);
+        }
+        return byKey;
+    }
+}
@@ -1,20 +1,31 @@
 package org.springy.som.modulith.domain.character.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.web.DeleteAllResponse;
+import org.springy.som.modulith.domain.character.api.AreaPopulation;
 import org.springy.som.modulith.domain.character.api.CharacterMapper;
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
 import org.springy.som.modulith.domain.character.api.CharacterView;
+import org.springy.som.modulith.domain.character.api.CharacterVitalsView;
+import org.springy.som.modulith.domain.character.api.RoomOccupants;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
 import java.net.URI;
 import java.util.ArrayList;
@@ -26,9 +37,11 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/api/v1/characters", produces = "application/json")
 public class CharacterController {
     private final CharacterService characterService;
+    private final ObjectMapper objectMapper;
 
-    public CharacterController(CharacterService characterService) {
+    public CharacterController(CharacterService characterService, ObjectMapper objectMapper) {
         this.characterService = characterService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -41,6 +54,17 @@ public class CharacterController {
         return ResponseEntity.ok(characterViews);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPlayerCharacters() {
+        return NdjsonStreams.respond(characterService::streamAllPlayerCharacters, CharacterMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<CharacterView>> getPlayerCharactersPage(@RequestParam int size,
+                                                                             @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(characterService.getPlayerCharactersPage(after, size).map(CharacterMapper::toView));
+    }
+
     @GetMapping(path = "/account/{accountId}")
     @ResponseBody
     public ResponseEntity<List<CharacterView>> getPlayerCharactersByAccountId(@PathVariable String accountId) {
@@ -51,6 +75,24 @@ public class CharacterController {
         return ResponseEntity.ok(characterViews);
     }
 
+    @GetMapping(path = "/account/{accountId}", params = "size")
+    public ResponseEntity<KeysetPage<CharacterView>> getPlayerCharactersPageByAccountId(@PathVariable String accountId,
+                                                                                        @RequestParam int size,
+                                                                                        @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(characterService.getPlayerCharactersPageByAccountId(accountId, after, size)
+                .map(CharacterMapper::toView));
+    }
+
+    @GetMapping(path = "/room/{roomId}/occupants")
+    public ResponseEntity<RoomOccupants> getRoomOccupants(@PathVariable String roomId) {
+        return ResponseEntity.ok(characterService.getRoomOccupants(roomId));
+    }
+
+    @GetMapping(path = "/area/{areaId}/population")
+    public ResponseEntity<AreaPopulation> getAreaPopulation(@PathVariable String areaId) {
+        return ResponseEntity.ok(characterService.getAreaPopulation(areaId));
+    }
+
     @GetMapping(path = "/{id}")
     @ResponseBody
     public ResponseEntity<CharacterView> getPlayerCharacterById(@PathVariable String id) {
@@ -74,6 +116,31 @@ public class CharacterController {
         return ResponseEntity.ok(characterView);
     }
 
+    @PatchMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CharacterVitalsView> patchPlayerCharacter(@PathVariable String id, @RequestBody CharacterPatch patch) {
+        return ResponseEntity.ok(characterService.patchPlayerCharacter(id, patch));
+    }
+
+    @PatchMapping(path = "/{id}", params = "deferred=true", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> queuePlayerCharacterPatch(@PathVariable String id, @RequestBody CharacterPatch patch) {
+        characterService.queuePlayerCharacterPatch(id, patch);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PutMapping("/{id}/location")
+    public ResponseEntity<Void> movePlayerCharacter(@PathVariable String id,
+                                                    @RequestParam String roomId,
+                                                    @RequestParam(required = false) String areaId) {
+        characterService.movePlayerCharacter(id, roomId, areaId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/logout")
+    public ResponseEntity<Void> logoutPlayerCharacter(@PathVariable String id) {
+        characterService.logoutPlayerCharacter(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePlayerCharacterById(@PathVariable String id) {
         characterService.deletePlayerCharacterById(id);
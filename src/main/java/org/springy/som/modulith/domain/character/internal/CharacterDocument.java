@@ -3,6 +3,9 @@ package org.springy.som.modulith.domain.character.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -10,9 +13,11 @@ import java.util.Map;
 
 @Data
 @Document("Characters")
+@CompoundIndex(name = "accountId_id", def = "{'accountId': 1, '_id': 1}")
 public class CharacterDocument {
     private String accountId;
     @NotBlank(message = "name must not be blank")
+    @Indexed(unique = true, sparse = true, collation = "{ 'locale': 'en', 'strength': 2 }")
     private String name;
     private String title;
     private String description;
@@ -47,4 +52,7 @@ public class CharacterDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
@@ -0,0 +1,107 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.character.api.CharacterLoggedOutEvent;
+import org.springy.som.modulith.domain.character.api.CharacterMovedEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Which online characters stand in which room, and how many are in each area. */
+@Component
+class CharacterOccupancy {
+    private record Location(String roomId, String areaId) {
+    }
+
+    private final Map<String, Location> locations = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> occupants = new ConcurrentHashMap<>();
+    private final Map<String, Integer> population = new ConcurrentHashMap<>();
+
+    @EventListener
+    void onCharacterMoved(CharacterMovedEvent event) {
+        place(event.characterId(), event.roomId(), event.areaId());
+    }
+
+    @EventListener
+    void onCharacterLoggedOut(CharacterLoggedOutEvent event) {
+        remove(event.characterId());
+    }
+
+    /** Follows a saved location for a character that is online; offline characters stay out. */
+    void relocate(CharacterDocument character) {
+        if (character.getId() == null) {
+            return;
+        }
+        Location next = character.getRoomId() == null ? null : new Location(character.getRoomId(), character.getAreaId());
+        locations.computeIfPresent(character.getId(), (id, previous) -> move(id, previous, next));
+    }
+
+    /** Moves the character to {@code roomId}, or out of every room when it is {@code null}. */
+    void place(String characterId, String roomId, String areaId) {
+        if (characterId == null) {
+            return;
+        }
+        Location next = roomId == null ? null : new Location(roomId, areaId);
+        locations.compute(characterId, (id, previous) -> move(id, previous, next));
+    }
+
+    void remove(String characterId) {
+        place(characterId, null, null);
+    }
+
+    void clear() {
+        locations.keySet().forEach(this::remove);
+    }
+
+    /** Occupants of the room, sorted by id; empty when nobody is there. */
+    List<String> occupants(String roomId) {
+        Set<String> present = occupants.get(roomId);
+        if (present == null) {
+            return List.of();
+        }
+        List<String> ids = new ArrayList<>(present);
+        Collections.sort(ids);
+        return ids;
+    }
+
+    int population(String areaId) {
+        return population.getOrDefault(areaId, 0);
+    }
+
+    int size() {
+        return locations.size();
+    }
+
+    private Location move(String characterId, Location previous, Location next) {
+        if (Objects.equals(previous, next)) {
+            return previous;
+        }
+        if (previous != null) {
+            occupants.computeIfPresent(previous.roomId(), (room, present) -> {
+                present.remove(characterId);
+                return present.isEmpty() ? null : present;
+            });
+            if (previous.areaId() != null) {
+                population.computeIfPresent(previous.areaId(), (area, count) -> count <= 1 ? null : count - 1);
+            }
+        }
+        if (next != null) {
+            // compute, not computeIfAbsent().add(): the add must not land in a set just dropped as empty.
+            occupants.compute(next.roomId(), (room, present) -> {
+                Set<String> ids = present == null ? ConcurrentHashMap.newKeySet() : present;
+                ids.add(characterId);
+                return ids;
+            });
+            if (next.areaId() != null) {
+                population.merge(next.areaId(), 1, Integer::sum);
+            }
+        }
+        return next;
+    }
+}
@@ -0,0 +1,48 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import org.springframework.data.mongodb.core.query.Update;
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
+
+import java.util.Map;
+import java.util.Set;
+
+final class CharacterPatches {
+    static final Set<String> PATCHABLE_FIELDS = Set.of(
+            "hit", "maxHit", "mana", "maxMana", "movement", "maxMovement", "gold", "silver");
+
+    private CharacterPatches() {}
+
+    static CharacterPatch validate(CharacterPatch patch) {
+        Map<String, Integer> set = patch == null || patch.set() == null ? Map.of() : patch.set();
+        Map<String, Integer> inc = patch == null || patch.inc() == null ? Map.of() : patch.inc();
+        if (set.isEmpty() && inc.isEmpty()) {
+            throw new InvalidPlayerCharacterException("Patch must set or increment at least one field");
+        }
+        set.forEach(CharacterPatches::requirePatchable);
+        inc.forEach((field, delta) -> {
+            requirePatchable(field, delta);
+            if (set.containsKey(field)) {
+                throw new InvalidPlayerCharacterException("Field '" + field + "' cannot be both set and incremented");
+            }
+        });
+        return new CharacterPatch(set, inc);
+    }
+
+    static Update toUpdate(CharacterPatch patch) {
+        CharacterPatch valid = validate(patch);
+        Update update = new Update();
+        valid.set().forEach(update::set);
+        valid.inc().forEach(update::inc);
+        update.inc("version", 1);
+        return update;
+    }
+
+    private static void requirePatchable(String field, Integer value) {
+        if (!PATCHABLE_FIELDS.contains(field)) {
+            throw new InvalidPlayerCharacterException("Field '" + field + "' cannot be patched");
+        }
+        if (value == null) {
+            throw new InvalidPlayerCharacterException("Field '" + field + "' must have a value");
+        }
+    }
+}
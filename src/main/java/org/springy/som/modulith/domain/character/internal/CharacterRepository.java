@@ -1,9 +1,12 @@
 package org.springy.som.modulith.domain.character.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CharacterRepository extends MongoRepository<CharacterDocument, String> {
     @Query("{id: '?0'}")
@@ -12,6 +15,14 @@ public interface CharacterRepository extends MongoRepository<CharacterDocument,
     @Query("{accountId: '?0'}")
     List<CharacterDocument> findAllByAccountId(String accountId);
 
-    @Query("{name: '?0'}")
-    CharacterDocument findByName(String name);
+    @Meta(cursorBatchSize = 500)
+    Stream<CharacterDocument> streamAllBy();
+
+    List<CharacterDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<CharacterDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<CharacterDocument> findAllByAccountIdOrderByIdAsc(String accountId, Limit limit);
+
+    List<CharacterDocument> findAllByAccountIdAndIdGreaterThanOrderByIdAsc(String accountId, String id, Limit limit);
 }
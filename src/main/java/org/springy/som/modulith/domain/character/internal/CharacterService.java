@@ -3,20 +3,41 @@ package org.springy.som.modulith.domain.character.internal;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import com.mongodb.client.result.UpdateResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.domain.character.api.AreaPopulation;
 import org.springy.som.modulith.domain.character.api.CharacterApi;
 import org.springy.som.modulith.domain.character.api.CharacterDeletedEvent;
+import org.springy.som.modulith.domain.character.api.CharacterLoggedOutEvent;
+import org.springy.som.modulith.domain.character.api.CharacterMapper;
+import org.springy.som.modulith.domain.character.api.CharacterMovedEvent;
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
+import org.springy.som.modulith.domain.character.api.CharacterVitalsView;
 import org.springy.som.modulith.domain.character.api.NewCharacterEvent;
+import org.springy.som.modulith.domain.character.api.RoomOccupants;
+import org.springy.som.modulith.mongo.DuplicateKeys;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import static org.springy.som.modulith.domain.DomainGuards.playerCharacterAreaIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.playerCharacterIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.playerCharacterMissing;
-import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.DomainGuards.playerCharacterRoomIdMissing;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 
 @Service
@@ -24,10 +45,23 @@ import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 public class CharacterService implements CharacterApi {
     private final CharacterRepository characterRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final MongoTemplate mongoTemplate;
+    private final CharacterWriteBehindBuffer writeBehind;
+    private final CharacterCache characterCache;
+    private final CharacterOccupancy occupancy;
 
-    public CharacterService(CharacterRepository characterRepository, ApplicationEventPublisher eventPublisher) {
+    public CharacterService(CharacterRepository characterRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            MongoTemplate mongoTemplate,
+                            CharacterWriteBehindBuffer writeBehind,
+                            CharacterCache characterCache,
+                            CharacterOccupancy occupancy) {
         this.characterRepository = characterRepository;
         this.eventPublisher = eventPublisher;
+        this.mongoTemplate = mongoTemplate;
+        this.writeBehind = writeBehind;
+        this.characterCache = characterCache;
+        this.occupancy = occupancy;
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllPlayerCharactersFallback")
@@ -43,6 +77,45 @@ public class CharacterService implements CharacterApi {
 
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<CharacterDocument> streamAllPlayerCharacters() {
+        return characterRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<CharacterDocument> getPlayerCharactersPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<CharacterDocument> fetched = lastId == null
+                    ? characterRepository.findAllByOrderByIdAsc(limit)
+                    : characterRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, CharacterDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getPlayerCharactersPage after={}", after, ex);
+            throw new PlayerCharacterPersistenceException("Failed to load player characters page "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<CharacterDocument> getPlayerCharactersPageByAccountId(String accountId, String after, int size) {
+        requireText(accountId, playerCharacterIdMissing());
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<CharacterDocument> fetched = lastId == null
+                    ? characterRepository.findAllByAccountIdOrderByIdAsc(accountId, limit)
+                    : characterRepository.findAllByAccountIdAndIdGreaterThanOrderByIdAsc(accountId, lastId, limit);
+            return KeysetPage.of(fetched, size, CharacterDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getPlayerCharactersPageByAccountId accountId={} after={}", accountId, after, ex);
+            throw new PlayerCharacterPersistenceException("Failed to load player characters page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getPlayerCharactersByAccountIdFallback")
     @Retry(name = "somAPI")
     @Bulkhead(name = "somAPI")
@@ -50,7 +123,8 @@ public class CharacterService implements CharacterApi {
         requireText(id, playerCharacterIdMissing());
 
         try {
-            List<CharacterDocument> characterDocument = characterRepository.findAllByAccountId(id);
+            List<CharacterDocument> characterDocument = characterCache.getByAccountId(id,
+                    characterRepository::findAllByAccountId, characterRepository::findAllById);
             if (characterDocument == null) {
                 throw new PlayerCharacterNotFoundException(id);
             }
@@ -68,7 +142,8 @@ public class CharacterService implements CharacterApi {
         requireText(id, playerCharacterIdMissing());
 
         try {
-            CharacterDocument characterDocument = characterRepository.findPlayerCharacterByCharacterId(id);
+            writeBehind.flush(id);
+            CharacterDocument characterDocument = characterCache.get(id, characterRepository::findPlayerCharacterByCharacterId);
             if (characterDocument == null) {
                 throw new PlayerCharacterNotFoundException(id);
             }
@@ -84,11 +159,15 @@ public class CharacterService implements CharacterApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public CharacterDocument createPlayerCharacter(CharacterDocument characterDocument) {
-        String characterName = characterDocument.getName();
-        if (characterName != null && characterRepository.findByName(characterName) != null) {
-            throw new DuplicateCharacterNameException(characterName);
+        CharacterDocument saved;
+        try {
+            saved = characterRepository.insert(characterDocument);
+        } catch (DuplicateKeyException ex) {
+            if (DuplicateKeys.onId(characterDocument.getId(), characterRepository::existsById)) {
+                throw new DuplicateCharacterException(characterDocument.getId());
+            }
+            throw new DuplicateCharacterNameException(characterDocument.getName());
         }
-        CharacterDocument saved = characterRepository.save(characterDocument);
         eventPublisher.publishEvent(new NewCharacterEvent(saved.getAccountId(), saved.getId()));
         return saved;
     }
@@ -96,11 +175,83 @@ public class CharacterService implements CharacterApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public CharacterDocument savePlayerCharacterForId(String id, CharacterDocument characterDocument) {
-        CharacterDocument existing = characterRepository.findPlayerCharacterByCharacterId(id);
-        requireText(existing.getId(), playerCharacterIdMissing());
-        requireEntityWithId(existing, CharacterDocument::getId, playerCharacterMissing(), playerCharacterIdMissing());
+        requireText(id, playerCharacterIdMissing());
+        requireNonNull(characterDocument, playerCharacterMissing());
+        writeBehind.flush(id);
+        characterDocument.setId(id);
 
-        return characterRepository.save(characterDocument);
+        CharacterDocument saved = VersionedSave.save(characterRepository, id, characterDocument, CharacterDocument::getVersion, PlayerCharacterNotFoundException::new);
+        characterCache.evict(id);
+        characterCache.evictAccount(saved.getAccountId());
+        occupancy.relocate(saved);
+        return saved;
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public void movePlayerCharacter(String id, String roomId, String areaId) {
+        requireText(id, playerCharacterIdMissing());
+        requireText(roomId, playerCharacterRoomIdMissing());
+
+        Query query = Query.query(Criteria.where("id").is(id));
+        Update update = new Update().set("roomId", roomId).set("areaId", areaId).inc("version", 1);
+        try {
+            writeBehind.flush(id);
+            UpdateResult result = mongoTemplate.updateFirst(query, update, CharacterDocument.class);
+            characterCache.evict(id);
+            if (result.getMatchedCount() == 0) {
+                throw new PlayerCharacterNotFoundException(id);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in movePlayerCharacter id={}", id, ex);
+            throw new PlayerCharacterPersistenceException("Failed to move player character: " + id + " " + ex);
+        }
+        eventPublisher.publishEvent(new CharacterMovedEvent(id, roomId, areaId));
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public CharacterVitalsView patchPlayerCharacter(String id, CharacterPatch patch) {
+        requireText(id, playerCharacterIdMissing());
+        Update update = CharacterPatches.toUpdate(patch);
+
+        Query query = Query.query(Criteria.where("id").is(id));
+        query.fields().include(CharacterPatches.PATCHABLE_FIELDS.toArray(String[]::new));
+        try {
+            writeBehind.flush(id);
+            CharacterDocument patched = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().returnNew(true), CharacterDocument.class);
+            characterCache.evict(id);
+            if (patched == null) {
+                throw new PlayerCharacterNotFoundException(id);
+            }
+            return CharacterMapper.toVitalsView(patched);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in patchPlayerCharacter id={}", id, ex);
+            throw new PlayerCharacterPersistenceException("Failed to patch player character: " + id + " " + ex);
+        }
+    }
+
+    public void queuePlayerCharacterPatch(String id, CharacterPatch patch) {
+        requireText(id, playerCharacterIdMissing());
+        writeBehind.enqueue(id, patch);
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public void logoutPlayerCharacter(String id) {
+        requireText(id, playerCharacterIdMissing());
+
+        try {
+            CharacterDocument characterDocument = characterRepository.findPlayerCharacterByCharacterId(id);
+            if (characterDocument == null) {
+                throw new PlayerCharacterNotFoundException(id);
+            }
+            eventPublisher.publishEvent(new CharacterLoggedOutEvent(characterDocument.getAccountId(), id));
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in logoutPlayerCharacter id={}", id, ex);
+            throw new PlayerCharacterPersistenceException("Failed to log out player character: " + id + " " + ex);
+        }
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -114,6 +265,7 @@ public class CharacterService implements CharacterApi {
                 throw new PlayerCharacterNotFoundException(id);
             }
             characterRepository.deleteById(id);
+            occupancy.remove(id);
             eventPublisher.publishEvent(new CharacterDeletedEvent(characterDocument.getAccountId(), id));
         } catch (DataAccessException ex) {
             log.warn("DB failure in deletePlayerCharacterById id={}", id, ex);
@@ -127,6 +279,8 @@ public class CharacterService implements CharacterApi {
         try {
             long itemCount = characterRepository.count();
             characterRepository.deleteAll();
+            characterCache.clear();
+            occupancy.clear();
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllAreas", ex);
@@ -134,6 +288,16 @@ public class CharacterService implements CharacterApi {
         }
     }
 
+    public RoomOccupants getRoomOccupants(String roomId) {
+        requireText(roomId, playerCharacterRoomIdMissing());
+        return new RoomOccupants(roomId, occupancy.occupants(roomId));
+    }
+
+    public AreaPopulation getAreaPopulation(String areaId) {
+        requireText(areaId, playerCharacterAreaIdMissing());
+        return new AreaPopulation(areaId, occupancy.population(areaId));
+    }
+
     private List<CharacterDocument> getAllPlayerCharactersFallback(Throwable t) {
         log.warn("Fallback getAllPlayerCharacters due to {}", t.toString());
         return List.of();
@@ -0,0 +1,228 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.character.api.CharacterDeletedEvent;
+import org.springy.som.modulith.domain.character.api.CharacterLoggedOutEvent;
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+class CharacterWriteBehindBuffer {
+    private final MongoTemplate mongoTemplate;
+    private final CharacterCache characterCache;
+    private final int maxDirty;
+    private final Map<String, PendingCharacterPatch> dirty = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Void>> writing = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter updates;
+    private final Counter writes;
+    private final Counter failedWrites;
+    private final Timer flushTimer;
+    private final AtomicLong coalescedUpdates = new AtomicLong();
+    private final AtomicLong writtenDocuments = new AtomicLong();
+
+    CharacterWriteBehindBuffer(MongoTemplate mongoTemplate,
+                               MeterRegistry meterRegistry,
+                               CharacterCache characterCache,
+                               @Value("${som.characters.write-behind.max-dirty:500}") int maxDirty) {
+        this.mongoTemplate = mongoTemplate;
+        this.characterCache = characterCache;
+        this.maxDirty = maxDirty;
+        this.updates = meterRegistry.counter("som.characters.write_behind.updates");
+        this.writes = meterRegistry.counter("som.characters.write_behind.writes");
+        this.failedWrites = meterRegistry.counter("som.characters.write_behind.failed_writes");
+        this.flushTimer = meterRegistry.timer("som.characters.write_behind.flush");
+        Gauge.builder("som.characters.write_behind.dirty", dirty, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("som.characters.write_behind.coalesce_ratio", this, CharacterWriteBehindBuffer::coalesceRatio)
+                .description("Updates absorbed per document written")
+                .register(meterRegistry);
+    }
+
+    void enqueue(String id, CharacterPatch patch) {
+        CharacterPatch valid = CharacterPatches.validate(patch);
+        dirty.compute(id, (key, pending) -> pending == null
+                ? PendingCharacterPatch.of(valid)
+                : pending.merge(valid));
+        updates.increment();
+        if (dirty.size() >= maxDirty && flushLock.tryLock()) {
+            try {
+                flushDirty();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    int dirtyCount() {
+        return dirty.size();
+    }
+
+    double coalesceRatio() {
+        long written = writtenDocuments.get();
+        return written == 0 ? 0 : (double) coalescedUpdates.get() / written;
+    }
+
+    @Scheduled(fixedDelayString = "${som.characters.write-behind.flush-interval-ms:1000}")
+    void flush() {
+        flushLock.lock();
+        try {
+            flushDirty();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    void flush(String id) {
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        CompletableFuture<Void> running;
+        // Only a batch that has claimed this id is waited for; other ids never block a read.
+        while ((running = writing.putIfAbsent(id, mine)) != null) {
+            running.join();
+        }
+        try {
+            PendingCharacterPatch pending = dirty.remove(id);
+            if (pending == null) {
+                return;
+            }
+            try {
+                mongoTemplate.updateFirst(byId(id), CharacterPatches.toUpdate(pending.toPatch()), CharacterDocument.class);
+                written(id, pending);
+            } catch (DataAccessException ex) {
+                requeue(id, pending);
+                throw ex;
+            }
+        } finally {
+            writing.remove(id, mine);
+            mine.complete(null);
+        }
+    }
+
+    @EventListener
+    void onCharacterLoggedOut(CharacterLoggedOutEvent event) {
+        flushQuietly(event.characterId());
+    }
+
+    @EventListener
+    void onCharacterDeleted(CharacterDeletedEvent event) {
+        flushQuietly(event.characterId());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+        if (!dirty.isEmpty()) {
+            log.warn("Shutting down with {} unflushed character updates", dirty.size());
+        }
+    }
+
+    private void flushQuietly(String id) {
+        try {
+            flush(id);
+        } catch (DataAccessException ex) {
+            log.warn("Character write-behind flush failed for {}, left for the next scheduled flush", id, ex);
+        }
+    }
+
+    private void flushDirty() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        CompletableFuture<Void> claim = new CompletableFuture<>();
+        List<String> ids = new ArrayList<>(dirty.size());
+        List<PendingCharacterPatch> batch = new ArrayList<>(dirty.size());
+        for (String id : dirty.keySet()) {
+            if (writing.putIfAbsent(id, claim) != null) {
+                continue;
+            }
+            PendingCharacterPatch pending = dirty.remove(id);
+            if (pending != null) {
+                ids.add(id);
+                batch.add(pending);
+            } else {
+                writing.remove(id, claim);
+            }
+        }
+        try {
+            if (!batch.isEmpty()) {
+                write(ids, batch);
+            }
+        } finally {
+            ids.forEach(id -> writing.remove(id, claim));
+            claim.complete(null);
+        }
+    }
+
+    private void write(List<String> ids, List<PendingCharacterPatch> batch) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CharacterDocument.class);
+        for (int i = 0; i < batch.size(); i++) {
+            ops.updateOne(byId(ids.get(i)), CharacterPatches.toUpdate(batch.get(i).toPatch()));
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            ops.execute();
+            for (int i = 0; i < batch.size(); i++) {
+                written(ids.get(i), batch.get(i));
+            }
+        } catch (BulkOperationException ex) {
+            boolean[] failed = new boolean[batch.size()];
+            ex.getErrors().forEach(error -> failed[error.getIndex()] = true);
+            for (int i = 0; i < batch.size(); i++) {
+                if (failed[i]) {
+                    requeue(ids.get(i), batch.get(i));
+                } else {
+                    written(ids.get(i), batch.get(i));
+                }
+            }
+            log.warn("Character write-behind flush failed for {} of {} characters", ex.getErrors().size(), batch.size(), ex);
+        } catch (DataAccessException ex) {
+            for (int i = 0; i < batch.size(); i++) {
+                requeue(ids.get(i), batch.get(i));
+            }
+            log.warn("Character write-behind flush failed, {} characters requeued", batch.size(), ex);
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void written(String id, PendingCharacterPatch pending) {
+        characterCache.evict(id);
+        writes.increment();
+        writtenDocuments.incrementAndGet();
+        coalescedUpdates.addAndGet(pending.updates());
+    }
+
+    private void requeue(String id, PendingCharacterPatch pending) {
+        failedWrites.increment();
+        dirty.merge(id, pending, (current, failed) -> failed.andThen(current));
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("id").is(id));
+    }
+}
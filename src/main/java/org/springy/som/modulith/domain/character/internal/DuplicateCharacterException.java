@@ -0,0 +1,12 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import org.springframework.http.HttpStatus;
+import org.springy.som.modulith.exception.ApiError;
+import org.springy.som.modulith.exception.ConflictApiException;
+
+@ApiError(status = HttpStatus.CONFLICT, title = "Duplicate character", code = "DUPLICATE_CHARACTER_ID")
+public final class DuplicateCharacterException extends ConflictApiException {
+    public DuplicateCharacterException(String id) {
+        super("Character with id '" + id + "' already exists");
+    }
+}
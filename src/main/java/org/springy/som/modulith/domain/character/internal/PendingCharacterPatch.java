@@ -0,0 +1,48 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class PendingCharacterPatch {
+    private final Map<String, Integer> set = new HashMap<>();
+    private final Map<String, Integer> inc = new HashMap<>();
+    private int updates;
+
+    static PendingCharacterPatch of(CharacterPatch patch) {
+        PendingCharacterPatch pending = new PendingCharacterPatch();
+        pending.merge(patch);
+        return pending;
+    }
+
+    PendingCharacterPatch merge(CharacterPatch patch) {
+        patch.set().forEach((field, value) -> {
+            set.put(field, value);
+            inc.remove(field);
+        });
+        patch.inc().forEach((field, delta) -> {
+            if (set.containsKey(field)) {
+                set.merge(field, delta, Integer::sum);
+            } else {
+                inc.merge(field, delta, Integer::sum);
+            }
+        });
+        updates++;
+        return this;
+    }
+
+    PendingCharacterPatch andThen(PendingCharacterPatch later) {
+        merge(later.toPatch());
+        updates += later.updates - 1;
+        return this;
+    }
+
+    CharacterPatch toPatch() {
+        return new CharacterPatch(Map.copyOf(set), Map.copyOf(inc));
+    }
+
+    int updates() {
+        return updates;
+    }
+}
@@ -1,11 +1,15 @@
 package org.springy.som.modulith.domain.clazz.api;
 
 import org.springy.som.modulith.domain.clazz.internal.ClassDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ClassApi {
     List<ClassDocument> getAllClasses();
+    Stream<ClassDocument> streamAllClasses();
+    KeysetPage<ClassDocument> getClassesPage(String after, int size);
     ClassDocument getRomClassById(String id);
     ClassDocument createRomClass(ClassDocument classDocument);
     ClassDocument saveRomClassForId(String id, ClassDocument classDocument);
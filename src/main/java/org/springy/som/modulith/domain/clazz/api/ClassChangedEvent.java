@@ -0,0 +1,5 @@
+package org.springy.som.modulith.domain.clazz.api;
+
+/** {@code classId} is {@code null} when every class changed. */
+public record ClassChangedEvent(String classId) {
+}
@@ -20,7 +20,8 @@ public final class ClassMapper {
                 doc.getThac0_32(),
                 doc.getHpMin(),
                 doc.getHpMax(),
-                doc.isFMana()
+                doc.isFMana(),
+                doc.getVersion()
         );
     }
 }
@@ -13,5 +13,6 @@ public record ClassView(
         int thac0_32,
         int hpMin,
         int hpMax,
-        boolean fMana
+        boolean fMana,
+        Long version
 ) {}
@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.clazz.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,31 +11,53 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springy.som.modulith.web.CollectionSnapshots;
 import org.springy.som.modulith.web.DeleteAllResponse;
 import org.springy.som.modulith.domain.clazz.api.ClassMapper;
 import org.springy.som.modulith.domain.clazz.api.ClassView;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/api/v1/classes", produces = "application/json")
-public class ClassController {
+public class ClassController implements CacheWarmup {
     private final ClassService classService;
+    private final ObjectMapper objectMapper;
+    private final CollectionSnapshots collectionSnapshots;
 
-    public ClassController(ClassService classService) {
+    public ClassController(ClassService classService, ObjectMapper objectMapper, CollectionSnapshots collectionSnapshots) {
         this.classService = classService;
+        this.objectMapper = objectMapper;
+        this.collectionSnapshots = collectionSnapshots;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return List.of(collectionSnapshots.warmupTask(ClassService.COLLECTION, classService::loadAllClasses, ClassMapper::toView));
     }
 
     @GetMapping
-    public ResponseEntity<List<ClassView>> getAllRomClasses() {
-        List<ClassView> classViews = classService.getAllClasses()
-                .stream()
-                .map(ClassMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(classViews);
+    public ResponseEntity<byte[]> getAllRomClasses() {
+        return collectionSnapshots.respond(ClassService.COLLECTION, classService::loadAllClasses, ClassMapper::toView);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllRomClasses() {
+        return NdjsonStreams.respond(classService::streamAllClasses, ClassMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<ClassView>> getClassesPage(@RequestParam int size,
+                                                                @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(classService.getClassesPage(after, size).map(ClassMapper::toView));
     }
 
     @GetMapping("/{id}")
@@ -3,6 +3,7 @@ package org.springy.som.modulith.domain.clazz.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -24,4 +25,7 @@ public class ClassDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
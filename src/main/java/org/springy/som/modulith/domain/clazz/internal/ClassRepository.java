@@ -1,9 +1,21 @@
 package org.springy.som.modulith.domain.clazz.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface ClassRepository extends MongoRepository<ClassDocument, String> {
     @Query("{id: '?0'}")
     ClassDocument findRomClassById(String id);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<ClassDocument> streamAllBy();
+
+    List<ClassDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<ClassDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
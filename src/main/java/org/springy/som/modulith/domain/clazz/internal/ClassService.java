@@ -5,28 +5,58 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
 import org.springy.som.modulith.domain.area.internal.AreaDocument;
 import org.springy.som.modulith.domain.clazz.api.ClassApi;
+import org.springy.som.modulith.domain.clazz.api.ClassChangedEvent;
 import org.springy.som.modulith.domain.ServiceGuards;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.CollectionSnapshots;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.DomainGuards.romClassIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.romClassMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 
 @Service
 @Slf4j
 public class ClassService implements ClassApi {
-    private final ClassRepository classRepository;
+    static final String COLLECTION = "classes";
 
-    public ClassService(ClassRepository classRepository) {
+    private final ClassRepository classRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CollectionSnapshots collectionSnapshots;
+    private final CacheInvalidations cacheInvalidations;
+
+    public ClassService(ClassRepository classRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        CollectionSnapshots collectionSnapshots,
+                        CacheInvalidations cacheInvalidations) {
         this.classRepository = classRepository;
+        this.eventPublisher = eventPublisher;
+        this.collectionSnapshots = collectionSnapshots;
+        this.cacheInvalidations = cacheInvalidations;
+    }
+
+    @EventListener
+    public void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (invalidation.concerns(COLLECTION)) {
+            eventPublisher.publishEvent(new ClassChangedEvent(invalidation.id()));
+            collectionSnapshots.touch(COLLECTION);
+        }
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllRomClassesFallback")
@@ -36,6 +66,39 @@ public class ClassService implements ClassApi {
         return classRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<ClassDocument> loadAllClasses() {
+        try {
+            return classRepository.findAll();
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in loadAllClasses", ex);
+            throw new ClassPersistenceException("Failed to load classes "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<ClassDocument> streamAllClasses() {
+        return classRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<ClassDocument> getClassesPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<ClassDocument> fetched = lastId == null
+                    ? classRepository.findAllByOrderByIdAsc(limit)
+                    : classRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, ClassDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getClassesPage after={}", after, ex);
+            throw new ClassPersistenceException("Failed to load classes page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getRomClassByIdFallback")
     @Retry(name = "somAPI")
     @Bulkhead(name = "somAPI")
@@ -50,7 +113,11 @@ public class ClassService implements ClassApi {
 
         try {
             // if (classRepository.existsById(classDocument.getClassId())) throw new ClassConflictException(...)
-            return classRepository.save(classDocument);
+            ClassDocument saved = classRepository.save(classDocument);
+            eventPublisher.publishEvent(new ClassChangedEvent(saved.getId()));
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
         } catch (DataAccessException ex) {
             log.warn("DB failure in createRomClass romClassId={}", ServiceGuards.safeId(classDocument, ClassDocument::getId), ex);
             throw new ClassPersistenceException("Failed to create area"+ex);
@@ -60,11 +127,15 @@ public class ClassService implements ClassApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public ClassDocument saveRomClassForId(String id, ClassDocument classDocument) {
-        ClassDocument existing = classRepository.findRomClassById(id);
-        requireText(existing.getId(), romClassIdMissing());
-        requireEntityWithId(existing, ClassDocument::getId, romClassMissing(), romClassIdMissing());
-
-        return classRepository.save(classDocument);
+        requireText(id, romClassIdMissing());
+        requireNonNull(classDocument, romClassMissing());
+        classDocument.setId(id);
+
+        ClassDocument saved = VersionedSave.save(classRepository, id, classDocument, ClassDocument::getVersion, ClassNotFoundException::new);
+        eventPublisher.publishEvent(new ClassChangedEvent(id));
+        collectionSnapshots.touch(COLLECTION);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -77,6 +148,9 @@ public class ClassService implements ClassApi {
                 throw new ClassNotFoundException(id);
             }
             classRepository.deleteById(id);
+            eventPublisher.publishEvent(new ClassChangedEvent(id));
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAreaById id={}", id, ex);
             throw new ClassPersistenceException("Failed to delete area: " + id+" "+ex);
@@ -89,6 +163,9 @@ public class ClassService implements ClassApi {
         try {
             long itemCount = classRepository.count();
             classRepository.deleteAll();
+            eventPublisher.publishEvent(new ClassChangedEvent(null));
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllAreas", ex);
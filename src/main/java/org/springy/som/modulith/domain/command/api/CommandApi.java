@@ -1,11 +1,15 @@
 package org.springy.som.modulith.domain.command.api;
 
 import org.springy.som.modulith.domain.command.internal.CommandDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CommandApi {
     List<CommandDocument> getAllCommands();
+    Stream<CommandDocument> streamAllCommands();
+    KeysetPage<CommandDocument> getCommandsPage(String after, int size);
     CommandDocument getCommandByName(String commandName);
     CommandDocument getCommandById(String commandId);
     CommandDocument createCommand(CommandDocument commandDocument);
@@ -23,7 +23,9 @@ public final class CommandMapper {
                 doc.getFunction(),
                 doc.isEnabled(),
                 doc.isPipeline(),
-                doc.getMaxArguments()
+                doc.getMaxArguments(),
+                doc.getPriority(),
+                doc.getVersion()
         );
     }
 }
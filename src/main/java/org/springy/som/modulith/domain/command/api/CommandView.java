@@ -18,5 +18,7 @@ public record CommandView(
         List<String> function,
         boolean enabled,
         boolean pipeline,
-        int maxArguments
+        int maxArguments,
+        int priority,
+        Long version
 ) {}
@@ -1,11 +1,15 @@
 package org.springy.som.modulith.domain.command.api;
 
 import org.springy.som.modulith.domain.command.internal.HelpDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface HelpApi {
     List<HelpDocument> getAllHelps();
+    Stream<HelpDocument> streamAllHelps();
+    KeysetPage<HelpDocument> getHelpsPage(String after, int size);
     HelpDocument getHelpByKeyword(String keyword);
     HelpDocument getHelpById(String helpId);
     HelpDocument createHelp(HelpDocument helpDocument);
@@ -11,7 +11,8 @@ public final class HelpMapper {
             doc.getId(),
             doc.getLevel(),
             doc.getKeyword(),
-            doc.getText()
+            doc.getText(),
+            doc.getVersion()
         );
     }
 }
@@ -4,5 +4,6 @@ public record HelpView(
     String id,
     int level,
     String keyword,
-    String text
+    String text,
+    Long version
 ) {}
@@ -1,11 +1,15 @@
 package org.springy.som.modulith.domain.command.api;
 
 import org.springy.som.modulith.domain.command.internal.SocialDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SocialApi {
     List<SocialDocument> getAllSocials();
+    Stream<SocialDocument> streamAllSocials();
+    KeysetPage<SocialDocument> getSocialsPage(String after, int size);
     SocialDocument getSocialByName(String socialName);
     SocialDocument getSocialById(String socialId);
     SocialDocument createSocial(SocialDocument socialDocument);
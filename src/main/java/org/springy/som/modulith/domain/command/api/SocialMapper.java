@@ -17,7 +17,8 @@ public final class SocialMapper {
             doc.getVictFound(),
             doc.getCharNotFound(),
             doc.getCharAuto(),
-            doc.getOthersAuto()
+            doc.getOthersAuto(),
+            doc.getVersion()
         );
     }
 }
@@ -0,0 +1,8 @@
+package org.springy.som.modulith.domain.command.api;
+
+public record SocialMessages(
+        String name,
+        String toActor,
+        String toVictim,
+        String toOthers
+) {}
@@ -10,5 +10,6 @@ public record SocialView(
     String victFound,
     String charNotFound,
     String charAuto,
-    String othersAuto
+    String othersAuto,
+    Long version
 ) {}
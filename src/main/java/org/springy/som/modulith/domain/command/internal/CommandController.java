@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.command.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,30 +11,59 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springy.som.modulith.web.CollectionSnapshots;
 import org.springy.som.modulith.web.DeleteAllResponse;
 import org.springy.som.modulith.domain.command.api.CommandMapper;
 import org.springy.som.modulith.domain.command.api.CommandView;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/api/v1/commands", produces = "application/json")
-public class CommandController {
+public class CommandController implements CacheWarmup {
     private final CommandService commandService;
-    public CommandController(CommandService commandService) {
+    private final ObjectMapper objectMapper;
+    private final CollectionSnapshots collectionSnapshots;
+    public CommandController(CommandService commandService, ObjectMapper objectMapper, CollectionSnapshots collectionSnapshots) {
         this.commandService = commandService;
+        this.objectMapper = objectMapper;
+        this.collectionSnapshots = collectionSnapshots;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return List.of(collectionSnapshots.warmupTask(CommandService.COLLECTION, commandService::loadAllCommands, CommandMapper::toView));
     }
 
     @GetMapping
-    public ResponseEntity<List<CommandView>> getCommands() {
-        List<CommandView> commandViews = commandService.getAllCommands()
-                .stream()
-                .map(CommandMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(commandViews);
+    public ResponseEntity<byte[]> getCommands() {
+        return collectionSnapshots.respond(CommandService.COLLECTION, commandService::loadAllCommands, CommandMapper::toView);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCommands() {
+        return NdjsonStreams.respond(commandService::streamAllCommands, CommandMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<CommandView>> getCommandsPage(@RequestParam int size,
+                                                                   @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(commandService.getCommandsPage(after, size).map(CommandMapper::toView));
+    }
+
+    @GetMapping(path = "/resolve")
+    public ResponseEntity<CommandView> resolveCommand(@RequestParam String input,
+                                                      @RequestParam(required = false) String role,
+                                                      @RequestParam(required = false) Integer level) {
+        return ResponseEntity.ok(commandService.resolveCommand(input, role, level));
     }
 
     @GetMapping(path = "/{id}")
@@ -3,6 +3,8 @@ package org.springy.som.modulith.domain.command.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -11,6 +13,7 @@ import java.util.List;
 @Document("Commands")
 public class CommandDocument {
     @NotBlank(message = "name must not be blank")
+    @Indexed
     private String name;
     private String message;
     private String role;
@@ -26,7 +29,11 @@ public class CommandDocument {
     private boolean enabled;
     private boolean pipeline;
     private int maxArguments;
+    private int priority;
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
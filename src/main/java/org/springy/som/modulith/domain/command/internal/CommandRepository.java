@@ -1,10 +1,13 @@
 package org.springy.som.modulith.domain.command.internal;
 
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CommandRepository extends MongoRepository<CommandDocument, String> {
     @NotNull List<CommandDocument> findAll();
@@ -14,4 +17,11 @@ public interface CommandRepository extends MongoRepository<CommandDocument, Stri
 
     @Query("{id: '?0'}")
     CommandDocument findCommandById(String commandId);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<CommandDocument> streamAllBy();
+
+    List<CommandDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<CommandDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
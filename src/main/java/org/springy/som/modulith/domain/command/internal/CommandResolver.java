@@ -0,0 +1,197 @@
+package org.springy.som.modulith.domain.command.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.command.api.CommandMapper;
+import org.springy.som.modulith.domain.command.api.CommandView;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/** Resolves ROM-style abbreviations such as "disco" or "s" to a command. */
+@Slf4j
+@Component
+class CommandResolver implements CacheWarmup {
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::text);
+
+    private final CommandRepository commandRepository;
+    private final boolean preloadOnStartup;
+    private final AtomicReference<Index> index = new AtomicReference<>();
+
+    CommandResolver(CommandRepository commandRepository,
+                    @Value("${som.commands.resolver.preload-on-startup:true}") boolean preloadOnStartup) {
+        this.commandRepository = commandRepository;
+        this.preloadOnStartup = preloadOnStartup;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return preloadOnStartup ? List.of(new WarmupTask("Commands", () -> reload().commands().size())) : List.of();
+    }
+
+    CommandView resolve(String input, String role, Integer level) {
+        String prefix = input.trim().toLowerCase(Locale.ROOT);
+        if (prefix.isEmpty()) {
+            return null;
+        }
+        Index current = current();
+        Key[] keys = current.keys();
+        Key best = null;
+        int bestRank = Integer.MAX_VALUE;
+        for (int i = lowerBound(keys, prefix); i < keys.length && keys[i].text().startsWith(prefix); i++) {
+            Key key = keys[i];
+            if (!key.command().allows(role, level)) {
+                continue;
+            }
+            int rank = key.rank(prefix);
+            if (best == null || rank < bestRank || (rank == bestRank && key.command().outranks(best.command()))) {
+                best = key;
+                bestRank = rank;
+            }
+        }
+        return best == null ? null : best.command().view();
+    }
+
+    // put/remove wait for a running reload instead of patching the empty slot it is about to replace.
+    synchronized Index reload() {
+        Map<String, Command> commands = new HashMap<>();
+        try (Stream<CommandDocument> documents = commandRepository.streamAllBy()) {
+            documents.forEach(doc -> commands.put(doc.getId(), Command.of(doc)));
+        }
+        Index loaded = Index.of(commands);
+        index.set(loaded);
+        log.info("Indexed {} command keys for {} commands", loaded.keys().length, commands.size());
+        return loaded;
+    }
+
+    synchronized void put(CommandDocument document) {
+        Command command = Command.of(document);
+        index.updateAndGet(current -> {
+            if (current == null) {
+                return null;
+            }
+            Map<String, Command> commands = new HashMap<>(current.commands());
+            commands.put(command.id(), command);
+            return Index.of(commands);
+        });
+    }
+
+    synchronized void remove(String id) {
+        index.updateAndGet(current -> {
+            if (current == null || !current.commands().containsKey(id)) {
+                return current;
+            }
+            Map<String, Command> commands = new HashMap<>(current.commands());
+            commands.remove(id);
+            return Index.of(commands);
+        });
+    }
+
+    synchronized void clear() {
+        index.set(Index.of(Map.of()));
+    }
+
+    synchronized void invalidate() {
+        index.set(null);
+    }
+
+    private Index current() {
+        Index current = index.get();
+        return current != null ? current : loadOnce();
+    }
+
+    private synchronized Index loadOnce() {
+        Index current = index.get();
+        return current != null ? current : reload();
+    }
+
+    private static int lowerBound(Key[] keys, String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].text().compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    record Index(Map<String, Command> commands, Key[] keys) {
+        static Index of(Map<String, Command> commands) {
+            List<Key> keys = new ArrayList<>();
+            for (Command command : commands.values()) {
+                if (!command.view().enabled()) {
+                    continue;
+                }
+                keys.add(new Key(command.name(), false, command));
+                for (String shortcut : command.shortcuts()) {
+                    keys.add(new Key(shortcut, true, command));
+                }
+            }
+            keys.sort(KEY_ORDER);
+            return new Index(Collections.unmodifiableMap(commands), keys.toArray(Key[]::new));
+        }
+    }
+
+    record Key(String text, boolean shortcut, Command command) {
+        int rank(String prefix) {
+            boolean exact = text.length() == prefix.length();
+            return (exact ? 0 : 2) + (shortcut ? 1 : 0);
+        }
+    }
+
+    record Command(String id, String name, List<String> shortcuts, String role, int level, int priority, CommandView view) {
+        static Command of(CommandDocument doc) {
+            String name = doc.getName() == null ? "" : doc.getName().trim().toLowerCase(Locale.ROOT);
+            List<String> shortcuts = new ArrayList<>();
+            if (doc.getShortcuts() != null) {
+                for (String shortcut : doc.getShortcuts().split(",")) {
+                    String key = shortcut.trim().toLowerCase(Locale.ROOT);
+                    if (!key.isEmpty() && !key.equals(name)) {
+                        shortcuts.add(key);
+                    }
+                }
+            }
+            return new Command(doc.getId(), name, List.copyOf(shortcuts), doc.getRole(), parseLevel(doc.getLevel()),
+                    doc.getPriority(), CommandMapper.toView(doc));
+        }
+
+        boolean allows(String callerRole, Integer callerLevel) {
+            if (role != null && !role.isBlank() && !role.equalsIgnoreCase(callerRole)) {
+                return false;
+            }
+            return level <= (callerLevel == null ? 0 : callerLevel);
+        }
+
+        boolean outranks(Command other) {
+            if (priority != other.priority) {
+                return priority > other.priority;
+            }
+            return name.compareTo(other.name) < 0;
+        }
+
+        private static int parseLevel(String level) {
+            if (level == null || level.isBlank()) {
+                return 0;
+            }
+            try {
+                return Integer.parseInt(level.trim());
+            } catch (NumberFormatException ex) {
+                return 0;
+            }
+        }
+    }
+}
@@ -5,26 +5,56 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
 import org.springy.som.modulith.domain.command.api.CommandApi;
+import org.springy.som.modulith.domain.command.api.CommandView;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.CollectionSnapshots;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.DomainGuards.commandIdMissing;
+import static org.springy.som.modulith.domain.DomainGuards.commandInputMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class CommandService implements CommandApi {
-    private final CommandRepository commandRepository;
+    static final String COLLECTION = "commands";
 
-    public CommandService(CommandRepository commandRepository) {
+    private final CommandRepository commandRepository;
+    private final CommandResolver commandResolver;
+    private final CollectionSnapshots collectionSnapshots;
+    private final CacheInvalidations cacheInvalidations;
+
+    public CommandService(CommandRepository commandRepository,
+                          CommandResolver commandResolver,
+                          CollectionSnapshots collectionSnapshots,
+                          CacheInvalidations cacheInvalidations) {
         this.commandRepository = commandRepository;
+        this.commandResolver = commandResolver;
+        this.collectionSnapshots = collectionSnapshots;
+        this.cacheInvalidations = cacheInvalidations;
+    }
+
+    @EventListener
+    public void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (invalidation.concerns(COLLECTION)) {
+            commandResolver.invalidate();
+            collectionSnapshots.touch(COLLECTION);
+        }
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllCommandsFallback")
@@ -34,6 +64,39 @@ public class CommandService implements CommandApi {
         return commandRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<CommandDocument> loadAllCommands() {
+        try {
+            return commandRepository.findAll();
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in loadAllCommands", ex);
+            throw new CommandPersistenceException("Failed to load commands "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<CommandDocument> streamAllCommands() {
+        return commandRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<CommandDocument> getCommandsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<CommandDocument> fetched = lastId == null
+                    ? commandRepository.findAllByOrderByIdAsc(limit)
+                    : commandRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, CommandDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getCommandsPage after={}", after, ex);
+            throw new CommandPersistenceException("Failed to load commands page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public CommandDocument getCommandByName(@RequestParam String commandName) {
@@ -46,6 +109,22 @@ public class CommandService implements CommandApi {
         return commandRepository.findCommandById(commandId);
     }
 
+    public CommandView resolveCommand(String input, String role, Integer level) {
+        requireText(input, commandInputMissing());
+
+        CommandView resolved;
+        try {
+            resolved = commandResolver.resolve(input, role, level);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in resolveCommand input={}", input, ex);
+            throw new CommandPersistenceException("Failed to load commands for resolution "+ex);
+        }
+        if (resolved == null) {
+            throw new CommandNotFoundException("No command matches '" + input + "'");
+        }
+        return resolved;
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public CommandDocument createCommand(@Valid @RequestBody CommandDocument commandDocument) {
@@ -53,7 +132,11 @@ public class CommandService implements CommandApi {
 
         try {
             // if (commandRepository.existsById(commandDocument.getId())) throw new CommandConflictException(...)
-            return commandRepository.save(commandDocument);
+            CommandDocument saved = commandRepository.save(commandDocument);
+            commandResolver.put(saved);
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
         } catch (DataAccessException ex) {
             log.warn("DB failure in createCommand commandId={}", safeId(commandDocument, CommandDocument::getId), ex);
             throw new CommandPersistenceException("Failed to create commandDocument"+ex);
@@ -63,11 +146,15 @@ public class CommandService implements CommandApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public CommandDocument saveCommandForId(String id, CommandDocument commandDocument) {
-        CommandDocument existing = commandRepository.findCommandById(id);
-        requireText(existing.getId(), commandIdMissing());
-        requireEntityWithId(existing, CommandDocument::getId, commandIdMissing(), commandIdMissing());
-
-        return commandRepository.save(commandDocument);
+        requireText(id, commandIdMissing());
+        requireNonNull(commandDocument, commandIdMissing());
+        commandDocument.setId(id);
+
+        CommandDocument saved = VersionedSave.save(commandRepository, id, commandDocument, CommandDocument::getVersion, CommandNotFoundException::new);
+        commandResolver.put(saved);
+        collectionSnapshots.touch(COLLECTION);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -80,6 +167,9 @@ public class CommandService implements CommandApi {
                 throw new CommandNotFoundException(id);
             }
             commandRepository.deleteById(id);
+            commandResolver.remove(id);
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteCommandById id={}", id, ex);
             throw new CommandPersistenceException("Failed to delete command: " + id+" "+ex);
@@ -92,6 +182,9 @@ public class CommandService implements CommandApi {
         try {
             long itemCount = commandRepository.count();
             commandRepository.deleteAll();
+            commandResolver.clear();
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllCommands", ex);
@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.command.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,30 +11,59 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.domain.command.api.HelpMapper;
 import org.springy.som.modulith.domain.command.api.HelpView;
+import org.springy.som.modulith.web.CollectionSnapshots;
 import org.springy.som.modulith.web.DeleteAllResponse;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/api/v1/helps", produces = "application/json")
-public class HelpController {
+public class HelpController implements CacheWarmup {
     private final HelpService helpService;
-    public HelpController(HelpService helpService) {
+    private final ObjectMapper objectMapper;
+    private final CollectionSnapshots collectionSnapshots;
+    public HelpController(HelpService helpService, ObjectMapper objectMapper, CollectionSnapshots collectionSnapshots) {
         this.helpService = helpService;
+        this.objectMapper = objectMapper;
+        this.collectionSnapshots = collectionSnapshots;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return List.of(collectionSnapshots.warmupTask(HelpService.COLLECTION, helpService::loadAllHelps, HelpMapper::toView));
     }
 
     @GetMapping
-    public ResponseEntity<List<HelpView>> getHelps() {
-        List<HelpView> helpViews = helpService.getAllHelps()
-                .stream()
-                .map(HelpMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(helpViews);
+    public ResponseEntity<byte[]> getHelps() {
+        return collectionSnapshots.respond(HelpService.COLLECTION, helpService::loadAllHelps, HelpMapper::toView);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamHelps() {
+        return NdjsonStreams.respond(helpService::streamAllHelps, HelpMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<HelpView>> getHelpsPage(@RequestParam int size,
+                                                             @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(helpService.getHelpsPage(after, size).map(HelpMapper::toView));
+    }
+
+    @GetMapping(path = "/search")
+    public ResponseEntity<List<HelpView>> searchHelps(@RequestParam String q,
+                                                      @RequestParam(required = false) Integer trust,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(helpService.searchHelps(q, trust, limit));
     }
 
     @GetMapping(path = "/{id}")
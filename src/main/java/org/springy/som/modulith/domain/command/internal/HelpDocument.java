@@ -3,16 +3,22 @@ package org.springy.som.modulith.domain.command.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document("Helps")
 public class HelpDocument {
     @NotBlank(message = "keyword must not be blank")
+    @Indexed
     private String keyword;
     private int level;
     private String text;
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
@@ -1,10 +1,13 @@
 package org.springy.som.modulith.domain.command.internal;
 
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface HelpRepository extends MongoRepository<HelpDocument, String> {
     @NotNull List<HelpDocument> findAll();
@@ -14,4 +17,11 @@ public interface HelpRepository extends MongoRepository<HelpDocument, String> {
 
     @Query("{id: '?0'}")
     HelpDocument findHelpById(String helpId);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<HelpDocument> streamAllBy();
+
+    List<HelpDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<HelpDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
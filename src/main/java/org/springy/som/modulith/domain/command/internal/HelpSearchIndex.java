@@ -0,0 +1,223 @@
+package org.springy.som.modulith.domain.command.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.command.api.HelpMapper;
+import org.springy.som.modulith.domain.command.api.HelpView;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/** Inverted index over help keywords and text; every query word must match. */
+@Slf4j
+@Component
+class HelpSearchIndex implements CacheWarmup {
+    private static final byte IN_TEXT = 1;
+    private static final byte IN_KEYWORD = 2;
+
+    private final HelpRepository helpRepository;
+    private final boolean preloadOnStartup;
+    private final AtomicReference<Index> index = new AtomicReference<>();
+
+    HelpSearchIndex(HelpRepository helpRepository,
+                    @Value("${som.helps.search.preload-on-startup:true}") boolean preloadOnStartup) {
+        this.helpRepository = helpRepository;
+        this.preloadOnStartup = preloadOnStartup;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return preloadOnStartup ? List.of(new WarmupTask("Helps", () -> reload().helps().length)) : List.of();
+    }
+
+    List<HelpView> search(String query, Integer trust, int limit) {
+        List<String> words = tokens(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        Index current = current();
+        Help[] helps = current.helps();
+        int[] total = new int[helps.length];
+        int[] best = new int[helps.length];
+        boolean[] excluded = new boolean[helps.length];
+        int visibleUpTo = trust == null ? 0 : trust;
+        for (int i = 0; i < helps.length; i++) {
+            excluded[i] = helps[i].view().level() > visibleUpTo;
+        }
+
+        for (String word : words) {
+            String[] terms = current.terms();
+            for (int t = lowerBound(terms, word); t < terms.length && terms[t].startsWith(word); t++) {
+                boolean whole = terms[t].length() == word.length();
+                int[] postings = current.postings()[t];
+                byte[] fields = current.fields()[t];
+                for (int p = 0; p < postings.length; p++) {
+                    int score = score(fields[p], whole);
+                    if (score > best[postings[p]]) {
+                        best[postings[p]] = score;
+                    }
+                }
+            }
+            for (int i = 0; i < helps.length; i++) {
+                if (best[i] == 0) {
+                    excluded[i] = true;
+                } else {
+                    total[i] += best[i];
+                    best[i] = 0;
+                }
+            }
+        }
+
+        List<Integer> hits = new ArrayList<>();
+        for (int i = 0; i < helps.length; i++) {
+            if (!excluded[i]) {
+                hits.add(i);
+            }
+        }
+        hits.sort(Comparator.<Integer>comparingInt(i -> -total[i]).thenComparing(i -> helps[i].sortKey()));
+        List<HelpView> results = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            results.add(helps[hits.get(i)].view());
+        }
+        return results;
+    }
+
+    synchronized Index reload() {
+        Map<String, Help> helps = new HashMap<>();
+        try (Stream<HelpDocument> documents = helpRepository.streamAllBy()) {
+            documents.forEach(doc -> helps.put(doc.getId(), Help.of(doc)));
+        }
+        Index loaded = Index.of(helps);
+        index.set(loaded);
+        log.info("Indexed {} terms across {} helps", loaded.terms().length, helps.size());
+        return loaded;
+    }
+
+    synchronized void put(HelpDocument document) {
+        Help help = Help.of(document);
+        index.updateAndGet(current -> {
+            if (current == null) {
+                return null;
+            }
+            Map<String, Help> helps = new HashMap<>(current.byId());
+            helps.put(help.view().id(), help);
+            return Index.of(helps);
+        });
+    }
+
+    synchronized void remove(String id) {
+        index.updateAndGet(current -> {
+            if (current == null || !current.byId().containsKey(id)) {
+                return current;
+            }
+            Map<String, Help> helps = new HashMap<>(current.byId());
+            helps.remove(id);
+            return Index.of(helps);
+        });
+    }
+
+    synchronized void clear() {
+        index.set(Index.of(Map.of()));
+    }
+
+    synchronized void invalidate() {
+        index.set(null);
+    }
+
+    private Index current() {
+        Index current = index.get();
+        return current != null ? current : loadOnce();
+    }
+
+    private synchronized Index loadOnce() {
+        Index current = index.get();
+        return current != null ? current : reload();
+    }
+
+    private static int score(byte field, boolean whole) {
+        int score = (field & IN_KEYWORD) != 0 ? 8 : 1;
+        return whole ? score * 2 : score;
+    }
+
+    private static int lowerBound(String[] terms, String word) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(word) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    record Help(HelpView view, String sortKey, Map<String, Byte> terms) {
+        static Help of(HelpDocument doc) {
+            Map<String, Byte> terms = new HashMap<>();
+            for (String token : tokens(doc.getText())) {
+                terms.merge(token, IN_TEXT, (a, b) -> (byte) (a | b));
+            }
+            for (String token : tokens(doc.getKeyword())) {
+                terms.merge(token, IN_KEYWORD, (a, b) -> (byte) (a | b));
+            }
+            String sortKey = doc.getKeyword() == null ? "" : doc.getKeyword().toLowerCase(Locale.ROOT);
+            return new Help(HelpMapper.toView(doc), sortKey, Map.copyOf(terms));
+        }
+    }
+
+    record Index(Map<String, Help> byId, Help[] helps, String[] terms, int[][] postings, byte[][] fields) {
+        static Index of(Map<String, Help> byId) {
+            Help[] helps = byId.values().toArray(Help[]::new);
+            TreeMap<String, List<Integer>> termDocs = new TreeMap<>();
+            for (int i = 0; i < helps.length; i++) {
+                for (String term : helps[i].terms().keySet()) {
+                    termDocs.computeIfAbsent(term, k -> new ArrayList<>()).add(i);
+                }
+            }
+            String[] terms = termDocs.keySet().toArray(String[]::new);
+            int[][] postings = new int[terms.length][];
+            byte[][] fields = new byte[terms.length][];
+            for (int t = 0; t < terms.length; t++) {
+                List<Integer> docs = termDocs.get(terms[t]);
+                postings[t] = new int[docs.size()];
+                fields[t] = new byte[docs.size()];
+                for (int p = 0; p < docs.size(); p++) {
+                    postings[t][p] = docs.get(p);
+                    fields[t][p] = helps[docs.get(p)].terms().get(terms[t]);
+                }
+            }
+            return new Index(Collections.unmodifiableMap(byId), helps, terms, postings, fields);
+        }
+    }
+}
@@ -5,26 +5,57 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
 import org.springy.som.modulith.domain.command.api.HelpApi;
+import org.springy.som.modulith.domain.command.api.HelpView;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.CollectionSnapshots;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.DomainGuards.helpIdMissing;
+import static org.springy.som.modulith.domain.DomainGuards.helpQueryMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class HelpService implements HelpApi {
-    private final HelpRepository helpRepository;
+    static final String COLLECTION = "helps";
+    static final int MAX_SEARCH_RESULTS = 50;
 
-    public HelpService(HelpRepository helpRepository) {
+    private final HelpRepository helpRepository;
+    private final HelpSearchIndex helpSearchIndex;
+    private final CollectionSnapshots collectionSnapshots;
+    private final CacheInvalidations cacheInvalidations;
+
+    public HelpService(HelpRepository helpRepository,
+                       HelpSearchIndex helpSearchIndex,
+                       CollectionSnapshots collectionSnapshots,
+                       CacheInvalidations cacheInvalidations) {
         this.helpRepository = helpRepository;
+        this.helpSearchIndex = helpSearchIndex;
+        this.collectionSnapshots = collectionSnapshots;
+        this.cacheInvalidations = cacheInvalidations;
+    }
+
+    @EventListener
+    public void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (invalidation.concerns(COLLECTION)) {
+            helpSearchIndex.invalidate();
+            collectionSnapshots.touch(COLLECTION);
+        }
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllHelpsFallback")
@@ -34,6 +65,39 @@ public class HelpService implements HelpApi {
         return helpRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<HelpDocument> loadAllHelps() {
+        try {
+            return helpRepository.findAll();
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in loadAllHelps", ex);
+            throw new HelpPersistenceException("Failed to load helps "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<HelpDocument> streamAllHelps() {
+        return helpRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<HelpDocument> getHelpsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<HelpDocument> fetched = lastId == null
+                    ? helpRepository.findAllByOrderByIdAsc(limit)
+                    : helpRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, HelpDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getHelpsPage after={}", after, ex);
+            throw new HelpPersistenceException("Failed to load helps page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public HelpDocument getHelpByKeyword(@RequestParam String keyword) {
@@ -46,6 +110,17 @@ public class HelpService implements HelpApi {
         return helpRepository.findHelpById(helpId);
     }
 
+    public List<HelpView> searchHelps(String query, Integer trust, int limit) {
+        requireText(query, helpQueryMissing());
+
+        try {
+            return helpSearchIndex.search(query, trust, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in searchHelps query={}", query, ex);
+            throw new HelpPersistenceException("Failed to load helps for search " + ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public HelpDocument createHelp(@Valid @RequestBody HelpDocument helpDocument) {
@@ -53,7 +128,11 @@ public class HelpService implements HelpApi {
 
         try {
             // if (helpRepository.existsById(helpDocument.getId())) throw new HelpConflictException(...)
-            return helpRepository.save(helpDocument);
+            HelpDocument saved = helpRepository.save(helpDocument);
+            helpSearchIndex.put(saved);
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
         } catch (DataAccessException ex) {
             log.warn("DB failure in createHelp helpId={}", safeId(helpDocument, HelpDocument::getId), ex);
             throw new HelpPersistenceException("Failed to create helpDocument" + ex);
@@ -63,11 +142,15 @@ public class HelpService implements HelpApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public HelpDocument saveHelpForId(String id, HelpDocument helpDocument) {
-        HelpDocument existing = helpRepository.findHelpById(id);
-        requireText(existing.getId(), helpIdMissing());
-        requireEntityWithId(existing, HelpDocument::getId, helpIdMissing(), helpIdMissing());
-
-        return helpRepository.save(helpDocument);
+        requireText(id, helpIdMissing());
+        requireNonNull(helpDocument, helpIdMissing());
+        helpDocument.setId(id);
+
+        HelpDocument saved = VersionedSave.save(helpRepository, id, helpDocument, HelpDocument::getVersion, HelpNotFoundException::new);
+        helpSearchIndex.put(saved);
+        collectionSnapshots.touch(COLLECTION);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -80,6 +163,9 @@ public class HelpService implements HelpApi {
                 throw new HelpNotFoundException(id);
             }
             helpRepository.deleteById(id);
+            helpSearchIndex.remove(id);
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteHelpById id={}", id, ex);
             throw new HelpPersistenceException("Failed to delete help: " + id + " " + ex);
@@ -92,6 +178,9 @@ public class HelpService implements HelpApi {
         try {
             long itemCount = helpRepository.count();
             helpRepository.deleteAll();
+            helpSearchIndex.clear();
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllHelps", ex);
@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.command.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,30 +11,63 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.domain.command.api.SocialMapper;
+import org.springy.som.modulith.domain.command.api.SocialMessages;
 import org.springy.som.modulith.domain.command.api.SocialView;
+import org.springy.som.modulith.web.CollectionSnapshots;
 import org.springy.som.modulith.web.DeleteAllResponse;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/api/v1/socials", produces = "application/json")
-public class SocialController {
+public class SocialController implements CacheWarmup {
     private final SocialService socialService;
-    public SocialController(SocialService socialService) {
+    private final ObjectMapper objectMapper;
+    private final CollectionSnapshots collectionSnapshots;
+    public SocialController(SocialService socialService, ObjectMapper objectMapper, CollectionSnapshots collectionSnapshots) {
         this.socialService = socialService;
+        this.objectMapper = objectMapper;
+        this.collectionSnapshots = collectionSnapshots;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return List.of(collectionSnapshots.warmupTask(SocialService.COLLECTION, socialService::loadAllSocials, SocialMapper::toView));
     }
 
     @GetMapping
-    public ResponseEntity<List<SocialView>> getSocials() {
-        List<SocialView> socialViews = socialService.getAllSocials()
-                .stream()
-                .map(SocialMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(socialViews);
+    public ResponseEntity<byte[]> getSocials() {
+        return collectionSnapshots.respond(SocialService.COLLECTION, socialService::loadAllSocials, SocialMapper::toView);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSocials() {
+        return NdjsonStreams.respond(socialService::streamAllSocials, SocialMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<SocialView>> getSocialsPage(@RequestParam int size,
+                                                                 @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(socialService.getSocialsPage(after, size).map(SocialMapper::toView));
+    }
+
+    @GetMapping(path = "/render")
+    public ResponseEntity<SocialMessages> renderSocial(@RequestParam String name,
+                                                       @RequestParam String actor,
+                                                       @RequestParam(required = false) String actorSex,
+                                                       @RequestParam(required = false) String victim,
+                                                       @RequestParam(required = false) String victimSex,
+                                                       @RequestParam(defaultValue = "true") boolean found) {
+        return ResponseEntity.ok(socialService.renderSocial(name, actor, actorSex, victim, victimSex, found));
     }
 
     @GetMapping(path = "/{id}")
@@ -3,12 +3,15 @@ package org.springy.som.modulith.domain.command.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document("Socials")
 public class SocialDocument {
     @NotBlank(message = "name must not be blank")
+    @Indexed
     private String name;
     private String charNoArg;
     private String othersNoArg;
@@ -21,4 +24,7 @@ public class SocialDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
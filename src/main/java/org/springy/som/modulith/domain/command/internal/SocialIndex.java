@@ -0,0 +1,149 @@
+package org.springy.som.modulith.domain.command.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.command.api.SocialMessages;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/** Socials by name, with every message compiled into a {@link SocialTemplate}. */
+@Slf4j
+@Component
+class SocialIndex implements CacheWarmup {
+    private final SocialRepository socialRepository;
+    private final boolean preloadOnStartup;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    SocialIndex(SocialRepository socialRepository,
+                @Value("${som.socials.index.preload-on-startup:true}") boolean preloadOnStartup) {
+        this.socialRepository = socialRepository;
+        this.preloadOnStartup = preloadOnStartup;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return preloadOnStartup ? List.of(new WarmupTask("Socials", () -> reload().byId().size())) : List.of();
+    }
+
+    SocialMessages render(String name, String actor, String actorSex, String victim, String victimSex, boolean found) {
+        Snapshot current = current();
+        CompiledSocial social = current.byName().get(name.trim().toLowerCase(Locale.ROOT));
+        if (social == null) {
+            return null;
+        }
+        if (victim == null) {
+            return social.render(social.charNoArg(), null, social.othersNoArg(), actor, actorSex, null, null);
+        }
+        if (!found) {
+            return social.render(social.charNotFound(), null, null, actor, actorSex, victim, victimSex);
+        }
+        if (victim.equalsIgnoreCase(actor)) {
+            return social.render(social.charAuto(), null, social.othersAuto(), actor, actorSex, victim, victimSex);
+        }
+        return social.render(social.charFound(), social.victFound(), social.othersFound(), actor, actorSex, victim, victimSex);
+    }
+
+    // Shares the lock with put and remove so a write landing mid-stream is applied after it, not lost.
+    synchronized Snapshot reload() {
+        Map<String, CompiledSocial> byId = new HashMap<>();
+        try (Stream<SocialDocument> documents = socialRepository.streamAllBy()) {
+            documents.forEach(doc -> byId.put(doc.getId(), CompiledSocial.of(doc)));
+        }
+        Snapshot loaded = Snapshot.of(byId);
+        snapshot.set(loaded);
+        log.info("Compiled {} socials", byId.size());
+        return loaded;
+    }
+
+    synchronized void put(SocialDocument document) {
+        CompiledSocial social = CompiledSocial.of(document);
+        snapshot.updateAndGet(current -> {
+            if (current == null) {
+                return null;
+            }
+            Map<String, CompiledSocial> byId = new HashMap<>(current.byId());
+            byId.put(social.id(), social);
+            return Snapshot.of(byId);
+        });
+    }
+
+    synchronized void remove(String id) {
+        snapshot.updateAndGet(current -> {
+            if (current == null || !current.byId().containsKey(id)) {
+                return current;
+            }
+            Map<String, CompiledSocial> byId = new HashMap<>(current.byId());
+            byId.remove(id);
+            return Snapshot.of(byId);
+        });
+    }
+
+    synchronized void clear() {
+        snapshot.set(Snapshot.of(Map.of()));
+    }
+
+    synchronized void invalidate() {
+        snapshot.set(null);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        return current != null ? current : loadOnce();
+    }
+
+    private synchronized Snapshot loadOnce() {
+        Snapshot current = snapshot.get();
+        return current != null ? current : reload();
+    }
+
+    record Snapshot(Map<String, CompiledSocial> byId, Map<String, CompiledSocial> byName) {
+        static Snapshot of(Map<String, CompiledSocial> byId) {
+            Map<String, CompiledSocial> byName = new HashMap<>();
+            byId.values().forEach(social -> byName.put(social.name(), social));
+            return new Snapshot(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName));
+        }
+    }
+
+    record CompiledSocial(String id,
+                          String name,
+                          SocialTemplate charNoArg,
+                          SocialTemplate othersNoArg,
+                          SocialTemplate charFound,
+                          SocialTemplate othersFound,
+                          SocialTemplate victFound,
+                          SocialTemplate charNotFound,
+                          SocialTemplate charAuto,
+                          SocialTemplate othersAuto) {
+        static CompiledSocial of(SocialDocument doc) {
+            return new CompiledSocial(
+                    doc.getId(),
+                    doc.getName() == null ? "" : doc.getName().trim().toLowerCase(Locale.ROOT),
+                    SocialTemplate.compile(doc.getCharNoArg()),
+                    SocialTemplate.compile(doc.getOthersNoArg()),
+                    SocialTemplate.compile(doc.getCharFound()),
+                    SocialTemplate.compile(doc.getOthersFound()),
+                    SocialTemplate.compile(doc.getVictFound()),
+                    SocialTemplate.compile(doc.getCharNotFound()),
+                    SocialTemplate.compile(doc.getCharAuto()),
+                    SocialTemplate.compile(doc.getOthersAuto()));
+        }
+
+        SocialMessages render(SocialTemplate toActor, SocialTemplate toVictim, SocialTemplate toOthers,
+                              String actor, String actorSex, String victim, String victimSex) {
+            return new SocialMessages(
+                    name,
+                    toActor == null ? null : toActor.render(actor, actorSex, victim, victimSex),
+                    toVictim == null ? null : toVictim.render(actor, actorSex, victim, victimSex),
+                    toOthers == null ? null : toOthers.render(actor, actorSex, victim, victimSex));
+        }
+    }
+}
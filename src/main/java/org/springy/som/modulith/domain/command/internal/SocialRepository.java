@@ -1,10 +1,13 @@
 package org.springy.som.modulith.domain.command.internal;
 
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SocialRepository extends MongoRepository<SocialDocument, String> {
     @NotNull List<SocialDocument> findAll();
@@ -14,4 +17,11 @@ public interface SocialRepository extends MongoRepository<SocialDocument, String
 
     @Query("{id: '?0'}")
     SocialDocument findSocialById(String commandId);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<SocialDocument> streamAllBy();
+
+    List<SocialDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<SocialDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
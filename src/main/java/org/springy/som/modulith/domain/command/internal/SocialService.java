@@ -5,26 +5,57 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
 import org.springy.som.modulith.domain.command.api.SocialApi;
+import org.springy.som.modulith.domain.command.api.SocialMessages;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.CollectionSnapshots;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import static org.springy.som.modulith.domain.DomainGuards.socialActorMissing;
 import static org.springy.som.modulith.domain.DomainGuards.socialIdMissing;
+import static org.springy.som.modulith.domain.DomainGuards.socialNameMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class SocialService implements SocialApi {
-    private final SocialRepository socialRepository;
+    static final String COLLECTION = "socials";
 
-    public SocialService(SocialRepository socialRepository) {
+    private final SocialRepository socialRepository;
+    private final SocialIndex socialIndex;
+    private final CollectionSnapshots collectionSnapshots;
+    private final CacheInvalidations cacheInvalidations;
+
+    public SocialService(SocialRepository socialRepository,
+                         SocialIndex socialIndex,
+                         CollectionSnapshots collectionSnapshots,
+                         CacheInvalidations cacheInvalidations) {
         this.socialRepository = socialRepository;
+        this.socialIndex = socialIndex;
+        this.collectionSnapshots = collectionSnapshots;
+        this.cacheInvalidations = cacheInvalidations;
+    }
+
+    @EventListener
+    public void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (invalidation.concerns(COLLECTION)) {
+            socialIndex.invalidate();
+            collectionSnapshots.touch(COLLECTION);
+        }
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllSocialsFallback")
@@ -34,6 +65,39 @@ public class SocialService implements SocialApi {
         return socialRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<SocialDocument> loadAllSocials() {
+        try {
+            return socialRepository.findAll();
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in loadAllSocials", ex);
+            throw new SocialPersistenceException("Failed to load socials "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<SocialDocument> streamAllSocials() {
+        return socialRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<SocialDocument> getSocialsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<SocialDocument> fetched = lastId == null
+                    ? socialRepository.findAllByOrderByIdAsc(limit)
+                    : socialRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, SocialDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getSocialsPage after={}", after, ex);
+            throw new SocialPersistenceException("Failed to load socials page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public SocialDocument getSocialByName(@RequestParam String socialName) {
@@ -46,6 +110,24 @@ public class SocialService implements SocialApi {
         return socialRepository.findSocialById(socialId);
     }
 
+    public SocialMessages renderSocial(String name, String actor, String actorSex,
+                                       String victim, String victimSex, boolean found) {
+        requireText(name, socialNameMissing());
+        requireText(actor, socialActorMissing());
+
+        SocialMessages messages;
+        try {
+            messages = socialIndex.render(name, actor, actorSex, victim, victimSex, found);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in renderSocial name={}", name, ex);
+            throw new SocialPersistenceException("Failed to load socials for rendering " + ex);
+        }
+        if (messages == null) {
+            throw new SocialNotFoundException("No social named '" + name + "'");
+        }
+        return messages;
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public SocialDocument createSocial(@Valid @RequestBody SocialDocument socialDocument) {
@@ -53,7 +135,11 @@ public class SocialService implements SocialApi {
 
         try {
             // if (socialRepository.existsById(socialDocument.getId())) throw new SocialConflictException(...)
-            return socialRepository.save(socialDocument);
+            SocialDocument saved = socialRepository.save(socialDocument);
+            socialIndex.put(saved);
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
         } catch (DataAccessException ex) {
             log.warn("DB failure in createSocial socialId={}", safeId(socialDocument, SocialDocument::getId), ex);
             throw new SocialPersistenceException("Failed to create socialDocument" + ex);
@@ -63,11 +149,15 @@ public class SocialService implements SocialApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public SocialDocument saveSocialForId(String id, SocialDocument socialDocument) {
-        SocialDocument existing = socialRepository.findSocialById(id);
-        requireText(existing.getId(), socialIdMissing());
-        requireEntityWithId(existing, SocialDocument::getId, socialIdMissing(), socialIdMissing());
-
-        return socialRepository.save(socialDocument);
+        requireText(id, socialIdMissing());
+        requireNonNull(socialDocument, socialIdMissing());
+        socialDocument.setId(id);
+
+        SocialDocument saved = VersionedSave.save(socialRepository, id, socialDocument, SocialDocument::getVersion, SocialNotFoundException::new);
+        socialIndex.put(saved);
+        collectionSnapshots.touch(COLLECTION);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -80,6 +170,9 @@ public class SocialService implements SocialApi {
                 throw new SocialNotFoundException(id);
             }
             socialRepository.deleteById(id);
+            socialIndex.remove(id);
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteSocialById id={}", id, ex);
             throw new SocialPersistenceException("Failed to delete social: " + id + " " + ex);
@@ -92,6 +185,9 @@ public class SocialService implements SocialApi {
         try {
             long itemCount = socialRepository.count();
             socialRepository.deleteAll();
+            socialIndex.clear();
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllSocials", ex);
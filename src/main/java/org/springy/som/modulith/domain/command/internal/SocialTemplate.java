@@ -0,0 +1,122 @@
+package org.springy.som.modulith.domain.command.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A social message pre-split into literals and ROM act() tokens ($n, $N, $e, $E, $m, $M, $s, $S, $$). */
+final class SocialTemplate {
+    private static final byte ACTOR_NAME = 0;
+    private static final byte VICTIM_NAME = 1;
+    private static final byte ACTOR_SUBJECT = 2;
+    private static final byte VICTIM_SUBJECT = 3;
+    private static final byte ACTOR_OBJECT = 4;
+    private static final byte VICTIM_OBJECT = 5;
+    private static final byte ACTOR_POSSESSIVE = 6;
+    private static final byte VICTIM_POSSESSIVE = 7;
+
+    private final String[] literals;
+    private final byte[] tokens;
+    private final int literalLength;
+
+    private SocialTemplate(String[] literals, byte[] tokens, int literalLength) {
+        this.literals = literals;
+        this.tokens = tokens;
+        this.literalLength = literalLength;
+    }
+
+    static SocialTemplate compile(String message) {
+        if (message == null || message.isEmpty()) {
+            return null;
+        }
+        List<String> literals = new ArrayList<>();
+        List<Byte> tokens = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(message.length());
+        int literalLength = 0;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c != '$' || i + 1 == message.length()) {
+                literal.append(c);
+                continue;
+            }
+            char code = message.charAt(i + 1);
+            if (code == '$') {
+                literal.append('$');
+                i++;
+                continue;
+            }
+            byte token = token(code);
+            if (token < 0) {
+                literal.append(c);
+                continue;
+            }
+            literals.add(literal.toString());
+            literalLength += literal.length();
+            literal.setLength(0);
+            tokens.add(token);
+            i++;
+        }
+        literals.add(literal.toString());
+        literalLength += literal.length();
+
+        byte[] tokenArray = new byte[tokens.size()];
+        for (int i = 0; i < tokenArray.length; i++) {
+            tokenArray[i] = tokens.get(i);
+        }
+        return new SocialTemplate(literals.toArray(String[]::new), tokenArray, literalLength);
+    }
+
+    String render(String actor, String actorSex, String victim, String victimSex) {
+        if (tokens.length == 0) {
+            return literals[0];
+        }
+        StringBuilder out = new StringBuilder(literalLength + tokens.length * 12);
+        for (int i = 0; i < tokens.length; i++) {
+            out.append(literals[i]);
+            out.append(switch (tokens[i]) {
+                case ACTOR_NAME -> actor;
+                case VICTIM_NAME -> victim;
+                case ACTOR_SUBJECT -> subject(actorSex);
+                case VICTIM_SUBJECT -> subject(victimSex);
+                case ACTOR_OBJECT -> object(actorSex);
+                case VICTIM_OBJECT -> object(victimSex);
+                case ACTOR_POSSESSIVE -> possessive(actorSex);
+                default -> possessive(victimSex);
+            });
+        }
+        return out.append(literals[tokens.length]).toString();
+    }
+
+    private static byte token(char code) {
+        return switch (code) {
+            case 'n' -> ACTOR_NAME;
+            case 'N' -> VICTIM_NAME;
+            case 'e' -> ACTOR_SUBJECT;
+            case 'E' -> VICTIM_SUBJECT;
+            case 'm' -> ACTOR_OBJECT;
+            case 'M' -> VICTIM_OBJECT;
+            case 's' -> ACTOR_POSSESSIVE;
+            case 'S' -> VICTIM_POSSESSIVE;
+            default -> -1;
+        };
+    }
+
+    private static String subject(String sex) {
+        return isMale(sex) ? "he" : isFemale(sex) ? "she" : "it";
+    }
+
+    private static String object(String sex) {
+        return isMale(sex) ? "him" : isFemale(sex) ? "her" : "it";
+    }
+
+    private static String possessive(String sex) {
+        return isMale(sex) ? "his" : isFemale(sex) ? "her" : "its";
+    }
+
+    private static boolean isMale(String sex) {
+        return sex != null && (sex.equalsIgnoreCase("male") || sex.equalsIgnoreCase("m"));
+    }
+
+    private static boolean isFemale(String sex) {
+        return sex != null && (sex.equalsIgnoreCase("female") || sex.equalsIgnoreCase("f"));
+    }
+}
@@ -1,11 +1,18 @@
 package org.springy.som.modulith.domain.game.api;
 
 import org.springy.som.modulith.domain.game.internal.GameDataDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface GameDataApi {
     List<GameDataDocument> findAll();
+    Stream<GameDataDocument> streamAll();
+    List<GameDataView> findAllViews();
+    Stream<GameDataView> streamAllViews();
+    KeysetPage<GameDataDocument> findPage(String after, int size);
     GameDataDocument findGameDataByRulesetId(String id);
+    GameDataView findGameDataViewByRulesetId(String id);
 
 }
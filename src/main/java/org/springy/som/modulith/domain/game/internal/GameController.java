@@ -1,37 +1,59 @@
 package org.springy.som.modulith.domain.game.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.domain.game.api.GameDataMapper;
 import org.springy.som.modulith.domain.game.api.GameDataView;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping(path = "/api/v1/game", produces = "application/json")
 public class GameController {
     private final GameService gameService;
+    private final ObjectMapper objectMapper;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, ObjectMapper objectMapper) {
         this.gameService = gameService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
     public ResponseEntity<List<GameDataView>> findAll() {
-        List<GameDataView> gameDataViews = gameService.findAll()
-                .stream()
-                .map(GameDataMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(gameDataViews);
+        return ResponseEntity.ok(gameService.findAllViews());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return NdjsonStreams.respond(gameService::streamAllViews, Function.identity(), objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<GameDataView>> findPage(@RequestParam int size,
+                                                             @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(gameService.findPage(after, size).map(GameDataMapper::toView));
     }
 
     @GetMapping(path = "/{id}")
     public ResponseEntity<GameDataView> findGameDataById(@PathVariable String id) {
-        return ResponseEntity.ok(GameDataMapper.toView(gameService.findGameDataByRulesetId(id)));
+        RulesetCache.Ruleset ruleset = gameService.findRuleset(id);
+        if (ruleset == null) {
+            return ResponseEntity.ok(null);
+        }
+        // A matching If-None-Match turns this into a 304 before the body is written.
+        return ResponseEntity.ok()
+                .eTag(ruleset.etag())
+                .body(ruleset.view());
     }
 }
@@ -1,9 +1,27 @@
 package org.springy.som.modulith.domain.game.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springy.som.modulith.domain.game.api.GameDataView;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface GameRepository extends MongoRepository<GameDataDocument, String> {
     @Query("{_id: '?0'}")
     GameDataDocument findGameDataByRulesetId(String rulesetId);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<GameDataDocument> streamAllBy();
+
+    List<GameDataDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<GameDataDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<GameDataView> findAllViewsBy();
+
+    @Meta(cursorBatchSize = 500)
+    Stream<GameDataView> streamViewsBy();
 }
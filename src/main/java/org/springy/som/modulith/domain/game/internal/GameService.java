@@ -4,19 +4,25 @@ import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springy.som.modulith.domain.command.internal.CommandDocument;
 import org.springy.som.modulith.domain.game.api.GameDataApi;
+import org.springy.som.modulith.domain.game.api.GameDataView;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class GameService implements GameDataApi {
     private final GameRepository gameRepository;
+    private final RulesetCache rulesetCache;
 
-    public GameService(GameRepository gameRepository) {
+    public GameService(GameRepository gameRepository, RulesetCache rulesetCache) {
         this.gameRepository = gameRepository;
+        this.rulesetCache = rulesetCache;
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllGameDataFallback")
@@ -26,14 +32,63 @@ public class GameService implements GameDataApi {
         return gameRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<GameDataDocument> streamAll() {
+        return gameRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllGameDataViewsFallback")
+    @Retry(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<GameDataView> findAllViews() {
+        return gameRepository.findAllViewsBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<GameDataView> streamAllViews() {
+        return gameRepository.streamViewsBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<GameDataDocument> findPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        List<GameDataDocument> fetched = lastId == null
+                ? gameRepository.findAllByOrderByIdAsc(limit)
+                : gameRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+        return KeysetPage.of(fetched, size, GameDataDocument::id);
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public GameDataDocument findGameDataByRulesetId(String id) {
-        return gameRepository.findGameDataByRulesetId(id);
+        RulesetCache.Ruleset ruleset = rulesetCache.get(id);
+        return ruleset == null ? null : ruleset.document();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public GameDataView findGameDataViewByRulesetId(String id) {
+        RulesetCache.Ruleset ruleset = rulesetCache.get(id);
+        return ruleset == null ? null : ruleset.view();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public RulesetCache.Ruleset findRuleset(String id) {
+        return rulesetCache.get(id);
     }
 
     private List<CommandDocument> getAllGameDataFallback(Throwable t) {
         log.warn("Fallback getAllGameData due to {}", t.toString());
         return List.of();
     }
+
+    private List<GameDataView> getAllGameDataViewsFallback(Throwable t) {
+        log.warn("Fallback getAllGameDataViews due to {}", t.toString());
+        return List.of();
+    }
 }
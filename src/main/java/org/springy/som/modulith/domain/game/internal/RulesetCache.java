@@ -0,0 +1,156 @@
+package org.springy.som.modulith.domain.game.internal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.game.api.GameDataMapper;
+import org.springy.som.modulith.domain.game.api.GameDataView;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/** Rulesets only change on deploy, so each one is loaded once and served from memory. */
+@Slf4j
+@Component
+class RulesetCache implements CacheWarmup {
+    record Ruleset(GameDataDocument document, GameDataView view, String contentHash) {
+        String etag() {
+            return "\"" + contentHash + "\"";
+        }
+    }
+
+    private final GameRepository gameRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean preloadOnStartup;
+    private final AtomicReference<Map<String, Ruleset>> snapshot = new AtomicReference<>(Map.of());
+
+    RulesetCache(GameRepository gameRepository,
+                 ObjectMapper objectMapper,
+                 @Value("${som.game.ruleset-cache.preload-on-startup:true}") boolean preloadOnStartup) {
+        this.gameRepository = gameRepository;
+        this.objectMapper = objectMapper;
+        this.preloadOnStartup = preloadOnStartup;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return preloadOnStartup ? List.of(new WarmupTask("GameData", this::reload)) : List.of();
+    }
+
+    Ruleset get(String id) {
+        Ruleset cached = snapshot.get().get(id);
+        if (cached != null) {
+            return cached;
+        }
+        GameDataDocument loaded = gameRepository.findGameDataByRulesetId(id);
+        if (loaded == null) {
+            return null;
+        }
+        Ruleset ruleset = toRuleset(loaded);
+        return snapshot.updateAndGet(current -> {
+            if (current.containsKey(id)) {
+                return current;
+            }
+            Map<String, Ruleset> next = new HashMap<>(current);
+            next.put(id, ruleset);
+            return Collections.unmodifiableMap(next);
+        }).get(id);
+    }
+
+    int reload() {
+        Map<String, Ruleset> previous = snapshot.get();
+        Map<String, Ruleset> next = new HashMap<>();
+        try (Stream<GameDataDocument> documents = gameRepository.streamAllBy()) {
+            documents.forEach(doc -> {
+                Ruleset kept = previous.get(doc.id());
+                String hash = declaredHash(doc);
+                next.put(doc.id(), kept != null && hash != null && hash.equals(kept.contentHash())
+                        ? kept
+                        : toRuleset(doc));
+            });
+        }
+        snapshot.set(Collections.unmodifiableMap(next));
+        log.info("Loaded {} rulesets", next.size());
+        return next.size();
+    }
+
+    private Ruleset toRuleset(GameDataDocument doc) {
+        GameDataDocument.Version version = doc.version() == null ? null : new GameDataDocument.Version(
+                doc.version().family(),
+                freeze(doc.version().lineage()),
+                doc.version().semver(),
+                doc.version().createdAt(),
+                doc.version().notes());
+        GameDataDocument.Integrity integrity = doc.integrity() == null ? null : new GameDataDocument.Integrity(
+                doc.integrity().contentHash(),
+                doc.integrity().build() == null ? null : new GameDataDocument.Build(
+                        doc.integrity().build().source(),
+                        doc.integrity().build().toolVersion(),
+                        freeze(doc.integrity().build().extra())));
+        GameDataDocument frozen = new GameDataDocument(
+                doc.id(),
+                doc.kind(),
+                doc.status(),
+                version,
+                freeze(doc.enums()),
+                freeze(doc.attributeBonuses()),
+                freeze(doc.classes()),
+                freeze(doc.races()),
+                freeze(doc.pcRaces()),
+                freeze(doc.wiznetTable()),
+                freeze(doc.groups()),
+                freeze(doc.titles()),
+                freeze(doc.itemTable()),
+                freeze(doc.weapons()),
+                freeze(doc.attacks()),
+                freeze(doc.liquids()),
+                integrity);
+        GameDataView view = GameDataMapper.toView(frozen);
+        String hash = declaredHash(frozen);
+        return new Ruleset(frozen, view, hash != null ? hash : computedHash(view));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T freeze(T value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((k, v) -> copy.put(k, freeze(v)));
+            return (T) Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(v -> copy.add(freeze(v)));
+            return (T) Collections.unmodifiableList(copy);
+        }
+        return value;
+    }
+
+    private static String declaredHash(GameDataDocument doc) {
+        if (doc.integrity() == null || doc.integrity().contentHash() == null || doc.integrity().contentHash().isBlank()) {
+            return null;
+        }
+        return doc.integrity().contentHash();
+    }
+
+    private String computedHash(GameDataView view) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(view));
+            return "sha256:" + HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not hash ruleset " + view.id(), ex);
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package org.springy.som.modulith.domain.item.api;
 
 import org.springy.som.modulith.domain.item.internal.ItemDocument;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemApi {
     List<ItemDocument> getAllItems();
+    Stream<ItemDocument> streamAllItems();
+    List<ItemView> getAllItemViews();
+    Stream<ItemView> streamAllItemViews();
+    KeysetPage<ItemDocument> getItemsPage(String after, int size);
     ItemDocument getItemByName(String name);
     ItemDocument getItemById(String id);
+    ItemView getItemViewById(String id);
     ItemDocument createItem(ItemDocument itemDocument);
+    BulkUpsertResult upsertItems(List<ItemDocument> itemDocuments);
     ItemDocument saveItemForId(String id, ItemDocument itemDocument);
     void deleteItemById(String id);
     long deleteAllItems();
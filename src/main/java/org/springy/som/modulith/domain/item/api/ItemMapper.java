@@ -28,7 +28,8 @@ public final class ItemMapper {
                 doc.getCost(),
                 doc.getCondition(),
                 doc.getAffectData(),
-                doc.getExtraDescr()
+                doc.getExtraDescr(),
+                doc.getVersion()
         );
     }
 }
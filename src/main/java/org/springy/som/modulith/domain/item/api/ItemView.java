@@ -23,5 +23,6 @@ public record ItemView(
         int cost,
         String condition,
         List<String> affectData,
-        List<String> extraDescr
+        List<String> extraDescr,
+        Long version
 ) {}
@@ -0,0 +1,26 @@
+package org.springy.som.modulith.domain.item.internal;
+
+import org.springframework.stereotype.Component;
+
+import org.springy.som.modulith.domain.area.api.AreaCleanup;
+
+import java.util.Collection;
+
+@Component
+public class ItemAreaCleanup implements AreaCleanup {
+    private final ItemRepository itemRepository;
+
+    ItemAreaCleanup(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "items";
+    }
+
+    @Override
+    public long deleteAllByAreaIds(Collection<String> areaIds) {
+        return itemRepository.deleteAllByAreaIdIn(areaIds);
+    }
+}
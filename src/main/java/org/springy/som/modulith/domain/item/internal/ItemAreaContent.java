@@ -0,0 +1,53 @@
+package org.springy.som.modulith.domain.item.internal;
+
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.area.api.AreaContentSource;
+import org.springy.som.modulith.domain.item.api.ItemMapper;
+import org.springy.som.modulith.domain.item.api.ItemView;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class ItemAreaContent implements AreaContentSource<ItemDocument> {
+    private final ItemRepository itemRepository;
+
+    ItemAreaContent(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "items";
+    }
+
+    @Override
+    public Class<ItemDocument> documentType() {
+        return ItemDocument.class;
+    }
+
+    @Override
+    public List<ItemDocument> findAllByAreaId(String areaId) {
+        return itemRepository.findAllByAreaId(areaId);
+    }
+
+    @Override
+    public Optional<ItemDocument> findById(String id) {
+        return itemRepository.findById(id);
+    }
+
+    @Override
+    public String idOf(ItemDocument item) {
+        return item.getId();
+    }
+
+    @Override
+    public String areaIdOf(ItemDocument item) {
+        return item.getAreaId();
+    }
+
+    @Override
+    public ItemView toView(ItemDocument item) {
+        return ItemMapper.toView(item);
+    }
+}
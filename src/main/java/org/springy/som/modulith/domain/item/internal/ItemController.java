@@ -1,6 +1,9 @@
 package org.springy.som.modulith.domain.item.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,38 +12,53 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.web.DeleteAllResponse;
 import org.springy.som.modulith.domain.item.api.ItemMapper;
 import org.springy.som.modulith.domain.item.api.ItemView;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping(path = "/api/v1/items", produces = "application/json")
 public class ItemController {
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, ObjectMapper objectMapper) {
         this.itemService = itemService;
+        this.objectMapper = objectMapper;
     }
     
     @GetMapping
     @ResponseBody
     public ResponseEntity<List<ItemView>> getAllItems() {
-        List<ItemView> itemViews = itemService.getAllItems()
-                .stream()
-                .map(ItemMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(itemViews);
+        return ResponseEntity.ok(itemService.getAllItemViews());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllItems() {
+        return NdjsonStreams.respond(itemService::streamAllItemViews, Function.identity(), objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<ItemView>> getItemsPage(@RequestParam int size,
+                                                             @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(itemService.getItemsPage(after, size).map(ItemMapper::toView));
     }
 
     @GetMapping(path = "/{id}")
     public ResponseEntity<ItemView> getItemById(@Valid @PathVariable String id) {
-        return ResponseEntity.ok(ItemMapper.toView(itemService.getItemById(id)));
+        return ResponseEntity.ok(itemService.getItemViewById(id));
     }
 
     @GetMapping(path = "/vnum/{vnum}")
@@ -57,6 +75,12 @@ public class ItemController {
                 .body(itemView);
     }
 
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkUpsertResult> upsertItems(HttpServletRequest request) throws IOException {
+        List<ItemDocument> documents = NdjsonStreams.read(request.getInputStream(), ItemDocument.class, objectMapper);
+        return ResponseEntity.ok(itemService.upsertItems(documents));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ItemView> updateItem(@PathVariable String id, @Valid @RequestBody ItemDocument itemDocument) {
         ItemDocument updated = itemService.saveItemForId(id, itemDocument);
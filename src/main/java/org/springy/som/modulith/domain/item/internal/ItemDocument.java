@@ -3,17 +3,23 @@ package org.springy.som.modulith.domain.item.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
 
 @Data
 @Document("Items")
+@CompoundIndex(name = "areaId_vnum", def = "{'areaId': 1, 'vnum': 1}", unique = true)
 public class ItemDocument {
     @NotBlank(message = "area ID must not be blank")
     private String areaId;
+    @Indexed(unique = true, sparse = true)
     private String vnum;
     @NotBlank(message = "name must not be blank")
+    @Indexed
     private String name;
     private String shortDescription;
     private String longDescription;
@@ -36,4 +42,7 @@ public class ItemDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
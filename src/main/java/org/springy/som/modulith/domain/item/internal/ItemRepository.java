@@ -1,9 +1,15 @@
 package org.springy.som.modulith.domain.item.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springy.som.modulith.domain.item.api.ItemView;
+import org.springy.som.modulith.mongo.CollectionScanAllowed;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends MongoRepository<ItemDocument, String> {
     @Query("{id: '?0'}")
@@ -15,17 +21,37 @@ public interface ItemRepository extends MongoRepository<ItemDocument, String> {
     @Query("{vnum: '?0'}")
     ItemDocument findItemByVnum(String vnum);
 
+    @CollectionScanAllowed("Items have no category field; legacy search kept for API compatibility")
     @Query("{category: '?0'}")
     List<ItemDocument> findItemsByCategory(String category);
 
+    @CollectionScanAllowed("Case-insensitive regex search cannot use an index")
     @Query("{ $or: [ {name: {$regex: ?0, $options: 'i'}}, {category: {$regex: ?0, $options: 'i'}} ] }")
     List<ItemDocument> searchItemsByNameOrCategory(String keyword);
 
+    @CollectionScanAllowed("Items have no price field; legacy search kept for API compatibility")
     @Query("{price: {$gte: '?0', $lte: '?1'}}")
     List<ItemDocument> findItemsByPriceRange(double minPrice, double maxPrice);
 
+    @CollectionScanAllowed("Items have no quantity field; legacy search kept for API compatibility")
     @Query("{quantity: {$gte: '?0'}}")
     List<ItemDocument> findItemsWithMinQuantity(int minQuantity);
 
-    long deleteAllByAreaId(String areaId);
+    List<ItemDocument> findAllByAreaId(String areaId);
+
+    long deleteAllByAreaIdIn(Collection<String> areaIds);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<ItemDocument> streamAllBy();
+
+    List<ItemDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<ItemDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<ItemView> findAllViewsBy();
+
+    ItemView findViewById(String id);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<ItemView> streamViewsBy();
 }
@@ -6,26 +6,45 @@ import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
 import org.springy.som.modulith.domain.item.api.ItemApi;
+import org.springy.som.modulith.domain.item.api.ItemView;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.mongo.DuplicateKeys;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.DomainGuards.itemIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.itemMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class ItemService implements ItemApi {
+    static final String COLLECTION = "items";
+
     private final ItemRepository itemRepository;
+    private final MongoBulkUpserter bulkUpserter;
+    private final CacheInvalidations cacheInvalidations;
 
-    public ItemService(ItemRepository itemRepository) {
+    public ItemService(ItemRepository itemRepository,
+                       MongoBulkUpserter bulkUpserter,
+                       CacheInvalidations cacheInvalidations) {
         this.itemRepository = itemRepository;
+        this.bulkUpserter = bulkUpserter;
+        this.cacheInvalidations = cacheInvalidations;
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllItemsFallback")
@@ -34,6 +53,42 @@ public class ItemService implements ItemApi {
     public List<ItemDocument> getAllItems() {
         return itemRepository.findAll();
     }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<ItemDocument> streamAllItems() {
+        return itemRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllItemViewsFallback")
+    @Retry(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<ItemView> getAllItemViews() {
+        return itemRepository.findAllViewsBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<ItemView> streamAllItemViews() {
+        return itemRepository.streamViewsBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<ItemDocument> getItemsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<ItemDocument> fetched = lastId == null
+                    ? itemRepository.findAllByOrderByIdAsc(limit)
+                    : itemRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, ItemDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getItemsPage after={}", after, ex);
+            throw new ItemPersistenceException("Failed to load items page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public ItemDocument getItemByName(@RequestParam String commandName) {
@@ -46,6 +101,25 @@ public class ItemService implements ItemApi {
         return itemRepository.findItemById(commandId);
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public ItemView getItemViewById(String id) {
+        requireText(id, itemIdMissing());
+
+        try {
+            ItemView itemView = itemRepository.findViewById(id);
+            if (itemView == null) {
+                throw new ItemNotFoundException(id);
+            }
+            return itemView;
+        } catch (ItemNotFoundException ex) {
+            throw ex;
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getItemViewById id={}", id, ex);
+            throw new ItemPersistenceException("Failed to load item: " + id + " "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public ItemDocument getItemByVnum(@RequestParam String vnum) {
@@ -63,28 +137,44 @@ public class ItemService implements ItemApi {
             throw new InvalidItemException("Item vnum must not be blank");
         }
 
-        // Check for duplicate vnum
-        ItemDocument existing = itemRepository.findItemByVnum(vnum);
-        if (existing != null) {
-            throw new DuplicateItemException("Item with vnum '" + vnum + "' already exists");
-        }
-
         try {
-            return itemRepository.save(itemDocument);
+            ItemDocument saved = itemRepository.insert(itemDocument);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
+        } catch (DuplicateKeyException ex) {
+            throw new DuplicateItemException(DuplicateKeys.onId(itemDocument.getId(), itemRepository::existsById)
+                    ? "Item with id '" + itemDocument.getId() + "' already exists"
+                    : "Item with vnum '" + vnum + "' already exists");
         } catch (DataAccessException ex) {
             log.warn("DB failure in createItem itemId={}", safeId(itemDocument, ItemDocument::getId), ex);
             throw new ItemPersistenceException("Failed to create itemDocument"+ex);
         }
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public BulkUpsertResult upsertItems(List<ItemDocument> itemDocuments) {
+        try {
+            BulkUpsertResult result = bulkUpserter.upsert(ItemDocument.class, itemDocuments, ItemDocument::getId,
+                    MongoBulkUpserter.byAreaIdAndVnum(ItemDocument::getAreaId, ItemDocument::getVnum));
+            cacheInvalidations.publishAll(COLLECTION);
+            return result;
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in upsertItems count={}", itemDocuments.size(), ex);
+            throw new ItemPersistenceException("Failed to bulk upsert items: "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public ItemDocument saveItemForId(String id, ItemDocument itemDocument) {
-        ItemDocument existing = itemRepository.findItemById(id);
-        requireText(existing.getId(), itemIdMissing());
-        requireEntityWithId(existing, ItemDocument::getId, itemMissing(), itemIdMissing());
+        requireText(id, itemIdMissing());
+        requireNonNull(itemDocument, itemMissing());
+        itemDocument.setId(id);
 
-        return itemRepository.save(itemDocument);
+        ItemDocument saved = VersionedSave.save(itemRepository, id, itemDocument, ItemDocument::getVersion, ItemNotFoundException::new);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -97,6 +187,7 @@ public class ItemService implements ItemApi {
                 throw new ItemNotFoundException(id);
             }
             itemRepository.deleteById(id);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteCommandById id={}", id, ex);
             throw new ItemPersistenceException("Failed to delete command: " + id+" "+ex);
@@ -109,6 +200,7 @@ public class ItemService implements ItemApi {
         try {
             long itemCount = itemRepository.count();
             itemRepository.deleteAll();
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllCommands", ex);
@@ -121,6 +213,11 @@ public class ItemService implements ItemApi {
         return List.of();
     }
 
+    private List<ItemView> getAllItemViewsFallback(Throwable t) {
+        log.warn("Fallback getAllItemViews due to {}", t.toString());
+        return List.of();
+    }
+
     private ItemDocument getItemByIdFallback(String id, Throwable t) {
         log.warn("Fallback getItemById id={} due to {}", id, t.toString());
         throw new ItemPersistenceException("ItemDocument lookup temporarily unavailable: " + id+" "+t);
@@ -1,14 +1,23 @@
 package org.springy.som.modulith.domain.mobile.api;
 
 import org.springy.som.modulith.domain.mobile.internal.MobileDocument;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MobileApi {
     List<MobileDocument> getAllMobiles();
+    Stream<MobileDocument> streamAllMobiles();
+    List<MobileView> getAllMobileViews();
+    Stream<MobileView> streamAllMobileViews();
+    KeysetPage<MobileDocument> getMobilesPage(String after, int size);
     MobileDocument getMobileByName(String mobileName);
     MobileDocument getMobileById(String id);
+    MobileView getMobileViewById(String id);
     MobileDocument createMobile(MobileDocument mobileDocument);
+    BulkUpsertResult upsertMobiles(List<MobileDocument> mobileDocuments);
     MobileDocument saveMobileForId(String id, MobileDocument mobileDocument);
     void deleteMobileById(String id);
     long deleteAllMobiles();
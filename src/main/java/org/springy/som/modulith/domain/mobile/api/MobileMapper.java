@@ -33,7 +33,8 @@ public final class MobileMapper {
                 doc.getLevel(),
                 doc.getHitroll(),
                 doc.getGold(),
-                doc.getSilver()
+                doc.getSilver(),
+                doc.getVersion()
         );
     }
 }
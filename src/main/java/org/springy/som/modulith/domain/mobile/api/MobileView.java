@@ -28,5 +28,6 @@ public record MobileView(
         int level,
         int hitroll,
         int gold,
-        int silver
+        int silver,
+        Long version
 ) {}
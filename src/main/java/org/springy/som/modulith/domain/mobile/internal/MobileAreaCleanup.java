@@ -0,0 +1,26 @@
+package org.springy.som.modulith.domain.mobile.internal;
+
+import org.springframework.stereotype.Component;
+
+import org.springy.som.modulith.domain.area.api.AreaCleanup;
+
+import java.util.Collection;
+
+@Component
+public class MobileAreaCleanup implements AreaCleanup {
+    private final MobileRepository mobileRepository;
+
+    MobileAreaCleanup(MobileRepository mobileRepository) {
+        this.mobileRepository = mobileRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "mobiles";
+    }
+
+    @Override
+    public long deleteAllByAreaIds(Collection<String> areaIds) {
+        return mobileRepository.deleteAllByAreaIdIn(areaIds);
+    }
+}
@@ -0,0 +1,53 @@
+package org.springy.som.modulith.domain.mobile.internal;
+
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.area.api.AreaContentSource;
+import org.springy.som.modulith.domain.mobile.api.MobileMapper;
+import org.springy.som.modulith.domain.mobile.api.MobileView;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class MobileAreaContent implements AreaContentSource<MobileDocument> {
+    private final MobileRepository mobileRepository;
+
+    MobileAreaContent(MobileRepository mobileRepository) {
+        this.mobileRepository = mobileRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "mobiles";
+    }
+
+    @Override
+    public Class<MobileDocument> documentType() {
+        return MobileDocument.class;
+    }
+
+    @Override
+    public List<MobileDocument> findAllByAreaId(String areaId) {
+        return mobileRepository.findAllByAreaId(areaId);
+    }
+
+    @Override
+    public Optional<MobileDocument> findById(String id) {
+        return mobileRepository.findById(id);
+    }
+
+    @Override
+    public String idOf(MobileDocument mobile) {
+        return mobile.getId();
+    }
+
+    @Override
+    public String areaIdOf(MobileDocument mobile) {
+        return mobile.getAreaId();
+    }
+
+    @Override
+    public MobileView toView(MobileDocument mobile) {
+        return MobileMapper.toView(mobile);
+    }
+}
@@ -1,6 +1,9 @@
 package org.springy.som.modulith.domain.mobile.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,37 +12,52 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.web.DeleteAllResponse;
 import org.springy.som.modulith.domain.mobile.api.MobileMapper;
 import org.springy.som.modulith.domain.mobile.api.MobileView;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping(path = "/api/v1/mobiles", produces = "application/json")
 public class MobileController {
     private final MobileService mobileService;
+    private final ObjectMapper objectMapper;
 
-    public  MobileController(MobileService mobileService) {
+    public MobileController(MobileService mobileService, ObjectMapper objectMapper) {
         this.mobileService = mobileService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
     public ResponseEntity<List<MobileView>> getMobiles() {
-        List<MobileView> mobileViews = mobileService.getAllMobiles()
-                .stream()
-                .map(MobileMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(mobileViews);
+        return ResponseEntity.ok(mobileService.getAllMobileViews());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMobiles() {
+        return NdjsonStreams.respond(mobileService::streamAllMobileViews, Function.identity(), objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<MobileView>> getMobilesPage(@RequestParam int size,
+                                                                 @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(mobileService.getMobilesPage(after, size).map(MobileMapper::toView));
     }
 
     @GetMapping(path = "/{id}")
     public ResponseEntity<MobileView> getMobileById(@Valid @PathVariable String id) {
-        return ResponseEntity.ok(MobileMapper.toView(mobileService.getMobileById(id)));
+        return ResponseEntity.ok(mobileService.getMobileViewById(id));
     }
 
     @PostMapping
@@ -51,6 +69,12 @@ public class MobileController {
                 .body(mobileView);
     }
 
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkUpsertResult> upsertMobiles(HttpServletRequest request) throws IOException {
+        List<MobileDocument> documents = NdjsonStreams.read(request.getInputStream(), MobileDocument.class, objectMapper);
+        return ResponseEntity.ok(mobileService.upsertMobiles(documents));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<MobileView> updateMobile(@PathVariable String id, @Valid @RequestBody MobileDocument mobileDocument) {
         MobileDocument updated = mobileService.saveMobileForId(id, mobileDocument);
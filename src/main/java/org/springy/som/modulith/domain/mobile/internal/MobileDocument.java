@@ -3,17 +3,23 @@ package org.springy.som.modulith.domain.mobile.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Map;
 
 @Data
 @Document("Mobiles")
+@CompoundIndex(name = "areaId_vnum", def = "{'areaId': 1, 'vnum': 1}", unique = true)
 public class MobileDocument {
     @NotBlank(message = "area ID must not be blank")
     private String areaId;
+    @Indexed(unique = true, sparse = true)
     private String vnum;
     @NotBlank(message = "name must not be blank")
+    @Indexed
     private String name;
     private String shortDescription;
     private String longDescription;
@@ -33,6 +39,7 @@ public class MobileDocument {
     private String material;
     private String flags;
     private Map<String, Object> statusFlags;
+    @Indexed
     private int level;
     private int hitroll;
     private int gold;
@@ -40,4 +47,7 @@ public class MobileDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
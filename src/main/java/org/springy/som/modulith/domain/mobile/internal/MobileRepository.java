@@ -1,10 +1,15 @@
 package org.springy.som.modulith.domain.mobile.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springy.som.modulith.domain.mobile.api.MobileView;
+import org.springy.som.modulith.mongo.CollectionScanAllowed;
 
+import java.util.Collection;
 import java.util.List;
-
+import java.util.stream.Stream;
 
 public interface MobileRepository extends MongoRepository<MobileDocument, String> {
     @Query("{id: '?0'}")
@@ -16,14 +21,32 @@ public interface MobileRepository extends MongoRepository<MobileDocument, String
     @Query("{vnum: '?0'}")
     MobileDocument findMobileByVnum(String vnum);
 
+    @CollectionScanAllowed("Mobiles have no raceId field; legacy search kept for API compatibility")
     @Query("{raceId: '?0'}")
     List<MobileDocument> findAllByRace(String raceId);
 
+    @CollectionScanAllowed("Mobiles have no classId field; legacy search kept for API compatibility")
     @Query("{classId: '?0'}")
     List<MobileDocument> findAllByClass(String classId);
 
     @Query("{ 'level': { $gte: 1, $lte: 10 } }")
     List<MobileDocument> findMobilesByLevelRange(int min, int max);
 
-    long deleteAllByAreaId(String areaId);
+    List<MobileDocument> findAllByAreaId(String areaId);
+
+    long deleteAllByAreaIdIn(Collection<String> areaIds);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<MobileDocument> streamAllBy();
+
+    List<MobileDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<MobileDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<MobileView> findAllViewsBy();
+
+    MobileView findViewById(String id);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<MobileView> streamViewsBy();
 }
@@ -6,27 +6,46 @@ import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
 import org.springy.som.modulith.domain.command.internal.CommandDocument;
 import org.springy.som.modulith.domain.mobile.api.MobileApi;
+import org.springy.som.modulith.domain.mobile.api.MobileView;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.mongo.DuplicateKeys;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.DomainGuards.mobileIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.mobileMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class MobileService implements MobileApi {
+    static final String COLLECTION = "mobiles";
+
     private final MobileRepository mobileRepository;
+    private final MongoBulkUpserter bulkUpserter;
+    private final CacheInvalidations cacheInvalidations;
 
-    public MobileService(MobileRepository mobileRepository) {
+    public MobileService(MobileRepository mobileRepository,
+                         MongoBulkUpserter bulkUpserter,
+                         CacheInvalidations cacheInvalidations) {
         this.mobileRepository = mobileRepository;
+        this.bulkUpserter = bulkUpserter;
+        this.cacheInvalidations = cacheInvalidations;
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllMobilesFallback")
@@ -36,6 +55,41 @@ public class MobileService implements MobileApi {
         return mobileRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<MobileDocument> streamAllMobiles() {
+        return mobileRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllMobileViewsFallback")
+    @Retry(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<MobileView> getAllMobileViews() {
+        return mobileRepository.findAllViewsBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<MobileView> streamAllMobileViews() {
+        return mobileRepository.streamViewsBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<MobileDocument> getMobilesPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<MobileDocument> fetched = lastId == null
+                    ? mobileRepository.findAllByOrderByIdAsc(limit)
+                    : mobileRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, MobileDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getMobilesPage after={}", after, ex);
+            throw new MobilePersistenceException("Failed to load mobiles page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public MobileDocument getMobileByName(@RequestParam String mobileName) {
@@ -48,6 +102,25 @@ public class MobileService implements MobileApi {
         return mobileRepository.findMobileById(itemId);
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public MobileView getMobileViewById(String id) {
+        requireText(id, mobileIdMissing());
+
+        try {
+            MobileView mobileView = mobileRepository.findViewById(id);
+            if (mobileView == null) {
+                throw new MobileNotFoundException(id);
+            }
+            return mobileView;
+        } catch (MobileNotFoundException ex) {
+            throw ex;
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getMobileViewById id={}", id, ex);
+            throw new MobilePersistenceException("Failed to load mobile: " + id + " "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public MobileDocument createMobile(@Valid @RequestBody MobileDocument mobileDocument) {
@@ -59,28 +132,44 @@ public class MobileService implements MobileApi {
             throw new InvalidMobileException("Mobile vnum must not be blank");
         }
 
-        // Check for duplicate vnum
-        MobileDocument existing = mobileRepository.findMobileByVnum(vnum);
-        if (existing != null) {
-            throw new DuplicateMobileException("Mobile with vnum '" + vnum + "' already exists");
-        }
-
         try {
-            return mobileRepository.save(mobileDocument);
+            MobileDocument saved = mobileRepository.insert(mobileDocument);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
+        } catch (DuplicateKeyException ex) {
+            throw new DuplicateMobileException(DuplicateKeys.onId(mobileDocument.getId(), mobileRepository::existsById)
+                    ? "Mobile with id '" + mobileDocument.getId() + "' already exists"
+                    : "Mobile with vnum '" + vnum + "' already exists");
         } catch (DataAccessException ex) {
             log.warn("DB failure in createMobile mobileId={}", safeId(mobileDocument, MobileDocument::getId), ex);
             throw new MobilePersistenceException("Failed to create mobile"+ex);
         }
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public BulkUpsertResult upsertMobiles(List<MobileDocument> mobileDocuments) {
+        try {
+            BulkUpsertResult result = bulkUpserter.upsert(MobileDocument.class, mobileDocuments, MobileDocument::getId,
+                    MongoBulkUpserter.byAreaIdAndVnum(MobileDocument::getAreaId, MobileDocument::getVnum));
+            cacheInvalidations.publishAll(COLLECTION);
+            return result;
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in upsertMobiles count={}", mobileDocuments.size(), ex);
+            throw new MobilePersistenceException("Failed to bulk upsert mobiles: "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public MobileDocument saveMobileForId(String id, MobileDocument mobileDocument) {
-        MobileDocument existing = mobileRepository.findMobileById(id);
-        requireText(existing.getId(), mobileIdMissing());
-        requireEntityWithId(mobileDocument, MobileDocument::getId, mobileMissing(), mobileIdMissing());
+        requireText(id, mobileIdMissing());
+        requireNonNull(mobileDocument, mobileMissing());
+        mobileDocument.setId(id);
 
-        return mobileRepository.save(mobileDocument);
+        MobileDocument saved = VersionedSave.save(mobileRepository, id, mobileDocument, MobileDocument::getVersion, MobileNotFoundException::new);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -93,6 +182,7 @@ public class MobileService implements MobileApi {
                 throw new MobileNotFoundException(id);
             }
             mobileRepository.deleteById(id);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteMobileById id={}", id, ex);
             throw new MobilePersistenceException("Failed to delete command: " + id+" "+ex);
@@ -105,6 +195,7 @@ public class MobileService implements MobileApi {
         try {
             long itemCount = mobileRepository.count();
             mobileRepository.deleteAll();
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllMobiles", ex);
@@ -117,6 +208,11 @@ public class MobileService implements MobileApi {
         return List.of();
     }
 
+    private List<MobileView> getAllMobileViewsFallback(Throwable t) {
+        log.warn("Fallback getAllMobileViews due to {}", t.toString());
+        return List.of();
+    }
+
     private CommandDocument getMobileByIdFallback(String id, Throwable t) {
         log.warn("Fallback getMobileById id={} due to {}", id, t.toString());
         throw new MobilePersistenceException("MobileDocument lookup temporarily unavailable: " + id+" "+t);
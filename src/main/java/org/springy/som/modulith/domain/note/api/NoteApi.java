@@ -1,11 +1,15 @@
 package org.springy.som.modulith.domain.note.api;
 
 import org.springy.som.modulith.domain.note.internal.NoteDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface NoteApi {
     List<NoteDocument> getAllNotes();
+    Stream<NoteDocument> streamAllNotes();
+    KeysetPage<NoteDocument> getNotesPage(String after, int size);
     List<NoteDocument> getNotesByType(int type);
     NoteDocument getNoteById(String noteId);
     NoteDocument createNote(NoteDocument noteDocument);
@@ -15,7 +15,8 @@ public final class NoteMapper {
             doc.getToList(),
             doc.getSubject(),
             doc.getText(),
-            doc.getDateStamp()
+            doc.getDateStamp(),
+            doc.getVersion()
         );
     }
 }
@@ -8,5 +8,6 @@ public record NoteView(
     String toList,
     String subject,
     String text,
-    long dateStamp
+    long dateStamp,
+    Long version
 ) {}
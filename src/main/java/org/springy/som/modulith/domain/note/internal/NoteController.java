@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.note.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,10 +11,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.domain.note.api.NoteMapper;
 import org.springy.som.modulith.domain.note.api.NoteView;
 import org.springy.som.modulith.web.DeleteAllResponse;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
 import java.net.URI;
 import java.util.List;
@@ -22,8 +28,10 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/api/v1/notes", produces = "application/json")
 public class NoteController {
     private final NoteService noteService;
-    public NoteController(NoteService noteService) {
+    private final ObjectMapper objectMapper;
+    public NoteController(NoteService noteService, ObjectMapper objectMapper) {
         this.noteService = noteService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -35,6 +43,17 @@ public class NoteController {
         return ResponseEntity.ok(noteViews);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamNotes() {
+        return NdjsonStreams.respond(noteService::streamAllNotes, NoteMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<NoteView>> getNotesPage(@RequestParam int size,
+                                                             @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(noteService.getNotesPage(after, size).map(NoteMapper::toView));
+    }
+
     @GetMapping(path = "/{id}")
     public ResponseEntity<NoteView> getNoteById(@Valid @PathVariable String id) {
         return ResponseEntity.ok(NoteMapper.toView(noteService.getNoteById(id)));
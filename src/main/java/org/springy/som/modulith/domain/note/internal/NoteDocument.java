@@ -3,10 +3,13 @@ package org.springy.som.modulith.domain.note.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document("Notes")
+@CompoundIndex(name = "type_id", def = "{'type': 1, '_id': 1}")
 public class NoteDocument {
     private int type;
     @NotBlank(message = "sender must not be blank")
@@ -20,4 +23,7 @@ public class NoteDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
@@ -1,10 +1,13 @@
 package org.springy.som.modulith.domain.note.internal;
 
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface NoteRepository extends MongoRepository<NoteDocument, String> {
     @NotNull List<NoteDocument> findAll();
@@ -14,4 +17,11 @@ public interface NoteRepository extends MongoRepository<NoteDocument, String> {
 
     @Query("{id: '?0'}")
     NoteDocument findNoteById(String noteId);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<NoteDocument> streamAllBy();
+
+    List<NoteDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<NoteDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
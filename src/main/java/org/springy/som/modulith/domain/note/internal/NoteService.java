@@ -6,15 +6,20 @@ import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springy.som.modulith.domain.note.api.NoteApi;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.DomainGuards.noteIdMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
@@ -34,6 +39,28 @@ public class NoteService implements NoteApi {
         return noteRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<NoteDocument> streamAllNotes() {
+        return noteRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<NoteDocument> getNotesPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<NoteDocument> fetched = lastId == null
+                    ? noteRepository.findAllByOrderByIdAsc(limit)
+                    : noteRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, NoteDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getNotesPage after={}", after, ex);
+            throw new NotePersistenceException("Failed to load notes page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public List<NoteDocument> getNotesByType(@RequestParam int type) {
@@ -63,11 +90,11 @@ public class NoteService implements NoteApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public NoteDocument saveNoteForId(String id, NoteDocument noteDocument) {
-        NoteDocument existing = noteRepository.findNoteById(id);
-        requireText(existing.getId(), noteIdMissing());
-        requireEntityWithId(existing, NoteDocument::getId, noteIdMissing(), noteIdMissing());
+        requireText(id, noteIdMissing());
+        requireNonNull(noteDocument, noteIdMissing());
+        noteDocument.setId(id);
 
-        return noteRepository.save(noteDocument);
+        return VersionedSave.save(noteRepository, id, noteDocument, NoteDocument::getVersion, NoteNotFoundException::new);
     }
 
     @CircuitBreaker(name = "somAPI")
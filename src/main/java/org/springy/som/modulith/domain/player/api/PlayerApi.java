@@ -1,11 +1,15 @@
 package org.springy.som.modulith.domain.player.api;
 
 import org.springy.som.modulith.domain.player.internal.PlayerDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PlayerApi {
     List<PlayerDocument> getAllPlayerAccounts();
+    Stream<PlayerDocument> streamAllPlayerAccounts();
+    KeysetPage<PlayerDocument> getPlayerAccountsPage(String after, int size);
     PlayerDocument getPlayerAccountByName(String accountName);
     PlayerDocument getPlayerAccountById(String id);
     PlayerDocument createPlayerAccount(PlayerDocument playerDocument);
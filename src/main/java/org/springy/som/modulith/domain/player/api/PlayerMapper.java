@@ -15,7 +15,8 @@ public final class PlayerMapper {
                 doc.getEmailAddress(),
                 doc.getPassword(),
                 doc.getPlayerCharacterList(),
-                doc.isBanned()
+                doc.isBanned(),
+                doc.getVersion()
         );
     }
 }
@@ -10,5 +10,6 @@ public record PlayerView(
         String emailAddress,
         String password,
         List<String> playerCharacterList,
-        boolean banned
+        boolean banned,
+        Long version
 ) {}
@@ -1,9 +1,14 @@
 package org.springy.som.modulith.domain.player.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.Update;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface PlayerAccountRepository extends MongoRepository<PlayerDocument, String> {
     @Query("{accountName: '?0'}")
     PlayerDocument findPlayerAccountByName(String accountName);
@@ -26,4 +31,11 @@ public interface PlayerAccountRepository extends MongoRepository<PlayerDocument,
     void findAndPopPlayerCharacterListByAccountName(String accountName, String playerCharacterList);
 
     long count();
+
+    @Meta(cursorBatchSize = 500)
+    Stream<PlayerDocument> streamAllBy();
+
+    List<PlayerDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<PlayerDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
@@ -1,7 +1,9 @@
 package org.springy.som.modulith.domain.player.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,10 +12,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.web.DeleteAllResponse;
 import org.springy.som.modulith.domain.player.api.PlayerMapper;
 import org.springy.som.modulith.domain.player.api.PlayerView;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
 import java.net.URI;
 import java.util.ArrayList;
@@ -25,9 +31,11 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/api/v1/players", produces = "application/json")
 public class PlayerController {
     private final PlayerService playerService;
+    private final ObjectMapper objectMapper;
 
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, ObjectMapper objectMapper) {
         this.playerService = playerService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -39,6 +47,17 @@ public class PlayerController {
         return ResponseEntity.ok(playerViews);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPlayerAccounts() {
+        return NdjsonStreams.respond(playerService::streamAllPlayerAccounts, PlayerMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<PlayerView>> getPlayerAccountsPage(@RequestParam int size,
+                                                                        @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(playerService.getPlayerAccountsPage(after, size).map(PlayerMapper::toView));
+    }
+
     @GetMapping(path = "/name/{name}")
     public ResponseEntity<PlayerView> getPlayerAccountByName(@PathVariable String name) {
         return ResponseEntity.ok(PlayerMapper.toView(playerService.getPlayerAccountByName(name)));
@@ -3,6 +3,8 @@ package org.springy.som.modulith.domain.player.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -15,6 +17,7 @@ public class PlayerDocument {
     @NotBlank(message = "last name must not be blank")
     private String lastName;
     @NotBlank(message = "account name must not be blank")
+    @Indexed
     private String accountName;
     @NotBlank(message = "email address must not be blank")
     private String emailAddress;
@@ -25,4 +28,7 @@ public class PlayerDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
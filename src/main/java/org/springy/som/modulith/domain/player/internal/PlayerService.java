@@ -8,16 +8,21 @@ import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springy.som.modulith.domain.player.api.PlayerApi;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.DomainGuards.playerAccountIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.playerAccountMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
@@ -37,6 +42,28 @@ public class PlayerService implements PlayerApi {
         return playerAccountRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<PlayerDocument> streamAllPlayerAccounts() {
+        return playerAccountRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<PlayerDocument> getPlayerAccountsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<PlayerDocument> fetched = lastId == null
+                    ? playerAccountRepository.findAllByOrderByIdAsc(limit)
+                    : playerAccountRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, PlayerDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getPlayerAccountsPage after={}", after, ex);
+            throw new PlayerPersistenceException("Failed to load player accounts page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public PlayerDocument getPlayerAccountByName(@RequestParam String accountName) {
@@ -66,11 +93,11 @@ public class PlayerService implements PlayerApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public PlayerDocument savePlayerAccountForId(String id, PlayerDocument playerDocument) {
-        PlayerDocument existing = playerAccountRepository.findPlayerAccountById(id);
-        requireText(existing.getId(), playerAccountIdMissing());
-        requireEntityWithId(existing, PlayerDocument::getId, playerAccountMissing(), playerAccountIdMissing());
+        requireText(id, playerAccountIdMissing());
+        requireNonNull(playerDocument, playerAccountMissing());
+        playerDocument.setId(id);
 
-        return playerAccountRepository.save(playerDocument);
+        return VersionedSave.save(playerAccountRepository, id, playerDocument, PlayerDocument::getVersion, PlayerNotFoundException::new);
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -1,11 +1,15 @@
 package org.springy.som.modulith.domain.race.api;
 
 import org.springy.som.modulith.domain.race.internal.RaceDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface RaceApi {
     List<RaceDocument> getAllRaces();
+    Stream<RaceDocument> streamAllRaces();
+    KeysetPage<RaceDocument> getRacesPage(String after, int size);
     RaceDocument getRaceByName(String name);
     RaceDocument getRaceById(String id);
     RaceDocument createRace(RaceDocument raceDocument);
@@ -0,0 +1,5 @@
+package org.springy.som.modulith.domain.race.api;
+
+/** {@code raceId} is {@code null} when every race changed. */
+public record RaceChangedEvent(String raceId) {
+}
@@ -23,7 +23,8 @@ public final class RaceMapper {
                 doc.getWis(),
                 doc.getMaxWis(),
                 doc.getDex(),
-                doc.getMaxDex()
+                doc.getMaxDex(),
+                doc.getVersion()
         );
     }
 }
@@ -18,5 +18,6 @@ public record RaceView(
         int wis,
         int maxWis,
         int dex,
-        int maxDex
+        int maxDex,
+        Long version
 ) {}
@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.race.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,32 +11,54 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springy.som.modulith.web.CollectionSnapshots;
 import org.springy.som.modulith.web.DeleteAllResponse;
 import org.springy.som.modulith.domain.race.api.RaceMapper;
 import org.springy.som.modulith.domain.race.api.RaceView;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
 
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/api/v1/races", produces = "application/json")
-public class RaceController {
+public class RaceController implements CacheWarmup {
     private final RaceService raceService;
+    private final ObjectMapper objectMapper;
+    private final CollectionSnapshots collectionSnapshots;
 
-    public RaceController(RaceService raceService) {
+    public RaceController(RaceService raceService, ObjectMapper objectMapper, CollectionSnapshots collectionSnapshots) {
         this.raceService = raceService;
+        this.objectMapper = objectMapper;
+        this.collectionSnapshots = collectionSnapshots;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return List.of(collectionSnapshots.warmupTask(RaceService.COLLECTION, raceService::loadAllRaces, RaceMapper::toView));
     }
 
     @GetMapping
-    public ResponseEntity<List<RaceView>> getRaces() {
-        List<RaceView> raceViews = raceService.getAllRaces()
-                .stream()
-                .map(RaceMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(raceViews);
+    public ResponseEntity<byte[]> getRaces() {
+        return collectionSnapshots.respond(RaceService.COLLECTION, raceService::loadAllRaces, RaceMapper::toView);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRaces() {
+        return NdjsonStreams.respond(raceService::streamAllRaces, RaceMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<RaceView>> getRacesPage(@RequestParam int size,
+                                                             @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(raceService.getRacesPage(after, size).map(RaceMapper::toView));
     }
 
     @GetMapping(path = "/{id}")
@@ -3,6 +3,7 @@ package org.springy.som.modulith.domain.race.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.List;
 
@@ -28,4 +29,7 @@ public class RaceDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
@@ -1,9 +1,21 @@
 package org.springy.som.modulith.domain.race.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface RaceRepository  extends MongoRepository<RaceDocument, String> {
     @Query("{id: '?0'}")
     RaceDocument findRomRaceById(String id);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<RaceDocument> streamAllBy();
+
+    List<RaceDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<RaceDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
@@ -5,27 +5,57 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
 import org.springy.som.modulith.domain.race.api.RaceApi;
+import org.springy.som.modulith.domain.race.api.RaceChangedEvent;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.CollectionSnapshots;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.DomainGuards.romRaceIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.romRaceMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Service
 @Slf4j
 public class RaceService implements RaceApi {
-    private final RaceRepository raceRepository;
+    static final String COLLECTION = "races";
 
-    public RaceService(RaceRepository raceRepository) {
+    private final RaceRepository raceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CollectionSnapshots collectionSnapshots;
+    private final CacheInvalidations cacheInvalidations;
+
+    public RaceService(RaceRepository raceRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       CollectionSnapshots collectionSnapshots,
+                       CacheInvalidations cacheInvalidations) {
         this.raceRepository = raceRepository;
+        this.eventPublisher = eventPublisher;
+        this.collectionSnapshots = collectionSnapshots;
+        this.cacheInvalidations = cacheInvalidations;
+    }
+
+    @EventListener
+    public void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (invalidation.concerns(COLLECTION)) {
+            eventPublisher.publishEvent(new RaceChangedEvent(invalidation.id()));
+            collectionSnapshots.touch(COLLECTION);
+        }
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllRomRacesFallback")
@@ -35,6 +65,39 @@ public class RaceService implements RaceApi {
         return raceRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<RaceDocument> loadAllRaces() {
+        try {
+            return raceRepository.findAll();
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in loadAllRaces", ex);
+            throw new RacePersistenceException("Failed to load races "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<RaceDocument> streamAllRaces() {
+        return raceRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<RaceDocument> getRacesPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<RaceDocument> fetched = lastId == null
+                    ? raceRepository.findAllByOrderByIdAsc(limit)
+                    : raceRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, RaceDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getRacesPage after={}", after, ex);
+            throw new RacePersistenceException("Failed to load races page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public RaceDocument getRaceByName(@RequestParam String name) {
@@ -54,7 +117,11 @@ public class RaceService implements RaceApi {
 
         try {
             // if (raceRepository.existsById(raceDocument.getRaceId())) throw new RaceConflictException(...)
-            return raceRepository.save(raceDocument);
+            RaceDocument saved = raceRepository.save(raceDocument);
+            eventPublisher.publishEvent(new RaceChangedEvent(saved.getId()));
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
         } catch (DataAccessException ex) {
             log.warn("DB failure in createRomRace romRaceId={}", safeId(raceDocument, RaceDocument::getId), ex);
             throw new RacePersistenceException("Failed to create ROM race"+ex);
@@ -64,11 +131,15 @@ public class RaceService implements RaceApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public RaceDocument saveRaceForId(String id, RaceDocument raceDocument) {
-        RaceDocument existing = raceRepository.findRomRaceById(id);
-        requireText(existing.getId(), romRaceIdMissing());
-        requireEntityWithId(existing, RaceDocument::getId, romRaceMissing(), romRaceIdMissing());
-
-        return raceRepository.save(raceDocument);
+        requireText(id, romRaceIdMissing());
+        requireNonNull(raceDocument, romRaceMissing());
+        raceDocument.setId(id);
+
+        RaceDocument saved = VersionedSave.save(raceRepository, id, raceDocument, RaceDocument::getVersion, RaceNotFoundException::new);
+        eventPublisher.publishEvent(new RaceChangedEvent(id));
+        collectionSnapshots.touch(COLLECTION);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -81,6 +152,9 @@ public class RaceService implements RaceApi {
                 throw new RaceNotFoundException(id);
             }
             raceRepository.deleteById(id);
+            eventPublisher.publishEvent(new RaceChangedEvent(id));
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteRomRaceById id={}", id, ex);
             throw new RacePersistenceException("Failed to delete ROM race: " + id+" "+ex);
@@ -93,6 +167,9 @@ public class RaceService implements RaceApi {
         try {
             long itemCount = raceRepository.count();
             raceRepository.deleteAll();
+            eventPublisher.publishEvent(new RaceChangedEvent(null));
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllMobiles", ex);
@@ -0,0 +1,18 @@
+package org.springy.som.modulith.domain.reference.api;
+
+public record CharacterStatsView(
+        String raceId,
+        String classId,
+        int level,
+        int str,
+        int INT,
+        int wis,
+        int dex,
+        int con,
+        int hpGainMin,
+        int hpGainMax,
+        int thac0,
+        int skillAdept,
+        boolean usesMana,
+        int expPerLevel
+) {}
@@ -0,0 +1,122 @@
+package org.springy.som.modulith.domain.reference.api;
+
+import org.springy.som.modulith.domain.clazz.api.ClassView;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/** Classes as one column per field, indexed by class ordinal. */
+public final class ClassTable {
+    private final Map<String, Integer> ordinals;
+    private final String[] ids;
+    private final String[] names;
+    private final int[] primeStats;
+    private final int[] skillAdept;
+    private final int[] thac0At0;
+    private final int[] thac0At32;
+    private final int[] hpMin;
+    private final int[] hpMax;
+    private final boolean[] usesMana;
+
+    private ClassTable(Map<String, Integer> ordinals, String[] ids, String[] names, int[] primeStats, int[] skillAdept,
+                       int[] thac0At0, int[] thac0At32, int[] hpMin, int[] hpMax, boolean[] usesMana) {
+        this.ordinals = ordinals;
+        this.ids = ids;
+        this.names = names;
+        this.primeStats = primeStats;
+        this.skillAdept = skillAdept;
+        this.thac0At0 = thac0At0;
+        this.thac0At32 = thac0At32;
+        this.hpMin = hpMin;
+        this.hpMax = hpMax;
+        this.usesMana = usesMana;
+    }
+
+    public static ClassTable of(Collection<ClassView> classes) {
+        int count = classes.size();
+        Map<String, Integer> ordinals = new HashMap<>();
+        String[] ids = new String[count];
+        String[] names = new String[count];
+        int[] primeStats = new int[count];
+        int[] skillAdept = new int[count];
+        int[] thac0At0 = new int[count];
+        int[] thac0At32 = new int[count];
+        int[] hpMin = new int[count];
+        int[] hpMax = new int[count];
+        boolean[] usesMana = new boolean[count];
+        int clazz = 0;
+        for (ClassView view : classes) {
+            ids[clazz] = view.id();
+            names[clazz] = view.name();
+            primeStats[clazz] = RaceTable.statOrdinal(view.primaryAttribute());
+            skillAdept[clazz] = view.skillAdept();
+            thac0At0[clazz] = view.thac0_00();
+            thac0At32[clazz] = view.thac0_32();
+            hpMin[clazz] = view.hpMin();
+            hpMax[clazz] = view.hpMax();
+            usesMana[clazz] = view.fMana();
+            if (names[clazz] != null) {
+                ordinals.putIfAbsent(key(names[clazz]), clazz);
+            }
+            clazz++;
+        }
+        for (int c = 0; c < count; c++) {
+            if (ids[c] != null) {
+                ordinals.put(key(ids[c]), c);
+            }
+        }
+        return new ClassTable(Collections.unmodifiableMap(ordinals), ids, names, primeStats, skillAdept,
+                thac0At0, thac0At32, hpMin, hpMax, usesMana);
+    }
+
+    /** Ordinal for a class id or name, or -1 when there is no such class. */
+    public int ordinal(String idOrName) {
+        Integer clazz = ordinals.get(key(idOrName));
+        return clazz == null ? -1 : clazz;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public String id(int clazz) {
+        return ids[clazz];
+    }
+
+    public String name(int clazz) {
+        return names[clazz];
+    }
+
+    /** The {@link RaceTable} stat ordinal of the class's prime attribute, or -1 when it has none. */
+    public int primeStat(int clazz) {
+        return primeStats[clazz];
+    }
+
+    public int skillAdept(int clazz) {
+        return skillAdept[clazz];
+    }
+
+    /** THAC0 interpolated between the level 0 and level 32 values, as ROM's {@code interpolate} does. */
+    public int thac0(int clazz, int level) {
+        return thac0At0[clazz] + level * (thac0At32[clazz] - thac0At0[clazz]) / 32;
+    }
+
+    public int hpMin(int clazz) {
+        return hpMin[clazz];
+    }
+
+    public int hpMax(int clazz) {
+        return hpMax[clazz];
+    }
+
+    public boolean usesMana(int clazz) {
+        return usesMana[clazz];
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
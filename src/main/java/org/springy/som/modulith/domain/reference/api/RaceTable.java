@@ -0,0 +1,144 @@
+package org.springy.som.modulith.domain.reference.api;
+
+import org.springy.som.modulith.domain.race.api.RaceView;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Races as one column per field, indexed by race ordinal; stats follow ROM's order. */
+public final class RaceTable {
+    public static final int STR = 0;
+    public static final int INT = 1;
+    public static final int WIS = 2;
+    public static final int DEX = 3;
+    public static final int CON = 4;
+    public static final int STATS = 5;
+    public static final int DEFAULT_CLASS_MULTIPLIER = 100;
+
+    private final Map<String, Integer> ordinals;
+    private final String[] ids;
+    private final String[] names;
+    private final int[] points;
+    private final int[][] stats;
+    private final int[][] maxStats;
+    private final int[][] classMultipliers;
+
+    private RaceTable(Map<String, Integer> ordinals, String[] ids, String[] names, int[] points,
+                      int[][] stats, int[][] maxStats, int[][] classMultipliers) {
+        this.ordinals = ordinals;
+        this.ids = ids;
+        this.names = names;
+        this.points = points;
+        this.stats = stats;
+        this.maxStats = maxStats;
+        this.classMultipliers = classMultipliers;
+    }
+
+    public static RaceTable of(Collection<RaceView> races) {
+        int count = races.size();
+        Map<String, Integer> ordinals = new HashMap<>();
+        String[] ids = new String[count];
+        String[] names = new String[count];
+        int[] points = new int[count];
+        int[][] stats = new int[STATS][count];
+        int[][] maxStats = new int[STATS][count];
+        int[][] classMultipliers = new int[count][];
+        int race = 0;
+        for (RaceView view : races) {
+            ids[race] = view.id();
+            names[race] = view.name();
+            points[race] = view.points();
+            stats[STR][race] = view.str();
+            stats[INT][race] = view.INT();
+            stats[WIS][race] = view.wis();
+            stats[DEX][race] = view.dex();
+            stats[CON][race] = view.con();
+            maxStats[STR][race] = view.maxStr();
+            maxStats[INT][race] = view.maxInt();
+            maxStats[WIS][race] = view.maxWis();
+            maxStats[DEX][race] = view.maxDex();
+            maxStats[CON][race] = view.maxCon();
+            classMultipliers[race] = toArray(view.classMultiplier());
+            if (names[race] != null) {
+                ordinals.putIfAbsent(key(names[race]), race);
+            }
+            race++;
+        }
+        // Ids win over names when a name happens to collide with another race's id.
+        for (int r = 0; r < count; r++) {
+            if (ids[r] != null) {
+                ordinals.put(key(ids[r]), r);
+            }
+        }
+        return new RaceTable(Collections.unmodifiableMap(ordinals), ids, names, points, stats, maxStats, classMultipliers);
+    }
+
+    public static int statOrdinal(String stat) {
+        return switch (key(stat)) {
+            case "str" -> STR;
+            case "int" -> INT;
+            case "wis" -> WIS;
+            case "dex" -> DEX;
+            case "con" -> CON;
+            default -> -1;
+        };
+    }
+
+    /** Ordinal for a race id or name, or -1 when there is no such race. */
+    public int ordinal(String idOrName) {
+        Integer race = ordinals.get(key(idOrName));
+        return race == null ? -1 : race;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public String id(int race) {
+        return ids[race];
+    }
+
+    public String name(int race) {
+        return names[race];
+    }
+
+    public int points(int race) {
+        return points[race];
+    }
+
+    public int stat(int race, int stat) {
+        return stats[stat][race];
+    }
+
+    public int maxStat(int race, int stat) {
+        return maxStats[stat][race];
+    }
+
+    /** Experience multiplier in percent; classes the race document does not list cost the default. */
+    public int classMultiplier(int race, int classOrdinal) {
+        int[] multipliers = classMultipliers[race];
+        return classOrdinal >= 0 && classOrdinal < multipliers.length && multipliers[classOrdinal] > 0
+                ? multipliers[classOrdinal]
+                : DEFAULT_CLASS_MULTIPLIER;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        if (values == null) {
+            return new int[0];
+        }
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            Integer value = values.get(i);
+            array[i] = value == null ? 0 : value;
+        }
+        return array;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,7 @@
+package org.springy.som.modulith.domain.reference.api;
+
+public interface ReferenceDataApi {
+    RaceTable getRaceTable();
+    ClassTable getClassTable();
+    CharacterStatsView getCharacterStats(String raceId, String classId, int level);
+}
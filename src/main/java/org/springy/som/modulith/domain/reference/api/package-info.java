@@ -0,0 +1,4 @@
+@NamedInterface("api")
+package org.springy.som.modulith.domain.reference.api;
+
+import org.springframework.modulith.NamedInterface;
@@ -0,0 +1,12 @@
+package org.springy.som.modulith.domain.reference.internal;
+
+import org.springframework.http.HttpStatus;
+import org.springy.som.modulith.exception.ApiError;
+import org.springy.som.modulith.exception.InvalidRequestApiException;
+
+@ApiError(status = HttpStatus.BAD_REQUEST, title = "Invalid reference data request", code = "INVALID_REFERENCE")
+public final class InvalidReferenceException extends InvalidRequestApiException {
+    public InvalidReferenceException(String message) {
+        super(message);
+    }
+}
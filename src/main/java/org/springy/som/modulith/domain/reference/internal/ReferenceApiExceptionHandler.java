@@ -0,0 +1,8 @@
+package org.springy.som.modulith.domain.reference.internal;
+
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springy.som.modulith.exception.BaseApiExceptionHandler;
+
+@RestControllerAdvice(assignableTypes = ReferenceDataController.class)
+public final class ReferenceApiExceptionHandler extends BaseApiExceptionHandler {
+}
@@ -0,0 +1,25 @@
+package org.springy.som.modulith.domain.reference.internal;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springy.som.modulith.domain.reference.api.CharacterStatsView;
+
+@RestController
+@RequestMapping(path = "/api/v1/reference", produces = "application/json")
+public class ReferenceDataController {
+    private final ReferenceDataService referenceDataService;
+
+    public ReferenceDataController(ReferenceDataService referenceDataService) {
+        this.referenceDataService = referenceDataService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<CharacterStatsView> getCharacterStats(@RequestParam String race,
+                                                                @RequestParam("class") String className,
+                                                                @RequestParam(defaultValue = "1") int level) {
+        return ResponseEntity.ok(referenceDataService.getCharacterStats(race, className, level));
+    }
+}
@@ -0,0 +1,111 @@
+package org.springy.som.modulith.domain.reference.internal;
+
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springy.som.modulith.domain.reference.api.CharacterStatsView;
+import org.springy.som.modulith.domain.reference.api.ClassTable;
+import org.springy.som.modulith.domain.reference.api.RaceTable;
+import org.springy.som.modulith.domain.reference.api.ReferenceDataApi;
+
+import static org.springy.som.modulith.domain.DomainGuards.referenceClassMissing;
+import static org.springy.som.modulith.domain.DomainGuards.referenceRaceMissing;
+import static org.springy.som.modulith.domain.ServiceGuards.requireText;
+
+@Service
+@Slf4j
+public class ReferenceDataService implements ReferenceDataApi {
+    static final int PRIME_STAT_BONUS = 3;
+
+    private final ReferenceTables referenceTables;
+
+    public ReferenceDataService(ReferenceTables referenceTables) {
+        this.referenceTables = referenceTables;
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public RaceTable getRaceTable() {
+        try {
+            return referenceTables.races();
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getRaceTable", ex);
+            throw new ReferencePersistenceException("Failed to load races "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public ClassTable getClassTable() {
+        try {
+            return referenceTables.classes();
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getClassTable", ex);
+            throw new ReferencePersistenceException("Failed to load classes "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public CharacterStatsView getCharacterStats(String raceId, String classId, int level) {
+        requireText(raceId, referenceRaceMissing());
+        requireText(classId, referenceClassMissing());
+
+        RaceTable races = getRaceTable();
+        ClassTable classes = getClassTable();
+        int race = races.ordinal(raceId);
+        if (race < 0) {
+            throw new ReferenceNotFoundException("race " + raceId);
+        }
+        int clazz = classes.ordinal(classId);
+        if (clazz < 0) {
+            throw new ReferenceNotFoundException("class " + classId);
+        }
+        int effectiveLevel = Math.max(0, level);
+        int[] stats = new int[RaceTable.STATS];
+        for (int stat = 0; stat < RaceTable.STATS; stat++) {
+            stats[stat] = races.stat(race, stat);
+        }
+        int prime = classes.primeStat(clazz);
+        if (prime >= 0) {
+            stats[prime] = Math.min(stats[prime] + PRIME_STAT_BONUS, races.maxStat(race, prime));
+        }
+        return new CharacterStatsView(
+                races.id(race),
+                classes.id(clazz),
+                effectiveLevel,
+                stats[RaceTable.STR],
+                stats[RaceTable.INT],
+                stats[RaceTable.WIS],
+                stats[RaceTable.DEX],
+                stats[RaceTable.CON],
+                classes.hpMin(clazz),
+                classes.hpMax(clazz),
+                classes.thac0(clazz, effectiveLevel),
+                classes.skillAdept(clazz),
+                classes.usesMana(clazz),
+                expPerLevel(races.points(race), races.classMultiplier(race, clazz)));
+    }
+
+    /** ROM's {@code exp_per_level}: creation points past 40 grow the cost in steps that double every 20 points. */
+    static int expPerLevel(int points, int classMultiplier) {
+        int expl = 1000;
+        int inc = 500;
+        int remaining = points - 40;
+        while (remaining > 9) {
+            expl += inc;
+            remaining -= 10;
+            if (remaining > 9) {
+                expl += inc;
+                inc *= 2;
+                remaining -= 10;
+            }
+        }
+        if (remaining > 0) {
+            expl += remaining * inc / 10;
+        }
+        return expl * classMultiplier / 100;
+    }
+}
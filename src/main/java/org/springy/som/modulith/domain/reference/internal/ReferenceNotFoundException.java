@@ -0,0 +1,12 @@
+package org.springy.som.modulith.domain.reference.internal;
+
+import org.springframework.http.HttpStatus;
+import org.springy.som.modulith.exception.ApiError;
+import org.springy.som.modulith.exception.NotFoundApiException;
+
+@ApiError(status = HttpStatus.NOT_FOUND, title = "Reference data not found", code = "REFERENCE_NOT_FOUND")
+public final class ReferenceNotFoundException extends NotFoundApiException {
+    public ReferenceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package org.springy.som.modulith.domain.reference.internal;
+
+import org.springframework.http.HttpStatus;
+import org.springy.som.modulith.exception.ApiError;
+import org.springy.som.modulith.exception.ServiceUnavailableApiException;
+
+@ApiError(status = HttpStatus.SERVICE_UNAVAILABLE, title = "Persistence service unavailable", code = "SERVICE_UNAVAILABLE")
+public final class ReferencePersistenceException extends ServiceUnavailableApiException {
+    public ReferencePersistenceException(String message) {
+        super("Service unavailable "+message);
+    }
+}
@@ -0,0 +1,102 @@
+package org.springy.som.modulith.domain.reference.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.clazz.api.ClassApi;
+import org.springy.som.modulith.domain.clazz.api.ClassChangedEvent;
+import org.springy.som.modulith.domain.clazz.api.ClassMapper;
+import org.springy.som.modulith.domain.clazz.api.ClassView;
+import org.springy.som.modulith.domain.race.api.RaceApi;
+import org.springy.som.modulith.domain.race.api.RaceChangedEvent;
+import org.springy.som.modulith.domain.race.api.RaceMapper;
+import org.springy.som.modulith.domain.race.api.RaceView;
+import org.springy.som.modulith.domain.reference.api.ClassTable;
+import org.springy.som.modulith.domain.reference.api.RaceTable;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Holds the {@link RaceTable} and {@link ClassTable}, reloaded on the next read after a change event. */
+@Slf4j
+@Component
+class ReferenceTables implements CacheWarmup {
+    private final RaceApi raceApi;
+    private final ClassApi classApi;
+    private final boolean preloadOnStartup;
+    private volatile RaceTable races;
+    private volatile ClassTable classes;
+
+    ReferenceTables(RaceApi raceApi,
+                    ClassApi classApi,
+                    @Value("${som.reference.preload-on-startup:true}") boolean preloadOnStartup) {
+        this.raceApi = raceApi;
+        this.classApi = classApi;
+        this.preloadOnStartup = preloadOnStartup;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        if (!preloadOnStartup) {
+            return List.of();
+        }
+        return List.of(
+                new WarmupTask("RomRaces", () -> races().size()),
+                new WarmupTask("RomClasses", () -> classes().size()));
+    }
+
+    RaceTable races() {
+        RaceTable current = races;
+        return current != null ? current : loadRaces();
+    }
+
+    ClassTable classes() {
+        ClassTable current = classes;
+        return current != null ? current : loadClasses();
+    }
+
+    synchronized void invalidateRaces() {
+        races = null;
+    }
+
+    synchronized void invalidateClasses() {
+        classes = null;
+    }
+
+    @EventListener
+    void onRaceChanged(RaceChangedEvent event) {
+        invalidateRaces();
+    }
+
+    @EventListener
+    void onClassChanged(ClassChangedEvent event) {
+        invalidateClasses();
+    }
+
+    private synchronized RaceTable loadRaces() {
+        if (races == null) {
+            List<RaceView> views;
+            try (Stream<RaceView> stream = raceApi.streamAllRaces().map(RaceMapper::toView)) {
+                views = stream.toList();
+            }
+            races = RaceTable.of(views);
+            log.info("Loaded {} races into the reference tables", races.size());
+        }
+        return races;
+    }
+
+    private synchronized ClassTable loadClasses() {
+        if (classes == null) {
+            List<ClassView> views;
+            try (Stream<ClassView> stream = classApi.streamAllClasses().map(ClassMapper::toView)) {
+                views = stream.toList();
+            }
+            classes = ClassTable.of(views);
+            log.info("Loaded {} classes into the reference tables", classes.size());
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,6 @@
+package org.springy.som.modulith.domain.reset.api;
+
+import java.time.Duration;
+
+public record AreaResetEvent(String areaId, int mobiles, int objects, int doors, Duration elapsed) {
+}
@@ -1,14 +1,21 @@
 package org.springy.som.modulith.domain.reset.api;
 
 import org.springy.som.modulith.domain.reset.internal.ResetDocument;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ResetApi {
     List<ResetDocument> getAllResets();
+    Stream<ResetDocument> streamAllResets();
+    KeysetPage<ResetDocument> getResetsPage(String after, int size);
+    KeysetPage<ResetDocument> getResetsPageByAreaId(String areaId, String after, int size);
     ResetDocument getResetByName(String name);
     ResetDocument getResetById(String id);
     ResetDocument createReset(ResetDocument resetDocument);
+    BulkUpsertResult upsertResets(List<ResetDocument> resetDocuments);
     ResetDocument saveResetForId(String id, ResetDocument resetDocument);
     void deleteResetById(String id);
     long deleteAllResets();
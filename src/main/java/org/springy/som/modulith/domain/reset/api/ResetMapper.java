@@ -15,7 +15,8 @@ public final class ResetMapper {
                 doc.getArg2(),
                 doc.getArg3(),
                 doc.getArg4(),
-                doc.getComment()
+                doc.getComment(),
+                doc.getVersion()
         );
     }
 }
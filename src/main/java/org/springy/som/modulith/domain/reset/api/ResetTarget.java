@@ -0,0 +1,30 @@
+package org.springy.som.modulith.domain.reset.api;
+
+/** The world an area reset is applied to; {@code false} from {@link #loadMobile} skips the following G and E rows. */
+public interface ResetTarget {
+    ResetTarget ACCEPT_ALL = new ResetTarget() {
+    };
+
+    default boolean loadMobile(String areaId, String mobileVnum, int worldLimit, String roomVnum, int roomLimit) {
+        return true;
+    }
+
+    default boolean loadObject(String areaId, String objectVnum, String roomVnum) {
+        return true;
+    }
+
+    default boolean putObject(String areaId, String objectVnum, String containerVnum, int count) {
+        return true;
+    }
+
+    /** Gives the object to the mobile loaded by the last {@code M} row; {@code wearLocation} is -1 for inventory. */
+    default boolean equipMobile(String areaId, String objectVnum, int wearLocation) {
+        return true;
+    }
+
+    default void setDoor(String areaId, String roomVnum, int door, int state) {
+    }
+
+    default void randomizeExits(String areaId, String roomVnum, int exits) {
+    }
+}
@@ -8,5 +8,6 @@ public record ResetView(
         String arg2,
         String arg3,
         String arg4,
-        String comment
+        String comment,
+        Long version
     ) {}
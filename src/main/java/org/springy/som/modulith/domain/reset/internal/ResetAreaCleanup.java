@@ -0,0 +1,26 @@
+package org.springy.som.modulith.domain.reset.internal;
+
+import org.springframework.stereotype.Component;
+
+import org.springy.som.modulith.domain.area.api.AreaCleanup;
+
+import java.util.Collection;
+
+@Component
+public class ResetAreaCleanup implements AreaCleanup {
+    private final ResetRepository resetRepository;
+
+    ResetAreaCleanup(ResetRepository resetRepository) {
+        this.resetRepository = resetRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "resets";
+    }
+
+    @Override
+    public long deleteAllByAreaIds(Collection<String> areaIds) {
+        return resetRepository.deleteAllByAreaIdIn(areaIds);
+    }
+}
@@ -0,0 +1,53 @@
+package org.springy.som.modulith.domain.reset.internal;
+
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.area.api.AreaContentSource;
+import org.springy.som.modulith.domain.reset.api.ResetMapper;
+import org.springy.som.modulith.domain.reset.api.ResetView;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class ResetAreaContent implements AreaContentSource<ResetDocument> {
+    private final ResetRepository resetRepository;
+
+    ResetAreaContent(ResetRepository resetRepository) {
+        this.resetRepository = resetRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "resets";
+    }
+
+    @Override
+    public Class<ResetDocument> documentType() {
+        return ResetDocument.class;
+    }
+
+    @Override
+    public List<ResetDocument> findAllByAreaId(String areaId) {
+        return resetRepository.findAllByAreaId(areaId);
+    }
+
+    @Override
+    public Optional<ResetDocument> findById(String id) {
+        return resetRepository.findById(id);
+    }
+
+    @Override
+    public String idOf(ResetDocument reset) {
+        return reset.getId();
+    }
+
+    @Override
+    public String areaIdOf(ResetDocument reset) {
+        return reset.getAreaId();
+    }
+
+    @Override
+    public ResetView toView(ResetDocument reset) {
+        return ResetMapper.toView(reset);
+    }
+}
@@ -1,6 +1,9 @@
 package org.springy.som.modulith.domain.reset.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,11 +12,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.web.DeleteAllResponse;
 import org.springy.som.modulith.domain.reset.api.ResetMapper;
 import org.springy.som.modulith.domain.reset.api.ResetView;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,9 +32,11 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/api/v1/resets", produces = "application/json")
 public class ResetController {
     private final ResetService resetService;
+    private final ObjectMapper objectMapper;
 
-    public ResetController(ResetService resetService) {
+    public ResetController(ResetService resetService, ObjectMapper objectMapper) {
         this.resetService = resetService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -37,6 +48,17 @@ public class ResetController {
         return ResponseEntity.ok(resetViews);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamResets() {
+        return NdjsonStreams.respond(resetService::streamAllResets, ResetMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<ResetView>> getResetsPage(@RequestParam int size,
+                                                               @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(resetService.getResetsPage(after, size).map(ResetMapper::toView));
+    }
+
     @GetMapping(path = "/area/{id}")
     public ResponseEntity<List<ResetView>> getAllResetsByAreaId(@Valid @PathVariable String id) {
         List<ResetView> resetViews = resetService.getAllResetsByAreaId(id)
@@ -46,6 +68,13 @@ public class ResetController {
         return ResponseEntity.ok(resetViews);
     }
 
+    @GetMapping(path = "/area/{id}", params = "size")
+    public ResponseEntity<KeysetPage<ResetView>> getResetsPageByAreaId(@PathVariable String id,
+                                                                       @RequestParam int size,
+                                                                       @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(resetService.getResetsPageByAreaId(id, after, size).map(ResetMapper::toView));
+    }
+
     @GetMapping(path = "/{id}")
     public ResponseEntity<ResetView> getResetById(@Valid @PathVariable String id) {
         return ResponseEntity.ok(ResetMapper.toView(resetService.getResetById(id)));
@@ -60,6 +89,12 @@ public class ResetController {
                 .body(resetView);
     }
 
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkUpsertResult> upsertResets(HttpServletRequest request) throws IOException {
+        List<ResetDocument> documents = NdjsonStreams.read(request.getInputStream(), ResetDocument.class, objectMapper);
+        return ResponseEntity.ok(resetService.upsertResets(documents));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ResetView> updateReset(@PathVariable String id, @Valid @RequestBody ResetDocument resetDocument) {
         ResetDocument updated = resetService.saveResetForId(id, resetDocument);
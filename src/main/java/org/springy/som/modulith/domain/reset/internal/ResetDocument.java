@@ -3,12 +3,15 @@ package org.springy.som.modulith.domain.reset.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
 
 @Data
 @Document("Resets")
+@CompoundIndex(name = "areaId_id", def = "{'areaId': 1, '_id': 1}")
 public class ResetDocument {
     @NotBlank(message = "area ID must not be blank")
     private String areaId;
@@ -22,4 +25,7 @@ public class ResetDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
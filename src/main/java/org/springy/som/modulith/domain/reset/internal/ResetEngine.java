@@ -0,0 +1,211 @@
+package org.springy.som.modulith.domain.reset.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.area.api.AreasDeletedEvent;
+import org.springy.som.modulith.domain.reset.api.AreaResetEvent;
+import org.springy.som.modulith.domain.reset.api.ResetTarget;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Repops every area that has resets on its own timer, phased by area id. */
+@Slf4j
+@Component
+class ResetEngine implements SmartLifecycle {
+    private final ResetRepository resetRepository;
+    private final ResetTarget target;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final int parallelism;
+    private final Counter failures;
+    private final Timer duration;
+    private final Map<String, ResetProgram> programs = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> timers = new ConcurrentHashMap<>();
+    private volatile ScheduledThreadPoolExecutor scheduler;
+
+    ResetEngine(ResetRepository resetRepository,
+                ObjectProvider<ResetTarget> target,
+                ApplicationEventPublisher eventPublisher,
+                MeterRegistry meterRegistry,
+                @Value("${som.resets.enabled:true}") boolean enabled,
+                @Value("${som.resets.interval-ms:180000}") long intervalMillis,
+                @Value("${som.resets.parallelism:4}") int parallelism) {
+        this.resetRepository = resetRepository;
+        ResetTarget available = target.getIfAvailable();
+        this.target = available != null ? available : ResetTarget.ACCEPT_ALL;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled && available != null;
+        if (enabled && available == null) {
+            log.info("No ResetTarget bean; area reset timers stay off");
+        }
+        this.intervalMillis = Math.max(1, intervalMillis);
+        this.parallelism = parallelism;
+        this.failures = meterRegistry.counter("som.resets.failures");
+        this.duration = meterRegistry.timer("som.resets.duration");
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "area-reset-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        scheduler = executor;
+
+        try {
+            List<String> areaIds = resetRepository.findDistinctAreaIds();
+            areaIds.forEach(this::schedule);
+            log.info("Scheduled resets for {} areas every {} ms on {} threads", areaIds.size(), intervalMillis, parallelism);
+        } catch (DataAccessException ex) {
+            log.warn("Could not list areas with resets; each area starts its timer on its next reset write", ex);
+        }
+    }
+
+    @Override
+    public void stop() {
+        ScheduledThreadPoolExecutor executor = scheduler;
+        scheduler = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        timers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /** Runs one area's program now, on the calling thread. */
+    AreaResetEvent reset(String areaId) {
+        ResetProgram program = programs.computeIfAbsent(areaId, this::compile);
+        long started = System.nanoTime();
+        ResetProgram.Outcome outcome = program.run(target);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        duration.record(elapsed);
+        AreaResetEvent event = new AreaResetEvent(areaId, outcome.mobiles(), outcome.objects(), outcome.doors(), elapsed);
+        eventPublisher.publishEvent(event);
+        return event;
+    }
+
+    /** Drops the area's program so its next run recompiles, and starts its timer if it had none. */
+    void invalidate(String areaId) {
+        if (areaId != null) {
+            programs.remove(areaId);
+            schedule(areaId);
+        }
+    }
+
+    void invalidateReset(String resetId) {
+        programs.values().removeIf(program -> program.contains(resetId));
+    }
+
+    /** After bulk changes: forget every program and schedule whatever areas now have resets. */
+    void reload() {
+        programs.clear();
+        if (scheduler != null) {
+            resetRepository.findDistinctAreaIds().forEach(this::schedule);
+        }
+    }
+
+    void clear() {
+        programs.clear();
+        timers.values().forEach(timer -> timer.cancel(false));
+        timers.clear();
+    }
+
+    @EventListener
+    void onAreasDeleted(AreasDeletedEvent event) {
+        for (String areaId : event.areaIds()) {
+            ScheduledFuture<?> timer = timers.remove(areaId);
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            programs.remove(areaId);
+        }
+    }
+
+    @EventListener
+    void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (!invalidation.concerns(ResetService.COLLECTION)) {
+            return;
+        }
+        try {
+            if (invalidation.id() == null) {
+                reload();
+            } else {
+                invalidateReset(invalidation.id());
+                resetRepository.findById(invalidation.id()).map(ResetDocument::getAreaId).ifPresent(this::invalidate);
+            }
+        } catch (DataAccessException ex) {
+            programs.clear();
+            log.warn("Could not re-read resets after a remote write; every program recompiles on its next run", ex);
+        }
+    }
+
+    int scheduledAreas() {
+        return timers.size();
+    }
+
+    /** Start offset within the interval; the id hash is mixed so similar ids do not land together. */
+    long phase(String areaId) {
+        int h = areaId.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, intervalMillis);
+    }
+
+    private void schedule(String areaId) {
+        ScheduledThreadPoolExecutor executor = scheduler;
+        if (executor == null) {
+            return;
+        }
+        timers.computeIfAbsent(areaId, id -> executor.scheduleWithFixedDelay(
+                () -> resetQuietly(id), phase(id), intervalMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private void resetQuietly(String areaId) {
+        try {
+            reset(areaId);
+        } catch (RuntimeException ex) {
+            failures.increment();
+            programs.remove(areaId);
+            log.warn("Reset of area {} failed; retrying next interval", areaId, ex);
+        }
+    }
+
+    private ResetProgram compile(String areaId) {
+        ResetProgram program = ResetProgram.compile(areaId, resetRepository.findAllByAreaId(areaId));
+        if (program.skipped() > 0) {
+            log.warn("Area {}: skipped {} unreadable resets", areaId, program.skipped());
+        }
+        return program;
+    }
+}
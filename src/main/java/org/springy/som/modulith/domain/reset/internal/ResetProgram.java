@@ -0,0 +1,123 @@
+package org.springy.som.modulith.domain.reset.internal;
+
+import org.springy.som.modulith.domain.reset.api.ResetTarget;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/** An area's reset rows parsed once into typed instructions; unreadable rows are dropped. */
+final class ResetProgram {
+    enum Op { MOBILE, OBJECT, PUT, GIVE, EQUIP, DOOR, RANDOMIZE }
+
+    record Instruction(Op op, String vnum, int number, String target, int count) {
+    }
+
+    record Outcome(int mobiles, int objects, int doors) {
+    }
+
+    private final String areaId;
+    private final Instruction[] instructions;
+    private final Set<String> resetIds;
+    private final int skipped;
+
+    private ResetProgram(String areaId, Instruction[] instructions, Set<String> resetIds, int skipped) {
+        this.areaId = areaId;
+        this.instructions = instructions;
+        this.resetIds = resetIds;
+        this.skipped = skipped;
+    }
+
+    static ResetProgram compile(String areaId, List<ResetDocument> resets) {
+        List<Instruction> instructions = new ArrayList<>(resets.size());
+        Set<String> resetIds = new HashSet<>(resets.size() * 2);
+        int skipped = 0;
+        for (ResetDocument reset : resets) {
+            if (reset.getId() != null) {
+                resetIds.add(reset.getId());
+            }
+            Instruction instruction = instruction(reset);
+            if (instruction == null) {
+                skipped++;
+            } else {
+                instructions.add(instruction);
+            }
+        }
+        return new ResetProgram(areaId, instructions.toArray(Instruction[]::new), Set.copyOf(resetIds), skipped);
+    }
+
+    Outcome run(ResetTarget target) {
+        int mobiles = 0;
+        int objects = 0;
+        int doors = 0;
+        boolean lastMobileLoaded = false;
+        for (Instruction in : instructions) {
+            switch (in.op()) {
+                case MOBILE -> {
+                    lastMobileLoaded = target.loadMobile(areaId, in.vnum(), in.number(), in.target(), in.count());
+                    if (lastMobileLoaded) {
+                        mobiles++;
+                    }
+                }
+                case OBJECT -> objects += target.loadObject(areaId, in.vnum(), in.target()) ? 1 : 0;
+                case PUT -> objects += target.putObject(areaId, in.vnum(), in.target(), in.count()) ? 1 : 0;
+                case GIVE, EQUIP -> {
+                    if (lastMobileLoaded && target.equipMobile(areaId, in.vnum(), in.op() == Op.GIVE ? -1 : in.count())) {
+                        objects++;
+                    }
+                }
+                case DOOR -> {
+                    target.setDoor(areaId, in.vnum(), in.number(), in.count());
+                    doors++;
+                }
+                case RANDOMIZE -> target.randomizeExits(areaId, in.vnum(), in.number());
+            }
+        }
+        return new Outcome(mobiles, objects, doors);
+    }
+
+    boolean contains(String resetId) {
+        return resetIds.contains(resetId);
+    }
+
+    int size() {
+        return instructions.length;
+    }
+
+    int skipped() {
+        return skipped;
+    }
+
+    private static Instruction instruction(ResetDocument reset) {
+        String command = reset.getCommand() == null ? "" : reset.getCommand().trim().toUpperCase(Locale.ROOT);
+        String vnum = trimmed(reset.getArg1());
+        if (vnum == null) {
+            return null;
+        }
+        try {
+            return switch (command) {
+                case "M" -> new Instruction(Op.MOBILE, vnum, number(reset.getArg2()),
+                        trimmed(reset.getArg3()), number(reset.getArg4()));
+                case "O" -> new Instruction(Op.OBJECT, vnum, 0, trimmed(reset.getArg3()), 0);
+                case "P" -> new Instruction(Op.PUT, vnum, 0, trimmed(reset.getArg3()), Math.max(1, number(reset.getArg4())));
+                case "G" -> new Instruction(Op.GIVE, vnum, 0, null, -1);
+                case "E" -> new Instruction(Op.EQUIP, vnum, 0, null, number(reset.getArg3()));
+                case "D" -> new Instruction(Op.DOOR, vnum, number(reset.getArg2()), null, number(reset.getArg3()));
+                case "R" -> new Instruction(Op.RANDOMIZE, vnum, number(reset.getArg2()), null, 0);
+                default -> null;
+            };
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String trimmed(String arg) {
+        return arg == null || arg.isBlank() ? null : arg.trim();
+    }
+
+    private static int number(String arg) {
+        return arg == null || arg.isBlank() ? 0 : Integer.parseInt(arg.trim());
+    }
+}
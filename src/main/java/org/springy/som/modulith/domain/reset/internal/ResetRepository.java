@@ -1,9 +1,15 @@
 package org.springy.som.modulith.domain.reset.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springy.som.modulith.mongo.CollectionScanAllowed;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ResetRepository extends MongoRepository<ResetDocument, String> {
     @Query("{id: '?0'}")
@@ -12,5 +18,20 @@ public interface ResetRepository extends MongoRepository<ResetDocument, String>
     @Query("{areaId: '?0'}")
     List<ResetDocument> findAllByAreaId(String areaId);
 
-    long deleteAllByAreaId(String areaId);
+    long deleteAllByAreaIdIn(Collection<String> areaIds);
+
+    @CollectionScanAllowed("Groups every reset by area; runs at startup and after bulk writes, not per request")
+    @Aggregation(pipeline = "{ '$group': { '_id': '$areaId' } }")
+    List<String> findDistinctAreaIds();
+
+    @Meta(cursorBatchSize = 500)
+    Stream<ResetDocument> streamAllBy();
+
+    List<ResetDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<ResetDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<ResetDocument> findAllByAreaIdOrderByIdAsc(String areaId, Limit limit);
+
+    List<ResetDocument> findAllByAreaIdAndIdGreaterThanOrderByIdAsc(String areaId, String id, Limit limit);
 }
@@ -7,26 +7,46 @@ import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
 import org.springy.som.modulith.domain.reset.api.ResetApi;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import static org.springy.som.modulith.domain.DomainGuards.resetAreaIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.resetIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.resetMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class ResetService implements ResetApi {
-    private final ResetRepository resetRepository;
+    static final String COLLECTION = "resets";
 
-    public ResetService(ResetRepository resetRepository) {
+    private final ResetRepository resetRepository;
+    private final MongoBulkUpserter bulkUpserter;
+    private final ResetEngine resetEngine;
+    private final CacheInvalidations cacheInvalidations;
+
+    public ResetService(ResetRepository resetRepository,
+                        MongoBulkUpserter bulkUpserter,
+                        ResetEngine resetEngine,
+                        CacheInvalidations cacheInvalidations) {
         this.resetRepository = resetRepository;
+        this.bulkUpserter = bulkUpserter;
+        this.resetEngine = resetEngine;
+        this.cacheInvalidations = cacheInvalidations;
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllResetsFallback")
@@ -36,6 +56,45 @@ public class ResetService implements ResetApi {
         return resetRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<ResetDocument> streamAllResets() {
+        return resetRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<ResetDocument> getResetsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<ResetDocument> fetched = lastId == null
+                    ? resetRepository.findAllByOrderByIdAsc(limit)
+                    : resetRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, ResetDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getResetsPage after={}", after, ex);
+            throw new ResetPersistenceException("Failed to load resets page "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<ResetDocument> getResetsPageByAreaId(String areaId, String after, int size) {
+        requireText(areaId, resetAreaIdMissing());
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<ResetDocument> fetched = lastId == null
+                    ? resetRepository.findAllByAreaIdOrderByIdAsc(areaId, limit)
+                    : resetRepository.findAllByAreaIdAndIdGreaterThanOrderByIdAsc(areaId, lastId, limit);
+            return KeysetPage.of(fetched, size, ResetDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getResetsPageByAreaId areaId={} after={}", areaId, after, ex);
+            throw new ResetPersistenceException("Failed to load resets page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllResetsByAreaIdFallback")
     @Retry(name = "somAPI")
     @Bulkhead(name = "somAPI")
@@ -62,7 +121,10 @@ public class ResetService implements ResetApi {
 
         try {
             // if (resetRepository.existsById(resetDocument.getId())) throw new ResetConflictException(...)
-            return resetRepository.save(resetDocument);
+            ResetDocument saved = resetRepository.save(resetDocument);
+            resetEngine.invalidate(saved.getAreaId());
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
         } catch (DataAccessException ex) {
             log.warn("DB failure in createReset resetId={}", safeId(resetDocument, ResetDocument::getId), ex);
             throw new ResetPersistenceException("Failed to create ROM race"+ex);
@@ -71,12 +133,32 @@ public class ResetService implements ResetApi {
 
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
-    public ResetDocument saveResetForId(String id, ResetDocument resetDocument) {
-        ResetDocument existing = resetRepository.findResetById(id);
-        requireText(existing.getId(), resetIdMissing());
-        requireEntityWithId(existing, ResetDocument::getId, resetMissing(), resetIdMissing());
+    public BulkUpsertResult upsertResets(List<ResetDocument> resetDocuments) {
+        try {
+            BulkUpsertResult result = bulkUpserter.upsert(ResetDocument.class, resetDocuments, ResetDocument::getId,
+                    MongoBulkUpserter.byId(ResetDocument::getId));
+            resetEngine.reload();
+            cacheInvalidations.publishAll(COLLECTION);
+            return result;
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in upsertResets count={}", resetDocuments.size(), ex);
+            throw new ResetPersistenceException("Failed to bulk upsert resets: "+ex);
+        }
+    }
 
-        return resetRepository.save(resetDocument);
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public ResetDocument saveResetForId(String id, ResetDocument resetDocument) {
+        requireText(id, resetIdMissing());
+        requireNonNull(resetDocument, resetMissing());
+        resetDocument.setId(id);
+
+        ResetDocument saved = VersionedSave.save(resetRepository, id, resetDocument, ResetDocument::getVersion, ResetNotFoundException::new);
+        // The reset may have moved areas, so drop whichever program held it as well as the new one.
+        resetEngine.invalidateReset(id);
+        resetEngine.invalidate(saved.getAreaId());
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -89,6 +171,8 @@ public class ResetService implements ResetApi {
                 throw new ResetNotFoundException(id);
             }
             resetRepository.deleteById(id);
+            resetEngine.invalidateReset(id);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteRomRaceById id={}", id, ex);
             throw new ResetPersistenceException("Failed to delete ROM reset: " + id+" "+ex);
@@ -101,6 +185,8 @@ public class ResetService implements ResetApi {
         try {
             long itemCount = resetRepository.count();
             resetRepository.deleteAll();
+            resetEngine.clear();
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllResets", ex);
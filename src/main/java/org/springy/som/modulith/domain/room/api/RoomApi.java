@@ -1,14 +1,29 @@
 package org.springy.som.modulith.domain.room.api;
 
 import org.springy.som.modulith.domain.room.internal.RoomDocument;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface RoomApi {
     List<RoomDocument> getAllRooms();
+    Stream<RoomDocument> streamAllRooms();
+    List<RoomView> getAllRoomViews();
+    Stream<RoomView> streamAllRoomViews();
+    KeysetPage<RoomDocument> getRoomsPage(String after, int size);
+    List<RoomDocument> getAllRoomsByAreaId(String areaId);
+    KeysetPage<RoomDocument> getRoomsPageByAreaId(String areaId, String after, int size);
     RoomDocument getRoomByName(String name);
     RoomDocument getRoomById(String id);
+    RoomView getRoomViewById(String id);
+    RoomPath findPath(String fromId, String toId);
+    List<RoomDistance> getRoomsWithin(String id, int steps);
+    RoomComponent getRoomComponent(String id);
+    List<RoomComponent> getRoomComponents();
     RoomDocument createRoom(RoomDocument roomDocument);
+    BulkUpsertResult upsertRooms(List<RoomDocument> roomDocuments);
     RoomDocument saveRoomForId(String id, RoomDocument roomDocument);
     void deleteRoomById(String id);
     long deleteAllRooms();
@@ -0,0 +1,7 @@
+package org.springy.som.modulith.domain.room.api;
+
+/** A set of rooms joined by exits in either direction, named by its first room in load order. */
+public record RoomComponent(
+        String representativeId,
+        int size
+) {}
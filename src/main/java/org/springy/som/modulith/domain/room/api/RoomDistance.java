@@ -0,0 +1,7 @@
+package org.springy.som.modulith.domain.room.api;
+
+public record RoomDistance(
+        String roomId,
+        String vnum,
+        int steps
+) {}
@@ -22,7 +22,8 @@ public final class RoomMapper {
                 doc.getRoomFlags(),
                 doc.getSectorType(),
                 doc.getExits(),
-                doc.getMobiles()
+                doc.getMobiles(),
+                doc.getVersion()
         );
     }
 }
@@ -0,0 +1,9 @@
+package org.springy.som.modulith.domain.room.api;
+
+import java.util.List;
+
+public record RoomPath(
+        String fromId,
+        String toId,
+        List<RoomPathStep> steps
+) {}
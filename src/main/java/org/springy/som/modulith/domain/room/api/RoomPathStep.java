@@ -0,0 +1,7 @@
+package org.springy.som.modulith.domain.room.api;
+
+public record RoomPathStep(
+        String direction,
+        String roomId,
+        String vnum
+) {}
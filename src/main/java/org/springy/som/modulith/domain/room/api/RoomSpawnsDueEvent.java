@@ -0,0 +1,10 @@
+package org.springy.som.modulith.domain.room.api;
+
+import java.util.List;
+
+/** Spawn rooms whose spawn time elapsed on the same timer tick. */
+public record RoomSpawnsDueEvent(List<String> roomIds) {
+    public RoomSpawnsDueEvent {
+        roomIds = List.copyOf(roomIds);
+    }
+}
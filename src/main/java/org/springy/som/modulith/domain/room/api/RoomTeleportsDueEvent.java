@@ -0,0 +1,10 @@
+package org.springy.som.modulith.domain.room.api;
+
+import java.util.List;
+
+/** Teleport rooms whose delay elapsed on the same timer tick; their occupants are due to be moved. */
+public record RoomTeleportsDueEvent(List<String> roomIds) {
+    public RoomTeleportsDueEvent {
+        roomIds = List.copyOf(roomIds);
+    }
+}
@@ -18,5 +18,6 @@ public record RoomView(
         int roomFlags,
         int sectorType,
         List<String> exits,
-        Map<String, String> mobiles
+        Map<String, String> mobiles,
+        Long version
 ) {}
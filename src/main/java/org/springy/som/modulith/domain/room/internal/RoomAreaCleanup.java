@@ -0,0 +1,26 @@
+package org.springy.som.modulith.domain.room.internal;
+
+import org.springframework.stereotype.Component;
+
+import org.springy.som.modulith.domain.area.api.AreaCleanup;
+
+import java.util.Collection;
+
+@Component
+public class RoomAreaCleanup implements AreaCleanup {
+    private final RoomRepository roomRepository;
+
+    RoomAreaCleanup(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "rooms";
+    }
+
+    @Override
+    public long deleteAllByAreaIds(Collection<String> areaIds) {
+        return roomRepository.deleteAllByAreaIdIn(areaIds);
+    }
+}
@@ -0,0 +1,53 @@
+package org.springy.som.modulith.domain.room.internal;
+
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.area.api.AreaContentSource;
+import org.springy.som.modulith.domain.room.api.RoomMapper;
+import org.springy.som.modulith.domain.room.api.RoomView;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class RoomAreaContent implements AreaContentSource<RoomDocument> {
+    private final RoomRepository roomRepository;
+
+    RoomAreaContent(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "rooms";
+    }
+
+    @Override
+    public Class<RoomDocument> documentType() {
+        return RoomDocument.class;
+    }
+
+    @Override
+    public List<RoomDocument> findAllByAreaId(String areaId) {
+        return roomRepository.findAllByAreaId(areaId);
+    }
+
+    @Override
+    public Optional<RoomDocument> findById(String id) {
+        return roomRepository.findById(id);
+    }
+
+    @Override
+    public String idOf(RoomDocument room) {
+        return room.getId();
+    }
+
+    @Override
+    public String areaIdOf(RoomDocument room) {
+        return room.getAreaId();
+    }
+
+    @Override
+    public RoomView toView(RoomDocument room) {
+        return RoomMapper.toView(room);
+    }
+}
@@ -1,7 +1,10 @@
 package org.springy.som.modulith.domain.room.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,38 +13,89 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.web.DeleteAllResponse;
+import org.springy.som.modulith.domain.room.api.RoomComponent;
+import org.springy.som.modulith.domain.room.api.RoomDistance;
 import org.springy.som.modulith.domain.room.api.RoomMapper;
+import org.springy.som.modulith.domain.room.api.RoomPath;
 import org.springy.som.modulith.domain.room.api.RoomView;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Slf4j
 @RestController
 @RequestMapping(path = "/api/v1/rooms", produces = "application/json")
 public class RoomController {
     private final RoomService roomService;
+    private final ObjectMapper objectMapper;
 
-    public  RoomController(RoomService roomService) {
+    public RoomController(RoomService roomService, ObjectMapper objectMapper) {
         this.roomService = roomService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
     public ResponseEntity<List<RoomView>> getRooms() {
-        List<RoomView> roomViews = roomService.getAllRooms()
-                .stream()
-                .map(RoomMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(roomViews);
+        return ResponseEntity.ok(roomService.getAllRoomViews());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRooms() {
+        return NdjsonStreams.respond(roomService::streamAllRoomViews, Function.identity(), objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<RoomView>> getRoomsPage(@RequestParam int size,
+                                                             @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(roomService.getRoomsPage(after, size).map(RoomMapper::toView));
+    }
+
+    @GetMapping(path = "/area/{areaId}")
+    public ResponseEntity<List<RoomView>> getAllRoomsByAreaId(@PathVariable String areaId) {
+        return ResponseEntity.ok(roomService.getAllRoomsByAreaId(areaId).stream().map(RoomMapper::toView).toList());
+    }
+
+    @GetMapping(path = "/area/{areaId}", params = "size")
+    public ResponseEntity<KeysetPage<RoomView>> getRoomsPageByAreaId(@PathVariable String areaId,
+                                                                     @RequestParam int size,
+                                                                     @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(roomService.getRoomsPageByAreaId(areaId, after, size).map(RoomMapper::toView));
+    }
+
+    @GetMapping(path = "/path")
+    public ResponseEntity<RoomPath> findPath(@RequestParam String from, @RequestParam String to) {
+        return ResponseEntity.ok(roomService.findPath(from, to));
+    }
+
+    @GetMapping(path = "/components")
+    public ResponseEntity<List<RoomComponent>> getRoomComponents() {
+        return ResponseEntity.ok(roomService.getRoomComponents());
+    }
+
+    @GetMapping(path = "/{id}/nearby")
+    public ResponseEntity<List<RoomDistance>> getRoomsWithin(@PathVariable String id,
+                                                             @RequestParam(defaultValue = "1") int steps) {
+        return ResponseEntity.ok(roomService.getRoomsWithin(id, steps));
+    }
+
+    @GetMapping(path = "/{id}/component")
+    public ResponseEntity<RoomComponent> getRoomComponent(@PathVariable String id) {
+        return ResponseEntity.ok(roomService.getRoomComponent(id));
     }
 
     @GetMapping(path = "/{id}")
     public ResponseEntity<RoomView> getRoomById(@Valid @PathVariable String id) {
-        return ResponseEntity.ok(RoomMapper.toView(roomService.getRoomById(id)));
+        return ResponseEntity.ok(roomService.getRoomViewById(id));
     }
 
     @GetMapping(path = "/vnum/{vnum}")
@@ -58,6 +112,12 @@ public class RoomController {
                 .body(roomView);
     }
 
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkUpsertResult> upsertRooms(HttpServletRequest request) throws IOException {
+        List<RoomDocument> documents = NdjsonStreams.read(request.getInputStream(), RoomDocument.class, objectMapper);
+        return ResponseEntity.ok(roomService.upsertRooms(documents));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<RoomView> updateRoom(@PathVariable String id, @Valid @RequestBody RoomDocument roomDocument) {
         RoomDocument updated = roomService.saveRoomForId(id, roomDocument);
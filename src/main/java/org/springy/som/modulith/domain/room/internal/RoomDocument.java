@@ -3,6 +3,10 @@ package org.springy.som.modulith.domain.room.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -10,9 +14,15 @@ import java.util.Map;
 
 @Data
 @Document("Rooms")
+@CompoundIndexes({
+        @CompoundIndex(name = "areaId_vnum", def = "{'areaId': 1, 'vnum': 1}", unique = true),
+        @CompoundIndex(name = "areaId_id", def = "{'areaId': 1, '_id': 1}"),
+        @CompoundIndex(name = "areaId_name", def = "{'areaId': 1, 'name': 1}")
+})
 public class RoomDocument {
     @NotBlank(message = "area ID must not be blank")
     private String areaId;
+    @Indexed(unique = true, sparse = true)
     private String vnum;
     @NotBlank(message = "name must not be blank")
     private String name;
@@ -30,4 +40,7 @@ public class RoomDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
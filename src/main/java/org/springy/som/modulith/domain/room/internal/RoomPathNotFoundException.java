@@ -0,0 +1,12 @@
+package org.springy.som.modulith.domain.room.internal;
+
+import org.springframework.http.HttpStatus;
+import org.springy.som.modulith.exception.ApiError;
+import org.springy.som.modulith.exception.NotFoundApiException;
+
+@ApiError(status = HttpStatus.NOT_FOUND, title = "Room path not found", code = "ROOM_PATH_NOT_FOUND")
+public class RoomPathNotFoundException extends NotFoundApiException {
+    public RoomPathNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,15 @@
 package org.springy.som.modulith.domain.room.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springy.som.modulith.domain.room.api.RoomView;
+import org.springy.som.modulith.mongo.CollectionScanAllowed;
 
+import java.util.Collection;
 import java.util.List;
-
+import java.util.stream.Stream;
 
 public interface RoomRepository extends MongoRepository<RoomDocument, String> {
     @Query("{id: '?0'}")
@@ -17,5 +22,33 @@ public interface RoomRepository extends MongoRepository<RoomDocument, String> {
 
     List<RoomDocument> findAllByAreaId(String areaId);
 
-    long deleteAllByAreaId(String areaId);
+    long deleteAllByAreaIdIn(Collection<String> areaIds);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<RoomDocument> streamAllBy();
+
+    @Meta(cursorBatchSize = 500)
+    @Query(value = "{}", fields = "{ 'vnum': 1, 'areaId': 1, 'exits': 1 }")
+    Stream<RoomDocument> streamExitsBy();
+
+    @CollectionScanAllowed("Loads every timed room once at startup and on reload; no per-request lookup")
+    @Meta(cursorBatchSize = 500)
+    @Query(value = "{ $or: [ { 'spawn': true }, { 'teleDelay': { $gt: 0 } } ] }",
+            fields = "{ 'areaId': 1, 'spawn': 1, 'spawnTimer': 1, 'spawnTime': 1, 'teleDelay': 1 }")
+    Stream<RoomDocument> streamTimedBy();
+
+    List<RoomDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<RoomDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    List<RoomDocument> findAllByAreaIdOrderByIdAsc(String areaId, Limit limit);
+
+    List<RoomDocument> findAllByAreaIdAndIdGreaterThanOrderByIdAsc(String areaId, String id, Limit limit);
+
+    List<RoomView> findAllViewsBy();
+
+    RoomView findViewById(String id);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<RoomView> streamViewsBy();
 }
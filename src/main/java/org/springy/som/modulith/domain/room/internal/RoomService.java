@@ -5,27 +5,86 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.area.api.AreasDeletedEvent;
 import org.springy.som.modulith.domain.room.api.RoomApi;
+import org.springy.som.modulith.domain.room.api.RoomComponent;
+import org.springy.som.modulith.domain.room.api.RoomDistance;
+import org.springy.som.modulith.domain.room.api.RoomPath;
+import org.springy.som.modulith.domain.room.api.RoomView;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.mongo.DuplicateKeys;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import static org.springy.som.modulith.domain.DomainGuards.roomAreaIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.roomIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.roomMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class RoomService implements RoomApi {
+    static final String COLLECTION = "rooms";
+
     private final RoomRepository roomRepository;
+    private final MongoBulkUpserter bulkUpserter;
+    private final WorldGraph worldGraph;
+    private final RoomTimers roomTimers;
+    private final CacheInvalidations cacheInvalidations;
 
-    public RoomService(RoomRepository roomRepository) {
+    public RoomService(RoomRepository roomRepository,
+                       MongoBulkUpserter bulkUpserter,
+                       WorldGraph worldGraph,
+                       RoomTimers roomTimers,
+                       CacheInvalidations cacheInvalidations) {
         this.roomRepository = roomRepository;
+        this.bulkUpserter = bulkUpserter;
+        this.worldGraph = worldGraph;
+        this.roomTimers = roomTimers;
+        this.cacheInvalidations = cacheInvalidations;
+    }
+
+    @EventListener
+    public void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (!invalidation.concerns(COLLECTION)) {
+            return;
+        }
+        worldGraph.invalidate();
+        String id = invalidation.id();
+        if (id == null) {
+            roomTimers.reload();
+            return;
+        }
+        roomTimers.cancel(id);
+        try {
+            roomRepository.findById(id).ifPresent(roomTimers::schedule);
+        } catch (DataAccessException ex) {
+            log.warn("Could not re-read room {} after a remote write; reloading every room timer", id, ex);
+            roomTimers.reload();
+        }
+    }
+
+    @EventListener
+    public void onAreasDeleted(AreasDeletedEvent event) {
+        worldGraph.removeAreas(event.areaIds());
+        roomTimers.cancelAreas(event.areaIds());
+        cacheInvalidations.publishAll(COLLECTION);
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllRoomsFallback")
@@ -35,6 +94,70 @@ public class RoomService implements RoomApi {
         return roomRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<RoomDocument> streamAllRooms() {
+        return roomRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllRoomViewsFallback")
+    @Retry(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<RoomView> getAllRoomViews() {
+        return roomRepository.findAllViewsBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<RoomView> streamAllRoomViews() {
+        return roomRepository.streamViewsBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<RoomDocument> getRoomsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<RoomDocument> fetched = lastId == null
+                    ? roomRepository.findAllByOrderByIdAsc(limit)
+                    : roomRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, RoomDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getRoomsPage after={}", after, ex);
+            throw new RoomPersistenceException("Failed to load rooms page "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<RoomDocument> getAllRoomsByAreaId(String areaId) {
+        requireText(areaId, roomAreaIdMissing());
+        try {
+            return roomRepository.findAllByAreaId(areaId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getAllRoomsByAreaId areaId={}", areaId, ex);
+            throw new RoomPersistenceException("Failed to load rooms for area: " + areaId + " " + ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<RoomDocument> getRoomsPageByAreaId(String areaId, String after, int size) {
+        requireText(areaId, roomAreaIdMissing());
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<RoomDocument> fetched = lastId == null
+                    ? roomRepository.findAllByAreaIdOrderByIdAsc(areaId, limit)
+                    : roomRepository.findAllByAreaIdAndIdGreaterThanOrderByIdAsc(areaId, lastId, limit);
+            return KeysetPage.of(fetched, size, RoomDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getRoomsPageByAreaId areaId={} after={}", areaId, after, ex);
+            throw new RoomPersistenceException("Failed to load rooms page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public RoomDocument getRoomByName(@RequestParam String name) {
@@ -53,6 +176,76 @@ public class RoomService implements RoomApi {
         return roomRepository.findRoomById(itemId);
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public RoomView getRoomViewById(String id) {
+        requireText(id, roomIdMissing());
+
+        try {
+            RoomView roomView = roomRepository.findViewById(id);
+            if (roomView == null) {
+                throw new RoomNotFoundException(id);
+            }
+            return roomView;
+        } catch (RoomNotFoundException ex) {
+            throw ex;
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getRoomViewById id={}", id, ex);
+            throw new RoomPersistenceException("Failed to load room: " + id + " "+ex);
+        }
+    }
+
+    public RoomPath findPath(String fromId, String toId) {
+        requireText(fromId, roomIdMissing());
+        requireText(toId, roomIdMissing());
+
+        RoomPath path;
+        try {
+            path = worldGraph.path(fromId, toId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in findPath from={} to={}", fromId, toId, ex);
+            throw new RoomPersistenceException("Failed to load world graph " + ex);
+        }
+        if (path == null) {
+            throw new RoomPathNotFoundException("No path from room '" + fromId + "' to room '" + toId + "'");
+        }
+        return path;
+    }
+
+    public List<RoomDistance> getRoomsWithin(String id, int steps) {
+        requireText(id, roomIdMissing());
+        if (steps < 0) {
+            throw new InvalidRoomException("steps must not be negative");
+        }
+
+        try {
+            return worldGraph.within(id, steps);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getRoomsWithin id={} steps={}", id, steps, ex);
+            throw new RoomPersistenceException("Failed to load world graph " + ex);
+        }
+    }
+
+    public RoomComponent getRoomComponent(String id) {
+        requireText(id, roomIdMissing());
+
+        try {
+            return worldGraph.componentOf(id);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getRoomComponent id={}", id, ex);
+            throw new RoomPersistenceException("Failed to load world graph " + ex);
+        }
+    }
+
+    public List<RoomComponent> getRoomComponents() {
+        try {
+            return worldGraph.components();
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getRoomComponents", ex);
+            throw new RoomPersistenceException("Failed to load world graph " + ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public RoomDocument createRoom(@Valid @RequestBody RoomDocument roomDocument) {
@@ -64,29 +257,51 @@ public class RoomService implements RoomApi {
             throw new InvalidRoomException("Room vnum must not be blank");
         }
 
-        // Check for duplicate vnum
-        RoomDocument existing = roomRepository.findRoomByVnum(vnum);
-        if (existing != null) {
-            throw new DuplicateRoomException("Room with vnum '" + vnum + "' already exists");
-        }
-
         try {
-            // if (roomRepository.existsById(roomDocument.getId())) throw new RoomConflictException(...)
-            return roomRepository.save(roomDocument);
+            RoomDocument saved = roomRepository.insert(roomDocument);
+            worldGraph.put(saved);
+            roomTimers.schedule(saved);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
+        } catch (DuplicateKeyException ex) {
+            throw new DuplicateRoomException(DuplicateKeys.onId(roomDocument.getId(), roomRepository::existsById)
+                    ? "Room with id '" + roomDocument.getId() + "' already exists"
+                    : "Room with vnum '" + vnum + "' already exists");
         } catch (DataAccessException ex) {
             log.warn("DB failure in createRoom roomId={}", safeId(roomDocument, RoomDocument::getId), ex);
             throw new RoomPersistenceException("Failed to create ROM roomDocument: "+ex);
         }
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public BulkUpsertResult upsertRooms(List<RoomDocument> roomDocuments) {
+        try {
+            BulkUpsertResult result = bulkUpserter.upsert(RoomDocument.class, roomDocuments, RoomDocument::getId,
+                    MongoBulkUpserter.byAreaIdAndVnum(RoomDocument::getAreaId, RoomDocument::getVnum));
+            // Upserted rooms may have taken ids from existing documents, so the graph reloads them all.
+            worldGraph.invalidate();
+            roomTimers.reload();
+            cacheInvalidations.publishAll(COLLECTION);
+            return result;
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in upsertRooms count={}", roomDocuments.size(), ex);
+            throw new RoomPersistenceException("Failed to bulk upsert rooms: "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public RoomDocument saveRoomForId(String id, RoomDocument roomDocument) {
-        RoomDocument existing = roomRepository.findRoomById(id);
-        requireText(existing.getId(), roomIdMissing());
-        requireEntityWithId(existing, RoomDocument::getId, roomMissing(), roomIdMissing());
+        requireText(id, roomIdMissing());
+        requireNonNull(roomDocument, roomMissing());
+        roomDocument.setId(id);
 
-        return roomRepository.save(roomDocument);
+        RoomDocument saved = VersionedSave.save(roomRepository, id, roomDocument, RoomDocument::getVersion, RoomNotFoundException::new);
+        worldGraph.put(saved);
+        roomTimers.schedule(saved);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -99,6 +314,9 @@ public class RoomService implements RoomApi {
                 throw new RoomNotFoundException(id);
             }
             roomRepository.deleteById(id);
+            worldGraph.remove(id);
+            roomTimers.cancel(id);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteRoomById id={}", id, ex);
             throw new RoomPersistenceException("Failed to delete ROM reset: " + id+" "+ex);
@@ -111,6 +329,9 @@ public class RoomService implements RoomApi {
         try {
             long itemCount = roomRepository.count();
             roomRepository.deleteAll();
+            worldGraph.clear();
+            roomTimers.clear();
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllRooms", ex);
@@ -123,6 +344,11 @@ public class RoomService implements RoomApi {
         return List.of();
     }
 
+    private List<RoomView> getAllRoomViewsFallback(Throwable t) {
+        log.warn("Fallback getAllRoomViews due to {}", t.toString());
+        return List.of();
+    }
+
     private RoomDocument getRoomByIdFallback(String id, Throwable t) {
         log.warn("Fallback getRoomById id={} due to {}", id, t.toString());
         throw new RoomPersistenceException("ROM room lookup temporarily unavailable: " + id+" "+t);
@@ -0,0 +1,235 @@
+package org.springy.som.modulith.domain.room.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.room.api.RoomSpawnsDueEvent;
+import org.springy.som.modulith.domain.room.api.RoomTeleportsDueEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/** Spawn and teleport deadlines of every room on one {@link TimingWheel}, owned by the ticker thread. */
+@Slf4j
+@Component
+class RoomTimers implements SmartLifecycle {
+    enum Kind { SPAWN, TELEPORT }
+
+    record Timer(String roomId, Kind kind, long periodTicks) {
+    }
+
+    private static final class Slots {
+        private final String areaId;
+        private TimingWheel.Timeout<Timer> spawn;
+        private TimingWheel.Timeout<Timer> teleport;
+
+        private Slots(String areaId) {
+            this.areaId = areaId;
+        }
+    }
+
+    private final RoomRepository roomRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final TimingWheel<Timer> wheel;
+    private final Map<String, Slots> rooms = new HashMap<>();
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduled;
+    private final Counter spawnsFired;
+    private final Counter teleportsFired;
+    private volatile ScheduledExecutorService ticker;
+
+    RoomTimers(RoomRepository roomRepository,
+               ApplicationEventPublisher eventPublisher,
+               MeterRegistry meterRegistry,
+               @Value("${som.rooms.timers.enabled:false}") boolean enabled,
+               @Value("${som.rooms.timers.tick-ms:1000}") long tickMillis,
+               @Value("${som.rooms.timers.wheel-size:512}") int wheelSize) {
+        this.roomRepository = roomRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.tickMillis = Math.max(1, tickMillis);
+        this.wheel = new TimingWheel<>(wheelSize);
+        this.scheduled = meterRegistry.gauge("som.rooms.timers.scheduled", new AtomicInteger());
+        this.spawnsFired = meterRegistry.counter("som.rooms.timers.fired", "kind", "spawn");
+        this.teleportsFired = meterRegistry.counter("som.rooms.timers.fired", "kind", "teleport");
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || ticker != null) {
+            return;
+        }
+        pending.add(this::load);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "room-timers");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::tickQuietly, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        ticker = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = ticker;
+        ticker = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    /** Replaces the room's deadlines with the ones its current fields call for. */
+    void schedule(RoomDocument room) {
+        String roomId = room.getId();
+        String areaId = room.getAreaId();
+        long spawnPeriod = room.isSpawn() ? ticks(room.getSpawnTime()) : 0;
+        long spawnDelay = room.getSpawnTimer() > 0 ? ticks(room.getSpawnTimer()) : spawnPeriod;
+        long teleportPeriod = ticks(room.getTeleDelay());
+        enqueue(() -> apply(roomId, areaId, spawnDelay, spawnPeriod, teleportPeriod));
+    }
+
+    void cancel(String roomId) {
+        enqueue(() -> remove(roomId));
+    }
+
+    void cancelAreas(Collection<String> areaIds) {
+        Set<String> removed = Set.copyOf(areaIds);
+        enqueue(() -> rooms.entrySet().removeIf(entry -> {
+            if (!removed.contains(entry.getValue().areaId)) {
+                return false;
+            }
+            cancelSlots(entry.getValue());
+            return true;
+        }));
+    }
+
+    void clear() {
+        enqueue(this::clearAll);
+    }
+
+    void reload() {
+        enqueue(() -> {
+            clearAll();
+            load();
+        });
+    }
+
+    /** Applies queued room changes, then advances the wheel one tick and publishes what came due. */
+    void tick() {
+        Runnable change;
+        while ((change = pending.poll()) != null) {
+            change.run();
+        }
+
+        List<Timer> expired = wheel.advance();
+        List<String> spawns = new ArrayList<>();
+        List<String> teleports = new ArrayList<>();
+        for (Timer timer : expired) {
+            Slots slots = rooms.get(timer.roomId());
+            if (slots == null) {
+                continue;
+            }
+            TimingWheel.Timeout<Timer> next = wheel.schedule(timer, timer.periodTicks());
+            if (timer.kind() == Kind.SPAWN) {
+                slots.spawn = next;
+                spawns.add(timer.roomId());
+            } else {
+                slots.teleport = next;
+                teleports.add(timer.roomId());
+            }
+        }
+        scheduled.set(wheel.size());
+
+        if (!spawns.isEmpty()) {
+            spawnsFired.increment(spawns.size());
+            eventPublisher.publishEvent(new RoomSpawnsDueEvent(spawns));
+        }
+        if (!teleports.isEmpty()) {
+            teleportsFired.increment(teleports.size());
+            eventPublisher.publishEvent(new RoomTeleportsDueEvent(teleports));
+        }
+    }
+
+    private void enqueue(Runnable change) {
+        if (enabled) {
+            pending.add(change);
+        }
+    }
+
+    private void tickQuietly() {
+        try {
+            tick();
+        } catch (RuntimeException ex) {
+            log.warn("Room timer tick failed", ex);
+        }
+    }
+
+    private void load() {
+        int loaded = 0;
+        try (Stream<RoomDocument> timed = roomRepository.streamTimedBy()) {
+            for (RoomDocument room : (Iterable<RoomDocument>) timed::iterator) {
+                schedule(room);
+                loaded++;
+            }
+        }
+        log.info("Loaded timers for {} rooms", loaded);
+    }
+
+    private void apply(String roomId, String areaId, long spawnDelay, long spawnPeriod, long teleportPeriod) {
+        remove(roomId);
+        if (spawnPeriod <= 0 && teleportPeriod <= 0) {
+            return;
+        }
+        Slots slots = new Slots(areaId);
+        if (spawnPeriod > 0) {
+            slots.spawn = wheel.schedule(new Timer(roomId, Kind.SPAWN, spawnPeriod), spawnDelay);
+        }
+        if (teleportPeriod > 0) {
+            slots.teleport = wheel.schedule(new Timer(roomId, Kind.TELEPORT, teleportPeriod), teleportPeriod);
+        }
+        rooms.put(roomId, slots);
+    }
+
+    private void remove(String roomId) {
+        Slots slots = rooms.remove(roomId);
+        if (slots != null) {
+            cancelSlots(slots);
+        }
+    }
+
+    private void cancelSlots(Slots slots) {
+        wheel.cancel(slots.spawn);
+        wheel.cancel(slots.teleport);
+    }
+
+    private void clearAll() {
+        rooms.clear();
+        wheel.clear();
+    }
+
+    private long ticks(int seconds) {
+        return seconds <= 0 ? 0 : (seconds * 1000L + tickMillis - 1) / tickMillis;
+    }
+}
@@ -0,0 +1,127 @@
+package org.springy.som.modulith.domain.room.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Hashed timing wheel with O(1) schedule and cancel; not thread-safe. */
+final class TimingWheel<T> {
+    static final class Timeout<T> {
+        private final T payload;
+        private final long deadline;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private Bucket<T> bucket;
+
+        private Timeout(T payload, long deadline) {
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+
+        T payload() {
+            return payload;
+        }
+
+        boolean isPending() {
+            return bucket != null;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    private final Bucket<T>[] buckets;
+    private final int mask;
+    private long tick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(int wheelSize) {
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheel size must be a power of two: " + wheelSize);
+        }
+        this.buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket<>();
+        }
+        this.mask = wheelSize - 1;
+    }
+
+    /** Schedules {@code payload} to expire {@code delayTicks} ticks from now; delays below one count as one. */
+    Timeout<T> schedule(T payload, long delayTicks) {
+        Timeout<T> timeout = new Timeout<>(payload, tick + Math.max(1, delayTicks));
+        buckets[(int) (timeout.deadline & mask)].add(timeout);
+        size++;
+        return timeout;
+    }
+
+    void cancel(Timeout<T> timeout) {
+        if (timeout != null && timeout.bucket != null) {
+            timeout.bucket.remove(timeout);
+            size--;
+        }
+    }
+
+    /** Moves the wheel one tick forward and returns the payloads that came due, in scheduling order. */
+    List<T> advance() {
+        tick++;
+        Bucket<T> bucket = buckets[(int) (tick & mask)];
+        List<T> expired = new ArrayList<>();
+        Timeout<T> timeout = bucket.head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.deadline <= tick) {
+                bucket.remove(timeout);
+                size--;
+                expired.add(timeout.payload);
+            }
+            timeout = next;
+        }
+        return expired;
+    }
+
+    void clear() {
+        for (Bucket<T> bucket : buckets) {
+            while (bucket.head != null) {
+                bucket.remove(bucket.head);
+            }
+        }
+        size = 0;
+    }
+
+    long tick() {
+        return tick;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,425 @@
+package org.springy.som.modulith.domain.room.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.room.api.RoomComponent;
+import org.springy.som.modulith.domain.room.api.RoomDistance;
+import org.springy.som.modulith.domain.room.api.RoomPath;
+import org.springy.som.modulith.domain.room.api.RoomPathStep;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/** Room exits as a directed graph in compressed sparse row form. */
+@Slf4j
+@Component
+class WorldGraph implements CacheWarmup {
+    private final RoomRepository roomRepository;
+    private final boolean preloadOnStartup;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    private final Object lock = new Object();
+    private Map<String, RoomNode> rooms;
+    private long version;
+    private long builtVersion;
+    private volatile Snapshot snapshot;
+
+    WorldGraph(RoomRepository roomRepository,
+               @Value("${som.rooms.graph.preload-on-startup:true}") boolean preloadOnStartup) {
+        this.roomRepository = roomRepository;
+        this.preloadOnStartup = preloadOnStartup;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return preloadOnStartup ? List.of(new WarmupTask("RoomGraph", () -> snapshot().size())) : List.of();
+    }
+
+    /** Shortest route by number of moves, or {@code null} when {@code toId} cannot be reached. */
+    RoomPath path(String fromId, String toId) {
+        Snapshot graph = snapshot();
+        return graph.path(graph.require(fromId), graph.require(toId), scratch.get());
+    }
+
+    /** Every room reachable in at most {@code maxSteps} moves, nearest first, excluding the origin. */
+    List<RoomDistance> within(String id, int maxSteps) {
+        Snapshot graph = snapshot();
+        return graph.within(graph.require(id), maxSteps, scratch.get());
+    }
+
+    RoomComponent componentOf(String id) {
+        Snapshot graph = snapshot();
+        return graph.components().of(graph.require(id));
+    }
+
+    /** All components, largest first; a world without stray rooms has exactly one. */
+    List<RoomComponent> components() {
+        return snapshot().components().all();
+    }
+
+    Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (lock) {
+            if (snapshot == null) {
+                if (rooms == null) {
+                    rooms = load();
+                }
+                snapshot = Snapshot.build(rooms.values());
+                builtVersion = version;
+            }
+            return snapshot;
+        }
+    }
+
+    void put(RoomDocument room) {
+        RoomNode node = RoomNode.of(room);
+        change(rooms -> {
+            rooms.put(node.id(), node);
+            return true;
+        });
+    }
+
+    void remove(String id) {
+        change(rooms -> rooms.remove(id) != null);
+    }
+
+    void clear() {
+        synchronized (lock) {
+            rooms = new LinkedHashMap<>();
+            version++;
+            snapshot = null;
+        }
+    }
+
+    void invalidate() {
+        synchronized (lock) {
+            rooms = null;
+            version++;
+            snapshot = null;
+        }
+    }
+
+    void removeAreas(Collection<String> areaIds) {
+        Set<String> removed = Set.copyOf(areaIds);
+        change(rooms -> rooms.values().removeIf(room -> removed.contains(room.areaId())));
+    }
+
+    /** Applies the change under the lock, then rebuilds outside it; readers keep the old snapshot meanwhile. */
+    private void change(Predicate<Map<String, RoomNode>> change) {
+        long changed;
+        List<RoomNode> nodes;
+        synchronized (lock) {
+            if (rooms == null || !change.test(rooms)) {
+                return;
+            }
+            changed = ++version;
+            if (snapshot == null) {
+                return;
+            }
+            nodes = List.copyOf(rooms.values());
+        }
+        Snapshot built = Snapshot.build(nodes);
+        synchronized (lock) {
+            if (snapshot != null && changed > builtVersion) {
+                snapshot = built;
+                builtVersion = changed;
+            }
+        }
+    }
+
+    private Map<String, RoomNode> load() {
+        Map<String, RoomNode> loaded = new LinkedHashMap<>();
+        try (Stream<RoomDocument> documents = roomRepository.streamExitsBy()) {
+            documents.forEach(room -> loaded.put(room.getId(), RoomNode.of(room)));
+        }
+        log.info("Loaded {} rooms into the world graph", loaded.size());
+        return loaded;
+    }
+
+    /** A room reduced to what the graph needs; exits are parsed from {@code "<direction> <vnum>"}. */
+    record RoomNode(String id, String vnum, String areaId, String[] directions, String[] targetVnums) {
+        static RoomNode of(RoomDocument room) {
+            List<String> exits = room.getExits() == null ? List.of() : room.getExits();
+            String[] directions = new String[exits.size()];
+            String[] targetVnums = new String[exits.size()];
+            int count = 0;
+            for (String exit : exits) {
+                String[] parts = exit == null ? new String[0] : exit.trim().split("\\s+");
+                if (parts.length >= 2) {
+                    directions[count] = parts[0].toLowerCase(Locale.ROOT);
+                    targetVnums[count] = parts[1];
+                    count++;
+                }
+            }
+            return new RoomNode(room.getId(), room.getVnum(), room.getAreaId(),
+                    Arrays.copyOf(directions, count), Arrays.copyOf(targetVnums, count));
+        }
+    }
+
+    static final class Snapshot {
+        private final String[] ids;
+        private final String[] vnums;
+        private final Map<String, Integer> ordinals;
+        private final int[] offsets;
+        private final int[] targets;
+        private final short[] directions;
+        private final String[] directionNames;
+        private volatile Components components;
+
+        private Snapshot(String[] ids, String[] vnums, Map<String, Integer> ordinals,
+                         int[] offsets, int[] targets, short[] directions, String[] directionNames) {
+            this.ids = ids;
+            this.vnums = vnums;
+            this.ordinals = ordinals;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.directions = directions;
+            this.directionNames = directionNames;
+        }
+
+        static Snapshot build(Collection<RoomNode> nodes) {
+            int size = nodes.size();
+            String[] ids = new String[size];
+            String[] vnums = new String[size];
+            Map<String, Integer> ordinals = new HashMap<>(size * 2);
+            Map<String, Integer> byVnum = new HashMap<>(size * 2);
+            int exitCount = 0;
+            int ordinal = 0;
+            for (RoomNode node : nodes) {
+                ids[ordinal] = node.id();
+                vnums[ordinal] = node.vnum();
+                ordinals.put(node.id(), ordinal);
+                if (node.vnum() != null) {
+                    byVnum.put(node.vnum(), ordinal);
+                }
+                exitCount += node.targetVnums().length;
+                ordinal++;
+            }
+
+            int[] offsets = new int[size + 1];
+            int[] targets = new int[exitCount];
+            short[] directions = new short[exitCount];
+            Map<String, Short> directionCodes = new LinkedHashMap<>();
+            int edge = 0;
+            ordinal = 0;
+            for (RoomNode node : nodes) {
+                offsets[ordinal++] = edge;
+                for (int i = 0; i < node.targetVnums().length; i++) {
+                    Integer target = byVnum.get(node.targetVnums()[i]);
+                    if (target != null) {
+                        targets[edge] = target;
+                        directions[edge] = directionCodes.computeIfAbsent(node.directions()[i],
+                                name -> (short) directionCodes.size());
+                        edge++;
+                    }
+                }
+            }
+            offsets[size] = edge;
+            return new Snapshot(ids, vnums, ordinals, offsets, Arrays.copyOf(targets, edge),
+                    Arrays.copyOf(directions, edge), directionCodes.keySet().toArray(String[]::new));
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int exitCount() {
+            return targets.length;
+        }
+
+        int require(String id) {
+            Integer ordinal = id == null ? null : ordinals.get(id);
+            if (ordinal == null) {
+                throw new RoomNotFoundException(id);
+            }
+            return ordinal;
+        }
+
+        RoomPath path(int from, int to, Scratch scratch) {
+            if (from == to) {
+                return new RoomPath(ids[from], ids[to], List.of());
+            }
+            scratch.reset(size());
+            int[] queue = scratch.queue;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = from;
+            scratch.visit(from);
+            while (head < tail) {
+                int room = queue[head++];
+                for (int edge = offsets[room]; edge < offsets[room + 1]; edge++) {
+                    int next = targets[edge];
+                    if (scratch.visited(next)) {
+                        continue;
+                    }
+                    scratch.visit(next);
+                    scratch.via[next] = edge;
+                    scratch.parent[next] = room;
+                    if (next == to) {
+                        return route(from, to, scratch);
+                    }
+                    queue[tail++] = next;
+                }
+            }
+            return null;
+        }
+
+        List<RoomDistance> within(int from, int maxSteps, Scratch scratch) {
+            scratch.reset(size());
+            int[] queue = scratch.queue;
+            int[] depth = scratch.parent;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = from;
+            scratch.visit(from);
+            depth[from] = 0;
+            List<RoomDistance> found = new ArrayList<>();
+            while (head < tail) {
+                int room = queue[head++];
+                int steps = depth[room] + 1;
+                if (steps > maxSteps) {
+                    break;
+                }
+                for (int edge = offsets[room]; edge < offsets[room + 1]; edge++) {
+                    int next = targets[edge];
+                    if (!scratch.visited(next)) {
+                        scratch.visit(next);
+                        depth[next] = steps;
+                        found.add(new RoomDistance(ids[next], vnums[next], steps));
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return found;
+        }
+
+        Components components() {
+            Components current = components;
+            if (current == null) {
+                current = Components.of(this);
+                components = current;
+            }
+            return current;
+        }
+
+        private RoomPath route(int from, int to, Scratch scratch) {
+            List<RoomPathStep> steps = new ArrayList<>();
+            for (int room = to; room != from; room = scratch.parent[room]) {
+                steps.add(new RoomPathStep(directionNames[directions[scratch.via[room]]], ids[room], vnums[room]));
+            }
+            Collections.reverse(steps);
+            return new RoomPath(ids[from], ids[to], steps);
+        }
+    }
+
+    /** Weakly connected components, labelled by union-find over every exit. */
+    record Components(Snapshot graph, int[] labels, int[] sizes, int[] representatives) {
+        static Components of(Snapshot graph) {
+            int size = graph.size();
+            int[] parent = new int[size];
+            for (int i = 0; i < size; i++) {
+                parent[i] = i;
+            }
+            for (int room = 0; room < size; room++) {
+                for (int edge = graph.offsets[room]; edge < graph.offsets[room + 1]; edge++) {
+                    int a = find(parent, room);
+                    int b = find(parent, graph.targets[edge]);
+                    if (a != b) {
+                        parent[Math.max(a, b)] = Math.min(a, b);
+                    }
+                }
+            }
+
+            // Roots are the lowest ordinal of their component, so labels come out in load order.
+            int[] labels = new int[size];
+            int[] labelOfRoot = new int[size];
+            Arrays.fill(labelOfRoot, -1);
+            int count = 0;
+            for (int room = 0; room < size; room++) {
+                int root = find(parent, room);
+                if (labelOfRoot[root] < 0) {
+                    labelOfRoot[root] = count++;
+                }
+                labels[room] = labelOfRoot[root];
+            }
+            int[] sizes = new int[count];
+            int[] representatives = new int[count];
+            Arrays.fill(representatives, -1);
+            for (int room = 0; room < size; room++) {
+                sizes[labels[room]]++;
+                if (representatives[labels[room]] < 0) {
+                    representatives[labels[room]] = room;
+                }
+            }
+            return new Components(graph, labels, sizes, representatives);
+        }
+
+        RoomComponent of(int room) {
+            int label = labels[room];
+            return new RoomComponent(graph.ids[representatives[label]], sizes[label]);
+        }
+
+        List<RoomComponent> all() {
+            List<RoomComponent> all = new ArrayList<>(sizes.length);
+            for (int label = 0; label < sizes.length; label++) {
+                all.add(new RoomComponent(graph.ids[representatives[label]], sizes[label]));
+            }
+            all.sort((a, b) -> Integer.compare(b.size(), a.size()));
+            return all;
+        }
+
+        private static int find(int[] parent, int room) {
+            while (parent[room] != room) {
+                parent[room] = parent[parent[room]];
+                room = parent[room];
+            }
+            return room;
+        }
+    }
+
+    /** Per-thread search state; a room counts as visited when its stamp equals the current generation. */
+    static final class Scratch {
+        private int[] stamps = new int[0];
+        private int[] queue = new int[0];
+        private int[] parent = new int[0];
+        private int[] via = new int[0];
+        private int generation;
+
+        void reset(int size) {
+            if (stamps.length < size) {
+                stamps = new int[size];
+                queue = new int[size];
+                parent = new int[size];
+                via = new int[size];
+                generation = 0;
+            }
+            if (++generation == 0) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+        }
+
+        boolean visited(int room) {
+            return stamps[room] == generation;
+        }
+
+        void visit(int room) {
+            stamps[room] = generation;
+        }
+    }
+}
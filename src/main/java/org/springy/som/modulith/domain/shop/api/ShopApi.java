@@ -1,11 +1,15 @@
 package org.springy.som.modulith.domain.shop.api;
 
 import org.springy.som.modulith.domain.shop.internal.ShopDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ShopApi {
     List<ShopDocument> getAllShops();
+    Stream<ShopDocument> streamAllShops();
+    KeysetPage<ShopDocument> getShopsPage(String after, int size);
     ShopDocument getShopByName(String name);
     ShopDocument getShopById(String id);
     ShopDocument createShop(ShopDocument shopDocument);
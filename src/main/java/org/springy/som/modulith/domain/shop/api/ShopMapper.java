@@ -20,7 +20,8 @@ public final class ShopMapper {
                 doc.getProfitSell(),
                 doc.getOpenHour(),
                 doc.getCloseHour(),
-                doc.getComment()
+                doc.getComment(),
+                doc.getVersion()
         );
     }
 }
@@ -13,5 +13,6 @@ public record ShopView(
         int profitSell,
         int openHour,
         int closeHour,
-        String comment
+        String comment,
+        Long version
 ) {}
@@ -0,0 +1,26 @@
+package org.springy.som.modulith.domain.shop.internal;
+
+import org.springframework.stereotype.Component;
+
+import org.springy.som.modulith.domain.area.api.AreaCleanup;
+
+import java.util.Collection;
+
+@Component
+public class ShopAreaCleanup implements AreaCleanup {
+    private final ShopRepository shopRepository;
+
+    ShopAreaCleanup(ShopRepository shopRepository) {
+        this.shopRepository = shopRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "shops";
+    }
+
+    @Override
+    public long deleteAllByAreaIds(Collection<String> areaIds) {
+        return shopRepository.deleteAllByAreaIdIn(areaIds);
+    }
+}
@@ -0,0 +1,53 @@
+package org.springy.som.modulith.domain.shop.internal;
+
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.area.api.AreaContentSource;
+import org.springy.som.modulith.domain.shop.api.ShopMapper;
+import org.springy.som.modulith.domain.shop.api.ShopView;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class ShopAreaContent implements AreaContentSource<ShopDocument> {
+    private final ShopRepository shopRepository;
+
+    ShopAreaContent(ShopRepository shopRepository) {
+        this.shopRepository = shopRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "shops";
+    }
+
+    @Override
+    public Class<ShopDocument> documentType() {
+        return ShopDocument.class;
+    }
+
+    @Override
+    public List<ShopDocument> findAllByAreaId(String areaId) {
+        return shopRepository.findAllByAreaId(areaId);
+    }
+
+    @Override
+    public Optional<ShopDocument> findById(String id) {
+        return shopRepository.findById(id);
+    }
+
+    @Override
+    public String idOf(ShopDocument shop) {
+        return shop.getId();
+    }
+
+    @Override
+    public String areaIdOf(ShopDocument shop) {
+        return shop.getAreaId();
+    }
+
+    @Override
+    public ShopView toView(ShopDocument shop) {
+        return ShopMapper.toView(shop);
+    }
+}
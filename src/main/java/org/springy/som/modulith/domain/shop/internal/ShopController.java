@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.shop.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,10 +11,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.web.DeleteAllResponse;
 import org.springy.som.modulith.domain.shop.api.ShopMapper;
 import org.springy.som.modulith.domain.shop.api.ShopView;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
 import java.net.URI;
 import java.util.ArrayList;
@@ -23,9 +29,11 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/api/v1/shops", produces = "application/json")
 public class ShopController {
     private final ShopService shopService;
+    private final ObjectMapper objectMapper;
 
-    public ShopController(ShopService shopService) {
+    public ShopController(ShopService shopService, ObjectMapper objectMapper) {
         this.shopService = shopService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -37,6 +45,17 @@ public class ShopController {
         return ResponseEntity.ok(shopViews);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamResets() {
+        return NdjsonStreams.respond(shopService::streamAllShops, ShopMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<ShopView>> getShopsPage(@RequestParam int size,
+                                                             @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(shopService.getShopsPage(after, size).map(ShopMapper::toView));
+    }
+
     @GetMapping(path = "/{id}")
     public ResponseEntity<ShopView> getResetById(@Valid @PathVariable String id) {
         return ResponseEntity.ok(ShopMapper.toView(shopService.getShopById(id)));
@@ -3,6 +3,8 @@ package org.springy.som.modulith.domain.shop.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -11,6 +13,7 @@ import java.util.List;
 @Document("Shops")
 public class ShopDocument {
     @NotBlank(message = "area ID must not be blank")
+    @Indexed
     private String areaId;
     private int keeper;
     private int buyType0;
@@ -26,4 +29,7 @@ public class ShopDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
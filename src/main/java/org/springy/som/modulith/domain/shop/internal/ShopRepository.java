@@ -1,28 +1,47 @@
 package org.springy.som.modulith.domain.shop.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springy.som.modulith.mongo.CollectionScanAllowed;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ShopRepository extends MongoRepository<ShopDocument, String> {
     @Query("{id: '?0'}")
     ShopDocument findShopById(String ShopId);
 
+    @CollectionScanAllowed("Shops have no name field; legacy search kept for API compatibility")
     @Query("{name: '?0'}")
     List<ShopDocument> findShopsByName(String name);
 
+    @CollectionScanAllowed("Shops have no category field; legacy search kept for API compatibility")
     @Query("{category: '?0'}")
     List<ShopDocument> findShopsByCategory(String category);
 
+    @CollectionScanAllowed("Case-insensitive regex search cannot use an index")
     @Query("{ $or: [ {name: {$regex: ?0, $options: 'i'}}, {category: {$regex: ?0, $options: 'i'}} ] }")
     List<ShopDocument> searchShopsByNameOrCategory(String keyword);
 
+    @CollectionScanAllowed("Shops have no price field; legacy search kept for API compatibility")
     @Query("{price: {$gte: '?0', $lte: '?1'}}")
     List<ShopDocument> findShopsByPriceRange(double minPrice, double maxPrice);
 
+    @CollectionScanAllowed("Shops have no quantity field; legacy search kept for API compatibility")
     @Query("{quantity: {$gte: '?0'}}")
     List<ShopDocument> findShopsWithMinQuantity(int minQuantity);
 
-    long deleteAllByAreaId(String areaId);
+    List<ShopDocument> findAllByAreaId(String areaId);
+
+    long deleteAllByAreaIdIn(Collection<String> areaIds);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<ShopDocument> streamAllBy();
+
+    List<ShopDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<ShopDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
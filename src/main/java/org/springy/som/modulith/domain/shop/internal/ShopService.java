@@ -6,26 +6,36 @@ import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
 import org.springy.som.modulith.domain.shop.api.ShopApi;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.DomainGuards.shopIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.shopMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Service
 @Slf4j
 public class ShopService implements ShopApi {
+    static final String COLLECTION = "shops";
+
     private final ShopRepository shopRepository;
+    private final CacheInvalidations cacheInvalidations;
 
-    public ShopService(ShopRepository shopRepository) {
+    public ShopService(ShopRepository shopRepository, CacheInvalidations cacheInvalidations) {
         this.shopRepository = shopRepository;
+        this.cacheInvalidations = cacheInvalidations;
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllShopsFallback")
@@ -35,6 +45,28 @@ public class ShopService implements ShopApi {
         return shopRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<ShopDocument> streamAllShops() {
+        return shopRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<ShopDocument> getShopsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<ShopDocument> fetched = lastId == null
+                    ? shopRepository.findAllByOrderByIdAsc(limit)
+                    : shopRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, ShopDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getShopsPage after={}", after, ex);
+            throw new ShopPersistenceException("Failed to load shops page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public ShopDocument getShopByName(@RequestParam String name) {
@@ -54,7 +86,9 @@ public class ShopService implements ShopApi {
 
         try {
             // if (shopRepository.existsById(shopDocument.getId())) throw new ShopConflictException(...)
-            return shopRepository.save(shopDocument);
+            ShopDocument saved = shopRepository.save(shopDocument);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
         } catch (DataAccessException ex) {
             log.warn("DB failure in createShop shopId={}", safeId(shopDocument, ShopDocument::getId), ex);
             throw new ShopPersistenceException("Failed to create ROM shopDocument"+ex);
@@ -64,11 +98,13 @@ public class ShopService implements ShopApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public ShopDocument saveShopForId(String id, ShopDocument shopDocument) {
-        ShopDocument existing = shopRepository.findShopById(id);
-        requireText(existing.getId(), shopIdMissing());
-        requireEntityWithId(existing, ShopDocument::getId, shopMissing(), shopIdMissing());
+        requireText(id, shopIdMissing());
+        requireNonNull(shopDocument, shopMissing());
+        shopDocument.setId(id);
 
-        return shopRepository.save(shopDocument);
+        ShopDocument saved = VersionedSave.save(shopRepository, id, shopDocument, ShopDocument::getVersion, ShopNotFoundException::new);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -81,6 +117,7 @@ public class ShopService implements ShopApi {
                 throw new ShopNotFoundException(id);
             }
             shopRepository.deleteById(id);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteShopById id={}", id, ex);
             throw new ShopPersistenceException("Failed to delete ROM shop: " + id+" "+ex);
@@ -93,6 +130,7 @@ public class ShopService implements ShopApi {
         try {
             long itemCount = shopRepository.count();
             shopRepository.deleteAll();
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllShops", ex);
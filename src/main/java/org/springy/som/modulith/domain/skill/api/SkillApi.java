@@ -1,13 +1,20 @@
 package org.springy.som.modulith.domain.skill.api;
 
+import org.springy.som.modulith.domain.AbilityMatrix;
 import org.springy.som.modulith.domain.skill.internal.SkillDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SkillApi {
     List<SkillDocument> getAllSkills();
+    Stream<SkillDocument> streamAllSkills();
+    KeysetPage<SkillDocument> getSkillsPage(String after, int size);
     SkillDocument getSkillById(String id);
     SkillDocument getSkillByName(String name);
+    boolean canUseSkill(String name, String className, int level);
+    List<AbilityMatrix.Available> getSkillsAvailableTo(String className, int level);
     SkillDocument createSkill(SkillDocument SkillDocument);
     SkillDocument saveSkillForId(String id, SkillDocument skillDocument);
     void deleteSkillById(String id);
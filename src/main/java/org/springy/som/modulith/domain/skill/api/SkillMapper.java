@@ -21,7 +21,8 @@ public final class SkillMapper {
             doc.getRatingByClass(),
             doc.getSlot(),
             doc.getMinMana(),
-            doc.getBeats()
+            doc.getBeats(),
+            doc.getVersion()
         );
     }
 }
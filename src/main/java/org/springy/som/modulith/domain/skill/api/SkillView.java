@@ -16,6 +16,6 @@ public record SkillView(
         Map<String, Integer> ratingByClass,
         int slot,
         int minMana,
-        int beats
-
+        int beats,
+        Long version
 ) {}
@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.skill.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,31 +11,60 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springy.som.modulith.domain.AbilityMatrix;
 import org.springy.som.modulith.domain.skill.api.SkillMapper;
 import org.springy.som.modulith.domain.skill.api.SkillView;
+import org.springy.som.modulith.web.CollectionSnapshots;
 import org.springy.som.modulith.web.DeleteAllResponse;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/api/v1/skills", produces = "application/json")
-public class SkillController {
+public class SkillController implements CacheWarmup {
     private final SkillService skillService;
+    private final ObjectMapper objectMapper;
+    private final CollectionSnapshots collectionSnapshots;
 
-    public SkillController(SkillService skillService) {
+    public SkillController(SkillService skillService, ObjectMapper objectMapper, CollectionSnapshots collectionSnapshots) {
         this.skillService = skillService;
+        this.objectMapper = objectMapper;
+        this.collectionSnapshots = collectionSnapshots;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return List.of(collectionSnapshots.warmupTask(SkillService.COLLECTION, skillService::loadAllSkills, SkillMapper::toView));
     }
 
     @GetMapping
-    public ResponseEntity<List<SkillView>> getAllSkills() {
-        List<SkillView> skillViews = skillService.getAllSkills()
-                .stream()
-                .map(SkillMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(skillViews);
+    public ResponseEntity<byte[]> getAllSkills() {
+        return collectionSnapshots.respond(SkillService.COLLECTION, skillService::loadAllSkills, SkillMapper::toView);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllSkills() {
+        return NdjsonStreams.respond(skillService::streamAllSkills, SkillMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<SkillView>> getSkillsPage(@RequestParam int size,
+                                                               @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(skillService.getSkillsPage(after, size).map(SkillMapper::toView));
+    }
+
+    @GetMapping(path = "/available")
+    public ResponseEntity<List<AbilityMatrix.Available>> getSkillsAvailableTo(@RequestParam("class") String className,
+                                                                          @RequestParam int level) {
+        return ResponseEntity.ok(skillService.getSkillsAvailableTo(className, level));
     }
 
     @GetMapping(path = "/{id}")
@@ -3,6 +3,8 @@ package org.springy.som.modulith.domain.skill.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Map;
@@ -11,6 +13,7 @@ import java.util.Map;
 @Document("Skills")
 public class SkillDocument {
     @NotBlank(message = "name must not be blank")
+    @Indexed
     private String name;
     private String kind;
     private String handlerId;
@@ -27,4 +30,7 @@ public class SkillDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package org.springy.som.modulith.domain.skill.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.AbilityMatrix;
+import org.springy.som.modulith.domain.skill.api.SkillDeletedEvent;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Compiled {@link AbilityMatrix} over all skills, rebuilt lazily after a write or delete. */
+@Slf4j
+@Component
+public class SkillMatrix implements CacheWarmup {
+    private final SkillRepository skillRepository;
+    private volatile AbilityMatrix matrix;
+
+    public SkillMatrix(SkillRepository skillRepository) {
+        this.skillRepository = skillRepository;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return List.of(new WarmupTask("Skills", () -> get().size()));
+    }
+
+    public AbilityMatrix get() {
+        AbilityMatrix current = matrix;
+        return current != null ? current : compile();
+    }
+
+    // Compiling and invalidating share the lock so a write can never be overtaken by a compile that read before it.
+    public synchronized void invalidate() {
+        matrix = null;
+    }
+
+    @EventListener
+    void onSkillDeleted(SkillDeletedEvent event) {
+        invalidate();
+    }
+
+    private synchronized AbilityMatrix compile() {
+        if (matrix == null) {
+            List<SkillDocument> skills;
+            try (Stream<SkillDocument> documents = skillRepository.streamAllBy()) {
+                skills = documents.toList();
+            }
+            matrix = AbilityMatrix.of(skills, SkillDocument::getId, SkillDocument::getName,
+                    SkillDocument::getLevelByClass, SkillDocument::getRatingByClass);
+            log.info("Compiled skill matrix for {} skills", matrix.size());
+        }
+        return matrix;
+    }
+}
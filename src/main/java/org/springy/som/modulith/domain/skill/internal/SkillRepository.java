@@ -1,8 +1,12 @@
 package org.springy.som.modulith.domain.skill.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface SkillRepository extends MongoRepository<SkillDocument, String> {
     @Query("{id: '?0'}")
@@ -10,4 +14,11 @@ public interface SkillRepository extends MongoRepository<SkillDocument, String>
 
     @Query("{name:  '?0'}")
     SkillDocument findSkillByName(String skillName);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<SkillDocument> streamAllBy();
+
+    List<SkillDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<SkillDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
@@ -5,27 +5,57 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.AbilityMatrix;
 import org.springy.som.modulith.domain.DomainGuards;
 import org.springy.som.modulith.domain.skill.api.SkillApi;
 import org.springy.som.modulith.domain.skill.api.SkillDeletedEvent;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.CollectionSnapshots;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class SkillService implements SkillApi {
+    static final String COLLECTION = "skills";
+
     private final SkillRepository skillRepository;
     private final ApplicationEventPublisher eventPublisher;
-
-    public SkillService(SkillRepository skillRepository, ApplicationEventPublisher eventPublisher) {
+    private final SkillMatrix skillMatrix;
+    private final CollectionSnapshots collectionSnapshots;
+    private final CacheInvalidations cacheInvalidations;
+
+    public SkillService(SkillRepository skillRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        SkillMatrix skillMatrix,
+                        CollectionSnapshots collectionSnapshots,
+                        CacheInvalidations cacheInvalidations) {
         this.skillRepository = skillRepository;
         this.eventPublisher = eventPublisher;
+        this.skillMatrix = skillMatrix;
+        this.collectionSnapshots = collectionSnapshots;
+        this.cacheInvalidations = cacheInvalidations;
+    }
+
+    @EventListener
+    public void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (invalidation.concerns(COLLECTION)) {
+            skillMatrix.invalidate();
+            collectionSnapshots.touch(COLLECTION);
+        }
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllSkillsFallback")
@@ -40,6 +70,39 @@ public class SkillService implements SkillApi {
         }
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<SkillDocument> loadAllSkills() {
+        try {
+            return skillRepository.findAll();
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in loadAllSkills", ex);
+            throw new SkillPersistenceException("Failed to load skills "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<SkillDocument> streamAllSkills() {
+        return skillRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<SkillDocument> getSkillsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<SkillDocument> fetched = lastId == null
+                    ? skillRepository.findAllByOrderByIdAsc(limit)
+                    : skillRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, SkillDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getSkillsPage after={}", after, ex);
+            throw new SkillPersistenceException("Failed to load skills page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getSkillByIdFallback")
     @Retry(name = "somAPI")
     @Bulkhead(name = "somAPI")
@@ -76,6 +139,33 @@ public class SkillService implements SkillApi {
         }
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public boolean canUseSkill(String name, String className, int level) {
+        requireText(name, DomainGuards.skillNameMissing());
+        requireText(className, DomainGuards.skillClassMissing());
+
+        try {
+            return skillMatrix.get().canUse(name, className, level);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in canUseSkill name={} class={}", name, className, ex);
+            throw new SkillPersistenceException("Failed to load Skill matrix "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<AbilityMatrix.Available> getSkillsAvailableTo(String className, int level) {
+        requireText(className, DomainGuards.skillClassMissing());
+
+        try {
+            return skillMatrix.get().availableTo(className, level);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getSkillsAvailableTo class={} level={}", className, level, ex);
+            throw new SkillPersistenceException("Failed to load Skill matrix "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public SkillDocument createSkill(SkillDocument skillDocument) {
@@ -83,7 +173,11 @@ public class SkillService implements SkillApi {
 
         try {
             // if (skillRepository.existsById(SpellDocument.getSkillId())) throw new SkillConflictException(...)
-            return skillRepository.save(skillDocument);
+            SkillDocument saved = skillRepository.save(skillDocument);
+            skillMatrix.invalidate();
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
         } catch (DataAccessException ex) {
             log.warn("DB failure in createSkill SkillId={}", safeId(skillDocument, SkillDocument::getId), ex);
             throw new SkillPersistenceException("Failed to create SkillDocument"+ex);
@@ -93,11 +187,15 @@ public class SkillService implements SkillApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public SkillDocument saveSkillForId(String id, SkillDocument skillDocument) {
-        SkillDocument existing = skillRepository.findSkillById(id);
-        requireText(existing.getId(), DomainGuards.skillIdMissing());
-        requireEntityWithId(existing, SkillDocument::getId, DomainGuards.skillMissing(), DomainGuards.skillIdMissing());
-
-        return skillRepository.save(skillDocument);
+        requireText(id, DomainGuards.skillIdMissing());
+        requireNonNull(skillDocument, DomainGuards.skillMissing());
+        skillDocument.setId(id);
+
+        SkillDocument saved = VersionedSave.save(skillRepository, id, skillDocument, SkillDocument::getVersion, SkillNotFoundException::new);
+        skillMatrix.invalidate();
+        collectionSnapshots.touch(COLLECTION);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -110,6 +208,8 @@ public class SkillService implements SkillApi {
                 throw new SkillNotFoundException(id);
             }
             skillRepository.deleteById(id);
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, id);
             eventPublisher.publishEvent(new SkillDeletedEvent(id));
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteSkillById id={}", id, ex);
@@ -127,6 +227,8 @@ public class SkillService implements SkillApi {
                     .toList();
             long itemCount = SkillIds.size();
             skillRepository.deleteAll();
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publishAll(COLLECTION);
             for (String SkillId : SkillIds) {
                 eventPublisher.publishEvent(new SkillDeletedEvent(SkillId));
             }
@@ -2,11 +2,15 @@ package org.springy.som.modulith.domain.special.api;
 
 
 import org.springy.som.modulith.domain.special.internal.SpecialDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SpecialApi {
     List<SpecialDocument> getAllSpecials();
+    Stream<SpecialDocument> streamAllSpecials();
+    KeysetPage<SpecialDocument> getSpecialsPage(String after, int size);
     SpecialDocument getSpecialById(String id);
     SpecialDocument getSpecialByName(String name);
     SpecialDocument createSpecial(SpecialDocument specialDocument);
@@ -13,7 +13,8 @@ public final class SpecialMapper {
                 doc.getMobVnum(),
                 doc.getName(),
                 doc.getComment(),
-                doc.getSpecialFunction()
+                doc.getSpecialFunction(),
+                doc.getVersion()
         );
     }
 }
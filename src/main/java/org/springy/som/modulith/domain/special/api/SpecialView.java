@@ -8,5 +8,6 @@ public record SpecialView(
         String mobVnum,
         String name,
         String comment,
-        List<String> specialFunction
+        List<String> specialFunction,
+        Long version
 ) {}
@@ -0,0 +1,26 @@
+package org.springy.som.modulith.domain.special.internal;
+
+import org.springframework.stereotype.Component;
+
+import org.springy.som.modulith.domain.area.api.AreaCleanup;
+
+import java.util.Collection;
+
+@Component
+public class SpecialAreaCleanup implements AreaCleanup {
+    private final SpecialRepository specialRepository;
+
+    SpecialAreaCleanup(SpecialRepository specialRepository) {
+        this.specialRepository = specialRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "specials";
+    }
+
+    @Override
+    public long deleteAllByAreaIds(Collection<String> areaIds) {
+        return specialRepository.deleteAllByAreaIdIn(areaIds);
+    }
+}
@@ -0,0 +1,53 @@
+package org.springy.som.modulith.domain.special.internal;
+
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.area.api.AreaContentSource;
+import org.springy.som.modulith.domain.special.api.SpecialMapper;
+import org.springy.som.modulith.domain.special.api.SpecialView;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class SpecialAreaContent implements AreaContentSource<SpecialDocument> {
+    private final SpecialRepository specialRepository;
+
+    SpecialAreaContent(SpecialRepository specialRepository) {
+        this.specialRepository = specialRepository;
+    }
+
+    @Override
+    public String kind() {
+        return "specials";
+    }
+
+    @Override
+    public Class<SpecialDocument> documentType() {
+        return SpecialDocument.class;
+    }
+
+    @Override
+    public List<SpecialDocument> findAllByAreaId(String areaId) {
+        return specialRepository.findAllByAreaId(areaId);
+    }
+
+    @Override
+    public Optional<SpecialDocument> findById(String id) {
+        return specialRepository.findById(id);
+    }
+
+    @Override
+    public String idOf(SpecialDocument special) {
+        return special.getId();
+    }
+
+    @Override
+    public String areaIdOf(SpecialDocument special) {
+        return special.getAreaId();
+    }
+
+    @Override
+    public SpecialView toView(SpecialDocument special) {
+        return SpecialMapper.toView(special);
+    }
+}
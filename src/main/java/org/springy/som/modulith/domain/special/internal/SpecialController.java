@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.special.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,10 +11,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springy.som.modulith.web.DeleteAllResponse;
 import org.springy.som.modulith.domain.special.api.SpecialMapper;
 import org.springy.som.modulith.domain.special.api.SpecialView;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
 
 import java.net.URI;
 import java.util.ArrayList;
@@ -23,9 +29,11 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/api/v1/specials", produces = "application/json")
 public class SpecialController {
     private final SpecialService specialService;
+    private final ObjectMapper objectMapper;
 
-    public SpecialController(SpecialService specialService) {
+    public SpecialController(SpecialService specialService, ObjectMapper objectMapper) {
         this.specialService = specialService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -37,6 +45,17 @@ public class SpecialController {
         return ResponseEntity.ok(specialViews);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamResets() {
+        return NdjsonStreams.respond(specialService::streamAllSpecials, SpecialMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<SpecialView>> getSpecialsPage(@RequestParam int size,
+                                                                   @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(specialService.getSpecialsPage(after, size).map(SpecialMapper::toView));
+    }
+
     @GetMapping(path = "/{id}")
     public ResponseEntity<SpecialView> getResetById(@Valid @PathVariable String id) {
         return ResponseEntity.ok(SpecialMapper.toView(specialService.getSpecialById(id)));
@@ -3,6 +3,8 @@ package org.springy.som.modulith.domain.special.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -10,6 +12,7 @@ import java.util.List;
 
 @Data
 @Document("Specials")
+@CompoundIndex(name = "areaId_mobVnum", def = "{'areaId': 1, 'mobVnum': 1}")
 public class SpecialDocument {
     @NotBlank(message = "area ID must not be blank")
     private String areaId;
@@ -20,4 +23,7 @@ public class SpecialDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
@@ -1,9 +1,26 @@
 package org.springy.som.modulith.domain.special.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface SpecialRepository extends MongoRepository<SpecialDocument, String> {
     @Query("{id: '?0'}")
     SpecialDocument findSpecialById(String specialId);
+
+    List<SpecialDocument> findAllByAreaId(String areaId);
+
+    long deleteAllByAreaIdIn(Collection<String> areaIds);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<SpecialDocument> streamAllBy();
+
+    List<SpecialDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<SpecialDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
@@ -6,26 +6,36 @@ import io.github.resilience4j.retry.annotation.Retry;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springy.som.modulith.cache.CacheInvalidations;
 import org.springy.som.modulith.domain.special.api.SpecialApi;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.DomainGuards.specialIdMissing;
 import static org.springy.som.modulith.domain.DomainGuards.specialMissing;
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class SpecialService implements SpecialApi {
+    static final String COLLECTION = "specials";
+
     private final SpecialRepository specialRepository;
+    private final CacheInvalidations cacheInvalidations;
 
-    public SpecialService(SpecialRepository specialRepository) {
+    public SpecialService(SpecialRepository specialRepository, CacheInvalidations cacheInvalidations) {
         this.specialRepository = specialRepository;
+        this.cacheInvalidations = cacheInvalidations;
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllSpecialsFallback")
@@ -35,6 +45,28 @@ public class SpecialService implements SpecialApi {
         return specialRepository.findAll();
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<SpecialDocument> streamAllSpecials() {
+        return specialRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<SpecialDocument> getSpecialsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<SpecialDocument> fetched = lastId == null
+                    ? specialRepository.findAllByOrderByIdAsc(limit)
+                    : specialRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, SpecialDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getSpecialsPage after={}", after, ex);
+            throw new SpecialPersistenceException("Failed to load specials page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public SpecialDocument getSpecialByName(@RequestParam String name) {
@@ -54,7 +86,9 @@ public class SpecialService implements SpecialApi {
 
         try {
             // if (specialRepository.existsById(specialDocument.getId())) throw new SpecialConflictException(...)
-            return specialRepository.save(specialDocument);
+            SpecialDocument saved = specialRepository.save(specialDocument);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
         } catch (DataAccessException ex) {
             log.warn("DB failure in createSpecial specialId={}", safeId(specialDocument, SpecialDocument::getId), ex);
             throw new SpecialPersistenceException("Failed to create ROM specialDocument"+ex);
@@ -64,11 +98,13 @@ public class SpecialService implements SpecialApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public SpecialDocument saveSpecialForId(String id, SpecialDocument specialDocument) {
-        SpecialDocument existing = specialRepository.findSpecialById(id);
-        requireText(existing.getId(), specialIdMissing());
-        requireEntityWithId(existing, SpecialDocument::getId, specialMissing(), specialIdMissing());
+        requireText(id, specialIdMissing());
+        requireNonNull(specialDocument, specialMissing());
+        specialDocument.setId(id);
 
-        return specialRepository.save(specialDocument);
+        SpecialDocument saved = VersionedSave.save(specialRepository, id, specialDocument, SpecialDocument::getVersion, SpecialNotFoundException::new);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -81,6 +117,7 @@ public class SpecialService implements SpecialApi {
                 throw new SpecialNotFoundException(id);
             }
             specialRepository.deleteById(id);
+            cacheInvalidations.publish(COLLECTION, id);
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteSpecialById id={}", id, ex);
             throw new SpecialPersistenceException("Failed to delete ROM specials: " + id+" "+ex);
@@ -93,6 +130,7 @@ public class SpecialService implements SpecialApi {
         try {
             long itemCount = specialRepository.count();
             specialRepository.deleteAll();
+            cacheInvalidations.publishAll(COLLECTION);
             return itemCount;
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteAllSpecials", ex);
@@ -1,13 +1,20 @@
 package org.springy.som.modulith.domain.spell.api;
 
+import org.springy.som.modulith.domain.AbilityMatrix;
 import org.springy.som.modulith.domain.spell.internal.SpellDocument;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SpellApi {
     List<SpellDocument> getAllSpells();
+    Stream<SpellDocument> streamAllSpells();
+    KeysetPage<SpellDocument> getSpellsPage(String after, int size);
     SpellDocument getSpellById(String id);
     SpellDocument getSpellByName(String name);
+    boolean canUseSpell(String name, String className, int level);
+    List<AbilityMatrix.Available> getSpellsAvailableTo(String className, int level);
     SpellDocument createSpell(SpellDocument SpellDocument);
     SpellDocument saveSpellForId(String id, SpellDocument spellDocument);
     void deleteSpellById(String id);
@@ -24,7 +24,8 @@ public final class SpellMapper {
             doc.getMinMana(),
             doc.getBeats(),
             doc.getAffectData(),
-            doc.getLambdas()
+            doc.getLambdas(),
+            doc.getVersion()
         );
     }
 }
@@ -20,6 +20,6 @@ public record SpellView(
         int minMana,
         int beats,
         List<Map<String, Object>> affectData,
-        List<String> lambdas
-
+        List<String> lambdas,
+        Long version
 ) {}
@@ -1,6 +1,8 @@
 package org.springy.som.modulith.domain.spell.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,31 +11,60 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springy.som.modulith.domain.AbilityMatrix;
 import org.springy.som.modulith.domain.spell.api.SpellMapper;
 import org.springy.som.modulith.domain.spell.api.SpellView;
+import org.springy.som.modulith.web.CollectionSnapshots;
 import org.springy.som.modulith.web.DeleteAllResponse;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.web.NdjsonStreams;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path = "/api/v1/spells", produces = "application/json")
-public class SpellController {
+public class SpellController implements CacheWarmup {
     private final SpellService spellService;
+    private final ObjectMapper objectMapper;
+    private final CollectionSnapshots collectionSnapshots;
 
-    public SpellController(SpellService spellService) {
+    public SpellController(SpellService spellService, ObjectMapper objectMapper, CollectionSnapshots collectionSnapshots) {
         this.spellService = spellService;
+        this.objectMapper = objectMapper;
+        this.collectionSnapshots = collectionSnapshots;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return List.of(collectionSnapshots.warmupTask(SpellService.COLLECTION, spellService::loadAllSpells, SpellMapper::toView));
     }
 
     @GetMapping
-    public ResponseEntity<List<SpellView>> getAllSpells() {
-        List<SpellView> spellViews = spellService.getAllSpells()
-                .stream()
-                .map(SpellMapper::toView)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(spellViews);
+    public ResponseEntity<byte[]> getAllSpells() {
+        return collectionSnapshots.respond(SpellService.COLLECTION, spellService::loadAllSpells, SpellMapper::toView);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllSpells() {
+        return NdjsonStreams.respond(spellService::streamAllSpells, SpellMapper::toView, objectMapper);
+    }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<KeysetPage<SpellView>> getSpellsPage(@RequestParam int size,
+                                                               @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(spellService.getSpellsPage(after, size).map(SpellMapper::toView));
+    }
+
+    @GetMapping(path = "/available")
+    public ResponseEntity<List<AbilityMatrix.Available>> getSpellsAvailableTo(@RequestParam("class") String className,
+                                                                          @RequestParam int level) {
+        return ResponseEntity.ok(spellService.getSpellsAvailableTo(className, level));
     }
 
     @GetMapping(path = "/{id}")
@@ -3,6 +3,8 @@ package org.springy.som.modulith.domain.spell.internal;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -12,6 +14,7 @@ import java.util.Map;
 @Document("Spells")
 public class SpellDocument {
     @NotBlank(message = "name must not be blank")
+    @Indexed
     private String name;
     private String kind;
     private String handlerId;
@@ -31,4 +34,7 @@ public class SpellDocument {
 
     @Id
     private String id;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package org.springy.som.modulith.domain.spell.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.domain.AbilityMatrix;
+import org.springy.som.modulith.domain.spell.api.SpellDeletedEvent;
+import org.springy.som.modulith.warmup.CacheWarmup;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/** Compiled {@link AbilityMatrix} over all spells, rebuilt lazily after a write or delete. */
+@Slf4j
+@Component
+public class SpellMatrix implements CacheWarmup {
+    private final SpellRepository spellRepository;
+    private volatile AbilityMatrix matrix;
+
+    public SpellMatrix(SpellRepository spellRepository) {
+        this.spellRepository = spellRepository;
+    }
+
+    @Override
+    public List<WarmupTask> warmupTasks() {
+        return List.of(new WarmupTask("Spells", () -> get().size()));
+    }
+
+    public AbilityMatrix get() {
+        AbilityMatrix current = matrix;
+        return current != null ? current : compile();
+    }
+
+    public synchronized void invalidate() {
+        matrix = null;
+    }
+
+    @EventListener
+    void onSpellDeleted(SpellDeletedEvent event) {
+        invalidate();
+    }
+
+    private synchronized AbilityMatrix compile() {
+        if (matrix == null) {
+            List<SpellDocument> spells;
+            try (Stream<SpellDocument> documents = spellRepository.streamAllBy()) {
+                spells = documents.toList();
+            }
+            matrix = AbilityMatrix.of(spells, SpellDocument::getId, SpellDocument::getName,
+                    SpellDocument::getLevelByClass, SpellDocument::getRatingByClass);
+            log.info("Compiled spell matrix for {} spells", matrix.size());
+        }
+        return matrix;
+    }
+}
@@ -1,8 +1,12 @@
 package org.springy.som.modulith.domain.spell.internal;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface SpellRepository extends MongoRepository<SpellDocument, String> {
     @Query("{id: '?0'}")
@@ -10,4 +14,11 @@ public interface SpellRepository extends MongoRepository<SpellDocument, String>
 
     @Query("{name:  '?0'}")
     SpellDocument findSpellByName(String skillName);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<SpellDocument> streamAllBy();
+
+    List<SpellDocument> findAllByOrderByIdAsc(Limit limit);
+
+    List<SpellDocument> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
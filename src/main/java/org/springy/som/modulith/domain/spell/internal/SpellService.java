@@ -5,27 +5,57 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.AbilityMatrix;
 import org.springy.som.modulith.domain.DomainGuards;
 import org.springy.som.modulith.domain.spell.api.SpellApi;
 import org.springy.som.modulith.domain.spell.api.SpellDeletedEvent;
+import org.springy.som.modulith.mongo.VersionedSave;
+import org.springy.som.modulith.web.CollectionSnapshots;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springy.som.modulith.domain.ServiceGuards.requireEntityWithId;
+import static org.springy.som.modulith.domain.ServiceGuards.requireNonNull;
 import static org.springy.som.modulith.domain.ServiceGuards.requireText;
 import static org.springy.som.modulith.domain.ServiceGuards.safeId;
 
 @Slf4j
 @Service
 public class SpellService implements SpellApi {
+    static final String COLLECTION = "spells";
+
     private final SpellRepository spellRepository;
     private final ApplicationEventPublisher eventPublisher;
-
-    public SpellService(SpellRepository spellRepository, ApplicationEventPublisher eventPublisher) {
+    private final SpellMatrix spellMatrix;
+    private final CollectionSnapshots collectionSnapshots;
+    private final CacheInvalidations cacheInvalidations;
+
+    public SpellService(SpellRepository spellRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        SpellMatrix spellMatrix,
+                        CollectionSnapshots collectionSnapshots,
+                        CacheInvalidations cacheInvalidations) {
         this.spellRepository = spellRepository;
         this.eventPublisher = eventPublisher;
+        this.spellMatrix = spellMatrix;
+        this.collectionSnapshots = collectionSnapshots;
+        this.cacheInvalidations = cacheInvalidations;
+    }
+
+    @EventListener
+    public void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+        if (invalidation.concerns(COLLECTION)) {
+            spellMatrix.invalidate();
+            collectionSnapshots.touch(COLLECTION);
+        }
     }
 
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getAllSpellsFallback")
@@ -40,6 +70,39 @@ public class SpellService implements SpellApi {
         }
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<SpellDocument> loadAllSpells() {
+        try {
+            return spellRepository.findAll();
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in loadAllSpells", ex);
+            throw new SpellPersistenceException("Failed to load spells "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public Stream<SpellDocument> streamAllSpells() {
+        return spellRepository.streamAllBy();
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public KeysetPage<SpellDocument> getSpellsPage(String after, int size) {
+        Limit limit = KeysetPage.fetchLimit(size);
+        String lastId = KeysetPage.decode(after);
+        try {
+            List<SpellDocument> fetched = lastId == null
+                    ? spellRepository.findAllByOrderByIdAsc(limit)
+                    : spellRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, limit);
+            return KeysetPage.of(fetched, size, SpellDocument::getId);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getSpellsPage after={}", after, ex);
+            throw new SpellPersistenceException("Failed to load spells page "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI", fallbackMethod = "getSpellByIdFallback")
     @Retry(name = "somAPI")
     @Bulkhead(name = "somAPI")
@@ -76,6 +139,33 @@ public class SpellService implements SpellApi {
         }
     }
 
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public boolean canUseSpell(String name, String className, int level) {
+        requireText(name, DomainGuards.spellNameMissing());
+        requireText(className, DomainGuards.spellClassMissing());
+
+        try {
+            return spellMatrix.get().canUse(name, className, level);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in canUseSpell name={} class={}", name, className, ex);
+            throw new SpellPersistenceException("Failed to load Spell matrix "+ex);
+        }
+    }
+
+    @CircuitBreaker(name = "somAPI")
+    @Bulkhead(name = "somAPI")
+    public List<AbilityMatrix.Available> getSpellsAvailableTo(String className, int level) {
+        requireText(className, DomainGuards.spellClassMissing());
+
+        try {
+            return spellMatrix.get().availableTo(className, level);
+        } catch (DataAccessException ex) {
+            log.warn("DB failure in getSpellsAvailableTo class={} level={}", className, level, ex);
+            throw new SpellPersistenceException("Failed to load Spell matrix "+ex);
+        }
+    }
+
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public SpellDocument createSpell(SpellDocument spellDocument) {
@@ -83,7 +173,11 @@ public class SpellService implements SpellApi {
 
         try {
             // if (SkillRepository.existsById(SpellDocument.getSpellId())) throw new SpellConflictException(...)
-            return spellRepository.save(spellDocument);
+            SpellDocument saved = spellRepository.save(spellDocument);
+            spellMatrix.invalidate();
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, saved.getId());
+            return saved;
         } catch (DataAccessException ex) {
             log.warn("DB failure in createSpell SpellId={}", safeId(spellDocument, SpellDocument::getId), ex);
             throw new SpellPersistenceException("Failed to create SpellDocument"+ex);
@@ -93,11 +187,15 @@ public class SpellService implements SpellApi {
     @CircuitBreaker(name = "somAPI")
     @Bulkhead(name = "somAPI")
     public SpellDocument saveSpellForId(String id, SpellDocument spellDocument) {
-        SpellDocument existing = spellRepository.findSpellById(id);
-        requireText(existing.getId(), DomainGuards.skillIdMissing());
-        requireEntityWithId(existing, SpellDocument::getId, DomainGuards.skillMissing(), DomainGuards.skillIdMissing());
-
-        return spellRepository.save(spellDocument);
+        requireText(id, DomainGuards.spellIdMissing());
+        requireNonNull(spellDocument, DomainGuards.spellMissing());
+        spellDocument.setId(id);
+
+        SpellDocument saved = VersionedSave.save(spellRepository, id, spellDocument, SpellDocument::getVersion, SpellNotFoundException::new);
+        spellMatrix.invalidate();
+        collectionSnapshots.touch(COLLECTION);
+        cacheInvalidations.publish(COLLECTION, id);
+        return saved;
     }
 
     @CircuitBreaker(name = "somAPI")
@@ -110,6 +208,8 @@ public class SpellService implements SpellApi {
                 throw new SpellNotFoundException(id);
             }
             spellRepository.deleteById(id);
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publish(COLLECTION, id);
             eventPublisher.publishEvent(new SpellDeletedEvent(id));
         } catch (DataAccessException ex) {
             log.warn("DB failure in deleteSpellById id={}", id, ex);
@@ -127,6 +227,8 @@ public class SpellService implements SpellApi {
                     .toList();
             long itemCount = spellIds.size();
             spellRepository.deleteAll();
+            collectionSnapshots.touch(COLLECTION);
+            cacheInvalidations.publishAll(COLLECTION);
             for (String spellId : spellIds) {
                 eventPublisher.publishEvent(new SpellDeletedEvent(spellId));
             }
@@ -64,6 +64,19 @@ public abstract class BaseApiExceptionHandler {
                 .body(pd);
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ProblemDetail> handleVersionConflict(VersionConflictException ex) {
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+        pd.setTitle("Version conflict");
+        pd.setDetail(ex.getMessage());
+        pd.setProperty("id", ex.getId());
+        pd.setProperty("expectedVersion", ex.getExpectedVersion());
+        pd.setProperty("currentVersion", ex.getCurrentVersion());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(pd);
+    }
+
     @ExceptionHandler(ServiceUnavailableApiException.class)
     public ResponseEntity<ProblemDetail> unavailable(ServiceUnavailableApiException ex) {
         ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
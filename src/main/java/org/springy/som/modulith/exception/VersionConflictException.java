@@ -0,0 +1,29 @@
+package org.springy.som.modulith.exception;
+
+import org.springframework.http.HttpStatus;
+
+@ApiError(status = HttpStatus.CONFLICT, title = "Version conflict", code = "VERSION_CONFLICT")
+public class VersionConflictException extends ConflictApiException {
+    private final String id;
+    private final Long expectedVersion;
+    private final Long currentVersion;
+
+    public VersionConflictException(String id, Long expectedVersion, Long currentVersion) {
+        super("Document " + id + " is at version " + currentVersion + ", not " + expectedVersion);
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
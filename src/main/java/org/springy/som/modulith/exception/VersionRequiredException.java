@@ -0,0 +1,10 @@
+package org.springy.som.modulith.exception;
+
+import org.springframework.http.HttpStatus;
+
+@ApiError(status = HttpStatus.BAD_REQUEST, title = "Version required", code = "VERSION_REQUIRED")
+public class VersionRequiredException extends InvalidRequestApiException {
+    public VersionRequiredException(String id) {
+        super("version must be provided to update " + id);
+    }
+}
@@ -0,0 +1,28 @@
+package org.springy.som.modulith.mongo;
+
+import java.util.Comparator;
+import java.util.List;
+
+public record BulkUpsertResult(int received,
+                               int created,
+                               int updated,
+                               int conflicts,
+                               int invalid,
+                               int failed,
+                               List<BulkUpsertRow> rows) {
+
+    public static BulkUpsertResult of(List<BulkUpsertRow> rows) {
+        List<BulkUpsertRow> ordered = rows.stream().sorted(Comparator.comparingInt(BulkUpsertRow::index)).toList();
+        return new BulkUpsertResult(ordered.size(),
+                count(ordered, BulkUpsertRow.Status.CREATED),
+                count(ordered, BulkUpsertRow.Status.UPDATED),
+                count(ordered, BulkUpsertRow.Status.CONFLICT),
+                count(ordered, BulkUpsertRow.Status.INVALID),
+                count(ordered, BulkUpsertRow.Status.FAILED),
+                ordered);
+    }
+
+    private static int count(List<BulkUpsertRow> rows, BulkUpsertRow.Status status) {
+        return (int) rows.stream().filter(row -> row.status() == status).count();
+    }
+}
@@ -0,0 +1,5 @@
+package org.springy.som.modulith.mongo;
+
+public record BulkUpsertRow(int index, String id, Status status, String detail) {
+    public enum Status { CREATED, UPDATED, CONFLICT, INVALID, FAILED }
+}
@@ -0,0 +1,21 @@
+package org.springy.som.modulith.mongo;
+
+import org.springframework.dao.DataAccessException;
+
+import java.util.function.Predicate;
+
+public final class DuplicateKeys {
+    private DuplicateKeys() {}
+
+    // The driver's WriteError keeps the offending index only in its message text, so ask for the id instead.
+    public static boolean onId(String id, Predicate<String> exists) {
+        if (id == null) {
+            return false;
+        }
+        try {
+            return exists.test(id);
+        } catch (DataAccessException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.springy.som.modulith.mongo;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class MongoBulkUpserter {
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int IMMUTABLE_FIELD = 66;
+
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+
+    public MongoBulkUpserter(MongoTemplate mongoTemplate, Validator validator) {
+        this.mongoTemplate = mongoTemplate;
+        this.validator = validator;
+    }
+
+    public static <T> Function<T, Query> byAreaIdAndVnum(Function<T, String> areaId, Function<T, String> vnum) {
+        return document -> {
+            String area = areaId.apply(document);
+            String number = vnum.apply(document);
+            if (!StringUtils.hasText(area) || !StringUtils.hasText(number)) {
+                return null;
+            }
+            return Query.query(Criteria.where("areaId").is(area).and("vnum").is(number));
+        };
+    }
+
+    public static <T> Function<T, Query> byId(Function<T, String> id) {
+        return document -> Query.query(Criteria.where("id").is(id.apply(document)));
+    }
+
+    public <T> BulkUpsertResult upsert(Class<T> type,
+                                       List<T> documents,
+                                       Function<T, String> idGetter,
+                                       Function<T, Query> key) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        MongoPersistentProperty version = entity.hasVersionProperty() ? entity.getRequiredVersionProperty() : null;
+        List<BulkUpsertRow> rows = new ArrayList<>(documents.size());
+        List<Pending> pending = new ArrayList<>(documents.size());
+        BulkOperations inserts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+
+        for (int i = 0; i < documents.size(); i++) {
+            T document = documents.get(i);
+            String problem = problemWith(document, idGetter);
+            Query query = problem == null ? key.apply(document) : null;
+            if (problem == null && query == null) {
+                problem = "areaId and vnum must be provided";
+            }
+            if (problem != null) {
+                rows.add(new BulkUpsertRow(i, document == null ? null : idGetter.apply(document), BulkUpsertRow.Status.INVALID, problem));
+                continue;
+            }
+            String id = idGetter.apply(document);
+            if (!query.getQueryObject().containsKey("id")) {
+                query.addCriteria(Criteria.where("id").is(id));
+            }
+            Object expected = version == null ? null : entity.getPropertyAccessor(document).getProperty(version);
+            if (expected != null) {
+                query.addCriteria(Criteria.where(version.getName()).is(expected));
+            }
+
+            Document fields = new Document();
+            mongoTemplate.getConverter().write(document, fields);
+            fields.remove("_id");
+            Document inserted = new Document(fields);
+            if (version != null) {
+                fields.remove(version.getFieldName());
+                inserted.put(version.getFieldName(), 0L);
+            }
+            // The client's version only selects the row; the stored one starts at 0 and is bumped by the update pass.
+            inserts.upsert(query, Update.fromDocument(new Document("$setOnInsert", inserted)));
+            pending.add(new Pending(i, id, query, fields, expected));
+        }
+
+        if (!pending.isEmpty()) {
+            rows.addAll(execute(type, inserts, pending, version));
+        }
+        BulkUpsertResult result = BulkUpsertResult.of(rows);
+        log.info("Bulk upsert into {}: received={} created={} updated={} conflicts={} invalid={} failed={}",
+                mongoTemplate.getCollectionName(type), result.received(), result.created(), result.updated(),
+                result.conflicts(), result.invalid(), result.failed());
+        return result;
+    }
+
+    /** Inserts missing rows, then updates the rest; a row whose key or version no longer matches fails its insert. */
+    private List<BulkUpsertRow> execute(Class<?> type,
+                                        BulkOperations inserts,
+                                        List<Pending> pending,
+                                        MongoPersistentProperty version) {
+        Outcome inserted = run(inserts);
+        List<BulkUpsertRow> rows = new ArrayList<>(pending.size());
+        List<Pending> existing = new ArrayList<>(pending.size());
+        for (int op = 0; op < pending.size(); op++) {
+            Pending row = pending.get(op);
+            BulkWriteError error = inserted.errors().get(op);
+            if (error != null) {
+                rows.add(new BulkUpsertRow(row.index(), row.id(), statusFor(error), error.getMessage()));
+            } else if (inserted.upserted().contains(op)) {
+                rows.add(new BulkUpsertRow(row.index(), row.id(), BulkUpsertRow.Status.CREATED, null));
+            } else {
+                existing.add(row);
+            }
+        }
+        if (existing.isEmpty()) {
+            return rows;
+        }
+
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        for (Pending row : existing) {
+            Document update = new Document("$set", row.fields());
+            if (version != null) {
+                update.append("$inc", new Document(version.getFieldName(), 1L));
+            }
+            updates.updateOne(row.query(), Update.fromDocument(update));
+        }
+        Outcome updated = run(updates);
+        Map<String, Object> current = updated.matched() + updated.errors().size() < existing.size()
+                ? currentVersions(type, existing, version)
+                : null;
+        for (int op = 0; op < existing.size(); op++) {
+            Pending row = existing.get(op);
+            BulkWriteError error = updated.errors().get(op);
+            if (error != null) {
+                rows.add(new BulkUpsertRow(row.index(), row.id(), statusFor(error), error.getMessage()));
+            } else if (current != null && !wasUpdated(row, current)) {
+                rows.add(new BulkUpsertRow(row.index(), row.id(), BulkUpsertRow.Status.CONFLICT,
+                        "document changed during the upsert"));
+            } else {
+                rows.add(new BulkUpsertRow(row.index(), row.id(), BulkUpsertRow.Status.UPDATED, null));
+            }
+        }
+        return rows;
+    }
+
+    /** Only needed when a concurrent write made some updates miss; the result does not say which. */
+    private Map<String, Object> currentVersions(Class<?> type, List<Pending> rows, MongoPersistentProperty version) {
+        Query query = Query.query(Criteria.where("id").in(rows.stream().map(Pending::id).toList()));
+        query.fields().include("id");
+        if (version != null) {
+            query.fields().include(version.getName());
+        }
+        Map<String, Object> current = new HashMap<>();
+        for (Document stored : mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(type))) {
+            current.put(String.valueOf(stored.get("_id")), version == null ? Boolean.TRUE : stored.get(version.getFieldName()));
+        }
+        return current;
+    }
+
+    private static boolean wasUpdated(Pending row, Map<String, Object> current) {
+        Object stored = current.get(row.id());
+        if (stored == null) {
+            return false;
+        }
+        return row.expected() == null || (stored instanceof Number number
+                && number.longValue() == ((Number) row.expected()).longValue() + 1);
+    }
+
+    private static Outcome run(BulkOperations ops) {
+        BulkWriteResult writeResult;
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        try {
+            writeResult = ops.execute();
+        } catch (BulkOperationException ex) {
+            writeResult = ex.getResult();
+            ex.getErrors().forEach(error -> errors.put(error.getIndex(), error));
+        }
+        Set<Integer> upserted = writeResult.getUpserts()
+                .stream()
+                .map(BulkWriteUpsert::getIndex)
+                .collect(Collectors.toSet());
+        return new Outcome(errors, upserted, writeResult.getMatchedCount());
+    }
+
+    private <T> String problemWith(T document, Function<T, String> idGetter) {
+        if (document == null) {
+            return "document must be provided";
+        }
+        if (!StringUtils.hasText(idGetter.apply(document))) {
+            return "id must be provided";
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(document);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static BulkUpsertRow.Status statusFor(BulkWriteError error) {
+        return switch (error.getCode()) {
+            case DUPLICATE_KEY, IMMUTABLE_FIELD -> BulkUpsertRow.Status.CONFLICT;
+            default -> BulkUpsertRow.Status.FAILED;
+        };
+    }
+
+    private record Pending(int index, String id, Query query, Document fields, Object expected) {
+    }
+
+    private record Outcome(Map<Integer, BulkWriteError> errors, Set<Integer> upserted, int matched) {
+    }
+}
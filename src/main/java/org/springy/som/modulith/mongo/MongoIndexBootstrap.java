@@ -0,0 +1,69 @@
+package org.springy.som.modulith.mongo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+class MongoIndexBootstrap implements SmartInitializingSingleton {
+    enum Verification { OFF, WARN, FAIL }
+
+    private final MongoIndexProvisioner provisioner;
+    private final QueryPlanVerifier verifier;
+    private final MongoVersionBackfill versionBackfill;
+    private final boolean provisionOnStartup;
+    private final boolean backfillVersionsOnStartup;
+    private final Verification verification;
+
+    MongoIndexBootstrap(MongoIndexProvisioner provisioner,
+                        QueryPlanVerifier verifier,
+                        MongoVersionBackfill versionBackfill,
+                        @Value("${som.mongo.indexes.provision-on-startup:true}") boolean provisionOnStartup,
+                        @Value("${som.mongo.versions.backfill-on-startup:true}") boolean backfillVersionsOnStartup,
+                        @Value("${som.mongo.query-plan.verification:warn}") String verification) {
+        this.provisioner = provisioner;
+        this.verifier = verifier;
+        this.versionBackfill = versionBackfill;
+        this.provisionOnStartup = provisionOnStartup;
+        this.backfillVersionsOnStartup = backfillVersionsOnStartup;
+        this.verification = Verification.valueOf(verification.trim().toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (provisionOnStartup) {
+            provisioner.provision();
+        }
+        if (backfillVersionsOnStartup) {
+            versionBackfill.backfill();
+        }
+        if (verification == Verification.OFF) {
+            return;
+        }
+        List<QueryPlanViolation> violations;
+        try {
+            violations = verifier.verify();
+        } catch (RuntimeException ex) {
+            if (verification == Verification.FAIL) {
+                throw ex;
+            }
+            log.warn("Query plan verification could not run", ex);
+            return;
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        if (verification == Verification.FAIL) {
+            throw new IllegalStateException("Repository queries failed query-plan verification:\n" + violations.stream()
+                    .map(QueryPlanViolation::toString)
+                    .collect(Collectors.joining("\n")));
+        }
+        violations.forEach(v -> log.warn("Query plan: {}", v));
+    }
+}
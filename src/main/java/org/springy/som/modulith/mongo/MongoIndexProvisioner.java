@@ -0,0 +1,63 @@
+package org.springy.som.modulith.mongo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class MongoIndexProvisioner {
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    public MongoIndexProvisioner(MongoTemplate mongoTemplate, MongoMappingContext mappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+    }
+
+    public int provision() {
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        int ensured = 0;
+        List<String> missingUnique = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            String collection = entity.getCollection();
+            if (!mongoTemplate.collectionExists(collection)) {
+                mongoTemplate.createCollection(collection);
+                log.info("Created collection {}", collection);
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(collection);
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                try {
+                    String name = indexOps.ensureIndex(definition);
+                    log.debug("Ensured index {} on {}", name, collection);
+                    ensured++;
+                } catch (DataAccessException ex) {
+                    log.error("Could not ensure index {} on {}; resolve duplicate keys or drop the conflicting index",
+                            definition.getIndexKeys(), collection, ex);
+                    if (definition.getIndexOptions().getBoolean("unique", false)) {
+                        missingUnique.add(collection + " " + definition.getIndexKeys().toJson());
+                    }
+                }
+            }
+        }
+        if (!missingUnique.isEmpty()) {
+            throw new IllegalStateException("Unique indexes could not be built; duplicate checks rely on them:\n"
+                    + String.join("\n", missingUnique));
+        }
+        log.info("Ensured {} declared indexes across {} collections", ensured, mappingContext.getPersistentEntities().size());
+        return ensured;
+    }
+}
@@ -0,0 +1,43 @@
+package org.springy.som.modulith.mongo;
+
+import com.mongodb.client.result.UpdateResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class MongoVersionBackfill {
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    public MongoVersionBackfill(MongoTemplate mongoTemplate, MongoMappingContext mappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+    }
+
+    public long backfill() {
+        long stamped = 0;
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class) || !entity.hasVersionProperty()) {
+                continue;
+            }
+            String field = entity.getRequiredVersionProperty().getFieldName();
+            UpdateResult result = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where(field).exists(false)),
+                    Update.update(field, 0L),
+                    entity.getCollection());
+            if (result.getModifiedCount() > 0) {
+                log.info("Stamped version 0 on {} documents in {}", result.getModifiedCount(), entity.getCollection());
+            }
+            stamped += result.getModifiedCount();
+        }
+        return stamped;
+    }
+}
@@ -0,0 +1,199 @@
+package org.springy.som.modulith.mongo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.CountQuery;
+import org.springframework.data.mongodb.repository.DeleteQuery;
+import org.springframework.data.mongodb.repository.ExistsQuery;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class QueryPlanVerifier {
+    private static final Pattern QUOTED_PLACEHOLDER = Pattern.compile("'\\?(\\d+)'");
+    private static final Pattern BARE_PLACEHOLDER = Pattern.compile("\\?(\\d+)");
+    private static final String PROBE = "probe";
+
+    private final ApplicationContext applicationContext;
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final QueryMapper queryMapper;
+
+    public QueryPlanVerifier(ApplicationContext applicationContext,
+                             MongoTemplate mongoTemplate,
+                             MongoMappingContext mappingContext) {
+        this.applicationContext = applicationContext;
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    }
+
+    public List<QueryPlanViolation> verify() {
+        Repositories repositories = new Repositories(applicationContext);
+        List<QueryPlanViolation> violations = new ArrayList<>();
+        int explained = 0;
+        for (Class<?> domainType : repositories) {
+            MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(domainType);
+            RepositoryInformation information = repositories.getRepositoryInformationFor(domainType).orElse(null);
+            if (entity == null || information == null) {
+                continue;
+            }
+            String repository = information.getRepositoryInterface().getSimpleName();
+            for (Method method : information.getQueryMethods()) {
+                if (method.isAnnotationPresent(CollectionScanAllowed.class)) {
+                    continue;
+                }
+                if (!isDerivable(method)) {
+                    continue;
+                }
+                try {
+                    Probe probe = probeFor(method, domainType);
+                    if (probe == null || probe.filter().isEmpty()) {
+                        continue;
+                    }
+                    Document filter = queryMapper.getMappedObject(probe.filter(), entity);
+                    Document sort = queryMapper.getMappedSort(probe.sort(), entity);
+                    explained++;
+                    if (scansCollection(entity.getCollection(), filter, sort)) {
+                        violations.add(QueryPlanViolation.collectionScan(repository, method.getName(), entity.getCollection(), filter));
+                    }
+                } catch (RuntimeException ex) {
+                    violations.add(QueryPlanViolation.unverifiable(repository, method.getName(), entity.getCollection(), ex));
+                }
+            }
+        }
+        log.info("Explained {} repository queries, {} violations", explained, violations.size());
+        return violations;
+    }
+
+    private boolean scansCollection(String collection, Document filter, Document sort) {
+        Document find = new Document("find", collection).append("filter", filter);
+        if (!sort.isEmpty()) {
+            find.append("sort", sort);
+        }
+        Document explain = mongoTemplate.getDb()
+                .runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+        Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+        return containsStage(winningPlan, "COLLSCAN");
+    }
+
+    private static boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (node instanceof Collection<?> values) {
+            return values.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+
+    private static boolean isDerivable(Method method) {
+        return !method.isAnnotationPresent(Aggregation.class)
+                && !method.isAnnotationPresent(CountQuery.class)
+                && !method.isAnnotationPresent(ExistsQuery.class)
+                && !method.isAnnotationPresent(DeleteQuery.class);
+    }
+
+    private static Probe probeFor(Method method, Class<?> domainType) {
+        Query query = method.getAnnotation(Query.class);
+        if (query != null && !query.value().isBlank()) {
+            return new Probe(Document.parse(bindPlaceholders(query.value(), bindableTypes(method))), new Document());
+        }
+        PartTree tree = new PartTree(method.getName(), domainType);
+        if (tree.getParts().isEmpty()) {
+            return null;
+        }
+        List<Document> branches = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            Document branch = new Document();
+            for (Part part : orPart) {
+                branch.append(part.getProperty().toDotPath(), criterionFor(part));
+            }
+            branches.add(branch);
+        }
+        Document filter = branches.size() == 1 ? branches.get(0) : new Document("$or", branches);
+        Document sort = new Document();
+        for (Sort.Order order : tree.getSort()) {
+            sort.append(order.getProperty(), order.isAscending() ? 1 : -1);
+        }
+        return new Probe(filter, sort);
+    }
+
+    private static Object criterionFor(Part part) {
+        Object value = sampleFor(part.getProperty().getLeafType());
+        return switch (part.getType()) {
+            case GREATER_THAN, AFTER -> new Document("$gt", value);
+            case GREATER_THAN_EQUAL -> new Document("$gte", value);
+            case LESS_THAN, BEFORE -> new Document("$lt", value);
+            case LESS_THAN_EQUAL -> new Document("$lte", value);
+            case BETWEEN -> new Document("$gt", value).append("$lt", value);
+            case IN, CONTAINING -> new Document("$in", List.of(value));
+            case NEGATING_SIMPLE_PROPERTY -> new Document("$ne", value);
+            case EXISTS, IS_NOT_NULL -> new Document("$exists", true);
+            case STARTING_WITH -> Pattern.compile("^" + PROBE);
+            default -> value;
+        };
+    }
+
+    private static String bindPlaceholders(String json, List<Class<?>> types) {
+        Matcher quoted = QUOTED_PLACEHOLDER.matcher(json);
+        String bound = quoted.replaceAll("'" + PROBE + "'");
+        Matcher bare = BARE_PLACEHOLDER.matcher(bound);
+        StringBuilder out = new StringBuilder();
+        while (bare.find()) {
+            int index = Integer.parseInt(bare.group(1));
+            Class<?> type = index < types.size() ? types.get(index) : String.class;
+            Object sample = sampleFor(type);
+            bare.appendReplacement(out, Matcher.quoteReplacement(sample instanceof String ? "'" + sample + "'" : String.valueOf(sample)));
+        }
+        bare.appendTail(out);
+        return out.toString();
+    }
+
+    private static List<Class<?>> bindableTypes(Method method) {
+        return Arrays.stream(method.getParameterTypes())
+                .filter(type -> !Pageable.class.isAssignableFrom(type)
+                        && !Sort.class.isAssignableFrom(type)
+                        && !Limit.class.isAssignableFrom(type)
+                        && !ScrollPosition.class.isAssignableFrom(type))
+                .toList();
+    }
+
+    private static Object sampleFor(Class<?> type) {
+        if (type == boolean.class || type == Boolean.class) {
+            return false;
+        }
+        if (type.isPrimitive() || Number.class.isAssignableFrom(type)) {
+            return 0;
+        }
+        return PROBE;
+    }
+
+    private record Probe(Document filter, Document sort) {}
+}
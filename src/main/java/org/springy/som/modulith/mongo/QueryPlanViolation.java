@@ -0,0 +1,19 @@
+package org.springy.som.modulith.mongo;
+
+import org.bson.Document;
+
+public record QueryPlanViolation(String repository, String method, String collection, String problem) {
+    static QueryPlanViolation collectionScan(String repository, String method, String collection, Document filter) {
+        return new QueryPlanViolation(repository, method, collection,
+                "scans collection " + collection + " for filter " + filter.toJson());
+    }
+
+    static QueryPlanViolation unverifiable(String repository, String method, String collection, RuntimeException cause) {
+        return new QueryPlanViolation(repository, method, collection, "could not be explained: " + cause);
+    }
+
+    @Override
+    public String toString() {
+        return repository + "." + method + " " + problem;
+    }
+}
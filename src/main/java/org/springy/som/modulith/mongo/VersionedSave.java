@@ -0,0 +1,30 @@
+package org.springy.som.modulith.mongo;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.repository.CrudRepository;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.exception.VersionRequiredException;
+
+import java.util.function.Function;
+
+/** Replaces a {@code @Version}ed document in one round trip, reading it back only on a conflict. */
+public final class VersionedSave {
+    private VersionedSave() {}
+
+    public static <T, X extends RuntimeException> T save(CrudRepository<T, String> repository,
+                                                         String id,
+                                                         T document,
+                                                         Function<T, Long> versionGetter,
+                                                         Function<String, X> notFound) {
+        Long expected = versionGetter.apply(document);
+        if (expected == null) {
+            throw new VersionRequiredException(id);
+        }
+        try {
+            return repository.save(document);
+        } catch (OptimisticLockingFailureException ex) {
+            T current = repository.findById(id).orElseThrow(() -> notFound.apply(id));
+            throw new VersionConflictException(id, expected, versionGetter.apply(current));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.springy.som.modulith.warmup;
+
+import java.util.List;
+
+/** An in-memory structure built from reference data before the node reports ready. */
+public interface CacheWarmup {
+    List<WarmupTask> warmupTasks();
+}
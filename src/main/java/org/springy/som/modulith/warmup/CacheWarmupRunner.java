@@ -0,0 +1,118 @@
+package org.springy.som.modulith.warmup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Runs every {@link CacheWarmup} in parallel; readiness stays DOWN until it finishes or times out. */
+@Slf4j
+@Component
+class CacheWarmupRunner implements ApplicationRunner {
+    private final List<CacheWarmup> warmups;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int parallelism;
+    private final long timeoutSeconds;
+
+    CacheWarmupRunner(List<CacheWarmup> warmups,
+                      MeterRegistry meterRegistry,
+                      @Value("${som.warmup.enabled:true}") boolean enabled,
+                      @Value("${som.warmup.parallelism:4}") int parallelism,
+                      @Value("${som.warmup.timeout-seconds:120}") long timeoutSeconds) {
+        this.warmups = warmups;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.parallelism = parallelism;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    List<WarmupResult> warmUp() {
+        List<WarmupTask> tasks = warmups.stream()
+                .flatMap(warmup -> warmup.warmupTasks().stream())
+                .toList();
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+
+        long started = System.nanoTime();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, tasks.size())), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<WarmupResult> results = new ArrayList<>(tasks.size());
+        try {
+            List<Callable<WarmupResult>> calls = tasks.stream()
+                    .<Callable<WarmupResult>>map(task -> () -> load(task))
+                    .toList();
+            List<Future<WarmupResult>> futures = executor.invokeAll(calls, timeoutSeconds, TimeUnit.SECONDS);
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(outcome(tasks.get(i), futures.get(i), started));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Cache warm-up interrupted; remaining collections will load on first use");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long loaded = results.stream().filter(result -> result.status() == WarmupResult.Status.LOADED).count();
+        log.info("Cache warm-up finished in {} ms: {} of {} collections loaded",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), loaded, tasks.size());
+        return results;
+    }
+
+    private WarmupResult load(WarmupTask task) {
+        long started = System.nanoTime();
+        try {
+            int size = task.run();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+            meterRegistry.timer("som.warmup.load", "collection", task.collection()).record(elapsed);
+            Gauge.builder("som.warmup.size", () -> size)
+                    .tag("collection", task.collection())
+                    .register(meterRegistry);
+            log.info("Warmed {}: {} entries in {} ms", task.collection(), size, elapsed.toMillis());
+            return new WarmupResult(task.collection(), WarmupResult.Status.LOADED, size, elapsed);
+        } catch (RuntimeException ex) {
+            log.warn("Could not warm {}; it will load on first use", task.collection(), ex);
+            return new WarmupResult(task.collection(), WarmupResult.Status.FAILED, 0, Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+
+    private WarmupResult outcome(WarmupTask task, Future<WarmupResult> future, long started) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (CancellationException ex) {
+            log.warn("Warming {} did not finish within {} s; it will load on first use", task.collection(), timeoutSeconds);
+            return new WarmupResult(task.collection(), WarmupResult.Status.TIMED_OUT, 0, Duration.ofNanos(System.nanoTime() - started));
+        } catch (ExecutionException ex) {
+            // load() catches runtime failures itself, so only errors land here.
+            log.warn("Could not warm {}; it will load on first use", task.collection(), ex.getCause());
+            return new WarmupResult(task.collection(), WarmupResult.Status.FAILED, 0, Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+}
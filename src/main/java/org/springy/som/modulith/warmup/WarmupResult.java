@@ -0,0 +1,7 @@
+package org.springy.som.modulith.warmup;
+
+import java.time.Duration;
+
+public record WarmupResult(String collection, Status status, int size, Duration elapsed) {
+    public enum Status { LOADED, FAILED, TIMED_OUT }
+}
@@ -0,0 +1,10 @@
+package org.springy.som.modulith.warmup;
+
+import java.util.function.IntSupplier;
+
+/** Loads one collection and returns how many entries it now holds in memory. */
+public record WarmupTask(String collection, IntSupplier load) {
+    public int run() {
+        return load.getAsInt();
+    }
+}
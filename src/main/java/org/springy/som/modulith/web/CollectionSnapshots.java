@@ -0,0 +1,92 @@
+package org.springy.som.modulith.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/** Serialised JSON bodies of whole collections with content-hash ETags, rebuilt after {@link #touch}. */
+@Component
+public class CollectionSnapshots {
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+    public CollectionSnapshots(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public record Snapshot(long version, String etag, byte[] body, int entries) {}
+
+    public void touch(String collection) {
+        slot(collection).version.incrementAndGet();
+    }
+
+    /** {@code source} must throw rather than fall back to an empty list, or the fallback is cached. */
+    public <D, V> ResponseEntity<byte[]> respond(String collection, Supplier<List<D>> source, Function<D, V> mapper) {
+        Snapshot snapshot = snapshot(collection, views(source, mapper));
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
+    }
+
+    /** Builds the snapshot {@link #respond} would serve, so the first request after startup finds it ready. */
+    public <D, V> WarmupTask warmupTask(String collection, Supplier<List<D>> source, Function<D, V> mapper) {
+        return new WarmupTask(collection + " snapshot", () -> snapshot(collection, views(source, mapper)).entries());
+    }
+
+    /** Concurrent callers on a stale slot wait for one build instead of each loading the collection. */
+    public Snapshot snapshot(String collection, Supplier<List<?>> views) {
+        Slot slot = slot(collection);
+        Snapshot current = slot.snapshot;
+        if (current != null && current.version() == slot.version.get()) {
+            return current;
+        }
+        synchronized (slot) {
+            long version = slot.version.get();
+            current = slot.snapshot;
+            if (current != null && current.version() == version) {
+                return current;
+            }
+            // Tag with the version read before loading, so a write that lands mid-load forces a rebuild.
+            Snapshot built = build(collection, version, views.get());
+            slot.snapshot = built;
+            return built;
+        }
+    }
+
+    private static <D, V> Supplier<List<?>> views(Supplier<List<D>> source, Function<D, V> mapper) {
+        return () -> source.get().stream().map(mapper).toList();
+    }
+
+    private Slot slot(String collection) {
+        return slots.computeIfAbsent(collection, name -> new Slot());
+    }
+
+    private Snapshot build(String collection, long version, List<?> views) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(views);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return new Snapshot(version, "\"sha256:" + HexFormat.of().formatHex(digest) + "\"", body, views.size());
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not snapshot " + collection, ex);
+        }
+    }
+
+    private static final class Slot {
+        private final AtomicLong version = new AtomicLong();
+        private volatile Snapshot snapshot;
+    }
+}
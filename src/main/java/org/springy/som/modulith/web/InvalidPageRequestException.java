@@ -0,0 +1,12 @@
+package org.springy.som.modulith.web;
+
+import org.springframework.http.HttpStatus;
+import org.springy.som.modulith.exception.ApiError;
+import org.springy.som.modulith.exception.InvalidRequestApiException;
+
+@ApiError(status = HttpStatus.BAD_REQUEST, title = "Invalid page request", code = "INVALID_PAGE_REQUEST")
+public final class InvalidPageRequestException extends InvalidRequestApiException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
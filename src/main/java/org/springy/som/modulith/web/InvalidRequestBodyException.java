@@ -0,0 +1,12 @@
+package org.springy.som.modulith.web;
+
+import org.springframework.http.HttpStatus;
+import org.springy.som.modulith.exception.ApiError;
+import org.springy.som.modulith.exception.InvalidRequestApiException;
+
+@ApiError(status = HttpStatus.BAD_REQUEST, title = "Invalid request body", code = "INVALID_REQUEST_BODY")
+public final class InvalidRequestBodyException extends InvalidRequestApiException {
+    public InvalidRequestBodyException(String message) {
+        super(message);
+    }
+}
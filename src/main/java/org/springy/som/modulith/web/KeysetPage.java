@@ -0,0 +1,53 @@
+package org.springy.som.modulith.web;
+
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+public record KeysetPage<T>(List<T> items, String next) {
+    public static final int MAX_SIZE = 1000;
+    private static final String TOKEN_PREFIX = "id:";
+
+    public static Limit fetchLimit(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new InvalidPageRequestException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        return Limit.of(size + 1);
+    }
+
+    public static <T> KeysetPage<T> of(List<T> fetched, int size, Function<T, String> idGetter) {
+        if (fetched.size() <= size) {
+            return new KeysetPage<>(List.copyOf(fetched), null);
+        }
+        List<T> items = List.copyOf(fetched.subList(0, size));
+        return new KeysetPage<>(items, encode(idGetter.apply(items.get(size - 1))));
+    }
+
+    public static String encode(String lastId) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((TOKEN_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (decoded.startsWith(TOKEN_PREFIX) && decoded.length() > TOKEN_PREFIX.length()) {
+                return decoded.substring(TOKEN_PREFIX.length());
+            }
+        } catch (IllegalArgumentException ignored) {
+            // fall through to the invalid token error below
+        }
+        throw new InvalidPageRequestException("Invalid page token: " + token);
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), next);
+    }
+}
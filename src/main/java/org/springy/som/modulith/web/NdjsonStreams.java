@@ -0,0 +1,70 @@
+package org.springy.som.modulith.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Slf4j
+public final class NdjsonStreams {
+    private static final int FLUSH_EVERY = 256;
+
+    private NdjsonStreams() {}
+
+    public static <D, V> ResponseEntity<StreamingResponseBody> respond(Supplier<Stream<D>> source,
+                                                                      Function<D, V> mapper,
+                                                                      ObjectMapper objectMapper) {
+        StreamingResponseBody body = out -> {
+            try (Stream<D> documents = source.get()) {
+                write(documents, mapper, objectMapper, out);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    public static <D, V> long write(Stream<D> documents,
+                                    Function<D, V> mapper,
+                                    ObjectMapper objectMapper,
+                                    OutputStream out) {
+        long written = 0;
+        Iterator<D> iterator = documents.iterator();
+        try {
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(mapper.apply(iterator.next())));
+                out.write('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialise NDJSON document " + written, ex);
+        } catch (IOException ex) {
+            log.debug("NDJSON client disconnected after {} documents: {}", written, ex.toString());
+        }
+        return written;
+    }
+
+    public static <T> List<T> read(InputStream in, Class<T> type, ObjectMapper objectMapper) {
+        try (MappingIterator<T> values = objectMapper.readerFor(type).readValues(in)) {
+            return values.readAll();
+        } catch (JsonProcessingException ex) {
+            throw new InvalidRequestBodyException("Malformed JSON or NDJSON body: " + ex.getOriginalMessage());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.springy.som.modulith.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/** Two nodes sharing one embedded broker: a write on either must evict the other's copy. */
+@EmbeddedKafka(partitions = 1, topics = CacheInvalidationBusIntegrationTest.TOPIC)
+class CacheInvalidationBusIntegrationTest {
+    static final String TOPIC = "som.cache-invalidations";
+    private static final Map<String, String> DATABASE = new ConcurrentHashMap<>();
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        DATABASE.put("SK1", "bash v1");
+        nodeA = start(broker, "a");
+        nodeB = start(broker, "b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+        DATABASE.clear();
+    }
+
+    @Test
+    void writeOnOneNode_evictsTheOtherNodesCopy() {
+        SkillCache cacheA = nodeA.getBean(SkillCache.class);
+        SkillCache cacheB = nodeB.getBean(SkillCache.class);
+        assertThat(cacheA.get("SK1")).isEqualTo("bash v1");
+        assertThat(cacheB.get("SK1")).isEqualTo("bash v1");
+
+        cacheA.write("SK1", "bash v2");
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> "bash v2".equals(cacheB.get("SK1")));
+        assertThat(cacheA.get("SK1")).isEqualTo("bash v2");
+        assertThat(appliedOn(nodeB)).isEqualTo(1);
+        assertThat(appliedOn(nodeA)).isZero();
+    }
+
+    @Test
+    void redeliveredInvalidation_isAppliedOnce() {
+        SkillCache cacheB = nodeB.getBean(SkillCache.class);
+        String payload = "{\"collection\":\"skills\",\"id\":\"SK1\",\"version\":7,\"origin\":\"node-c\"}";
+        @SuppressWarnings("unchecked")
+        KafkaTemplate<String, String> kafkaTemplate = nodeA.getBean(KafkaTemplate.class);
+
+        kafkaTemplate.send(TOPIC, "skills:SK1", payload);
+        kafkaTemplate.send(TOPIC, "skills:SK1", payload);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> duplicatesOn(nodeB) == 1);
+        assertThat(appliedOn(nodeB)).isEqualTo(1);
+        assertThat(cacheB.evictions).hasValue(1);
+    }
+
+    private static ConfigurableApplicationContext start(EmbeddedKafkaBroker broker, String node) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Node.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                        "som.cache.invalidation.enabled=true",
+                        "som.cache.invalidation.topic=" + TOPIC,
+                        "som.cache.invalidation.group-id=som-cache-" + node + "-" + UUID.randomUUID())
+                .run();
+        // Consumers start at the latest offset, so nothing may be sent before they own the partition.
+        for (MessageListenerContainer container : context.getBean(KafkaListenerEndpointRegistry.class).getListenerContainers()) {
+            ContainerTestUtils.waitForAssignment(container, 1);
+        }
+        return context;
+    }
+
+    private static double appliedOn(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get("som.cache.invalidation.applied").counter().count();
+    }
+
+    private static double duplicatesOn(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get("som.cache.invalidation.duplicates").counter().count();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({KafkaAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @Import({CacheInvalidations.class, KafkaCacheInvalidationBus.class, SimpleMeterRegistry.class, SkillCache.class})
+    static class Node {
+    }
+
+    /** Stands in for a service's local cache over the shared {@link #DATABASE}. */
+    static class SkillCache {
+        private final Map<String, String> entries = new ConcurrentHashMap<>();
+        private final AtomicInteger evictions = new AtomicInteger();
+        private final CacheInvalidations cacheInvalidations;
+
+        SkillCache(CacheInvalidations cacheInvalidations) {
+            this.cacheInvalidations = cacheInvalidations;
+        }
+
+        String get(String id) {
+            return entries.computeIfAbsent(id, DATABASE::get);
+        }
+
+        void write(String id, String value) {
+            DATABASE.put(id, value);
+            entries.remove(id);
+            cacheInvalidations.publish("skills", id);
+        }
+
+        @EventListener
+        void onRemoteCacheInvalidation(RemoteCacheInvalidation invalidation) {
+            if ("skills".equals(invalidation.collection())) {
+                entries.remove(invalidation.id());
+                evictions.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.springy.som.modulith.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaCacheInvalidationBusTest {
+    private static final String TOPIC = "som.cache-invalidations";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Object> published = new ArrayList<>();
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    private final CacheInvalidations cacheInvalidations = new CacheInvalidations(event -> {});
+    private final KafkaCacheInvalidationBus bus = new KafkaCacheInvalidationBus(
+            kafkaTemplate, objectMapper, published::add, cacheInvalidations, meterRegistry, TOPIC);
+
+    @Test
+    void onCacheInvalidation_sendsLocalWritesOnly() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(new CompletableFuture<>());
+
+        bus.onCacheInvalidation(new CacheInvalidation("skills", "SK1", 1, cacheInvalidations.nodeId()));
+        bus.onCacheInvalidation(new CacheInvalidation("skills", "SK2", 1, "other-node"));
+
+        verify(kafkaTemplate).send(eq(TOPIC), eq("skills:SK1"), anyString());
+        verify(kafkaTemplate, never()).send(eq(TOPIC), eq("skills:SK2"), anyString());
+    }
+
+    @Test
+    void onMessage_republishesOtherNodesInvalidationsOnce() throws Exception {
+        String payload = objectMapper.writeValueAsString(new CacheInvalidation("spells", "SP1", 3, "other-node"));
+
+        bus.onMessage(payload);
+        bus.onMessage(payload);
+
+        assertThat(published).containsExactly(new RemoteCacheInvalidation("spells", "SP1"));
+        assertThat(meterRegistry.get("som.cache.invalidation.applied").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("som.cache.invalidation.duplicates").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onMessage_ignoresOwnInvalidationsAndUnreadablePayloads() throws Exception {
+        bus.onMessage(objectMapper.writeValueAsString(
+                new CacheInvalidation("spells", "SP1", 1, cacheInvalidations.nodeId())));
+        bus.onMessage("not json");
+
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void onPartitionsAssigned_dropsEveryLocalCacheOnce() {
+        bus.onPartitionsAssigned(Map.of(new TopicPartition(TOPIC, 0), 0L), null);
+        bus.onPartitionsAssigned(Map.of(new TopicPartition(TOPIC, 0), 4L), null);
+
+        assertThat(published).containsExactly(RemoteCacheInvalidation.everything());
+    }
+
+    @Test
+    void firstDelivery_tracksVersionsPerOriginAndEntry() {
+        assertThat(bus.firstDelivery(new CacheInvalidation("races", "R1", 2, "node-a"))).isTrue();
+        assertThat(bus.firstDelivery(new CacheInvalidation("races", "R1", 1, "node-a"))).isFalse();
+        assertThat(bus.firstDelivery(new CacheInvalidation("races", "R1", 2, "node-a"))).isFalse();
+        assertThat(bus.firstDelivery(new CacheInvalidation("races", "R1", 3, "node-a"))).isTrue();
+        assertThat(bus.firstDelivery(new CacheInvalidation("races", "R2", 1, "node-a"))).isTrue();
+        assertThat(bus.firstDelivery(new CacheInvalidation("races", "R1", 1, "node-b"))).isTrue();
+        assertThat(bus.firstDelivery(new CacheInvalidation("races", null, 1, "node-b"))).isTrue();
+    }
+}
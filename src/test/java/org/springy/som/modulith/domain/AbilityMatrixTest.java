@@ -0,0 +1,64 @@
+package org.springy.som.modulith.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbilityMatrixTest {
+
+    private final AbilityMatrix matrix = AbilityMatrix.of(List.of(
+                    ability("SK1", "dodge", Map.of("warrior", 13, "thief", 1), Map.of("warrior", 6, "thief", 4)),
+                    ability("SK2", "backstab", Map.of("thief", 1), Map.of("thief", 5)),
+                    ability("SK3", "bash", Map.of("Warrior", 1), null),
+                    ability("SK4", "parry", Map.of("warrior", 1, "thief", 13), Map.of("warrior", 4))),
+            Ability::id, Ability::name, Ability::levels, Ability::ratings);
+
+    @Test
+    void levelAndRating_lookUpByCaseInsensitiveNames() {
+        assertThat(matrix.level("Dodge", "WARRIOR")).isEqualTo(13);
+        assertThat(matrix.rating("dodge", "warrior")).isEqualTo(6);
+        assertThat(matrix.level("bash", "warrior")).isEqualTo(1);
+        assertThat(matrix.rating("bash", "warrior")).isZero();
+    }
+
+    @Test
+    void canUse_requiresReachingTheClassLevel() {
+        assertThat(matrix.canUse("dodge", "warrior", 12)).isFalse();
+        assertThat(matrix.canUse("dodge", "warrior", 13)).isTrue();
+        assertThat(matrix.canUse("backstab", "warrior", 60)).isFalse();
+        assertThat(matrix.canUse("backstab", "paladin", 60)).isFalse();
+        assertThat(matrix.canUse("fireball", "thief", 60)).isFalse();
+    }
+
+    @Test
+    void availableTo_returnsReachableAbilitiesOrderedByLevelThenName() {
+        assertThat(matrix.availableTo("thief", 1)).extracting(AbilityMatrix.Available::name)
+                .containsExactly("backstab", "dodge");
+        assertThat(matrix.availableTo("warrior", 20)).containsExactly(
+                new AbilityMatrix.Available("SK3", "bash", 1, 0),
+                new AbilityMatrix.Available("SK4", "parry", 1, 4),
+                new AbilityMatrix.Available("SK1", "dodge", 13, 6));
+        assertThat(matrix.availableTo("paladin", 60)).isEmpty();
+    }
+
+    @Test
+    void of_nullLevelEntriesStayUnavailable() {
+        Map<String, Integer> levels = new HashMap<>();
+        levels.put("mage", null);
+        AbilityMatrix sparse = AbilityMatrix.of(List.of(ability("SP1", "armor", levels, null)),
+                Ability::id, Ability::name, Ability::levels, Ability::ratings);
+
+        assertThat(sparse.level("armor", "mage")).isEqualTo(AbilityMatrix.UNAVAILABLE);
+        assertThat(sparse.availableTo("mage", 60)).isEmpty();
+    }
+
+    private static Ability ability(String id, String name, Map<String, Integer> levels, Map<String, Integer> ratings) {
+        return new Ability(id, name, levels, ratings);
+    }
+
+    private record Ability(String id, String name, Map<String, Integer> levels, Map<String, Integer> ratings) {}
+}
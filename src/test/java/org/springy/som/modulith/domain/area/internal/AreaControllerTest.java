@@ -10,6 +10,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.domain.area.api.AreaCascadeReport;
+
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -219,19 +222,21 @@ class AreaControllerTest {
 
     @Test
     void deleteAll_returns200AndDeletedCount() throws Exception {
-        when(areaService.deleteAllAreas()).thenReturn(7L);
+        when(areaService.deleteAllAreas()).thenReturn(new AreaCascadeReport(7, Map.of("rooms", 120L, "resets", 40L)));
 
         mockMvc.perform(delete("/api/v1/areas")
                         .with(csrf())
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.deletedCount").value(7));
+                .andExpect(jsonPath("$.deletedCount").value(7))
+                .andExpect(jsonPath("$.dependentsRemoved.rooms").value(120))
+                .andExpect(jsonPath("$.dependentsRemoved.resets").value(40));
     }
 
     @Test
     void deleteAll_whenNothingDeleted_returns200AndZero() throws Exception {
-        when(areaService.deleteAllAreas()).thenReturn(0L);
+        when(areaService.deleteAllAreas()).thenReturn(new AreaCascadeReport(0, Map.of()));
 
         mockMvc.perform(delete("/api/v1/areas")
                         .with(csrf())
@@ -1,5 +1,6 @@
 package org.springy.som.modulith.domain.area.internal;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,32 +12,39 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
-import org.springy.som.modulith.domain.item.internal.ItemAreaCleanupListener;
+import org.springy.som.modulith.domain.area.api.AreaCascadeReport;
+import org.springy.som.modulith.domain.item.internal.ItemAreaCleanup;
 import org.springy.som.modulith.domain.item.internal.ItemDocument;
 import org.springy.som.modulith.domain.item.internal.ItemRepository;
-import org.springy.som.modulith.domain.mobile.internal.MobileAreaCleanupListener;
+import org.springy.som.modulith.domain.mobile.internal.MobileAreaCleanup;
 import org.springy.som.modulith.domain.mobile.internal.MobileDocument;
 import org.springy.som.modulith.domain.mobile.internal.MobileRepository;
-import org.springy.som.modulith.domain.reset.internal.ResetAreaCleanupListener;
+import org.springy.som.modulith.domain.reset.internal.ResetAreaCleanup;
 import org.springy.som.modulith.domain.reset.internal.ResetDocument;
 import org.springy.som.modulith.domain.reset.internal.ResetRepository;
-import org.springy.som.modulith.domain.room.internal.RoomAreaCleanupListener;
+import org.springy.som.modulith.domain.room.internal.RoomAreaCleanup;
 import org.springy.som.modulith.domain.room.internal.RoomDocument;
 import org.springy.som.modulith.domain.room.internal.RoomRepository;
-import org.springy.som.modulith.domain.shop.internal.ShopAreaCleanupListener;
+import org.springy.som.modulith.domain.shop.internal.ShopAreaCleanup;
 import org.springy.som.modulith.domain.shop.internal.ShopDocument;
 import org.springy.som.modulith.domain.shop.internal.ShopRepository;
+import org.springy.som.modulith.domain.special.internal.SpecialAreaCleanup;
+import org.springy.som.modulith.domain.special.internal.SpecialDocument;
+import org.springy.som.modulith.domain.special.internal.SpecialRepository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataMongoTest
 @Import({
         AreaService.class,
-        RoomAreaCleanupListener.class,
-        MobileAreaCleanupListener.class,
-        ItemAreaCleanupListener.class,
-        ShopAreaCleanupListener.class,
-        ResetAreaCleanupListener.class
+        AreaResidency.class,
+        SimpleMeterRegistry.class,
+        RoomAreaCleanup.class,
+        MobileAreaCleanup.class,
+        ItemAreaCleanup.class,
+        ShopAreaCleanup.class,
+        ResetAreaCleanup.class,
+        SpecialAreaCleanup.class
 })
 class AreaDeletionIntegrationTest {
 
@@ -62,10 +70,13 @@ class AreaDeletionIntegrationTest {
     @Autowired
     private ResetRepository resetRepository;
     @Autowired
+    private SpecialRepository specialRepository;
+    @Autowired
     private MongoTemplate mongoTemplate;
 
     @BeforeEach
     void setUp() {
+        specialRepository.deleteAll();
         resetRepository.deleteAll();
         shopRepository.deleteAll();
         itemRepository.deleteAll();
@@ -96,6 +107,9 @@ class AreaDeletionIntegrationTest {
         resetRepository.save(reset("RS1", "A1"));
         resetRepository.save(reset("RS2", "A2"));
 
+        specialRepository.save(special("SP1", "A1"));
+        specialRepository.save(special("SP2", "A2"));
+
         areaService.deleteAreaById("A1");
 
         assertThat(areaRepository.existsById("A1")).isFalse();
@@ -106,12 +120,41 @@ class AreaDeletionIntegrationTest {
         assertThat(countByArea(ItemDocument.class, "A1")).isZero();
         assertThat(countByArea(ShopDocument.class, "A1")).isZero();
         assertThat(countByArea(ResetDocument.class, "A1")).isZero();
+        assertThat(countByArea(SpecialDocument.class, "A1")).isZero();
 
         assertThat(countByArea(RoomDocument.class, "A2")).isEqualTo(1);
         assertThat(countByArea(MobileDocument.class, "A2")).isEqualTo(1);
         assertThat(countByArea(ItemDocument.class, "A2")).isEqualTo(1);
         assertThat(countByArea(ShopDocument.class, "A2")).isEqualTo(1);
         assertThat(countByArea(ResetDocument.class, "A2")).isEqualTo(1);
+        assertThat(countByArea(SpecialDocument.class, "A2")).isEqualTo(1);
+    }
+
+    @Test
+    void deleteAllAreas_cascadesInBatchesAndReportsDependentsPerModule() {
+        for (int i = 0; i < 1_200; i++) {
+            String areaId = "A" + i;
+            areaRepository.save(area(areaId, "Area " + i));
+            roomRepository.save(room("R" + i + "a", areaId, "First"));
+            roomRepository.save(room("R" + i + "b", areaId, "Second"));
+            resetRepository.save(reset("RS" + i, areaId));
+        }
+        itemRepository.save(item("I1", "A7", "Sword"));
+        specialRepository.save(special("SP1", "A9"));
+
+        AreaCascadeReport report = areaService.deleteAllAreas();
+
+        assertThat(report.deletedCount()).isEqualTo(1_200);
+        assertThat(report.dependentsRemoved())
+                .containsEntry("rooms", 2_400L)
+                .containsEntry("resets", 1_200L)
+                .containsEntry("items", 1L)
+                .containsEntry("specials", 1L)
+                .containsEntry("mobiles", 0L)
+                .containsEntry("shops", 0L);
+        assertThat(areaRepository.count()).isZero();
+        assertThat(roomRepository.count()).isZero();
+        assertThat(resetRepository.count()).isZero();
     }
 
     private long countByArea(Class<?> entityClass, String areaId) {
@@ -156,6 +199,13 @@ class AreaDeletionIntegrationTest {
         return doc;
     }
 
+    private static SpecialDocument special(String id, String areaId) {
+        SpecialDocument doc = new SpecialDocument();
+        doc.setId(id);
+        doc.setAreaId(areaId);
+        return doc;
+    }
+
     private static ResetDocument reset(String id, String areaId) {
         ResetDocument doc = new ResetDocument();
         doc.setId(id);
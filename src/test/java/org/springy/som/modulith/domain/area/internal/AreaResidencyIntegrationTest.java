@@ -0,0 +1,120 @@
+package org.springy.som.modulith.domain.area.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.area.api.AreaBundle;
+import org.springy.som.modulith.domain.mobile.internal.MobileAreaContent;
+import org.springy.som.modulith.domain.mobile.internal.MobileDocument;
+import org.springy.som.modulith.domain.mobile.internal.MobileRepository;
+import org.springy.som.modulith.domain.room.internal.RoomAreaContent;
+import org.springy.som.modulith.domain.room.internal.RoomDocument;
+import org.springy.som.modulith.domain.room.internal.RoomRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import({AreaService.class, CacheInvalidations.class, AreaResidency.class, SimpleMeterRegistry.class, RoomAreaContent.class, MobileAreaContent.class})
+class AreaResidencyIntegrationTest {
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mongodb.embedded.version", () -> "4.0.2");
+        registry.add("spring.mongodb.embedded.port", () -> 0);
+        registry.add("spring.data.mongodb.database", () -> "som-test");
+    }
+
+    @Autowired
+    private AreaService areaService;
+    @Autowired
+    private AreaResidency areaResidency;
+    @Autowired
+    private AreaRepository areaRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private MobileRepository mobileRepository;
+
+    @BeforeEach
+    void setUp() {
+        mobileRepository.deleteAll();
+        roomRepository.deleteAll();
+        areaRepository.deleteAll();
+        areaResidency.clear();
+
+        areaRepository.save(area("A1"));
+        areaRepository.save(area("A2"));
+        roomRepository.save(room("R1", "A1", "3001"));
+        roomRepository.save(room("R2", "A1", "3002"));
+        roomRepository.save(room("R3", "A2", "3100"));
+        mobileRepository.save(mobile("M1", "A1", "3000"));
+    }
+
+    @Test
+    void getAreaBundle_pagesInEveryKindOfContent() {
+        AreaBundle bundle = areaService.getAreaBundle("A1");
+
+        assertThat(bundle.area().id()).isEqualTo("A1");
+        assertThat(bundle.content("rooms")).extracting("id").containsExactlyInAnyOrder("R1", "R2");
+        assertThat(bundle.content("mobiles")).extracting("id").containsExactly("M1");
+        assertThat(areaResidency.isResident("A1")).isTrue();
+        assertThat(areaResidency.isResident("A2")).isFalse();
+    }
+
+    @Test
+    void repositoryWrites_evictOnlyTheAffectedArea() {
+        areaService.getAreaBundle("A1");
+        areaService.getAreaBundle("A2");
+
+        roomRepository.save(room("R4", "A1", "3003"));
+
+        assertThat(areaResidency.isResident("A1")).isFalse();
+        assertThat(areaResidency.isResident("A2")).isTrue();
+        assertThat(areaService.getAreaBundle("A1").content("rooms")).hasSize(3);
+
+        mobileRepository.deleteById("M1");
+        assertThat(areaResidency.isResident("A1")).isFalse();
+        assertThat(areaResidency.isResident("A2")).isTrue();
+    }
+
+    @Test
+    void areaDeletion_evictsTheArea() {
+        areaService.getAreaBundle("A2");
+
+        areaService.deleteAreaById("A2");
+
+        assertThat(areaResidency.isResident("A2")).isFalse();
+    }
+
+    private static AreaDocument area(String id) {
+        AreaDocument doc = new AreaDocument();
+        doc.setId(id);
+        doc.setName(id);
+        doc.setVnum(id);
+        return doc;
+    }
+
+    private static RoomDocument room(String id, String areaId, String vnum) {
+        RoomDocument doc = new RoomDocument();
+        doc.setId(id);
+        doc.setAreaId(areaId);
+        doc.setVnum(vnum);
+        doc.setName(id);
+        return doc;
+    }
+
+    private static MobileDocument mobile(String id, String areaId, String vnum) {
+        MobileDocument doc = new MobileDocument();
+        doc.setId(id);
+        doc.setAreaId(areaId);
+        doc.setVnum(vnum);
+        doc.setName(id);
+        return doc;
+    }
+}
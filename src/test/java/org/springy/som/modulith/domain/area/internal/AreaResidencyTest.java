@@ -0,0 +1,286 @@
+package org.springy.som.modulith.domain.area.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.area.api.AreaBundle;
+import org.springy.som.modulith.domain.area.api.AreaContentSource;
+import org.springy.som.modulith.domain.character.api.AreaPopulation;
+import org.springy.som.modulith.domain.character.api.CharacterApi;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AreaResidencyTest {
+    private static final String KIB_300 = "x".repeat(300 * 1024);
+
+    record Thing(String id, String areaId, String text) {
+    }
+
+    private final AreaRepository areaRepository = mock(AreaRepository.class);
+    private final CharacterApi characters = mock(CharacterApi.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, List<Thing>> things = new ConcurrentHashMap<>();
+    private final Set<String> occupied = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger contentLoads = new AtomicInteger();
+    private volatile CountDownLatch loadGate = new CountDownLatch(0);
+    private volatile Runnable duringLoad = () -> {};
+
+    private final AreaContentSource<Thing> source = new AreaContentSource<>() {
+        @Override
+        public String kind() {
+            return "things";
+        }
+
+        @Override
+        public Class<Thing> documentType() {
+            return Thing.class;
+        }
+
+        @Override
+        public List<Thing> findAllByAreaId(String areaId) {
+            contentLoads.incrementAndGet();
+            try {
+                loadGate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            duringLoad.run();
+            return things.getOrDefault(areaId, List.of());
+        }
+
+        @Override
+        public Optional<Thing> findById(String id) {
+            return things.values().stream().flatMap(List::stream).filter(thing -> thing.id().equals(id)).findFirst();
+        }
+
+        @Override
+        public String idOf(Thing document) {
+            return document.id();
+        }
+
+        @Override
+        public String areaIdOf(Thing document) {
+            return document.areaId();
+        }
+
+        @Override
+        public Object toView(Thing document) {
+            return document.text();
+        }
+    };
+
+    @Test
+    void get_pagesInOnceThenServesFromMemory() {
+        area("A1", new Thing("T1", "A1", "sword"), new Thing("T2", "A1", "shield"));
+        AreaResidency residency = residency(64);
+
+        AreaBundle first = residency.get("A1");
+        AreaBundle second = residency.get("A1");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.area().id()).isEqualTo("A1");
+        assertThat(first.content("things")).containsExactly("sword", "shield");
+        assertThatThrownBy(() -> first.content("things").clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(first.content("missing")).isEmpty();
+        verify(areaRepository, times(1)).findAreaById("A1");
+        assertThat(meterRegistry.get("som.areas.page-in").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("som.areas.resident").gauge().value()).isEqualTo(1);
+        assertThat(residency.residentBytes()).isPositive();
+    }
+
+    @Test
+    void get_concurrentFirstAccesses_shareOneLoad() throws Exception {
+        area("A1", new Thing("T1", "A1", "sword"));
+        AreaResidency residency = residency(64);
+        loadGate = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AreaBundle>> bundles = IntStream.range(0, 8)
+                    .mapToObj(i -> pool.submit(() -> residency.get("A1")))
+                    .toList();
+            Thread.sleep(100);
+            loadGate.countDown();
+
+            AreaBundle first = bundles.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<AreaBundle> bundle : bundles) {
+                assertThat(bundle.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(contentLoads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_unknownArea_throwsNotFoundAndStaysCold() {
+        AreaResidency residency = residency(64);
+
+        assertThatThrownBy(() -> residency.get("NOPE")).isInstanceOf(AreaNotFoundException.class);
+        assertThat(residency.isResident("NOPE")).isFalse();
+    }
+
+    @Test
+    void overBudget_evictsTheLeastRecentlyUsedEmptyArea() {
+        for (String areaId : List.of("A1", "A2", "A3", "A4")) {
+            area(areaId, new Thing(areaId + "-T", areaId, KIB_300));
+        }
+        occupied.add("A1");
+        AreaResidency residency = residency(1);
+
+        residency.get("A1");
+        residency.get("A2");
+        residency.get("A3");
+        residency.get("A2");
+        residency.get("A4");
+
+        // A1 is the oldest but has players in it; A3 is the least recently used empty area.
+        assertThat(residency.isResident("A1")).isTrue();
+        assertThat(residency.isResident("A3")).isFalse();
+        assertThat(residency.residentAreas()).isEqualTo(3);
+        assertThat(residency.residentBytes()).isLessThanOrEqualTo(1024 * 1024);
+        assertThat(meterRegistry.counter("som.areas.evictions", "cause", "budget").count()).isEqualTo(1);
+    }
+
+    @Test
+    void contentSave_evictsTheAreasThatHeldOrNowHoldTheDocument() {
+        area("A1", new Thing("T1", "A1", "sword"));
+        area("A2");
+        area("A3");
+        AreaResidency residency = residency(64);
+        residency.get("A1");
+        residency.get("A2");
+        residency.get("A3");
+
+        residency.onAfterSave(new AfterSaveEvent<>(new Thing("T1", "A2", "sword"), new Document(), "Things"));
+
+        assertThat(residency.isResident("A1")).isFalse();
+        assertThat(residency.isResident("A2")).isFalse();
+        assertThat(residency.isResident("A3")).isTrue();
+        assertThat(meterRegistry.counter("som.areas.evictions", "cause", "stale").count()).isEqualTo(2);
+    }
+
+    @Test
+    void delete_byIdEvictsTheHolder_unfilteredEvictsEveryone() {
+        area("A1", new Thing("T1", "A1", "sword"));
+        area("A2", new Thing("T2", "A2", "shield"));
+        AreaResidency residency = residency(64);
+        residency.get("A1");
+        residency.get("A2");
+
+        residency.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "T2"), Thing.class, "Things"));
+        assertThat(residency.isResident("A1")).isTrue();
+        assertThat(residency.isResident("A2")).isFalse();
+
+        residency.onAfterDelete(new AfterDeleteEvent<>(new Document(), Thing.class, "Things"));
+        assertThat(residency.residentAreas()).isZero();
+    }
+
+    @Test
+    void areaDelete_byIdList_evictsThoseAreas() {
+        area("A1");
+        area("A2");
+        AreaResidency residency = residency(64);
+        residency.get("A1");
+        residency.get("A2");
+
+        residency.onAfterDelete(new AfterDeleteEvent<>(
+                new Document("_id", new Document("$in", List.of("A2"))), AreaDocument.class, "Areas"));
+
+        assertThat(residency.isResident("A1")).isTrue();
+        assertThat(residency.isResident("A2")).isFalse();
+    }
+
+    @Test
+    void writeDuringPageIn_returnsTheBundleButDoesNotKeepIt() {
+        area("A1", new Thing("T1", "A1", "sword"));
+        AreaResidency residency = residency(64);
+        duringLoad = () -> residency.evict("A1");
+
+        assertThat(residency.get("A1").content("things")).hasSize(1);
+
+        assertThat(residency.isResident("A1")).isFalse();
+    }
+
+    @Test
+    void writeToAnotherAreaDuringPageIn_keepsTheBundle() {
+        area("A1", new Thing("T1", "A1", "sword"));
+        AreaResidency residency = residency(64);
+        duringLoad = () -> residency.evict("A2");
+
+        residency.get("A1");
+
+        assertThat(residency.isResident("A1")).isTrue();
+    }
+
+    @Test
+    void remoteContentWrite_evictsTheAreaThatNowHoldsTheDocument() {
+        area("A1", new Thing("T1", "A1", "sword"));
+        area("A2");
+        AreaResidency residency = residency(64);
+        residency.get("A1");
+        residency.get("A2");
+        things.put("A2", List.of(new Thing("T9", "A2", "axe")));
+
+        residency.onRemoteCacheInvalidation(new RemoteCacheInvalidation("things", "T9"));
+
+        assertThat(residency.isResident("A1")).isTrue();
+        assertThat(residency.isResident("A2")).isFalse();
+    }
+
+    @Test
+    void remoteAreaWrite_evictsThatArea_wholeCollectionEvictsEveryone() {
+        area("A1");
+        area("A2");
+        AreaResidency residency = residency(64);
+        residency.get("A1");
+        residency.get("A2");
+
+        residency.onRemoteCacheInvalidation(new RemoteCacheInvalidation(AreaService.COLLECTION, "A1"));
+        assertThat(residency.isResident("A1")).isFalse();
+        assertThat(residency.isResident("A2")).isTrue();
+
+        residency.onRemoteCacheInvalidation(new RemoteCacheInvalidation(AreaService.COLLECTION, null));
+        assertThat(residency.residentAreas()).isZero();
+    }
+
+    private AreaResidency residency(long budgetMegabytes) {
+        when(characters.getAreaPopulation(anyString())).thenAnswer(invocation -> {
+            String areaId = invocation.getArgument(0);
+            return new AreaPopulation(areaId, occupied.contains(areaId) ? 1 : 0);
+        });
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("characterApi", characters));
+        return new AreaResidency(areaRepository, List.of(source), beans.getBeanProvider(CharacterApi.class),
+                meterRegistry, budgetMegabytes);
+    }
+
+    private void area(String areaId, Thing... content) {
+        AreaDocument area = new AreaDocument();
+        area.setId(areaId);
+        area.setName(areaId);
+        when(areaRepository.findAreaById(areaId)).thenReturn(area);
+        things.put(areaId, List.of(content));
+    }
+}
@@ -3,15 +3,28 @@ package org.springy.som.modulith.domain.area.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springy.som.modulith.cache.CacheInvalidations;
 import org.springy.som.modulith.domain.ServiceGuards;
-import org.springy.som.modulith.domain.area.api.AreaDeletedEvent;
+import org.springy.som.modulith.domain.area.api.AreaCascadeReport;
+import org.springy.som.modulith.domain.area.api.AreaCleanup;
+import org.springy.som.modulith.domain.area.api.AreasDeletedEvent;
+import org.springy.som.modulith.exception.VersionConflictException;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,11 +38,17 @@ class AreaServiceTest {
     private AreaRepository areaRepository;
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private AreaResidency areaResidency;
+    @Mock
+    private CacheInvalidations cacheInvalidations;
+    private final List<String> cleanedUp = new ArrayList<>();
     private AreaService areaService;
 
     @BeforeEach
     void setUp() {
-        areaService = new AreaService(areaRepository, applicationEventPublisher);
+        areaService = new AreaService(areaRepository, applicationEventPublisher, areaResidency,
+                List.of(cleanup("rooms", 5), cleanup("items", 3)), cacheInvalidations);
     }
 
     @Test
@@ -138,16 +157,17 @@ class AreaServiceTest {
     void createArea_duplicateVnum_becomesDuplicateAreaException() {
         AreaDocument a = area("A1", "Midgaard");
         a.setVnum("1000");
-        AreaDocument existing = area("A2", "Other");
-        existing.setVnum("1000");
 
-        when(areaRepository.findAreaByVnum("1000")).thenReturn(existing);
+        when(areaRepository.insert(a)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: SOMDB.Areas index: vnum dup key: { vnum: \"1000\" }"));
+        when(areaRepository.existsById("A1")).thenReturn(false);
 
         assertThatThrownBy(() -> areaService.createArea(a))
                 .isInstanceOf(DuplicateAreaException.class)
                 .hasMessageContaining("Area with vnum '1000' already exists");
 
-        verify(areaRepository).findAreaByVnum("1000");
+        verify(areaRepository).insert(a);
+        verify(areaRepository).existsById("A1");
         verifyNoMoreInteractions(areaRepository);
     }
 
@@ -155,15 +175,13 @@ class AreaServiceTest {
     void createArea_dataAccess_becomesAreaPersistenceException_safeIdNormalPath() {
         AreaDocument input = area("A1", "Midgaard");
         input.setVnum("1000");
-        when(areaRepository.findAreaByVnum("1000")).thenReturn(null);
-        when(areaRepository.save(input)).thenThrow(new DataAccessResourceFailureException("db down"));
+        when(areaRepository.insert(input)).thenThrow(new DataAccessResourceFailureException("db down"));
 
         assertThatThrownBy(() -> areaService.createArea(input))
                 .isInstanceOf(AreaPersistenceException.class)
                 .hasMessageContaining("Failed to create areaDocument");
 
-        verify(areaRepository).findAreaByVnum("1000");
-        verify(areaRepository).save(input);
+        verify(areaRepository).insert(input);
         verifyNoMoreInteractions(areaRepository);
     }
 
@@ -178,45 +196,49 @@ class AreaServiceTest {
     }
 
     @Test
-    void saveAreaForId_blankId_becomesNullPointerException() {
-        AreaDocument input = area("A1", "Midgaard");
-        when(areaRepository.findAreaById(" ")).thenReturn(null);
+    void saveAreaForId_blankId_throwsInvalidAreaException() {
+        assertThatThrownBy(() -> areaService.saveAreaForId(" ", new AreaDocument()))
+                .isInstanceOf(InvalidAreaException.class);
 
-        assertThatThrownBy(() -> areaService.saveAreaForId(" ", input))
-                .isInstanceOf(NullPointerException.class);
-
-        verify(areaRepository).findAreaById(" ");
-        verifyNoMoreInteractions(areaRepository);
+        verifyNoInteractions(areaRepository);
     }
 
     @Test
-    void saveAreaForId_nullArea_becomesNullPointerException() {
-        when(areaRepository.findAreaById("A1")).thenReturn(null);
-
+    void saveAreaForId_nullArea_throwsInvalidAreaException() {
         assertThatThrownBy(() -> areaService.saveAreaForId("A1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidAreaException.class);
 
-        verify(areaRepository).findAreaById("A1");
-        verifyNoMoreInteractions(areaRepository);
+        verifyNoInteractions(areaRepository);
     }
 
     @Test
-    void saveAreaForId_ok_savesFetchedArea_notProvidedArea() {
-        AreaDocument provided = area("A1", "Provided Name");
-        AreaDocument existing = area("A1", "Existing Name");
-
-        when(areaRepository.findAreaById("A1")).thenReturn(existing);
-        when(areaRepository.save(provided)).thenReturn(provided);
+    void saveAreaForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        AreaDocument input = new AreaDocument();
+        input.setVersion(3L);
+        when(areaRepository.save(input)).thenReturn(input);
 
-        AreaDocument result = areaService.saveAreaForId("A1", provided);
+        assertThat(areaService.saveAreaForId("A1", input)).isSameAs(input);
 
-        assertThat(result).isSameAs(provided);
-
-        verify(areaRepository).findAreaById("A1");
-        verify(areaRepository).save(provided);
+        assertThat(input.getId()).isEqualTo("A1");
+        verify(areaRepository).save(input);
         verifyNoMoreInteractions(areaRepository);
     }
 
+    @Test
+    void saveAreaForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        AreaDocument input = new AreaDocument();
+        input.setVersion(3L);
+        AreaDocument current = new AreaDocument();
+        current.setId("A1");
+        current.setVersion(5L);
+        when(areaRepository.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(areaRepository.findById("A1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> areaService.saveAreaForId("A1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deleteAreaById_blankId_becomesInvalidAreaException() {
         assertThatThrownBy(() -> areaService.deleteAreaById(""))
@@ -253,31 +275,76 @@ class AreaServiceTest {
     }
 
     @Test
-    void deleteAllAreas_ok_returnsCountThenDeletesAll() {
-        List<AreaDocument> areas = List.of(area("A1", "Midgaard"), area("A2", "Ofcol"));
-        when(areaRepository.findAll()).thenReturn(areas);
+    void deleteAreaById_ok_deletesDependentsThenPublishes() {
+        when(areaRepository.existsById("A1")).thenReturn(true);
 
-        long deletedCount = areaService.deleteAllAreas();
+        areaService.deleteAreaById("A1");
 
-        assertThat(deletedCount).isEqualTo(2L);
-        verify(areaRepository).findAll();
-        verify(areaRepository).deleteAll();
-        verify(applicationEventPublisher, times(2)).publishEvent(any(AreaDeletedEvent.class));
+        verify(areaRepository).deleteById("A1");
+        assertThat(cleanedUp).containsExactly("rooms:[A1]", "items:[A1]");
+        verify(applicationEventPublisher).publishEvent(new AreasDeletedEvent(List.of("A1")));
+    }
+
+    @Test
+    void deleteAllAreas_ok_deletesInOneBatchAndReportsDependents() {
+        when(areaRepository.streamIdsBy()).thenReturn(Stream.of(area("A1", null), area("A2", null)));
+        when(areaRepository.deleteAllByIdIn(List.of("A1", "A2"))).thenReturn(2L);
+
+        AreaCascadeReport report = areaService.deleteAllAreas();
+
+        assertThat(report.deletedCount()).isEqualTo(2L);
+        assertThat(report.dependentsRemoved()).containsExactlyInAnyOrderEntriesOf(Map.of("rooms", 10L, "items", 6L));
+        assertThat(cleanedUp).containsExactly("rooms:[A1, A2]", "items:[A1, A2]");
+        verify(areaRepository).streamIdsBy();
+        verify(areaRepository).deleteAllByIdIn(List.of("A1", "A2"));
+        verify(applicationEventPublisher).publishEvent(new AreasDeletedEvent(List.of("A1", "A2")));
         verifyNoMoreInteractions(areaRepository);
     }
 
+    @Test
+    void deleteAllAreas_manyAreas_publishesOneEventPerBatchOf500() {
+        when(areaRepository.streamIdsBy()).thenReturn(IntStream.range(0, 1_201).mapToObj(i -> area("A" + i, null)));
+        when(areaRepository.deleteAllByIdIn(anyCollection())).thenAnswer(invocation -> (long) invocation.<Collection<?>>getArgument(0).size());
+
+        AreaCascadeReport report = areaService.deleteAllAreas();
+
+        ArgumentCaptor<AreasDeletedEvent> events = ArgumentCaptor.forClass(AreasDeletedEvent.class);
+        verify(applicationEventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(event -> event.areaIds().size()).containsExactly(500, 500, 201);
+        assertThat(report.deletedCount()).isEqualTo(1_201L);
+        assertThat(report.dependentsRemoved()).containsEntry("rooms", 5L * 1_201);
+    }
+
     @Test
     void deleteAllAreas_dataAccess_becomesAreaPersistenceException() {
-        when(areaRepository.findAll()).thenThrow(new DataAccessResourceFailureException("db down"));
+        when(areaRepository.streamIdsBy()).thenThrow(new DataAccessResourceFailureException("db down"));
 
         assertThatThrownBy(() -> areaService.deleteAllAreas())
                 .isInstanceOf(AreaPersistenceException.class)
                 .hasMessageContaining("Failed to delete all areas");
 
-        verify(areaRepository).findAll();
+        verify(areaRepository).streamIdsBy();
         verifyNoMoreInteractions(areaRepository);
     }
 
+    @Test
+    void getAreaBundle_blankId_throwsInvalid() {
+        assertThatThrownBy(() -> areaService.getAreaBundle(" "))
+                .isInstanceOf(InvalidAreaException.class)
+                .hasMessage(areaIdMissing);
+
+        verifyNoInteractions(areaResidency);
+    }
+
+    @Test
+    void getAreaBundle_dataAccess_becomesPersistenceException() {
+        when(areaResidency.get("A1")).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> areaService.getAreaBundle("A1"))
+                .isInstanceOf(AreaPersistenceException.class)
+                .hasMessageContaining("Failed to page in area: A1");
+    }
+
     @Test
     void getAllAreasFallback_returnsEmptyList() {
         @SuppressWarnings("unchecked")
@@ -307,4 +374,19 @@ class AreaServiceTest {
         a.setName(name);
         return a;
     }
+
+    private AreaCleanup cleanup(String kind, long perArea) {
+        return new AreaCleanup() {
+            @Override
+            public String kind() {
+                return kind;
+            }
+
+            @Override
+            public long deleteAllByAreaIds(Collection<String> areaIds) {
+                cleanedUp.add(kind + ":" + areaIds);
+                return perArea * areaIds.size();
+            }
+        };
+    }
 }
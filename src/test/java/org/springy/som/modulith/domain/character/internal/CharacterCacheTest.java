@@ -0,0 +1,129 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springy.som.modulith.cache.CacheInvalidation;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.character.api.CharacterDeletedEvent;
+import org.springy.som.modulith.domain.character.api.NewCharacterEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CharacterCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Object> published = new ArrayList<>();
+    private final CharacterCache cache = new CharacterCache(meterRegistry, new CacheInvalidations(published::add), 100, 60);
+
+    @Test
+    void get_recordsHitsAndMissesAndSkipsMissingCharacters() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("C1", id -> {
+            loads.incrementAndGet();
+            return character(id, "A1");
+        });
+        cache.get("C1", id -> {
+            loads.incrementAndGet();
+            return character(id, "A1");
+        });
+        assertThat(cache.get("C9", id -> null)).isNull();
+        assertThat(cache.get("C9", id -> character(id, "A1"))).isNotNull();
+
+        assertThat(loads).hasValue(1);
+        assertThat(gets(CharacterCache.BY_ID, "hit")).isEqualTo(1);
+        assertThat(gets(CharacterCache.BY_ID, "miss")).isEqualTo(3);
+    }
+
+    @Test
+    void newCharacterEvent_reloadsTheAccountList() {
+        List<CharacterDocument> stored = new ArrayList<>(List.of(character("C1", "A1")));
+        AtomicInteger loads = new AtomicInteger();
+        cache.getByAccountId("A1", accountId -> {
+            loads.incrementAndGet();
+            return List.copyOf(stored);
+        }, ids -> List.of());
+
+        stored.add(character("C2", "A1"));
+        cache.onNewCharacter(new NewCharacterEvent("A1", "C2"));
+        List<CharacterDocument> characters = cache.getByAccountId("A1", accountId -> {
+            loads.incrementAndGet();
+            return List.copyOf(stored);
+        }, ids -> List.of());
+
+        assertThat(characters).extracting(CharacterDocument::getId).containsExactly("C1", "C2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void characterDeletedEvent_dropsCharacterAndAccountList() {
+        cache.getByAccountId("A1", accountId -> List.of(character("C1", "A1"), character("C2", "A1")), ids -> List.of());
+
+        cache.onCharacterDeleted(new CharacterDeletedEvent("A1", "C2"));
+
+        assertThat(cache.get("C2", id -> null)).isNull();
+        assertThat(cache.getByAccountId("A1", accountId -> List.of(character("C1", "A1")), ids -> List.of()))
+                .extracting(CharacterDocument::getId)
+                .containsExactly("C1");
+    }
+
+    @Test
+    void getByAccountId_dropsCharactersThatMovedAccount() {
+        cache.getByAccountId("A1", accountId -> List.of(character("C1", "A1"), character("C2", "A1")), ids -> List.of());
+
+        cache.evict("C2");
+        List<CharacterDocument> characters = cache.getByAccountId("A1", accountId -> List.of(),
+                ids -> List.of(character("C2", "A2")));
+
+        assertThat(characters).extracting(CharacterDocument::getId).containsExactly("C1");
+    }
+
+    @Test
+    void localEvictions_areAnnouncedToOtherNodes() {
+        cache.onCharacterDeleted(new CharacterDeletedEvent("A1", "C2"));
+
+        assertThat(published).hasSize(2);
+        assertThat(published).map(event -> ((CacheInvalidation) event).key())
+                .containsExactly("characters:C2", "characterAccounts:A1");
+        assertThat(published).map(event -> ((CacheInvalidation) event).version()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void remoteInvalidation_evictsWithoutAnnouncingAgain() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("C1", id -> {
+            loads.incrementAndGet();
+            return character(id, "A1");
+        });
+
+        cache.onRemoteCacheInvalidation(new RemoteCacheInvalidation(CharacterCache.CHARACTERS, "C1"));
+        cache.onRemoteCacheInvalidation(new RemoteCacheInvalidation("skills", "C1"));
+        cache.get("C1", id -> {
+            loads.incrementAndGet();
+            return character(id, "A1");
+        });
+        cache.onRemoteCacheInvalidation(RemoteCacheInvalidation.everything());
+        cache.get("C1", id -> {
+            loads.incrementAndGet();
+            return character(id, "A1");
+        });
+
+        assertThat(loads).hasValue(3);
+        assertThat(published).isEmpty();
+    }
+
+    private double gets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result).functionCounter().count();
+    }
+
+    private static CharacterDocument character(String id, String accountId) {
+        CharacterDocument character = new CharacterDocument();
+        character.setId(id);
+        character.setAccountId(accountId);
+        return character;
+    }
+}
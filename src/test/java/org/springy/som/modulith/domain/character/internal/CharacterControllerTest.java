@@ -9,6 +9,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.domain.character.api.AreaPopulation;
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
+import org.springy.som.modulith.domain.character.api.CharacterVitalsView;
+import org.springy.som.modulith.domain.character.api.RoomOccupants;
+
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -159,6 +165,93 @@ class CharacterControllerTest {
                 .andExpect(jsonPath("$.detail").exists());
     }
 
+    @Test
+    void patchPlayerCharacter_ok_returnsVitals() throws Exception {
+        CharacterPatch vitals = new CharacterPatch(null, Map.of("hit", -5));
+        when(characterService.patchPlayerCharacter(eq("A1"), eq(vitals)))
+                .thenReturn(new CharacterVitalsView("A1", 15, 20, 10, 10, 30, 30, 5, 0));
+
+        mockMvc.perform(patch("/api/v1/characters/{id}", "A1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content("{\"inc\":{\"hit\":-5}}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value("A1"))
+                .andExpect(jsonPath("$.hit").value(15))
+                .andExpect(jsonPath("$.inventory").doesNotExist());
+
+        verify(characterService).patchPlayerCharacter(eq("A1"), eq(vitals));
+        verifyNoMoreInteractions(characterService);
+    }
+
+    @Test
+    void patchPlayerCharacter_unknownField_returns400ProblemDetail() throws Exception {
+        when(characterService.patchPlayerCharacter(eq("A1"), any(CharacterPatch.class)))
+                .thenThrow(new InvalidPlayerCharacterException("Field 'trust' cannot be patched"));
+
+        mockMvc.perform(patch("/api/v1/characters/{id}", "A1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"set\":{\"trust\":60}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.detail").value("Field 'trust' cannot be patched"));
+    }
+
+    @Test
+    void patchPlayerCharacter_deferred_returns202AndQueues() throws Exception {
+        mockMvc.perform(patch("/api/v1/characters/{id}", "A1")
+                        .param("deferred", "true")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"inc\":{\"mana\":-3}}"))
+                .andExpect(status().isAccepted());
+
+        verify(characterService).queuePlayerCharacterPatch(eq("A1"), eq(new CharacterPatch(null, Map.of("mana", -3))));
+        verifyNoMoreInteractions(characterService);
+    }
+
+    @Test
+    void logoutPlayerCharacter_returns204() throws Exception {
+        mockMvc.perform(post("/api/v1/characters/{id}/logout", "A1").with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(characterService).logoutPlayerCharacter("A1");
+    }
+
+    @Test
+    void movePlayerCharacter_returns204() throws Exception {
+        mockMvc.perform(put("/api/v1/characters/{id}/location", "C1")
+                        .param("roomId", "R1")
+                        .param("areaId", "AR1")
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(characterService).movePlayerCharacter("C1", "R1", "AR1");
+    }
+
+    @Test
+    void getRoomOccupants_ok() throws Exception {
+        when(characterService.getRoomOccupants("R1")).thenReturn(new RoomOccupants("R1", java.util.List.of("C1", "C2")));
+
+        mockMvc.perform(get("/api/v1/characters/room/{roomId}/occupants", "R1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roomId").value("R1"))
+                .andExpect(jsonPath("$.characterIds[1]").value("C2"));
+    }
+
+    @Test
+    void getAreaPopulation_ok() throws Exception {
+        when(characterService.getAreaPopulation("AR1")).thenReturn(new AreaPopulation("AR1", 12));
+
+        mockMvc.perform(get("/api/v1/characters/area/{areaId}/population", "AR1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.areaId").value("AR1"))
+                .andExpect(jsonPath("$.characters").value(12));
+    }
+
     @Test
     void deleteAll_returns200AndDeletedCount() throws Exception {
         when(characterService.deleteAllPlayerCharacters()).thenReturn(7L);
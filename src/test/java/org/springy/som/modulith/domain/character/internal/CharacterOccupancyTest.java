@@ -0,0 +1,117 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springy.som.modulith.domain.character.api.CharacterLoggedOutEvent;
+import org.springy.som.modulith.domain.character.api.CharacterMovedEvent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CharacterOccupancyTest {
+    private final CharacterOccupancy occupancy = new CharacterOccupancy();
+
+    @Test
+    void onCharacterMoved_leavesTheOldRoomAndAreaAndEntersTheNewOnes() {
+        occupancy.onCharacterMoved(new CharacterMovedEvent("C1", "R1", "A1"));
+        occupancy.onCharacterMoved(new CharacterMovedEvent("C2", "R1", "A1"));
+
+        occupancy.onCharacterMoved(new CharacterMovedEvent("C1", "R7", "A2"));
+
+        assertThat(occupancy.occupants("R1")).containsExactly("C2");
+        assertThat(occupancy.occupants("R7")).containsExactly("C1");
+        assertThat(occupancy.population("A1")).isEqualTo(1);
+        assertThat(occupancy.population("A2")).isEqualTo(1);
+    }
+
+    @Test
+    void place_sameRoomTwice_countsTheCharacterOnce() {
+        occupancy.place("C1", "R1", "A1");
+        occupancy.place("C1", "R1", "A1");
+
+        assertThat(occupancy.population("A1")).isEqualTo(1);
+    }
+
+    @Test
+    void remove_andClear_emptyTheIndex() {
+        occupancy.place("C1", "R1", "A1");
+        occupancy.place("C2", "R2", "A1");
+
+        occupancy.remove("C1");
+        assertThat(occupancy.occupants("R1")).isEmpty();
+        assertThat(occupancy.population("A1")).isEqualTo(1);
+
+        occupancy.clear();
+        assertThat(occupancy.size()).isZero();
+        assertThat(occupancy.population("A1")).isZero();
+    }
+
+    @Test
+    void onCharacterLoggedOut_takesTheCharacterOffline() {
+        occupancy.onCharacterMoved(new CharacterMovedEvent("C1", "R1", "A1"));
+
+        occupancy.onCharacterLoggedOut(new CharacterLoggedOutEvent("acct1", "C1"));
+
+        assertThat(occupancy.occupants("R1")).isEmpty();
+        assertThat(occupancy.population("A1")).isZero();
+        assertThat(occupancy.size()).isZero();
+    }
+
+    @Test
+    void relocate_movesOnlineCharactersAndIgnoresOfflineOnes() {
+        occupancy.place("C1", "R1", "A1");
+
+        occupancy.relocate(character("C1", "R2", "A1"));
+        occupancy.relocate(character("C2", "R2", "A1"));
+
+        assertThat(occupancy.occupants("R1")).isEmpty();
+        assertThat(occupancy.occupants("R2")).containsExactly("C1");
+        assertThat(occupancy.population("A1")).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentMoves_leaveRoomsAndCountersConsistent() throws Exception {
+        int characters = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < 8; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        int room = random.nextInt(10);
+                        occupancy.place("C" + random.nextInt(characters), "R" + room, "A" + room % 3);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int inRooms = IntStream.range(0, 10).map(room -> occupancy.occupants("R" + room).size()).sum();
+        int inAreas = IntStream.range(0, 3).map(area -> occupancy.population("A" + area)).sum();
+        assertThat(inRooms).isEqualTo(occupancy.size());
+        assertThat(inAreas).isEqualTo(occupancy.size());
+        assertThat(occupancy.population("A0")).isEqualTo(
+                occupancy.occupants("R0").size() + occupancy.occupants("R3").size()
+                        + occupancy.occupants("R6").size() + occupancy.occupants("R9").size());
+    }
+
+    private static CharacterDocument character(String id, String roomId, String areaId) {
+        CharacterDocument character = new CharacterDocument();
+        character.setId(id);
+        character.setRoomId(roomId);
+        character.setAreaId(areaId);
+        return character;
+    }
+}
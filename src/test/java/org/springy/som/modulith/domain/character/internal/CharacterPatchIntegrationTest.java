@@ -0,0 +1,73 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
+import org.springy.som.modulith.domain.character.api.CharacterVitalsView;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataMongoTest
+@Import({CharacterService.class, CharacterWriteBehindBuffer.class, CharacterCache.class, CharacterOccupancy.class, CacheInvalidations.class,
+        SimpleMeterRegistry.class})
+class CharacterPatchIntegrationTest {
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mongodb.embedded.version", () -> "4.0.2");
+        registry.add("spring.mongodb.embedded.port", () -> 0);
+        registry.add("spring.data.mongodb.database", () -> "som-test");
+    }
+
+    @Autowired
+    private CharacterService characterService;
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @AfterEach
+    void tearDown() {
+        characterRepository.deleteAll();
+    }
+
+    @Test
+    void patchPlayerCharacter_appliesDeltasAndLeavesTheRestOfTheDocumentAlone() {
+        CharacterDocument character = new CharacterDocument();
+        character.setId("C1");
+        character.setAccountId("A1");
+        character.setName("Dain");
+        character.setHit(20);
+        character.setMaxHit(20);
+        character.setGold(100);
+        character.setInventory(List.of(Map.of("vnum", "3001")));
+        characterRepository.save(character);
+
+        characterService.patchPlayerCharacter("C1", new CharacterPatch(null, Map.of("hit", -5, "gold", 10)));
+        CharacterVitalsView vitals = characterService.patchPlayerCharacter("C1",
+                new CharacterPatch(Map.of("maxHit", 30), Map.of("hit", -2)));
+
+        assertThat(vitals).isEqualTo(new CharacterVitalsView("C1", 13, 30, 0, 0, 0, 0, 110, 0));
+        CharacterDocument stored = characterRepository.findById("C1").orElseThrow();
+        assertThat(stored.getName()).isEqualTo("Dain");
+        assertThat(stored.getInventory()).containsExactly(Map.of("vnum", "3001"));
+    }
+
+    @Test
+    void patchPlayerCharacter_unknownId_throwsNotFoundAndCreatesNothing() {
+        assertThatThrownBy(() -> characterService.patchPlayerCharacter("missing",
+                new CharacterPatch(null, Map.of("hit", 1))))
+                .isInstanceOf(PlayerCharacterNotFoundException.class);
+
+        assertThat(characterRepository.count()).isZero();
+    }
+}
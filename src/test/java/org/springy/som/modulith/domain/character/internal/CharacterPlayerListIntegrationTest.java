@@ -1,5 +1,6 @@
 package org.springy.som.modulith.domain.character.internal;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springy.som.modulith.cache.CacheInvalidations;
 import org.springy.som.modulith.domain.player.internal.PlayerAccountRepository;
 import org.springy.som.modulith.domain.player.internal.PlayerCharacterListSyncListener;
 import org.springy.som.modulith.domain.player.internal.PlayerDocument;
@@ -18,6 +20,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DataMongoTest
 @Import({
         CharacterService.class,
+        CharacterWriteBehindBuffer.class,
+        CharacterCache.class,
+        CharacterOccupancy.class,
+        CacheInvalidations.class,
+        SimpleMeterRegistry.class,
         PlayerCharacterListSyncListener.class
 })
 class CharacterPlayerListIntegrationTest {
@@ -1,19 +1,39 @@
 package org.springy.som.modulith.domain.character.internal;
 
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springy.som.modulith.cache.CacheInvalidations;
 import org.springy.som.modulith.domain.ServiceGuards;
+import org.springy.som.modulith.domain.character.api.AreaPopulation;
 import org.springy.som.modulith.domain.character.api.CharacterDeletedEvent;
+import org.springy.som.modulith.domain.character.api.CharacterLoggedOutEvent;
+import org.springy.som.modulith.domain.character.api.CharacterMovedEvent;
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
+import org.springy.som.modulith.domain.character.api.CharacterVitalsView;
 import org.springy.som.modulith.domain.character.api.NewCharacterEvent;
+import org.springy.som.modulith.domain.character.api.RoomOccupants;
+import org.springy.som.modulith.exception.VersionConflictException;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,13 +43,21 @@ class CharacterServiceTest {
 
     private CharacterRepository repo;
     private ApplicationEventPublisher eventPublisher;
+    private MongoTemplate mongoTemplate;
+    private CharacterWriteBehindBuffer writeBehind;
+    private CharacterCache characterCache;
+    private CharacterOccupancy occupancy;
     private CharacterService service;
 
     @BeforeEach
     void setUp() {
         repo = mock(CharacterRepository.class);
         eventPublisher = mock(ApplicationEventPublisher.class);
-        service = new CharacterService(repo, eventPublisher);
+        mongoTemplate = mock(MongoTemplate.class);
+        writeBehind = mock(CharacterWriteBehindBuffer.class);
+        characterCache = new CharacterCache(new SimpleMeterRegistry(), new CacheInvalidations(event -> {}), 100, 60);
+        occupancy = new CharacterOccupancy();
+        service = new CharacterService(repo, eventPublisher, mongoTemplate, writeBehind, characterCache, occupancy);
     }
 
     @Test
@@ -110,6 +138,56 @@ class CharacterServiceTest {
         verifyNoMoreInteractions(repo, eventPublisher);
     }
 
+    @Test
+    void getPlayerCharacterById_repeatedRead_isServedFromCacheAfterFlushing() {
+        CharacterDocument pc = new CharacterDocument();
+        when(repo.findPlayerCharacterByCharacterId("C1")).thenReturn(pc);
+
+        service.getPlayerCharacterById("C1");
+        CharacterDocument actual = service.getPlayerCharacterById("C1");
+
+        assertThat(actual).isSameAs(pc);
+        verify(writeBehind, times(2)).flush("C1");
+        verify(repo, times(1)).findPlayerCharacterByCharacterId("C1");
+    }
+
+    @Test
+    void savePlayerCharacterForId_evictsCachedCharacterAndAccountList() {
+        CharacterDocument cached = character("C1", "A1");
+        CharacterDocument input = character("C1", "A1");
+        input.setVersion(2L);
+        when(repo.findPlayerCharacterByCharacterId("C1")).thenReturn(cached, input);
+        when(repo.findAllByAccountId("A1")).thenReturn(List.of(cached), List.of(input));
+        when(repo.save(input)).thenReturn(input);
+        service.getPlayerCharacterById("C1");
+        service.getPlayerCharactersByAccountId("A1");
+
+        service.savePlayerCharacterForId("C1", input);
+
+        assertThat(service.getPlayerCharacterById("C1")).isSameAs(input);
+        assertThat(service.getPlayerCharactersByAccountId("A1")).containsExactly(input);
+        verify(repo, times(2)).findPlayerCharacterByCharacterId("C1");
+        verify(repo, times(2)).findAllByAccountId("A1");
+    }
+
+    @Test
+    void getPlayerCharactersByAccountId_cachedIds_reloadOnlyEvictedCharacters() {
+        CharacterDocument first = character("C1", "A1");
+        CharacterDocument second = character("C2", "A1");
+        CharacterDocument patched = character("C2", "A1");
+        when(repo.findAllByAccountId("A1")).thenReturn(List.of(first, second));
+        when(repo.findAllById(List.of("C2"))).thenReturn(List.of(patched));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(CharacterDocument.class))).thenReturn(patched);
+        service.getPlayerCharactersByAccountId("A1");
+
+        service.patchPlayerCharacter("C2", new CharacterPatch(null, Map.of("gold", 5)));
+
+        assertThat(service.getPlayerCharactersByAccountId("A1")).containsExactly(first, patched);
+        verify(repo, times(1)).findAllByAccountId("A1");
+        verify(repo).findAllById(List.of("C2"));
+    }
+
     @Test
     void getPlayerCharacterById_dataAccess_becomesPersistenceException() {
         when(repo.findPlayerCharacterByCharacterId("C1"))
@@ -150,22 +228,16 @@ class CharacterServiceTest {
     @Test
     void savePlayerCharacter_ok_saves() {
         CharacterDocument pc = mock(CharacterDocument.class);
-//        when(pc.getId()).thenReturn("C1");
-        when(pc.getName()).thenReturn("TestChar");
         when(pc.getAccountId()).thenReturn("A1");
         when(pc.getId()).thenReturn("C1");
-        when(repo.findByName("TestChar")).thenReturn(null);
-        when(repo.save(pc)).thenReturn(pc);
+        when(repo.insert(pc)).thenReturn(pc);
 
         CharacterDocument actual = service.createPlayerCharacter(pc);
 
         assertThat(actual).isSameAs(pc);
 
-        InOrder inOrder = inOrder(pc, repo, eventPublisher);
-//        inOrder.verify(pc).getId();
-        inOrder.verify(pc).getName();
-        inOrder.verify(repo).findByName("TestChar");
-        inOrder.verify(repo).save(pc);
+        InOrder inOrder = inOrder(repo, eventPublisher);
+        inOrder.verify(repo).insert(pc);
         inOrder.verify(eventPublisher).publishEvent(any(NewCharacterEvent.class));
         verifyNoMoreInteractions(repo, eventPublisher);
     }
@@ -173,61 +245,76 @@ class CharacterServiceTest {
     @Test
     void savePlayerCharacter_duplicateName_throwsDuplicateCharacterNameException() {
         CharacterDocument pc = mock(CharacterDocument.class);
-        CharacterDocument existing = mock(CharacterDocument.class);
         when(pc.getName()).thenReturn("DuplicateName");
-        when(repo.findByName("DuplicateName")).thenReturn(existing);
+        when(repo.insert(pc)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: SOMDB.Characters index: name dup key: { name: \"duplicatename\" }"));
 
         assertThatThrownBy(() -> service.createPlayerCharacter(pc))
                 .isInstanceOf(DuplicateCharacterNameException.class)
                 .hasMessageContaining("DuplicateName");
 
-        verify(pc).getName();
-        verify(repo).findByName("DuplicateName");
+        verify(repo).insert(pc);
         verifyNoMoreInteractions(repo, eventPublisher);
     }
 
     @Test
-    void savePlayerCharacterForId_blankId_throwsNullPointerException() {
+    void savePlayerCharacter_duplicateId_throwsDuplicateCharacterException() {
         CharacterDocument pc = mock(CharacterDocument.class);
-        when(repo.findPlayerCharacterByCharacterId(" ")).thenReturn(null);
+        when(pc.getId()).thenReturn("C1");
+        when(repo.insert(pc)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: SOMDB.Characters index: _id_ dup key: { _id: \"C1\" }"));
+        when(repo.existsById("C1")).thenReturn(true);
 
-        assertThatThrownBy(() -> service.savePlayerCharacterForId(" ", pc))
-                .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> service.createPlayerCharacter(pc))
+                .isInstanceOf(DuplicateCharacterException.class)
+                .hasMessageContaining("C1");
 
-        verify(repo).findPlayerCharacterByCharacterId(" ");
-        verifyNoMoreInteractions(repo, eventPublisher);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void savePlayerCharacterForId_nullBody_throwsNullPointerException() {
-        when(repo.findPlayerCharacterByCharacterId("C1")).thenReturn(null);
+    void savePlayerCharacterForId_blankId_throwsInvalidPlayerCharacterException() {
+        assertThatThrownBy(() -> service.savePlayerCharacterForId(" ", new CharacterDocument()))
+                .isInstanceOf(InvalidPlayerCharacterException.class);
+
+        verifyNoInteractions(repo, writeBehind);
+    }
 
+    @Test
+    void savePlayerCharacterForId_nullBody_throwsInvalidPlayerCharacterException() {
         assertThatThrownBy(() -> service.savePlayerCharacterForId("C1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidPlayerCharacterException.class);
 
-        verify(repo).findPlayerCharacterByCharacterId("C1");
-        verifyNoMoreInteractions(repo, eventPublisher);
+        verifyNoInteractions(repo, writeBehind);
     }
 
     @Test
-    void savePlayerCharacterForId_ok_loadsThenSavesLoadedEntity() {
-        CharacterDocument input = mock(CharacterDocument.class);
-        CharacterDocument existing = mock(CharacterDocument.class);
-
-        when(existing.getId()).thenReturn("C1");
-        when(repo.findPlayerCharacterByCharacterId("C1")).thenReturn(existing);
+    void savePlayerCharacterForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        CharacterDocument input = new CharacterDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
-        CharacterDocument actual = service.savePlayerCharacterForId("C1", input);
+        assertThat(service.savePlayerCharacterForId("C1", input)).isSameAs(input);
 
-        assertThat(actual).isSameAs(input);
-
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findPlayerCharacterByCharacterId("C1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("C1");
+        verify(writeBehind).flush("C1");
+        verify(repo).save(input);
+        verifyNoMoreInteractions(repo);
+    }
 
-        verifyNoMoreInteractions(repo, eventPublisher);
+    @Test
+    void savePlayerCharacterForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        CharacterDocument input = new CharacterDocument();
+        input.setVersion(3L);
+        CharacterDocument current = new CharacterDocument();
+        current.setId("C1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("C1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.savePlayerCharacterForId("C1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
     }
 
     @Test
@@ -304,6 +391,173 @@ class CharacterServiceTest {
         verifyNoMoreInteractions(repo, eventPublisher);
     }
 
+    @Test
+    void occupancy_tracksOnlyOnlineCharactersWithoutQueryingOnLookup() {
+        CharacterDocument input = character("C1", "A1");
+        input.setRoomId("R1");
+        input.setAreaId("AR1");
+        when(repo.save(input)).thenReturn(input);
+        when(repo.findPlayerCharacterByCharacterId("C1")).thenReturn(input);
+
+        service.savePlayerCharacterForId("C1", input);
+        assertThat(service.getAreaPopulation("AR1").characters()).isZero();
+
+        occupancy.onCharacterMoved(new CharacterMovedEvent("C1", "R1", "AR1"));
+        assertThat(service.getRoomOccupants("R1")).isEqualTo(new RoomOccupants("R1", List.of("C1")));
+        assertThat(service.getAreaPopulation("AR1")).isEqualTo(new AreaPopulation("AR1", 1));
+
+        input.setRoomId("R2");
+        service.savePlayerCharacterForId("C1", input);
+        assertThat(service.getRoomOccupants("R1").characterIds()).isEmpty();
+        assertThat(service.getRoomOccupants("R2").characterIds()).containsExactly("C1");
+
+        service.deletePlayerCharacterById("C1");
+        assertThat(service.getRoomOccupants("R2").characterIds()).isEmpty();
+        assertThat(service.getAreaPopulation("AR1").characters()).isZero();
+        verify(repo, times(1)).findPlayerCharacterByCharacterId("C1");
+    }
+
+    @Test
+    void movePlayerCharacter_storesRoomThenPublishesMove() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(CharacterDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        service.movePlayerCharacter("C1", "R1", "AR1");
+
+        InOrder inOrder = inOrder(writeBehind, mongoTemplate, eventPublisher);
+        inOrder.verify(writeBehind).flush("C1");
+        inOrder.verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(CharacterDocument.class));
+        inOrder.verify(eventPublisher).publishEvent(new CharacterMovedEvent("C1", "R1", "AR1"));
+    }
+
+    @Test
+    void movePlayerCharacter_unknownId_becomesNotFound() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(CharacterDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertThatThrownBy(() -> service.movePlayerCharacter("C1", "R1", "AR1"))
+                .isInstanceOf(PlayerCharacterNotFoundException.class);
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void getRoomOccupants_blankId_throwsInvalidPlayerCharacterException() {
+        assertThatThrownBy(() -> service.getRoomOccupants(" "))
+                .isInstanceOf(InvalidPlayerCharacterException.class);
+        assertThatThrownBy(() -> service.getAreaPopulation(null))
+                .isInstanceOf(InvalidPlayerCharacterException.class);
+    }
+
+    @Test
+    void patchPlayerCharacter_setsAndIncrementsWithoutReadingTheDocument() {
+        CharacterDocument patched = new CharacterDocument();
+        patched.setId("C1");
+        patched.setHit(15);
+        patched.setMaxHit(40);
+        patched.setGold(110);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(CharacterDocument.class))).thenReturn(patched);
+
+        CharacterVitalsView view = service.patchPlayerCharacter("C1",
+                new CharacterPatch(Map.of("maxHit", 40), Map.of("hit", -5, "gold", 10)));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(CharacterDocument.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("id", "C1");
+        assertThat(query.getValue().getFieldsObject()).containsKeys("hit", "gold").doesNotContainKey("inventory");
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class)).containsEntry("maxHit", 40);
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class))
+                .containsEntry("hit", -5)
+                .containsEntry("gold", 10)
+                .containsEntry("version", 1);
+        assertThat(options.getValue().isReturnNew()).isTrue();
+        assertThat(view).isEqualTo(new CharacterVitalsView("C1", 15, 40, 0, 0, 0, 0, 110, 0));
+        verifyNoInteractions(repo, eventPublisher);
+    }
+
+    @Test
+    void patchPlayerCharacter_missingCharacter_becomesNotFound() {
+        assertThatThrownBy(() -> service.patchPlayerCharacter("C1", new CharacterPatch(null, Map.of("hit", 1))))
+                .isInstanceOf(PlayerCharacterNotFoundException.class);
+    }
+
+    @Test
+    void patchPlayerCharacter_rejectsFieldsOutsideVitalsAndCurrency() {
+        assertThatThrownBy(() -> service.patchPlayerCharacter("C1", new CharacterPatch(Map.of("trust", 60), null)))
+                .isInstanceOf(InvalidPlayerCharacterException.class)
+                .hasMessageContaining("trust");
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void patchPlayerCharacter_rejectsEmptyOrConflictingPatches() {
+        assertThatThrownBy(() -> service.patchPlayerCharacter("C1", new CharacterPatch(Map.of(), null)))
+                .isInstanceOf(InvalidPlayerCharacterException.class);
+        assertThatThrownBy(() -> service.patchPlayerCharacter("C1",
+                new CharacterPatch(Map.of("hit", 10), Map.of("hit", 1))))
+                .isInstanceOf(InvalidPlayerCharacterException.class)
+                .hasMessageContaining("both set and incremented");
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void patchPlayerCharacter_dataAccess_becomesPersistenceException() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(CharacterDocument.class))).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> service.patchPlayerCharacter("C1", new CharacterPatch(null, Map.of("mana", -3))))
+                .isInstanceOf(PlayerCharacterPersistenceException.class)
+                .hasMessageContaining("Failed to patch player character");
+    }
+
+    @Test
+    void patchPlayerCharacter_flushesBufferedUpdatesFirst() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(CharacterDocument.class))).thenReturn(new CharacterDocument());
+
+        service.patchPlayerCharacter("C1", new CharacterPatch(Map.of("hit", 10), null));
+
+        InOrder inOrder = inOrder(writeBehind, mongoTemplate);
+        inOrder.verify(writeBehind).flush("C1");
+        inOrder.verify(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(CharacterDocument.class));
+    }
+
+    @Test
+    void queuePlayerCharacterPatch_handsPatchToBufferWithoutTouchingMongo() {
+        CharacterPatch patch = new CharacterPatch(null, Map.of("hit", -1));
+
+        service.queuePlayerCharacterPatch("C1", patch);
+
+        verify(writeBehind).enqueue("C1", patch);
+        verifyNoInteractions(repo, mongoTemplate, eventPublisher);
+    }
+
+    @Test
+    void logoutPlayerCharacter_publishesLoggedOutEvent() {
+        CharacterDocument pc = new CharacterDocument();
+        pc.setId("C1");
+        pc.setAccountId("acct1");
+        when(repo.findPlayerCharacterByCharacterId("C1")).thenReturn(pc);
+
+        service.logoutPlayerCharacter("C1");
+
+        verify(eventPublisher).publishEvent(new CharacterLoggedOutEvent("acct1", "C1"));
+    }
+
+    @Test
+    void logoutPlayerCharacter_unknownId_becomesNotFound() {
+        assertThatThrownBy(() -> service.logoutPlayerCharacter("C1"))
+                .isInstanceOf(PlayerCharacterNotFoundException.class);
+
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void safeId_whenGetIdThrows_returnsNull_reflection() {
         CharacterDocument badPc = mock(CharacterDocument.class);
@@ -356,4 +610,11 @@ class CharacterServiceTest {
                 .hasMessageContaining("temporarily unavailable")
                 .hasMessageContaining("acct1");
     }
+
+    private static CharacterDocument character(String id, String accountId) {
+        CharacterDocument character = new CharacterDocument();
+        character.setId(id);
+        character.setAccountId(accountId);
+        return character;
+    }
 }
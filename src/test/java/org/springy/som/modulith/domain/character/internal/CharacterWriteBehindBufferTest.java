@@ -0,0 +1,104 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CharacterWriteBehindBufferTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOps = mock(BulkOperations.class);
+    private final List<String> writes = new CopyOnWriteArrayList<>();
+    private final CharacterWriteBehindBuffer buffer = new CharacterWriteBehindBuffer(mongoTemplate, new SimpleMeterRegistry(),
+            new CharacterCache(new SimpleMeterRegistry(), new CacheInvalidations(event -> {}), 100, 60), 1_000);
+
+    @Test
+    void flushById_duringScheduledFlush_waitsForTheBatchThenWritesWhatArrivedSince() throws Exception {
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch releaseBatch = new CountDownLatch(1);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CharacterDocument.class)).thenReturn(bulkOps);
+        when(bulkOps.execute()).thenAnswer(invocation -> {
+            batchStarted.countDown();
+            releaseBatch.await(5, TimeUnit.SECONDS);
+            writes.add("batch");
+            return null;
+        });
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(CharacterDocument.class)))
+                .thenAnswer(invocation -> {
+                    writes.add("C1");
+                    return null;
+                });
+        buffer.enqueue("C1", hitDelta(-1));
+
+        CompletableFuture<Void> scheduled = CompletableFuture.runAsync(buffer::flush);
+        assertThat(batchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        buffer.enqueue("C1", hitDelta(-2));
+        CompletableFuture<Void> read = CompletableFuture.runAsync(() -> buffer.flush("C1"));
+
+        Thread.sleep(100);
+        assertThat(read).isNotDone();
+
+        releaseBatch.countDown();
+        scheduled.get(5, TimeUnit.SECONDS);
+        read.get(5, TimeUnit.SECONDS);
+
+        assertThat(writes).containsExactly("batch", "C1");
+        assertThat(buffer.dirtyCount()).isZero();
+    }
+
+    @Test
+    void flushById_forIdOutsideTheRunningBatch_doesNotWaitForIt() throws Exception {
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch releaseBatch = new CountDownLatch(1);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CharacterDocument.class)).thenReturn(bulkOps);
+        when(bulkOps.execute()).thenAnswer(invocation -> {
+            batchStarted.countDown();
+            releaseBatch.await(5, TimeUnit.SECONDS);
+            writes.add("batch");
+            return null;
+        });
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(CharacterDocument.class)))
+                .thenAnswer(invocation -> {
+                    writes.add("C2");
+                    return null;
+                });
+        buffer.enqueue("C1", hitDelta(-1));
+
+        CompletableFuture<Void> scheduled = CompletableFuture.runAsync(buffer::flush);
+        try {
+            assertThat(batchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            buffer.enqueue("C2", hitDelta(-2));
+
+            CompletableFuture.runAsync(() -> buffer.flush("C2")).get(1, TimeUnit.SECONDS);
+            CompletableFuture.runAsync(() -> buffer.flush("C3")).get(1, TimeUnit.SECONDS);
+
+            assertThat(writes).containsExactly("C2");
+            assertThat(scheduled).isNotDone();
+        } finally {
+            releaseBatch.countDown();
+        }
+        scheduled.get(5, TimeUnit.SECONDS);
+        assertThat(writes).containsExactly("C2", "batch");
+    }
+
+    private static CharacterPatch hitDelta(int delta) {
+        return new CharacterPatch(Map.of(), Map.of("hit", delta));
+    }
+}
@@ -0,0 +1,136 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.character.api.CharacterLoggedOutEvent;
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+class CharacterWriteBehindIntegrationTest {
+    private static final int CHARACTERS = 12;
+    private static final int START_HIT = 100;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mongodb.embedded.version", () -> "4.0.2");
+        registry.add("spring.mongodb.embedded.port", () -> 0);
+        registry.add("spring.data.mongodb.database", () -> "som-test");
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CharacterCache characterCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        characterCache = new CharacterCache(meterRegistry, new CacheInvalidations(event -> {}), 100, 60);
+        List<CharacterDocument> characters = new ArrayList<>();
+        for (int i = 0; i < CHARACTERS; i++) {
+            CharacterDocument character = new CharacterDocument();
+            character.setId("C" + i);
+            character.setAccountId("A1");
+            character.setName("character " + i);
+            character.setHit(START_HIT);
+            character.setInventory(List.of(Map.of("vnum", "3001")));
+            characters.add(character);
+        }
+        characterRepository.saveAll(characters);
+    }
+
+    @AfterEach
+    void tearDown() {
+        characterRepository.deleteAll();
+    }
+
+    @Test
+    void flush_coalescesRepeatedUpdatesIntoOneWritePerCharacter() {
+        CharacterWriteBehindBuffer buffer = new CharacterWriteBehindBuffer(mongoTemplate, meterRegistry, characterCache, 1_000);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < CHARACTERS; i++) {
+                buffer.enqueue("C" + i, hitDelta(-1));
+            }
+        }
+        assertThat(meterRegistry.get("som.characters.write_behind.dirty").gauge().value()).isEqualTo(CHARACTERS);
+
+        buffer.flush();
+
+        assertThat(hitOf("C0")).isEqualTo(START_HIT - 3);
+        assertThat(characterRepository.findById("C0").orElseThrow().getInventory()).hasSize(1);
+        assertThat(buffer.dirtyCount()).isZero();
+        assertThat(meterRegistry.get("som.characters.write_behind.updates").counter().count()).isEqualTo(3 * CHARACTERS);
+        assertThat(meterRegistry.get("som.characters.write_behind.writes").counter().count()).isEqualTo(CHARACTERS);
+        assertThat(meterRegistry.get("som.characters.write_behind.coalesce_ratio").gauge().value()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("som.characters.write_behind.flush").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void crash_losesOnlyUpdatesStillInsideTheFlushWindow() {
+        int maxDirty = 5;
+        CharacterWriteBehindBuffer buffer = new CharacterWriteBehindBuffer(mongoTemplate, meterRegistry, characterCache, maxDirty);
+        for (int i = 0; i < CHARACTERS; i++) {
+            buffer.enqueue("C" + i, hitDelta(-10));
+        }
+        List<String> unflushed = new ArrayList<>();
+        for (int i = 0; i < CHARACTERS; i++) {
+            if (hitOf("C" + i) == START_HIT) {
+                unflushed.add("C" + i);
+            }
+        }
+
+        // Simulate a crash: the buffer is dropped without a final flush and a fresh one takes over.
+        int lost = buffer.dirtyCount();
+        buffer = new CharacterWriteBehindBuffer(mongoTemplate, new SimpleMeterRegistry(), characterCache, maxDirty);
+
+        assertThat(lost).isLessThan(maxDirty);
+        assertThat(unflushed).hasSize(lost);
+        for (int i = 0; i < CHARACTERS; i++) {
+            String id = "C" + i;
+            assertThat(hitOf(id)).isEqualTo(unflushed.contains(id) ? START_HIT : START_HIT - 10);
+        }
+        assertThat(buffer.dirtyCount()).isZero();
+    }
+
+    @Test
+    void logoutAndShutdown_flushPendingUpdates() {
+        CharacterWriteBehindBuffer buffer = new CharacterWriteBehindBuffer(mongoTemplate, meterRegistry, characterCache, 1_000);
+        buffer.enqueue("C1", hitDelta(-4));
+        buffer.enqueue("C2", new CharacterPatch(Map.of("gold", 250), Map.of()));
+
+        buffer.onCharacterLoggedOut(new CharacterLoggedOutEvent("A1", "C1"));
+
+        assertThat(hitOf("C1")).isEqualTo(START_HIT - 4);
+        assertThat(buffer.dirtyCount()).isEqualTo(1);
+
+        buffer.flushOnShutdown();
+
+        assertThat(characterRepository.findById("C2").orElseThrow().getGold()).isEqualTo(250);
+        assertThat(buffer.dirtyCount()).isZero();
+    }
+
+    private int hitOf(String id) {
+        return characterRepository.findById(id).orElseThrow().getHit();
+    }
+
+    private static CharacterPatch hitDelta(int delta) {
+        return new CharacterPatch(Map.of(), Map.of("hit", delta));
+    }
+}
@@ -0,0 +1,43 @@
+package org.springy.som.modulith.domain.character.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springy.som.modulith.domain.character.api.CharacterPatch;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PendingCharacterPatchTest {
+
+    @Test
+    void merge_sumsIncrementsAndKeepsLatestSet() {
+        PendingCharacterPatch pending = PendingCharacterPatch.of(new CharacterPatch(Map.of(), Map.of("hit", -3)))
+                .merge(new CharacterPatch(Map.of(), Map.of("hit", -2, "gold", 5)))
+                .merge(new CharacterPatch(Map.of("maxMana", 50), Map.of()))
+                .merge(new CharacterPatch(Map.of("maxMana", 60), Map.of()));
+
+        assertThat(pending.toPatch()).isEqualTo(new CharacterPatch(Map.of("maxMana", 60), Map.of("hit", -5, "gold", 5)));
+        assertThat(pending.updates()).isEqualTo(4);
+    }
+
+    @Test
+    void merge_setReplacesPendingIncrement_andLaterIncrementAdjustsTheSet() {
+        PendingCharacterPatch pending = PendingCharacterPatch.of(new CharacterPatch(Map.of(), Map.of("mana", -10)))
+                .merge(new CharacterPatch(Map.of("mana", 100), Map.of()))
+                .merge(new CharacterPatch(Map.of(), Map.of("mana", -7)));
+
+        assertThat(pending.toPatch()).isEqualTo(new CharacterPatch(Map.of("mana", 93), Map.of()));
+    }
+
+    @Test
+    void andThen_appliesLaterUpdatesOnTopAndKeepsTheCount() {
+        PendingCharacterPatch failed = PendingCharacterPatch.of(new CharacterPatch(Map.of(), Map.of("gold", 10)))
+                .merge(new CharacterPatch(Map.of(), Map.of("gold", 5)));
+        PendingCharacterPatch newer = PendingCharacterPatch.of(new CharacterPatch(Map.of("silver", 3), Map.of("gold", 1)));
+
+        PendingCharacterPatch combined = failed.andThen(newer);
+
+        assertThat(combined.toPatch()).isEqualTo(new CharacterPatch(Map.of("silver", 3), Map.of("gold", 16)));
+        assertThat(combined.updates()).isEqualTo(3);
+    }
+}
@@ -1,6 +1,7 @@
 package org.springy.som.modulith.domain.clazz.internal;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -9,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -16,7 +18,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ClassController.class)
-@Import(ClassApiExceptionHandler.class)
+@Import({ClassApiExceptionHandler.class, CollectionSnapshots.class})
 @WithMockUser
 class ClassControllerTest {
     @Autowired
@@ -25,18 +27,26 @@ class ClassControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    CollectionSnapshots collectionSnapshots;
+
     @MockitoBean
     ClassService classService;
 
+    @BeforeEach
+    void resetSnapshots() {
+        collectionSnapshots.touch("classes");
+    }
+
     @Test
     void getAllRomClasses_ok() throws Exception {
-        when(classService.getAllClasses()).thenReturn(java.util.List.of());
+        when(classService.loadAllClasses()).thenReturn(java.util.List.of());
 
         mockMvc.perform(get("/api/v1/classes"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
-        verify(classService).getAllClasses();
+        verify(classService).loadAllClasses();
     }
 
     @Test
@@ -71,14 +81,14 @@ class ClassControllerTest {
 
     @Test
     void getAllRomClasses_persistenceDown_becomes503ProblemDetail() throws Exception {
-        when(classService.getAllClasses()).thenThrow(new ClassPersistenceException("Failed to load ROM classes"));
+        when(classService.loadAllClasses()).thenThrow(new ClassPersistenceException("Failed to load ROM classes"));
 
         mockMvc.perform(get("/api/v1/classes"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(503));
 
-        verify(classService).getAllClasses();
+        verify(classService).loadAllClasses();
     }
 
     @Test
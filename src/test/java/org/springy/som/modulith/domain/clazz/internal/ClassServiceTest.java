@@ -2,12 +2,18 @@ package org.springy.som.modulith.domain.clazz.internal;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
 import org.springy.som.modulith.domain.ServiceGuards;
+import org.springy.som.modulith.domain.clazz.api.ClassChangedEvent;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -15,12 +21,18 @@ import static org.mockito.Mockito.*;
 class ClassServiceTest {
 
     private ClassRepository repo;
+    private ApplicationEventPublisher eventPublisher;
+    private CollectionSnapshots collectionSnapshots;
+    private CacheInvalidations cacheInvalidations;
     private ClassService service;
 
     @BeforeEach
     void setUp() {
         repo = mock(ClassRepository.class);
-        service = new ClassService(repo);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        collectionSnapshots = mock(CollectionSnapshots.class);
+        cacheInvalidations = mock(CacheInvalidations.class);
+        service = new ClassService(repo, eventPublisher, collectionSnapshots, cacheInvalidations);
     }
 
     @Test
@@ -81,6 +93,7 @@ class ClassServiceTest {
 
         verify(rc).getId();
         verify(repo).save(rc);
+        verify(eventPublisher).publishEvent(any(ClassChangedEvent.class));
         verifyNoMoreInteractions(repo);
     }
 
@@ -109,57 +122,48 @@ class ClassServiceTest {
     }
 
     @Test
-    void saveRomClassForId_blankId_throwsNullPointerException() {
-        ClassDocument rc = mock(ClassDocument.class);
-        when(repo.findRomClassById(" ")).thenReturn(null);
-
-        assertThatThrownBy(() -> service.saveRomClassForId(" ", rc))
-                .isInstanceOf(NullPointerException.class);
+    void saveRomClassForId_blankId_throwsInvalidClassException() {
+        assertThatThrownBy(() -> service.saveRomClassForId(" ", new ClassDocument()))
+                .isInstanceOf(InvalidClassException.class);
 
-        verify(repo).findRomClassById(" ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveRomClassForId_nullBody_throwsNullPointerException() {
-        when(repo.findRomClassById("C1")).thenReturn(null);
-
+    void saveRomClassForId_nullBody_throwsInvalidClassException() {
         assertThatThrownBy(() -> service.saveRomClassForId("C1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidClassException.class);
 
-        verify(repo).findRomClassById("C1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveRomClassForId_blankBodyId_throwsNullPointerException() {
-        ClassDocument rc = mock(ClassDocument.class);
-        when(repo.findRomClassById("C1")).thenReturn(null);
+    void saveRomClassForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        ClassDocument input = new ClassDocument();
+        input.setVersion(3L);
+        when(repo.save(input)).thenReturn(input);
 
-        assertThatThrownBy(() -> service.saveRomClassForId("C1", rc))
-                .isInstanceOf(NullPointerException.class);
+        assertThat(service.saveRomClassForId("C1", input)).isSameAs(input);
 
-        verify(repo).findRomClassById("C1");
+        assertThat(input.getId()).isEqualTo("C1");
+        verify(repo).save(input);
+        verify(eventPublisher).publishEvent(any(ClassChangedEvent.class));
         verifyNoMoreInteractions(repo);
     }
 
     @Test
-    void saveRomClassForId_ok_loadsThenSavesLoadedEntity() {
-        ClassDocument input = mock(ClassDocument.class);
-        ClassDocument loaded = new ClassDocument();
-        loaded.setId("C1");
-
-        when(repo.findRomClassById("C1")).thenReturn(loaded);
-        when(repo.save(input)).thenReturn(input);
-
-        ClassDocument actual = service.saveRomClassForId("C1", input);
-
-        assertThat(actual).isSameAs(input);
-
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findRomClassById("C1");
-        inOrder.verify(repo).save(input);
-        verifyNoMoreInteractions(repo);
+    void saveRomClassForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        ClassDocument input = new ClassDocument();
+        input.setVersion(3L);
+        ClassDocument current = new ClassDocument();
+        current.setId("C1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("C1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.saveRomClassForId("C1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
     }
 
     @Test
@@ -190,6 +194,7 @@ class ClassServiceTest {
 
         verify(repo).existsById("C1");
         verify(repo).deleteById("C1");
+        verify(eventPublisher).publishEvent(any(ClassChangedEvent.class));
         verifyNoMoreInteractions(repo);
     }
 
@@ -215,6 +220,7 @@ class ClassServiceTest {
 
         verify(repo).count();
         verify(repo).deleteAll();
+        verify(eventPublisher).publishEvent(any(ClassChangedEvent.class));
         verifyNoMoreInteractions(repo);
     }
 
@@ -1,6 +1,7 @@
 package org.springy.som.modulith.domain.command.internal;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -9,6 +10,8 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.domain.command.api.CommandMapper;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -27,7 +30,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(CommandController.class)
-@Import(CommandApiExceptionHandler.class)
+@Import({CommandApiExceptionHandler.class, CollectionSnapshots.class})
 @WithMockUser
 public class CommandControllerTest {
     @Autowired
@@ -36,18 +39,52 @@ public class CommandControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    CollectionSnapshots collectionSnapshots;
+
     @MockitoBean
     CommandService commandService;
 
+    @BeforeEach
+    void resetSnapshots() {
+        collectionSnapshots.touch("commands");
+    }
+
     @Test
     void getAllCommands_ok() throws Exception {
-        when(commandService.getAllCommands()).thenReturn(java.util.List.of());
+        when(commandService.loadAllCommands()).thenReturn(java.util.List.of());
 
         mockMvc.perform(get("/api/v1/commands"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
-        verify(commandService).getAllCommands();
+        verify(commandService).loadAllCommands();
+    }
+
+    @Test
+    void resolveCommand_abbreviation_returnsResolvedCommand() throws Exception {
+        CommandDocument disconnect = new CommandDocument();
+        disconnect.setId("C1");
+        disconnect.setName("disconnect");
+        when(commandService.resolveCommand("disco", "player", 5)).thenReturn(CommandMapper.toView(disconnect));
+
+        mockMvc.perform(get("/api/v1/commands/resolve")
+                        .param("input", "disco")
+                        .param("role", "player")
+                        .param("level", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("disconnect"));
+
+        verify(commandService).resolveCommand("disco", "player", 5);
+    }
+
+    @Test
+    void resolveCommand_noMatch_becomes404ProblemDetail() throws Exception {
+        when(commandService.resolveCommand("xyzzy", null, null)).thenThrow(new CommandNotFoundException("No command matches 'xyzzy'"));
+
+        mockMvc.perform(get("/api/v1/commands/resolve").param("input", "xyzzy"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
     }
 
     @Test
@@ -82,14 +119,14 @@ public class CommandControllerTest {
 
     @Test
     void getAllCommandes_persistenceDown_becomes503ProblemDetail() throws Exception {
-        when(commandService.getAllCommands()).thenThrow(new CommandPersistenceException("Failed to load commands"));
+        when(commandService.loadAllCommands()).thenThrow(new CommandPersistenceException("Failed to load commands"));
 
         mockMvc.perform(get("/api/v1/commands"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(503));
 
-        verify(commandService).getAllCommands();
+        verify(commandService).loadAllCommands();
     }
 
     @Test
@@ -0,0 +1,79 @@
+package org.springy.som.modulith.domain.command.internal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springy.som.modulith.domain.command.api.CommandView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup cost of {@link CommandResolver} over a ROM-sized command table.
+ * Run with {@code main} from the test classpath; surefire does not pick it up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandResolverBenchmark {
+    private static final String[] VERBS = {
+            "north", "east", "south", "west", "up", "down", "look", "inventory", "examine", "say", "tell",
+            "who", "disconnect", "get", "drop", "wear", "remove", "kill", "flee", "cast", "score", "quaff"
+    };
+
+    @Param({"50", "500"})
+    public int commands;
+
+    private CommandResolver resolver;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CommandResolverBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        resolver = new CommandResolver(null, false);
+        resolver.clear();
+        for (int i = 0; i < commands; i++) {
+            String verb = VERBS[i % VERBS.length];
+            String name = i < VERBS.length ? verb : verb + i;
+            CommandDocument doc = new CommandDocument();
+            doc.setId("C" + i);
+            doc.setName(name);
+            doc.setShortcuts(verb.substring(0, 1) + ", " + verb.substring(0, Math.min(3, verb.length())));
+            doc.setRole("player");
+            doc.setEnabled(true);
+            resolver.put(doc);
+        }
+    }
+
+    @Benchmark
+    public CommandView exactShortcut() {
+        return resolver.resolve("n", "player", 1);
+    }
+
+    @Benchmark
+    public CommandView namePrefix() {
+        return resolver.resolve("disco", "player", 1);
+    }
+
+    @Benchmark
+    public CommandView miss() {
+        return resolver.resolve("xyzzy", "player", 1);
+    }
+}
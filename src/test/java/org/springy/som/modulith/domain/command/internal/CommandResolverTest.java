@@ -0,0 +1,173 @@
+package org.springy.som.modulith.domain.command.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springy.som.modulith.domain.command.api.CommandView;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommandResolverTest {
+    @Mock
+    CommandRepository repo;
+
+    CommandResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new CommandResolver(repo, true);
+    }
+
+    @Test
+    void resolve_exactShortcutAndPrefixes() {
+        load(command("C1", "disconnect", "disco, disconn, quit"),
+                command("C2", "say", "s, sa, '"),
+                command("C3", "south", "s, so, sou, sout"),
+                command("C4", "inventory", "inv, inven, invent"));
+
+        assertThat(name("quit")).isEqualTo("disconnect");
+        assertThat(name("disc")).isEqualTo("disconnect");
+        assertThat(name("'")).isEqualTo("say");
+        assertThat(name("INV")).isEqualTo("inventory");
+        assertThat(name("sou")).isEqualTo("south");
+        assertThat(resolver.resolve("xyzzy", null, null)).isNull();
+        verify(repo, times(1)).streamAllBy();
+    }
+
+    @Test
+    void resolve_sharedShortcut_higherPriorityWins() {
+        CommandDocument south = command("C3", "south", "s, so");
+        south.setPriority(10);
+        load(command("C2", "say", "s, sa"), south);
+
+        assertThat(name("s")).isEqualTo("south");
+    }
+
+    @Test
+    void resolve_exactShortcutBeatsPrefixOfAnotherName() {
+        load(command("C1", "look", "l, lo"), command("C2", "lore", null));
+
+        assertThat(name("lo")).isEqualTo("look");
+        assertThat(name("lor")).isEqualTo("lore");
+    }
+
+    @Test
+    void resolve_skipsDisabledAndFiltersByRoleAndLevel() {
+        CommandDocument shutdown = command("C1", "shutdown", "shut");
+        shutdown.setRole("immortal");
+        shutdown.setLevel("60");
+        CommandDocument shout = command("C2", "shout", null);
+        CommandDocument shoot = command("C3", "shoot", null);
+        shoot.setEnabled(false);
+        load(shutdown, shout, shoot);
+
+        assertThat(resolver.resolve("sh", "player", 10).name()).isEqualTo("shout");
+        assertThat(resolver.resolve("shu", "player", 10)).isNull();
+        assertThat(resolver.resolve("shu", "immortal", 10)).isNull();
+        assertThat(resolver.resolve("shu", "immortal", 60).name()).isEqualTo("shutdown");
+        assertThat(resolver.resolve("shoo", "player", 10)).isNull();
+    }
+
+    @Test
+    void resolve_withoutRoleOrLevel_onlyMatchesUnrestrictedCommands() {
+        CommandDocument shutdown = command("C1", "shutdown", null);
+        shutdown.setRole(null);
+        shutdown.setLevel("60");
+        CommandDocument shout = command("C2", "shout", null);
+        CommandDocument show = command("C3", "show", null);
+        show.setRole(null);
+        load(shutdown, shout, show);
+
+        assertThat(resolver.resolve("shu", null, null)).isNull();
+        assertThat(resolver.resolve("sho", null, null).name()).isEqualTo("show");
+        assertThat(resolver.resolve("shou", null, null)).isNull();
+        assertThat(resolver.resolve("shou", "player", null).name()).isEqualTo("shout");
+    }
+
+    @Test
+    void putAndRemove_updateTheIndexWithoutReloading() {
+        load(command("C1", "look", "l"));
+
+        resolver.put(command("C2", "laugh", "la"));
+        assertThat(name("la")).isEqualTo("laugh");
+
+        CommandDocument renamed = command("C1", "listen", "l");
+        resolver.put(renamed);
+        assertThat(name("l")).isEqualTo("listen");
+        assertThat(resolver.resolve("loo", "player", null)).isNull();
+
+        resolver.remove("C2");
+        assertThat(resolver.resolve("la", "player", null)).isNull();
+
+        resolver.clear();
+        assertThat(resolver.resolve("l", "player", null)).isNull();
+        verify(repo, times(1)).streamAllBy();
+    }
+
+    @Test
+    void resolve_beforePreload_loadsLazily() {
+        when(repo.streamAllBy()).thenReturn(Stream.of(command("C1", "look", "l")));
+
+        assertThat(name("l")).isEqualTo("look");
+    }
+
+    @Test
+    void coldLoad_concurrentReadersStreamOnceAndAWriteMadeMeanwhileIsKept() throws Exception {
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repo.streamAllBy()).thenAnswer(invocation -> {
+            streaming.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Stream.of(command("C1", "look", "l"));
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<String> reader = pool.submit(() -> name("look"));
+            assertThat(streaming.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<?> writer = pool.submit(() -> resolver.put(command("C2", "laugh", "la")));
+            Future<String> secondReader = pool.submit(() -> name("l"));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(reader.get(5, TimeUnit.SECONDS)).isEqualTo("look");
+            writer.get(5, TimeUnit.SECONDS);
+            secondReader.get(5, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(name("la")).isEqualTo("laugh");
+        verify(repo, times(1)).streamAllBy();
+    }
+
+    private void load(CommandDocument... commands) {
+        when(repo.streamAllBy()).thenReturn(Stream.of(commands));
+        resolver.warmupTasks().forEach(WarmupTask::run);
+    }
+
+    private String name(String input) {
+        CommandView view = resolver.resolve(input, "player", null);
+        return view == null ? null : view.name();
+    }
+
+    private static CommandDocument command(String id, String name, String shortcuts) {
+        CommandDocument doc = new CommandDocument();
+        doc.setId(id);
+        doc.setName(name);
+        doc.setShortcuts(shortcuts);
+        doc.setRole("player");
+        doc.setEnabled(true);
+        return doc;
+    }
+}
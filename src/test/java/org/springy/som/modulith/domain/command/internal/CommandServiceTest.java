@@ -3,12 +3,17 @@ package org.springy.som.modulith.domain.command.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.command.api.CommandView;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,12 +24,18 @@ class CommandServiceTest {
     private final String commandMissing = "ROM command not found in repository";
     private final String commandNotProvided = "ROM command must be provided";
     private CommandRepository repo;
+    private CommandResolver resolver;
+    private CollectionSnapshots collectionSnapshots;
+    private CacheInvalidations cacheInvalidations;
     private CommandService service;
 
     @BeforeEach
     void setUp() {
         repo = mock(CommandRepository.class);
-        service = new CommandService(repo);
+        resolver = mock(CommandResolver.class);
+        collectionSnapshots = mock(CollectionSnapshots.class);
+        cacheInvalidations = mock(CacheInvalidations.class);
+        service = new CommandService(repo, resolver, collectionSnapshots, cacheInvalidations);
     }
 
     @Test
@@ -93,6 +104,7 @@ class CommandServiceTest {
 
         assertThat(out).isSameAs(input);
         verify(repo).save(input);
+        verify(resolver).put(input);
         verifyNoMoreInteractions(repo);
     }
 
@@ -127,58 +139,84 @@ class CommandServiceTest {
 
 
     @Test
-    void saveCommandForId_blankId_throwsNullPointerException() {
-        CommandDocument c = mock(CommandDocument.class);
-        when(repo.findCommandById("  ")).thenReturn(null);
+    void saveCommandForId_blankId_throwsInvalidCommandException() {
+        assertThatThrownBy(() -> service.saveCommandForId(" ", new CommandDocument()))
+                .isInstanceOf(InvalidCommandException.class);
 
-        assertThatThrownBy(() -> service.saveCommandForId("  ", c))
-                .isInstanceOf(NullPointerException.class);
+        verifyNoInteractions(repo);
+    }
 
-        verify(repo).findCommandById("  ");
-        verifyNoMoreInteractions(repo);
+    @Test
+    void saveCommandForId_nullCommand_throwsInvalidCommandException() {
+        assertThatThrownBy(() -> service.saveCommandForId("C1", null))
+                .isInstanceOf(InvalidCommandException.class);
+
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveCommandForId_nullCommand_throwsNullPointerException() {
-        when(repo.findCommandById("C1")).thenReturn(null);
+    void saveCommandForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        CommandDocument input = new CommandDocument();
+        input.setVersion(3L);
+        when(repo.save(input)).thenReturn(input);
 
-        assertThatThrownBy(() -> service.saveCommandForId("C1", null))
-                .isInstanceOf(NullPointerException.class);
+        assertThat(service.saveCommandForId("C1", input)).isSameAs(input);
 
-        verify(repo).findCommandById("C1");
+        assertThat(input.getId()).isEqualTo("C1");
+        verify(repo).save(input);
+        verify(resolver).put(input);
         verifyNoMoreInteractions(repo);
     }
 
     @Test
-    void saveCommandForId_blankCommandId_throwsNullPointerException() {
-        CommandDocument input = mock(CommandDocument.class);
-        when(repo.findCommandById("C1")).thenReturn(null);
+    void saveCommandForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        CommandDocument input = new CommandDocument();
+        input.setVersion(3L);
+        CommandDocument current = new CommandDocument();
+        current.setId("C1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("C1")).thenReturn(Optional.of(current));
 
         assertThatThrownBy(() -> service.saveCommandForId("C1", input))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+        verifyNoInteractions(resolver);
+    }
 
-        verify(repo).findCommandById("C1");
-        verifyNoMoreInteractions(repo);
+    @Test
+    void resolveCommand_blankInput_throwsInvalidCommandException() {
+        assertThatThrownBy(() -> service.resolveCommand(" ", null, null))
+                .isInstanceOf(InvalidCommandException.class)
+                .hasMessageContaining("ROM command input must be provided");
+
+        verifyNoInteractions(resolver, repo);
     }
 
     @Test
-    void saveCommandForId_success_savesLookupResult() {
-        CommandDocument payload = mock(CommandDocument.class);
-        CommandDocument existing = mock(CommandDocument.class);
+    void resolveCommand_match_returnsResolverView() {
+        CommandView view = mock(CommandView.class);
+        when(resolver.resolve("disco", "player", 5)).thenReturn(view);
 
-        when(existing.getId()).thenReturn("C1");
-        when(repo.findCommandById("C1")).thenReturn(existing);
-        when(repo.save(payload)).thenReturn(payload);
+        assertThat(service.resolveCommand("disco", "player", 5)).isSameAs(view);
+        verifyNoInteractions(repo);
+    }
 
-        CommandDocument out = service.saveCommandForId("C1", payload);
+    @Test
+    void resolveCommand_noMatch_throwsCommandNotFoundException() {
+        when(resolver.resolve("xyzzy", null, null)).thenReturn(null);
 
-        assertThat(out).isSameAs(payload);
+        assertThatThrownBy(() -> service.resolveCommand("xyzzy", null, null))
+                .isInstanceOf(CommandNotFoundException.class)
+                .hasMessageContaining("xyzzy");
+    }
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findCommandById("C1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(payload);
-        verifyNoMoreInteractions(repo);
+    @Test
+    void resolveCommand_dataAccess_becomesCommandPersistenceException() {
+        when(resolver.resolve("look", null, null)).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> service.resolveCommand("look", null, null))
+                .isInstanceOf(CommandPersistenceException.class);
     }
 
     @Test
@@ -209,6 +247,7 @@ class CommandServiceTest {
 
         verify(repo).existsById("C1");
         verify(repo).deleteById("C1");
+        verify(resolver).remove("C1");
         verifyNoMoreInteractions(repo);
     }
 
@@ -235,6 +274,7 @@ class CommandServiceTest {
         assertThat(out).isEqualTo(7L);
         verify(repo).count();
         verify(repo).deleteAll();
+        verify(resolver).clear();
         verifyNoMoreInteractions(repo);
     }
 
@@ -1,6 +1,7 @@
 package org.springy.som.modulith.domain.command.internal;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,10 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.domain.command.api.HelpView;
+import org.springy.som.modulith.web.CollectionSnapshots;
+
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -28,7 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(HelpController.class)
-@Import(HelpApiExceptionHandler.class)
+@Import({HelpApiExceptionHandler.class, CollectionSnapshots.class})
 @WithMockUser
 public class HelpControllerTest {
     @Autowired
@@ -37,21 +42,43 @@ public class HelpControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    CollectionSnapshots collectionSnapshots;
+
     @MockitoBean
     HelpService helpService;
 
     @Mock
     HelpDocument helpDocument;
 
+    @BeforeEach
+    void resetSnapshots() {
+        collectionSnapshots.touch("helps");
+    }
+
     @Test
     void getAllHelps_ok() throws Exception {
-        when(helpService.getAllHelps()).thenReturn(java.util.List.of());
+        when(helpService.loadAllHelps()).thenReturn(java.util.List.of());
 
         mockMvc.perform(get("/api/v1/helps"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
-        verify(helpService).getAllHelps();
+        verify(helpService).loadAllHelps();
+    }
+
+    @Test
+    void searchHelps_returnsRankedMatches() throws Exception {
+        when(helpService.searchHelps("arm cl", 5, 10))
+                .thenReturn(List.of(new HelpView("H1", 0, "'ARMOR CLASS' AC", "Armor class is...", 0L)));
+
+        mockMvc.perform(get("/api/v1/helps/search")
+                        .param("q", "arm cl")
+                        .param("trust", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("H1"));
+
+        verify(helpService).searchHelps("arm cl", 5, 10);
     }
 
     @Test
@@ -86,14 +113,14 @@ public class HelpControllerTest {
 
     @Test
     void getAllHelps_persistenceDown_becomes503ProblemDetail() throws Exception {
-        when(helpService.getAllHelps()).thenThrow(new HelpPersistenceException("Failed to load helps"));
+        when(helpService.loadAllHelps()).thenThrow(new HelpPersistenceException("Failed to load helps"));
 
         mockMvc.perform(get("/api/v1/helps"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(503));
 
-        verify(helpService).getAllHelps();
+        verify(helpService).loadAllHelps();
     }
 
     @Test
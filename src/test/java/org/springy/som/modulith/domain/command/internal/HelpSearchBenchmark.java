@@ -0,0 +1,81 @@
+package org.springy.som.modulith.domain.command.internal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springy.som.modulith.domain.command.api.HelpView;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query cost of {@link HelpSearchIndex} over 1,500 synthetic helps.
+ * Run with {@code main} from the test classpath; surefire does not pick it up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelpSearchBenchmark {
+    private static final int HELPS = 1_500;
+    private static final String[] WORDS = {
+            "armor", "class", "spell", "cast", "weapon", "wield", "score", "who", "where", "quest", "group",
+            "follow", "channel", "gossip", "immortal", "level", "experience", "train", "practice", "skill",
+            "sword", "dagger", "shield", "potion", "scroll", "wand", "staff", "room", "exit", "door"
+    };
+
+    private HelpSearchIndex index;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HelpSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new HelpSearchIndex(null, false);
+        index.clear();
+        for (int i = 0; i < HELPS; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < 80; w++) {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(i % 7 == 0 ? ". " : " ");
+            }
+            HelpDocument doc = new HelpDocument();
+            doc.setId("H" + i);
+            doc.setKeyword(WORDS[i % WORDS.length].toUpperCase() + " " + WORDS[(i * 7) % WORDS.length].toUpperCase() + i);
+            doc.setLevel(i % 60);
+            doc.setText(text.toString());
+            index.put(doc);
+        }
+    }
+
+    @Benchmark
+    public List<HelpView> singlePrefix() {
+        return index.search("arm", 50, 10);
+    }
+
+    @Benchmark
+    public List<HelpView> twoWords() {
+        return index.search("sp cast", 50, 10);
+    }
+
+    @Benchmark
+    public List<HelpView> miss() {
+        return index.search("xyzzy", 50, 10);
+    }
+}
@@ -0,0 +1,143 @@
+package org.springy.som.modulith.domain.command.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springy.som.modulith.domain.command.api.HelpView;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HelpSearchIndexTest {
+    @Mock
+    HelpRepository repo;
+
+    HelpSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HelpSearchIndex(repo, true);
+    }
+
+    @Test
+    void search_partialWords_matchKeywordPhrases() {
+        load(help("H1", "'ARMOR CLASS' AC", 0, "Your armor class measures how hard you are to hit."),
+                help("H2", "WEAR WIELD HOLD", 0, "Wear puts on armor or a robe."),
+                help("H3", "SCORE", 0, "Score shows your hit points and armor class."));
+
+        assertThat(ids(index.search("arm cl", null, 10))).containsExactly("H1", "H3");
+        verify(repo, times(1)).streamAllBy();
+    }
+
+    @Test
+    void search_keywordHitsOutrankTextHitsAndWholeWordsOutrankPrefixes() {
+        load(help("H1", "SCORE", 0, "Shows your armor."),
+                help("H2", "ARMOR", 0, "Armor protects you."),
+                help("H3", "ARMORER", 0, "Shopkeepers who sell armor."));
+
+        assertThat(ids(index.search("armor", null, 10))).containsExactly("H2", "H3", "H1");
+    }
+
+    @Test
+    void search_everyWordMustMatch() {
+        load(help("H1", "CAST", 0, "Cast a spell."),
+                help("H2", "SPELLS", 0, "A list of spells."));
+
+        assertThat(ids(index.search("cast spell", null, 10))).containsExactly("H1");
+        assertThat(index.search("cast xyzzy", null, 10)).isEmpty();
+    }
+
+    @Test
+    void search_filtersByTrustAndHonoursLimit() {
+        load(help("H1", "WIZHELP", 52, "Immortal commands."),
+                help("H2", "WHO", 0, "Lists players."),
+                help("H3", "WHERE", 0, "Shows players nearby."));
+
+        assertThat(ids(index.search("w", 10, 10))).containsExactly("H3", "H2");
+        assertThat(ids(index.search("w", 60, 10))).containsExactly("H3", "H2", "H1");
+        assertThat(ids(index.search("w", null, 10))).containsExactly("H3", "H2");
+        assertThat(index.search("w", null, 1)).hasSize(1);
+    }
+
+    @Test
+    void putRemoveAndClear_updateTheIndexWithoutReloading() {
+        load(help("H1", "SCORE", 0, "Shows your stats."));
+
+        index.put(help("H2", "SOCIALS", 0, "Lists socials."));
+        assertThat(ids(index.search("soc", null, 10))).containsExactly("H2");
+
+        index.put(help("H1", "STATS", 0, "Shows your stats."));
+        assertThat(index.search("score", null, 10)).isEmpty();
+
+        index.remove("H2");
+        assertThat(index.search("soc", null, 10)).isEmpty();
+
+        index.clear();
+        assertThat(index.search("stats", null, 10)).isEmpty();
+        verify(repo, times(1)).streamAllBy();
+    }
+
+    @Test
+    void search_punctuationOnlyQuery_returnsNothingWithoutLoading() {
+        assertThat(index.search("'!?", null, 10)).isEmpty();
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void coldLoad_concurrentSearchesStreamOnceAndAWriteMadeMeanwhileIsKept() throws Exception {
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repo.streamAllBy()).thenAnswer(invocation -> {
+            streaming.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Stream.of(help("H1", "SCORE", 0, "Shows your stats."));
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<List<HelpView>> first = pool.submit(() -> index.search("score", null, 10));
+            assertThat(streaming.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<?> writer = pool.submit(() -> index.put(help("H2", "SOCIALS", 0, "Lists socials.")));
+            Future<List<HelpView>> second = pool.submit(() -> index.search("score", null, 10));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(ids(first.get(5, TimeUnit.SECONDS))).containsExactly("H1");
+            writer.get(5, TimeUnit.SECONDS);
+            assertThat(ids(second.get(5, TimeUnit.SECONDS))).containsExactly("H1");
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(ids(index.search("soc", null, 10))).containsExactly("H2");
+        verify(repo, times(1)).streamAllBy();
+    }
+
+    private void load(HelpDocument... helps) {
+        when(repo.streamAllBy()).thenReturn(Stream.of(helps));
+        index.warmupTasks().forEach(WarmupTask::run);
+    }
+
+    private static List<String> ids(List<HelpView> views) {
+        return views.stream().map(HelpView::id).toList();
+    }
+
+    private static HelpDocument help(String id, String keyword, int level, String text) {
+        HelpDocument doc = new HelpDocument();
+        doc.setId(id);
+        doc.setKeyword(keyword);
+        doc.setLevel(level);
+        doc.setText(text);
+        return doc;
+    }
+}
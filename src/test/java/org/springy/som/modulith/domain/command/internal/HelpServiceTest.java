@@ -3,19 +3,22 @@ package org.springy.som.modulith.domain.command.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.command.api.HelpView;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.web.CollectionSnapshots;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -27,12 +30,18 @@ class HelpServiceTest {
     private final String helpMissing = "ROM help not found in repository";
     private final String helpNotProvided = "ROM help must be provided";
     private HelpRepository repo;
+    private HelpSearchIndex index;
+    private CollectionSnapshots collectionSnapshots;
+    private CacheInvalidations cacheInvalidations;
     private HelpService service;
 
     @BeforeEach
     void setUp() {
         repo = mock(HelpRepository.class);
-        service = new HelpService(repo);
+        index = mock(HelpSearchIndex.class);
+        collectionSnapshots = mock(CollectionSnapshots.class);
+        cacheInvalidations = mock(CacheInvalidations.class);
+        service = new HelpService(repo, index, collectionSnapshots, cacheInvalidations);
     }
 
     @Test
@@ -101,6 +110,8 @@ class HelpServiceTest {
 
         assertThat(out).isSameAs(input);
         verify(repo).save(input);
+        verify(index).put(input);
+        verify(collectionSnapshots).touch(HelpService.COLLECTION);
         verifyNoMoreInteractions(repo);
     }
 
@@ -115,6 +126,7 @@ class HelpServiceTest {
                 .hasMessageContaining("Failed to create help");
 
         verify(repo).save(h);
+        verifyNoInteractions(collectionSnapshots);
         verifyNoMoreInteractions(repo);
     }
 
@@ -135,58 +147,76 @@ class HelpServiceTest {
 
 
     @Test
-    void saveHelpForId_blankId_throwsNullPointerException() {
-        HelpDocument h = mock(HelpDocument.class);
-        when(repo.findHelpById("  ")).thenReturn(null);
+    void saveHelpForId_blankId_throwsInvalidHelpException() {
+        assertThatThrownBy(() -> service.saveHelpForId(" ", new HelpDocument()))
+                .isInstanceOf(InvalidHelpException.class);
 
-        assertThatThrownBy(() -> service.saveHelpForId("  ", h))
-                .isInstanceOf(NullPointerException.class);
+        verifyNoInteractions(repo);
+    }
 
-        verify(repo).findHelpById("  ");
-        verifyNoMoreInteractions(repo);
+    @Test
+    void saveHelpForId_nullHelp_throwsInvalidHelpException() {
+        assertThatThrownBy(() -> service.saveHelpForId("H1", null))
+                .isInstanceOf(InvalidHelpException.class);
+
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveHelpForId_nullHelp_throwsNullPointerException() {
-        when(repo.findHelpById("H1")).thenReturn(null);
+    void saveHelpForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        HelpDocument input = new HelpDocument();
+        input.setVersion(3L);
+        when(repo.save(input)).thenReturn(input);
 
-        assertThatThrownBy(() -> service.saveHelpForId("H1", null))
-                .isInstanceOf(NullPointerException.class);
+        assertThat(service.saveHelpForId("H1", input)).isSameAs(input);
 
-        verify(repo).findHelpById("H1");
+        assertThat(input.getId()).isEqualTo("H1");
+        verify(repo).save(input);
+        verify(index).put(input);
+        verify(collectionSnapshots).touch(HelpService.COLLECTION);
         verifyNoMoreInteractions(repo);
     }
 
     @Test
-    void saveHelpForId_blankHelpId_throwsNullPointerException() {
-        HelpDocument input = mock(HelpDocument.class);
-        when(repo.findHelpById("H1")).thenReturn(null);
+    void saveHelpForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        HelpDocument input = new HelpDocument();
+        input.setVersion(3L);
+        HelpDocument current = new HelpDocument();
+        current.setId("H1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("H1")).thenReturn(Optional.of(current));
 
         assertThatThrownBy(() -> service.saveHelpForId("H1", input))
-                .isInstanceOf(NullPointerException.class);
-
-        verify(repo).findHelpById("H1");
-        verifyNoMoreInteractions(repo);
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+        verifyNoInteractions(index);
     }
 
     @Test
-    void saveHelpForId_success_savesLookupResult() {
-        HelpDocument payload = mock(HelpDocument.class);
-        HelpDocument existing = mock(HelpDocument.class);
+    void searchHelps_blankQuery_throwsInvalidHelpException() {
+        assertThatThrownBy(() -> service.searchHelps(" ", null, 10))
+                .isInstanceOf(InvalidHelpException.class)
+                .hasMessageContaining("ROM help query must be provided");
 
-        when(existing.getId()).thenReturn("H1");
-        when(repo.findHelpById("H1")).thenReturn(existing);
-        when(repo.save(payload)).thenReturn(payload);
+        verifyNoInteractions(index, repo);
+    }
 
-        HelpDocument out = service.saveHelpForId("H1", payload);
+    @Test
+    void searchHelps_clampsLimitAndReturnsIndexResults() {
+        List<HelpView> expected = List.of(new HelpView("H1", 0, "ARMOR CLASS", "text", 0L));
+        when(index.search("arm", 10, HelpService.MAX_SEARCH_RESULTS)).thenReturn(expected);
+
+        assertThat(service.searchHelps("arm", 10, 10_000)).isSameAs(expected);
+        verifyNoInteractions(repo);
+    }
 
-        assertThat(out).isSameAs(payload);
+    @Test
+    void searchHelps_dataAccess_becomesHelpPersistenceException() {
+        when(index.search("arm", null, 1)).thenThrow(new DataAccessResourceFailureException("db down"));
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findHelpById("H1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(payload);
-        verifyNoMoreInteractions(repo);
+        assertThatThrownBy(() -> service.searchHelps("arm", null, 0))
+                .isInstanceOf(HelpPersistenceException.class);
     }
 
     @Test
@@ -217,6 +247,7 @@ class HelpServiceTest {
 
         verify(repo).existsById("H1");
         verify(repo).deleteById("H1");
+        verify(index).remove("H1");
         verifyNoMoreInteractions(repo);
     }
 
@@ -243,6 +274,7 @@ class HelpServiceTest {
         assertThat(out).isEqualTo(7L);
         verify(repo).count();
         verify(repo).deleteAll();
+        verify(index).clear();
         verifyNoMoreInteractions(repo);
     }
 
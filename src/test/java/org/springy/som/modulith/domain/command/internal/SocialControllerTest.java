@@ -1,6 +1,7 @@
 package org.springy.som.modulith.domain.command.internal;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,8 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.domain.command.api.SocialMessages;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -28,7 +31,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(SocialController.class)
-@Import(SocialApiExceptionHandler.class)
+@Import({SocialApiExceptionHandler.class, CollectionSnapshots.class})
 @WithMockUser
 public class SocialControllerTest {
     @Autowired
@@ -37,21 +40,46 @@ public class SocialControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    CollectionSnapshots collectionSnapshots;
+
     @MockitoBean
     SocialService socialService;
 
     @Mock
     SocialDocument socialDocument;
 
+    @BeforeEach
+    void resetSnapshots() {
+        collectionSnapshots.touch("socials");
+    }
+
     @Test
     void getAllSocials_ok() throws Exception {
-        when(socialService.getAllSocials()).thenReturn(java.util.List.of());
+        when(socialService.loadAllSocials()).thenReturn(java.util.List.of());
 
         mockMvc.perform(get("/api/v1/socials"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
-        verify(socialService).getAllSocials();
+        verify(socialService).loadAllSocials();
+    }
+
+    @Test
+    void renderSocial_returnsRenderedMessages() throws Exception {
+        when(socialService.renderSocial("smile", "Dain", null, "Bob", null, true))
+                .thenReturn(new SocialMessages("smile", "You smile at Bob.", "Dain smiles at you.", "Dain smiles at Bob."));
+
+        mockMvc.perform(get("/api/v1/socials/render")
+                        .param("name", "smile")
+                        .param("actor", "Dain")
+                        .param("victim", "Bob"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.toActor").value("You smile at Bob."))
+                .andExpect(jsonPath("$.toVictim").value("Dain smiles at you."))
+                .andExpect(jsonPath("$.toOthers").value("Dain smiles at Bob."));
+
+        verify(socialService).renderSocial("smile", "Dain", null, "Bob", null, true);
     }
 
     @Test
@@ -86,14 +114,14 @@ public class SocialControllerTest {
 
     @Test
     void getAllSociales_persistenceDown_becomes503ProblemDetail() throws Exception {
-        when(socialService.getAllSocials()).thenThrow(new SocialPersistenceException("Failed to load commands"));
+        when(socialService.loadAllSocials()).thenThrow(new SocialPersistenceException("Failed to load commands"));
 
         mockMvc.perform(get("/api/v1/socials"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(503));
 
-        verify(socialService).getAllSocials();
+        verify(socialService).loadAllSocials();
     }
 
     @Test
@@ -0,0 +1,142 @@
+package org.springy.som.modulith.domain.command.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springy.som.modulith.domain.command.api.SocialMessages;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SocialIndexTest {
+    @Mock
+    SocialRepository repo;
+
+    SocialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SocialIndex(repo, true);
+    }
+
+    @Test
+    void render_noVictim_usesNoArgMessages() {
+        load(smile());
+
+        SocialMessages messages = index.render("smile", "Dain", "male", null, null, true);
+
+        assertThat(messages).isEqualTo(new SocialMessages("smile", "You smile happily.", null, "Dain smiles happily."));
+    }
+
+    @Test
+    void render_victimFound_fillsNamesAndPronouns() {
+        load(smile());
+
+        SocialMessages messages = index.render("SMILE", "Dain", "male", "Ria", "female", true);
+
+        assertThat(messages.toActor()).isEqualTo("You smile at her.");
+        assertThat(messages.toVictim()).isEqualTo("Dain beams a smile at you.");
+        assertThat(messages.toOthers()).isEqualTo("Dain smiles at Ria, and she smiles back at him.");
+        verify(repo, times(1)).streamAllBy();
+    }
+
+    @Test
+    void render_selfAndNotFound_useAutoAndNotFoundMessages() {
+        load(smile());
+
+        assertThat(index.render("smile", "Dain", "male", "dain", null, true))
+                .isEqualTo(new SocialMessages("smile", "You smile at yourself.", null, "Dain smiles at his reflection."));
+        assertThat(index.render("smile", "Dain", null, "Bob", null, false))
+                .isEqualTo(new SocialMessages("smile", "There's no one by that name around.", null, null));
+    }
+
+    @Test
+    void render_unknownTokensAndDollarEscapeAreKept() {
+        SocialDocument pay = social("S2", "pay", "It costs $$5 and $z.");
+        load(pay);
+
+        assertThat(index.render("pay", "Dain", null, null, null, true).toActor()).isEqualTo("It costs $5 and $z.");
+    }
+
+    @Test
+    void putRemoveAndClear_maintainTheIndexWithoutReloading() {
+        load(smile());
+
+        index.put(social("S2", "grin", "You grin."));
+        assertThat(index.render("grin", "Dain", null, null, null, true).toActor()).isEqualTo("You grin.");
+
+        index.put(social("S2", "smirk", "You smirk."));
+        assertThat(index.render("grin", "Dain", null, null, null, true)).isNull();
+
+        index.remove("S1");
+        assertThat(index.render("smile", "Dain", null, null, null, true)).isNull();
+
+        index.clear();
+        assertThat(index.render("smirk", "Dain", null, null, null, true)).isNull();
+        verify(repo, times(1)).streamAllBy();
+    }
+
+    @Test
+    void coldLoad_concurrentCallersStreamOnceAndAWriteMadeMeanwhileIsKept() throws Exception {
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repo.streamAllBy()).thenAnswer(invocation -> {
+            streaming.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Stream.of(smile());
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<SocialMessages> first = pool.submit(() -> index.render("smile", "Dain", null, null, null, true));
+            assertThat(streaming.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<?> writer = pool.submit(() -> index.put(social("S2", "grin", "You grin.")));
+            Future<SocialMessages> second = pool.submit(() -> index.render("smile", "Dain", null, null, null, true));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).toActor()).isEqualTo("You smile happily.");
+            writer.get(5, TimeUnit.SECONDS);
+            assertThat(second.get(5, TimeUnit.SECONDS).toActor()).isEqualTo("You smile happily.");
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(index.render("grin", "Dain", null, null, null, true).toActor()).isEqualTo("You grin.");
+        verify(repo, times(1)).streamAllBy();
+    }
+
+    private void load(SocialDocument... socials) {
+        when(repo.streamAllBy()).thenReturn(Stream.of(socials));
+        index.warmupTasks().forEach(WarmupTask::run);
+    }
+
+    private static SocialDocument smile() {
+        SocialDocument doc = social("S1", "smile", "You smile happily.");
+        doc.setOthersNoArg("$n smiles happily.");
+        doc.setCharFound("You smile at $M.");
+        doc.setVictFound("$n beams a smile at you.");
+        doc.setOthersFound("$n smiles at $N, and $E smiles back at $m.");
+        doc.setCharNotFound("There's no one by that name around.");
+        doc.setCharAuto("You smile at yourself.");
+        doc.setOthersAuto("$n smiles at $s reflection.");
+        return doc;
+    }
+
+    private static SocialDocument social(String id, String name, String charNoArg) {
+        SocialDocument doc = new SocialDocument();
+        doc.setId(id);
+        doc.setName(name);
+        doc.setCharNoArg(charNoArg);
+        return doc;
+    }
+}
@@ -3,19 +3,22 @@ package org.springy.som.modulith.domain.command.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.command.api.SocialMessages;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.web.CollectionSnapshots;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -27,12 +30,18 @@ class SocialServiceTest {
     private final String socialMissing = "ROM social not found in repository";
     private final String socialNotProvided = "ROM social must be provided";
     private SocialRepository repo;
+    private SocialIndex index;
+    private CollectionSnapshots collectionSnapshots;
+    private CacheInvalidations cacheInvalidations;
     private SocialService service;
 
     @BeforeEach
     void setUp() {
         repo = mock(SocialRepository.class);
-        service = new SocialService(repo);
+        index = mock(SocialIndex.class);
+        collectionSnapshots = mock(CollectionSnapshots.class);
+        cacheInvalidations = mock(CacheInvalidations.class);
+        service = new SocialService(repo, index, collectionSnapshots, cacheInvalidations);
     }
 
     @Test
@@ -101,6 +110,7 @@ class SocialServiceTest {
 
         assertThat(out).isSameAs(input);
         verify(repo).save(input);
+        verify(index).put(input);
         verifyNoMoreInteractions(repo);
     }
 
@@ -135,58 +145,85 @@ class SocialServiceTest {
 
 
     @Test
-    void saveSocialForId_blankId_throwsNullPointerException() {
-        SocialDocument c = mock(SocialDocument.class);
-        when(repo.findSocialById("  ")).thenReturn(null);
+    void saveSocialForId_blankId_throwsInvalidSocialException() {
+        assertThatThrownBy(() -> service.saveSocialForId(" ", new SocialDocument()))
+                .isInstanceOf(InvalidSocialException.class);
 
-        assertThatThrownBy(() -> service.saveSocialForId("  ", c))
-                .isInstanceOf(NullPointerException.class);
+        verifyNoInteractions(repo);
+    }
 
-        verify(repo).findSocialById("  ");
-        verifyNoMoreInteractions(repo);
+    @Test
+    void saveSocialForId_nullSocial_throwsInvalidSocialException() {
+        assertThatThrownBy(() -> service.saveSocialForId("C1", null))
+                .isInstanceOf(InvalidSocialException.class);
+
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveSocialForId_nullSocial_throwsNullPointerException() {
-        when(repo.findSocialById("C1")).thenReturn(null);
+    void saveSocialForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        SocialDocument input = new SocialDocument();
+        input.setVersion(3L);
+        when(repo.save(input)).thenReturn(input);
 
-        assertThatThrownBy(() -> service.saveSocialForId("C1", null))
-                .isInstanceOf(NullPointerException.class);
+        assertThat(service.saveSocialForId("C1", input)).isSameAs(input);
 
-        verify(repo).findSocialById("C1");
+        assertThat(input.getId()).isEqualTo("C1");
+        verify(repo).save(input);
+        verify(index).put(input);
         verifyNoMoreInteractions(repo);
     }
 
     @Test
-    void saveSocialForId_blankSocialId_throwsNullPointerException() {
-        SocialDocument input = mock(SocialDocument.class);
-        when(repo.findSocialById("C1")).thenReturn(null);
+    void saveSocialForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        SocialDocument input = new SocialDocument();
+        input.setVersion(3L);
+        SocialDocument current = new SocialDocument();
+        current.setId("C1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("C1")).thenReturn(Optional.of(current));
 
         assertThatThrownBy(() -> service.saveSocialForId("C1", input))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+        verifyNoInteractions(index);
+    }
 
-        verify(repo).findSocialById("C1");
-        verifyNoMoreInteractions(repo);
+    @Test
+    void renderSocial_blankName_throwsInvalidSocialException() {
+        assertThatThrownBy(() -> service.renderSocial(" ", "Dain", null, null, null, true))
+                .isInstanceOf(InvalidSocialException.class)
+                .hasMessageContaining("ROM social name must be provided");
+
+        verifyNoInteractions(index, repo);
     }
 
     @Test
-    void saveSocialForId_success_savesLookupResult() {
-        SocialDocument payload = mock(SocialDocument.class);
-        SocialDocument existing = mock(SocialDocument.class);
+    void renderSocial_blankActor_throwsInvalidSocialException() {
+        assertThatThrownBy(() -> service.renderSocial("smile", " ", null, null, null, true))
+                .isInstanceOf(InvalidSocialException.class)
+                .hasMessageContaining("ROM social actor must be provided");
 
-        when(existing.getId()).thenReturn("C1");
-        when(repo.findSocialById("C1")).thenReturn(existing);
-        when(repo.save(payload)).thenReturn(payload);
+        verifyNoInteractions(index, repo);
+    }
 
-        SocialDocument out = service.saveSocialForId("C1", payload);
+    @Test
+    void renderSocial_known_returnsIndexMessages() {
+        SocialMessages messages = new SocialMessages("smile", "You smile at Bob.", "Dain smiles at you.", "Dain smiles at Bob.");
+        when(index.render("smile", "Dain", "male", "Bob", null, true)).thenReturn(messages);
 
-        assertThat(out).isSameAs(payload);
+        assertThat(service.renderSocial("smile", "Dain", "male", "Bob", null, true)).isSameAs(messages);
+        verifyNoInteractions(repo);
+    }
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findSocialById("C1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(payload);
-        verifyNoMoreInteractions(repo);
+    @Test
+    void renderSocial_unknown_throwsSocialNotFoundException() {
+        when(index.render("xyzzy", "Dain", null, null, null, true)).thenReturn(null);
+
+        assertThatThrownBy(() -> service.renderSocial("xyzzy", "Dain", null, null, null, true))
+                .isInstanceOf(SocialNotFoundException.class)
+                .hasMessageContaining("xyzzy");
     }
 
     @Test
@@ -217,6 +254,7 @@ class SocialServiceTest {
 
         verify(repo).existsById("C1");
         verify(repo).deleteById("C1");
+        verify(index).remove("C1");
         verifyNoMoreInteractions(repo);
     }
 
@@ -243,6 +281,7 @@ class SocialServiceTest {
         assertThat(out).isEqualTo(7L);
         verify(repo).count();
         verify(repo).deleteAll();
+        verify(index).clear();
         verifyNoMoreInteractions(repo);
     }
 
@@ -1,10 +1,12 @@
 package org.springy.som.modulith.domain.game.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springy.som.modulith.domain.game.api.GameDataMapper;
 import org.springy.som.modulith.domain.game.api.GameDataView;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -12,6 +14,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,7 +30,7 @@ class GameControllerTest {
     @BeforeEach
     void setUp() {
         gameService = mock(GameService.class);
-        GameController controller = new GameController(gameService);
+        GameController controller = new GameController(gameService, new ObjectMapper());
 
         mvc = MockMvcBuilders
                 .standaloneSetup(controller)
@@ -36,70 +39,91 @@ class GameControllerTest {
 
     @Test
     void findAll_empty_returns200AndEmptyJsonArray() throws Exception {
-        when(gameService.findAll()).thenReturn(emptyList());
+        when(gameService.findAllViews()).thenReturn(emptyList());
 
         mvc.perform(get("/api/v1/game").accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json("[]"));
 
-        verify(gameService).findAll();
+        verify(gameService).findAllViews();
         verifyNoMoreInteractions(gameService);
     }
 
     @Test
-    void findAll_twoItems_returns200AndMappedList() throws Exception {
-        GameDataDocument d1 = mock(GameDataDocument.class);
-        GameDataDocument d2 = mock(GameDataDocument.class);
-
-        // We don't rely on concrete document structure here; we just ensure mapper was invoked and JSON is an array.
-        when(gameService.findAll()).thenReturn(List.of(d1, d2));
+    void findAll_twoItems_returns200AndProjectedList() throws Exception {
+        when(gameService.findAllViews()).thenReturn(List.of(view("R1"), view("R2")));
 
         mvc.perform(get("/api/v1/game").accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value("R1"));
 
-        verify(gameService).findAll();
+        verify(gameService).findAllViews();
         verifyNoMoreInteractions(gameService);
     }
 
     @Test
-    void findGameDataById_mapsAndReturns200Json() throws Exception {
-        GameDataDocument doc = mock(GameDataDocument.class);
-        when(gameService.findGameDataByRulesetId("R1")).thenReturn(doc);
+    void findGameDataById_returns200JsonWithContentHashETag() throws Exception {
+        when(gameService.findRuleset("R1")).thenReturn(ruleset("R1", "abc123"));
 
         mvc.perform(get("/api/v1/game/R1").accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""))
+                .andExpect(jsonPath("$.id").value("R1"));
 
-        verify(gameService).findGameDataByRulesetId("R1");
+        verify(gameService).findRuleset("R1");
         verifyNoMoreInteractions(gameService);
     }
 
     @Test
-    void findAll_invokesMapperForEachDocument() {
-        // This is a pure unit test (no MVC) to assert mapper invocation count.
-        // We use Mockito's inline mock maker to mock static methods; if you don't have it, see dependency note below.
+    void findGameDataById_matchingIfNoneMatch_returns304WithoutBody() throws Exception {
+        when(gameService.findRuleset("R1")).thenReturn(ruleset("R1", "abc123"));
+
+        mvc.perform(get("/api/v1/game/R1")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""))
+                .andExpect(content().string(""));
+    }
 
-        GameDataDocument d1 = mock(GameDataDocument.class);
-        GameDataDocument d2 = mock(GameDataDocument.class);
+    @Test
+    void findGameDataById_staleIfNoneMatch_returns200() throws Exception {
+        when(gameService.findRuleset("R1")).thenReturn(ruleset("R1", "abc123"));
 
-        when(gameService.findAll()).thenReturn(List.of(d1, d2));
+        mvc.perform(get("/api/v1/game/R1")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("R1"));
+    }
 
-        GameController controller = new GameController(gameService);
+    @Test
+    void findAll_returnsProjectedViewsWithoutMapping() {
+        when(gameService.findAllViews()).thenReturn(List.of(view("R1"), view("R2")));
 
-        try (var mocked = Mockito.mockStatic(GameDataMapper.class)) {
-            mocked.when(() -> GameDataMapper.toView(d1)).thenReturn(mock(GameDataView.class));
-            mocked.when(() -> GameDataMapper.toView(d2)).thenReturn(mock(GameDataView.class));
+        GameController controller = new GameController(gameService, new ObjectMapper());
 
-            controller.findAll();
+        try (var mocked = Mockito.mockStatic(GameDataMapper.class)) {
+            var response = controller.findAll();
 
-            mocked.verify(() -> GameDataMapper.toView(d1), times(1));
-            mocked.verify(() -> GameDataMapper.toView(d2), times(1));
-            verify(gameService).findAll();
+            assertThat(response.getBody()).extracting(GameDataView::id).containsExactly("R1", "R2");
+            mocked.verifyNoInteractions();
+            verify(gameService).findAllViews();
             verifyNoMoreInteractions(gameService);
         }
     }
+
+    private static RulesetCache.Ruleset ruleset(String id, String contentHash) {
+        return new RulesetCache.Ruleset(null, view(id), contentHash);
+    }
+
+    private static GameDataView view(String id) {
+        return new GameDataView(id, "ruleset", "active", null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null);
+    }
 }
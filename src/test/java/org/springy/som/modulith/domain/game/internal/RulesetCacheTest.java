@@ -0,0 +1,105 @@
+package org.springy.som.modulith.domain.game.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RulesetCacheTest {
+    @Mock
+    GameRepository repo;
+
+    RulesetCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RulesetCache(repo, new ObjectMapper(), true);
+    }
+
+    @Test
+    void get_loadsOnceThenServesFromMemory() {
+        when(repo.findGameDataByRulesetId("R1")).thenReturn(ruleset("R1", "h1"));
+
+        RulesetCache.Ruleset first = cache.get("R1");
+        RulesetCache.Ruleset second = cache.get("R1");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.etag()).isEqualTo("\"h1\"");
+        verify(repo, times(1)).findGameDataByRulesetId("R1");
+    }
+
+    @Test
+    void get_unknownId_returnsNullAndIsNotCached() {
+        assertThat(cache.get("missing")).isNull();
+        assertThat(cache.get("missing")).isNull();
+
+        verify(repo, times(2)).findGameDataByRulesetId("missing");
+    }
+
+    @Test
+    void get_returnsDeeplyImmutableCopy() {
+        Map<String, Object> warrior = new HashMap<>(Map.of("hp", 10));
+        Map<String, Map<String, Object>> classes = new HashMap<>(Map.of("warrior", warrior));
+        when(repo.findGameDataByRulesetId("R1")).thenReturn(ruleset("R1", "h1", classes));
+
+        RulesetCache.Ruleset ruleset = cache.get("R1");
+        warrior.put("hp", 99);
+
+        assertThat(ruleset.view().classes().get("warrior")).containsEntry("hp", 10);
+        assertThatThrownBy(() -> ruleset.view().classes().get("warrior").put("hp", 1))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> ruleset.document().classes().remove("warrior"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void reload_keepsUnchangedRulesetsAndSwapsChangedOnes() {
+        when(repo.streamAllBy())
+                .thenReturn(Stream.of(ruleset("R1", "h1"), ruleset("R2", "h2")))
+                .thenReturn(Stream.of(ruleset("R1", "h1"), ruleset("R2", "h3")));
+
+        cache.warmupTasks().forEach(WarmupTask::run);
+        RulesetCache.Ruleset r1 = cache.get("R1");
+        RulesetCache.Ruleset r2 = cache.get("R2");
+
+        assertThat(cache.reload()).isEqualTo(2);
+
+        assertThat(cache.get("R1")).isSameAs(r1);
+        assertThat(cache.get("R2")).isNotSameAs(r2);
+        assertThat(cache.get("R2").contentHash()).isEqualTo("h3");
+        verify(repo, never()).findGameDataByRulesetId(anyString());
+    }
+
+    @Test
+    void get_withoutDeclaredHash_derivesStableETagFromContent() {
+        when(repo.findGameDataByRulesetId("R1")).thenReturn(ruleset("R1", null));
+        when(repo.findGameDataByRulesetId("R2")).thenReturn(ruleset("R1", null));
+
+        assertThat(cache.get("R1").contentHash())
+                .startsWith("sha256:")
+                .isEqualTo(cache.get("R2").contentHash());
+    }
+
+    private static GameDataDocument ruleset(String id, String contentHash) {
+        return ruleset(id, contentHash, Map.of("warrior", Map.of("hp", 10)));
+    }
+
+    private static GameDataDocument ruleset(String id, String contentHash, Map<String, Map<String, Object>> classes) {
+        return new GameDataDocument(id, "ruleset", "active",
+                new GameDataDocument.Version("rom", List.of("2.4"), "1.0.0", null, null),
+                null, null, classes, null, null, null, null, null, null, null, null, null,
+                new GameDataDocument.Integrity(contentHash, null));
+    }
+}
@@ -0,0 +1,106 @@
+package org.springy.som.modulith.domain.item.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.mongo.BulkUpsertRow;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
+import org.springy.som.modulith.mongo.MongoIndexProvisioner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ItemService.class, CacheInvalidations.class, MongoBulkUpserter.class, MongoIndexProvisioner.class})
+class ItemBulkUpsertIntegrationTest {
+    private static final int ROWS = 2_000;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mongodb.embedded.version", () -> "4.0.2");
+        registry.add("spring.mongodb.embedded.port", () -> 0);
+        registry.add("spring.data.mongodb.database", () -> "som-test");
+    }
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private MongoIndexProvisioner provisioner;
+
+    @BeforeEach
+    void setUp() {
+        provisioner.provision();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void upsertItems_newRows_areCreated_thenUpdatedInPlace() {
+        BulkUpsertResult first = itemService.upsertItems(items("sword"));
+
+        assertThat(first.created()).isEqualTo(ROWS);
+        assertThat(first.rows()).allMatch(row -> row.status() == BulkUpsertRow.Status.CREATED);
+
+        BulkUpsertResult second = itemService.upsertItems(items("axe"));
+
+        assertThat(second.updated()).isEqualTo(ROWS);
+        assertThat(itemRepository.count()).isEqualTo(ROWS);
+        assertThat(itemRepository.findItemById("I42").getName()).isEqualTo("axe 42");
+    }
+
+    @Test
+    void upsertItems_reportsConflictsAndInvalidRowsWithoutFailingTheBatch() {
+        itemService.upsertItems(List.of(item("I1", "A1", "3001", "sword")));
+
+        BulkUpsertResult result = itemService.upsertItems(List.of(
+                item("I2", "A1", "3002", "dagger"),
+                item("I3", "A1", "3001", "clone of the sword"),
+                item("I1", "A1", "3003", "sword moved to another vnum"),
+                item("I4", "A1", " ", "no vnum"),
+                item("I5", "A1", "3005", " ")));
+
+        assertThat(result.rows())
+                .extracting(BulkUpsertRow::status)
+                .containsExactly(BulkUpsertRow.Status.CREATED,
+                        BulkUpsertRow.Status.CONFLICT,
+                        BulkUpsertRow.Status.CONFLICT,
+                        BulkUpsertRow.Status.INVALID,
+                        BulkUpsertRow.Status.INVALID);
+        assertThat(itemRepository.count()).isEqualTo(2);
+        assertThat(itemRepository.findItemById("I1").getVnum()).isEqualTo("3001");
+    }
+
+    private static List<ItemDocument> items(String name) {
+        List<ItemDocument> items = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            items.add(item("I" + i, "A" + (i % 10), String.valueOf(3000 + i), name + " " + i));
+        }
+        return items;
+    }
+
+    private static ItemDocument item(String id, String areaId, String vnum, String name) {
+        ItemDocument item = new ItemDocument();
+        item.setId(id);
+        item.setAreaId(areaId);
+        item.setVnum(vnum);
+        item.setName(name);
+        return item;
+    }
+}
@@ -9,21 +9,34 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springy.som.modulith.domain.item.api.ItemView;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.mongo.BulkUpsertRow;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
@@ -41,18 +54,41 @@ public class ItemControllerTest {
 
     @Test
     void getAllCommands_ok() throws Exception {
-        when(itemService.getAllItems()).thenReturn(java.util.List.of());
+        when(itemService.getAllItemViews()).thenReturn(java.util.List.of());
 
         mockMvc.perform(get("/api/v1/items"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
-        verify(itemService).getAllItems();
+        verify(itemService).getAllItemViews();
+    }
+
+    @Test
+    void getAllItems_ndjsonAccept_streamsOneLinePerDocument() throws Exception {
+        when(itemService.streamAllItemViews()).thenReturn(Stream.of(view("I1", "Sword"), view("I2", "Potion")));
+
+        MvcResult started = mockMvc.perform(get("/api/v1/items").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asText()).isEqualTo("I1");
+        assertThat(objectMapper.readTree(lines[1]).get("id").asText()).isEqualTo("I2");
+
+        verify(itemService).streamAllItemViews();
+        verifyNoMoreInteractions(itemService);
     }
 
     @Test
     void getCommandById_notFound_becomes404ProblemDetail() throws Exception {
-        when(itemService.getItemById("A1")).thenThrow(new ItemNotFoundException("A1"));
+        when(itemService.getItemViewById("A1")).thenThrow(new ItemNotFoundException("A1"));
 
         mockMvc.perform(get("/api/v1/items/A1"))
                 .andExpect(status().isNotFound())
@@ -61,12 +97,12 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.title").exists())
                 .andExpect(jsonPath("$.detail").exists());
 
-        verify(itemService).getItemById("A1");
+        verify(itemService).getItemViewById("A1");
     }
 
     @Test
     void getCommandById_blankId_becomes400ProblemDetail() throws Exception {
-        when(itemService.getItemById(anyString())).thenThrow(new InvalidItemException("ItemDocument id must be provided"));
+        when(itemService.getItemViewById(anyString())).thenThrow(new InvalidItemException("ItemDocument id must be provided"));
 
         mockMvc.perform(get("/api/v1/items/{id}", "  ")
                         .accept(MediaType.APPLICATION_JSON))
@@ -76,20 +112,20 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.title").exists())
                 .andExpect(jsonPath("$.detail").exists());
 
-        verify(itemService).getItemById("  ");
+        verify(itemService).getItemViewById("  ");
     }
 
 
     @Test
     void getAllCommandes_persistenceDown_becomes503ProblemDetail() throws Exception {
-        when(itemService.getAllItems()).thenThrow(new ItemPersistenceException("Failed to load items"));
+        when(itemService.getAllItemViews()).thenThrow(new ItemPersistenceException("Failed to load items"));
 
         mockMvc.perform(get("/api/v1/items"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(503));
 
-        verify(itemService).getAllItems();
+        verify(itemService).getAllItemViews();
     }
 
     @Test
@@ -152,6 +188,55 @@ public class ItemControllerTest {
         verify(itemService).createItem(any(ItemDocument.class));
     }
 
+    @Test
+    void upsertItems_ndjsonBody_returnsPerRowResults() throws Exception {
+        when(itemService.upsertItems(anyList())).thenReturn(BulkUpsertResult.of(List.of(
+                new BulkUpsertRow(0, "I1", BulkUpsertRow.Status.CREATED, null),
+                new BulkUpsertRow(1, "I2", BulkUpsertRow.Status.CONFLICT, "E11000 duplicate key"))));
+
+        String body = "{\"id\":\"I1\",\"areaId\":\"A1\",\"vnum\":\"3001\",\"name\":\"sword\"}\n"
+                + "{\"id\":\"I2\",\"areaId\":\"A1\",\"vnum\":\"3001\",\"name\":\"dagger\"}\n";
+
+        mockMvc.perform(post("/api/v1/items/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.conflicts").value(1))
+                .andExpect(jsonPath("$.rows[1].status").value("CONFLICT"));
+
+        verify(itemService).upsertItems(argThat(items -> items.size() == 2
+                && "I1".equals(items.get(0).getId())
+                && "dagger".equals(items.get(1).getName())));
+    }
+
+    @Test
+    void upsertItems_jsonArrayBody_isAccepted() throws Exception {
+        when(itemService.upsertItems(anyList())).thenReturn(BulkUpsertResult.of(List.of()));
+
+        mockMvc.perform(post("/api/v1/items/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":\"I1\",\"areaId\":\"A1\",\"vnum\":\"3001\",\"name\":\"sword\"}]"))
+                .andExpect(status().isOk());
+
+        verify(itemService).upsertItems(argThat(items -> items.size() == 1));
+    }
+
+    @Test
+    void upsertItems_malformedBody_returns400ProblemDetail() throws Exception {
+        mockMvc.perform(post("/api/v1/items/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"id\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+
+        verifyNoMoreInteractions(itemService);
+    }
+
     @Test
     void createItem_returns201() throws Exception {
         ItemDocument input = new ItemDocument();
@@ -212,6 +297,29 @@ public class ItemControllerTest {
         verifyNoMoreInteractions(itemService);
     }
 
+    @Test
+    void updateItem_staleVersion_returns409WithCurrentVersion() throws Exception {
+        ItemDocument input = new ItemDocument();
+        input.setAreaId("A1");
+        input.setId("I1");
+        input.setName("Midgaard");
+        input.setVersion(3L);
+
+        when(itemService.saveItemForId(eq("I1"), any(ItemDocument.class)))
+                .thenThrow(new VersionConflictException("I1", 3L, 5L));
+
+        mockMvc.perform(put("/api/v1/items/{id}", "I1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(input)))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.expectedVersion").value(3))
+                .andExpect(jsonPath("$.currentVersion").value(5));
+    }
+
     @Test
     void updateItem_blankName_returns400ProblemDetail_asJson() throws Exception {
         ItemDocument input = new ItemDocument();
@@ -254,4 +362,9 @@ public class ItemControllerTest {
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.deletedCount").value(0));
     }
+
+    private static ItemView view(String id, String name) {
+        return new ItemView(id, "A1", "100", name, null, null, null, null, null, null,
+                null, null, null, null, null, 1, 1, 1, null, List.of(), List.of(), 0L);
+    }
 }
@@ -0,0 +1,155 @@
+package org.springy.som.modulith.domain.item.internal;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.exception.VersionRequiredException;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
+import org.springy.som.modulith.mongo.MongoVersionBackfill;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataMongoTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ItemService.class, CacheInvalidations.class, MongoBulkUpserter.class, MongoVersionBackfill.class})
+class ItemOptimisticLockingIntegrationTest {
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mongodb.embedded.version", () -> "4.0.2");
+        registry.add("spring.mongodb.embedded.port", () -> 0);
+        registry.add("spring.data.mongodb.database", () -> "som-test");
+    }
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private MongoVersionBackfill versionBackfill;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void saveItemForId_secondWriterOnSameVersion_losesWithCurrentVersion() {
+        ItemDocument created = itemService.createItem(item("sword"));
+        assertThat(created.getVersion()).isZero();
+
+        ItemDocument first = item("longsword");
+        first.setVersion(0L);
+        ItemDocument second = item("shortsword");
+        second.setVersion(0L);
+
+        assertThat(itemService.saveItemForId("I1", first).getVersion()).isEqualTo(1L);
+        assertThatThrownBy(() -> itemService.saveItemForId("I1", second))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 1L);
+
+        ItemDocument stored = itemRepository.findById("I1").orElseThrow();
+        assertThat(stored.getName()).isEqualTo("longsword");
+        assertThat(stored.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void saveItemForId_missingDocument_throwsNotFoundAndCreatesNothing() {
+        ItemDocument input = item("sword");
+        input.setVersion(0L);
+
+        assertThatThrownBy(() -> itemService.saveItemForId("I1", input))
+                .isInstanceOf(ItemNotFoundException.class);
+        assertThat(itemRepository.count()).isZero();
+    }
+
+    @Test
+    void saveItemForId_withoutVersion_isRejectedBeforeWriting() {
+        itemService.createItem(item("sword"));
+
+        assertThatThrownBy(() -> itemService.saveItemForId("I1", item("axe")))
+                .isInstanceOf(VersionRequiredException.class);
+        assertThat(itemRepository.findById("I1").orElseThrow().getName()).isEqualTo("sword");
+    }
+
+    @Test
+    void upsertItems_overExistingDocument_bumpsVersionSoStaleSaveIsRejected() {
+        itemService.createItem(item("sword"));
+        ItemDocument stale = item("longsword");
+        stale.setVersion(0L);
+
+        BulkUpsertResult result = itemService.upsertItems(List.of(item("axe")));
+
+        assertThat(result.updated()).isEqualTo(1);
+        ItemDocument stored = itemRepository.findById("I1").orElseThrow();
+        assertThat(stored.getName()).isEqualTo("axe");
+        assertThat(stored.getVersion()).isEqualTo(1L);
+        assertThatThrownBy(() -> itemService.saveItemForId("I1", stale))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 1L);
+    }
+
+    @Test
+    void upsertItems_staleVersionInPayload_isConflictAndLeavesDocumentAlone() {
+        itemService.createItem(item("sword"));
+        ItemDocument first = item("longsword");
+        first.setVersion(0L);
+        itemService.saveItemForId("I1", first);
+        ItemDocument stale = item("axe");
+        stale.setVersion(0L);
+
+        BulkUpsertResult result = itemService.upsertItems(List.of(stale));
+
+        assertThat(result.conflicts()).isEqualTo(1);
+        ItemDocument stored = itemRepository.findById("I1").orElseThrow();
+        assertThat(stored.getName()).isEqualTo("longsword");
+        assertThat(stored.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void upsertItems_newDocument_startsAtVersionZeroWhateverThePayloadSays() {
+        ItemDocument input = item("sword");
+        input.setVersion(7L);
+
+        assertThat(itemService.upsertItems(List.of(input)).created()).isEqualTo(1);
+        assertThat(itemRepository.findById("I1").orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    void backfill_stampsLegacyDocumentsSoTheyCanBeUpdated() {
+        mongoTemplate.getCollection("Items").insertOne(new Document("_id", "I1")
+                .append("areaId", "A1")
+                .append("vnum", "3001")
+                .append("name", "sword"));
+
+        assertThat(versionBackfill.backfill()).isEqualTo(1);
+
+        ItemDocument input = item("axe");
+        input.setVersion(0L);
+        assertThat(itemService.saveItemForId("I1", input).getVersion()).isEqualTo(1L);
+    }
+
+    private static ItemDocument item(String name) {
+        ItemDocument doc = new ItemDocument();
+        doc.setId("I1");
+        doc.setAreaId("A1");
+        doc.setVnum("3001");
+        doc.setName(name);
+        return doc;
+    }
+}
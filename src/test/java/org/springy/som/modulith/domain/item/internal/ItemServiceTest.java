@@ -3,12 +3,18 @@ package org.springy.som.modulith.domain.item.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.mongo.BulkUpsertResult;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -20,12 +26,14 @@ class ItemServiceTest {
     private final String romItemIdMissing = "ROM item id must be provided";
 
     @Mock ItemRepository repo;
+    @Mock MongoBulkUpserter bulkUpserter;
+    @Mock CacheInvalidations cacheInvalidations;
 
     private ItemService service;
 
     @BeforeEach
     void setUp() {
-        service = new ItemService(repo);
+        service = new ItemService(repo, bulkUpserter, cacheInvalidations);
     }
 
     @Test
@@ -111,16 +119,18 @@ class ItemServiceTest {
     @Test
     void createItem_duplicateVnum_becomesDuplicateItemException() {
         ItemDocument itemDocument = mock(ItemDocument.class);
-        ItemDocument existing = mock(ItemDocument.class);
         when(itemDocument.getId()).thenReturn("I1");
         when(itemDocument.getVnum()).thenReturn("2001");
-        when(repo.findItemByVnum("2001")).thenReturn(existing);
+        when(repo.insert(itemDocument)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: SOMDB.Items index: vnum dup key: { vnum: \"2001\" }"));
+        when(repo.existsById("I1")).thenReturn(false);
 
         assertThatThrownBy(() -> service.createItem(itemDocument))
                 .isInstanceOf(DuplicateItemException.class)
                 .hasMessageContaining("Item with vnum '2001' already exists");
 
-        verify(repo).findItemByVnum("2001");
+        verify(repo).insert(itemDocument);
+        verify(repo).existsById("I1");
         verifyNoMoreInteractions(repo);
     }
 
@@ -129,13 +139,11 @@ class ItemServiceTest {
         ItemDocument itemDocument = mock(ItemDocument.class);
         when(itemDocument.getId()).thenReturn("I1");
         when(itemDocument.getVnum()).thenReturn("2001");
-        when(repo.findItemByVnum("2001")).thenReturn(null);
-        when(repo.save(itemDocument)).thenReturn(itemDocument);
+        when(repo.insert(itemDocument)).thenReturn(itemDocument);
 
         assertThat(service.createItem(itemDocument)).isSameAs(itemDocument);
 
-        verify(repo).findItemByVnum("2001");
-        verify(repo).save(itemDocument);
+        verify(repo).insert(itemDocument);
         verifyNoMoreInteractions(repo);
     }
 
@@ -144,15 +152,13 @@ class ItemServiceTest {
         ItemDocument itemDocument = mock(ItemDocument.class);
         when(itemDocument.getId()).thenReturn("I1");
         when(itemDocument.getVnum()).thenReturn("2001");
-        when(repo.findItemByVnum("2001")).thenReturn(null);
-        when(repo.save(itemDocument)).thenThrow(new DataAccessResourceFailureException("db down"));
+        when(repo.insert(itemDocument)).thenThrow(new DataAccessResourceFailureException("db down"));
 
         assertThatThrownBy(() -> service.createItem(itemDocument))
                 .isInstanceOf(ItemPersistenceException.class)
                 .hasMessageContaining("Failed to create itemDocument");
 
-        verify(repo).findItemByVnum("2001");
-        verify(repo).save(itemDocument);
+        verify(repo).insert(itemDocument);
         verifyNoMoreInteractions(repo);
     }
 
@@ -169,47 +175,49 @@ class ItemServiceTest {
     }
 
     @Test
-    void saveItemForId_blankId_becomesNullPointerException() {
-        ItemDocument item = mock(ItemDocument.class);
-        when(repo.findItemById(" ")).thenReturn(null);
-
-        assertThatThrownBy(() -> service.saveItemForId(" ", item))
-                .isInstanceOf(NullPointerException.class);
+    void saveItemForId_blankId_throwsInvalidItemException() {
+        assertThatThrownBy(() -> service.saveItemForId(" ", new ItemDocument()))
+                .isInstanceOf(InvalidItemException.class);
 
-        verify(repo).findItemById(" ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveItemForId_nullItem_becomesNullPointerException() {
-        ItemDocument item = null;
-        when(repo.findItemById("I1")).thenReturn(null);
-
-        assertThatThrownBy(() -> service.saveItemForId("I1", item))
-                .isInstanceOf(NullPointerException.class);
+    void saveItemForId_nullItem_throwsInvalidItemException() {
+        assertThatThrownBy(() -> service.saveItemForId("I1", null))
+                .isInstanceOf(InvalidItemException.class);
 
-        verify(repo).findItemById("I1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveItemForId_ok_savesItemByLookup() {
-        ItemDocument input = mock(ItemDocument.class);
-        ItemDocument existing = mock(ItemDocument.class);
-
-        when(existing.getId()).thenReturn("I1");
-        when(repo.findItemById("I1")).thenReturn(existing);
+    void saveItemForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        ItemDocument input = new ItemDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
         assertThat(service.saveItemForId("I1", input)).isSameAs(input);
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findItemById("I1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("I1");
+        verify(repo).save(input);
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void saveItemForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        ItemDocument input = new ItemDocument();
+        input.setVersion(3L);
+        ItemDocument current = new ItemDocument();
+        current.setId("I1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("I1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.saveItemForId("I1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deleteItemById_blankId_becomesInvalidItemException() {
         assertThatThrownBy(() -> service.deleteItemById(""))
@@ -306,4 +314,26 @@ class ItemServiceTest {
 
         verifyNoInteractions(repo);
     }
+
+    @Test
+    void upsertItems_delegatesKeyedByAreaAndVnum() {
+        List<ItemDocument> items = List.of(new ItemDocument());
+        BulkUpsertResult result = BulkUpsertResult.of(List.of());
+        when(bulkUpserter.upsert(eq(ItemDocument.class), eq(items), any(), any())).thenReturn(result);
+
+        assertThat(service.upsertItems(items)).isSameAs(result);
+
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void upsertItems_dbDown_wrapsAsPersistenceException() {
+        List<ItemDocument> items = List.of(new ItemDocument());
+        when(bulkUpserter.upsert(eq(ItemDocument.class), eq(items), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> service.upsertItems(items))
+                .isInstanceOf(ItemPersistenceException.class)
+                .hasMessageContaining("Failed to bulk upsert items");
+    }
 }
@@ -0,0 +1,121 @@
+package org.springy.som.modulith.domain.item.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.item.api.ItemMapper;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
+import org.springy.som.modulith.web.NdjsonStreams;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ItemService.class, CacheInvalidations.class, MongoBulkUpserter.class})
+class ItemStreamingIntegrationTest {
+    private static final int DOCUMENTS = 500_000;
+    private static final int BATCH = 10_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mongodb.embedded.version", () -> "4.0.2");
+        registry.add("spring.mongodb.embedded.port", () -> 0);
+        registry.add("spring.data.mongodb.database", () -> "som-test");
+    }
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void streamAllItems_halfMillionDocuments_heapStaysFlat() {
+        seed();
+        long baseline = usedHeapAfterGc();
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicLong mapped = new AtomicLong();
+        CountingOutputStream out = new CountingOutputStream();
+
+        long written;
+        try (Stream<ItemDocument> documents = itemService.streamAllItems()) {
+            written = NdjsonStreams.write(documents, doc -> {
+                if (mapped.incrementAndGet() % 50_000 == 0) {
+                    peak.accumulateAndGet(usedHeapAfterGc(), Math::max);
+                }
+                return ItemMapper.toView(doc);
+            }, new ObjectMapper(), out);
+        }
+
+        assertThat(written).isEqualTo(DOCUMENTS);
+        assertThat(out.lines).isEqualTo(DOCUMENTS);
+        assertThat(peak.get() - baseline).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    private void seed() {
+        String description = "A plain item used to pad the document to a realistic size. ".repeat(4);
+        List<ItemDocument> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            ItemDocument doc = new ItemDocument();
+            doc.setAreaId("A" + (i % 300));
+            doc.setVnum(String.valueOf(i));
+            doc.setName("item " + i);
+            doc.setShortDescription("item number " + i);
+            doc.setLongDescription(description);
+            batch.add(doc);
+            if (batch.size() == BATCH) {
+                mongoTemplate.insert(batch, ItemDocument.class);
+                batch = new ArrayList<>(BATCH);
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, ItemDocument.class);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.springy.som.modulith.domain.item.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.item.api.ItemMapper;
+import org.springy.som.modulith.domain.item.api.ItemView;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataMongoTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ItemService.class, CacheInvalidations.class, MongoBulkUpserter.class})
+class ItemViewProjectionIntegrationTest {
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mongodb.embedded.version", () -> "4.0.2");
+        registry.add("spring.mongodb.embedded.port", () -> 0);
+        registry.add("spring.data.mongodb.database", () -> "som-test");
+    }
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void projectedViews_matchMappedDocuments() {
+        ItemDocument sword = itemRepository.save(item("I1", "1", "sword"));
+        ItemDocument potion = itemRepository.save(item("I2", "2", "potion"));
+
+        assertThat(itemService.getItemViewById("I1")).isEqualTo(ItemMapper.toView(sword));
+        assertThat(itemService.getAllItemViews())
+                .containsExactlyInAnyOrder(ItemMapper.toView(sword), ItemMapper.toView(potion));
+        try (Stream<ItemView> views = itemService.streamAllItemViews()) {
+            assertThat(views).containsExactlyInAnyOrder(ItemMapper.toView(sword), ItemMapper.toView(potion));
+        }
+    }
+
+    @Test
+    void getItemViewById_missing_throwsNotFound() {
+        assertThatThrownBy(() -> itemService.getItemViewById("missing"))
+                .isInstanceOf(ItemNotFoundException.class);
+    }
+
+    private static ItemDocument item(String id, String vnum, String name) {
+        ItemDocument doc = new ItemDocument();
+        doc.setId(id);
+        doc.setAreaId("A1");
+        doc.setVnum(vnum);
+        doc.setName(name);
+        doc.setShortDescription("a " + name);
+        doc.setItemType("weapon");
+        doc.setLevel(5);
+        doc.setWeight(3);
+        doc.setCost(100);
+        doc.setAffectData(List.of("hitroll 1"));
+        doc.setExtraDescr(List.of());
+        return doc;
+    }
+}
@@ -41,18 +41,18 @@ public class MobileControllerTest {
 
     @Test
     void getAllMobiles_ok() throws Exception {
-        when(mobileService.getAllMobiles()).thenReturn(java.util.List.of());
+        when(mobileService.getAllMobileViews()).thenReturn(java.util.List.of());
 
         mockMvc.perform(get("/api/v1/mobiles"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
-        verify(mobileService).getAllMobiles();
+        verify(mobileService).getAllMobileViews();
     }
 
     @Test
     void getMobileById_notFound_becomes404ProblemDetail() throws Exception {
-        when(mobileService.getMobileById("A1")).thenThrow(new MobileNotFoundException("A1"));
+        when(mobileService.getMobileViewById("A1")).thenThrow(new MobileNotFoundException("A1"));
 
         mockMvc.perform(get("/api/v1/mobiles/A1"))
                 .andExpect(status().isNotFound())
@@ -61,12 +61,12 @@ public class MobileControllerTest {
                 .andExpect(jsonPath("$.title").exists())
                 .andExpect(jsonPath("$.detail").exists());
 
-        verify(mobileService).getMobileById("A1");
+        verify(mobileService).getMobileViewById("A1");
     }
 
     @Test
     void getMobileById_blankId_becomes400ProblemDetail() throws Exception {
-        when(mobileService.getMobileById(anyString())).thenThrow(new InvalidMobileException("ItemDocument id must be provided"));
+        when(mobileService.getMobileViewById(anyString())).thenThrow(new InvalidMobileException("ItemDocument id must be provided"));
 
         mockMvc.perform(get("/api/v1/mobiles/{id}", "  ")
                         .accept(MediaType.APPLICATION_JSON))
@@ -76,20 +76,20 @@ public class MobileControllerTest {
                 .andExpect(jsonPath("$.title").exists())
                 .andExpect(jsonPath("$.detail").exists());
 
-        verify(mobileService).getMobileById("  ");
+        verify(mobileService).getMobileViewById("  ");
     }
 
 
     @Test
     void getAllMobiles_persistenceDown_becomes503ProblemDetail() throws Exception {
-        when(mobileService.getAllMobiles()).thenThrow(new MobilePersistenceException("Failed to load items"));
+        when(mobileService.getAllMobileViews()).thenThrow(new MobilePersistenceException("Failed to load items"));
 
         mockMvc.perform(get("/api/v1/mobiles"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(503));
 
-        verify(mobileService).getAllMobiles();
+        verify(mobileService).getAllMobileViews();
     }
 
     @Test
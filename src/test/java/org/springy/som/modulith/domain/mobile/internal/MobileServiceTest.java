@@ -3,13 +3,18 @@ package org.springy.som.modulith.domain.mobile.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
 import org.springy.som.modulith.domain.command.internal.CommandDocument;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -22,11 +27,15 @@ class MobileServiceTest {
 
     @Mock
     private MobileRepository repo;
+    @Mock
+    private MongoBulkUpserter bulkUpserter;
+    @Mock
+    private CacheInvalidations cacheInvalidations;
     private MobileService service;
 
     @BeforeEach
     void setUp() {
-        service = new MobileService(repo);
+        service = new MobileService(repo, bulkUpserter, cacheInvalidations);
     }
 
     @Test
@@ -112,16 +121,18 @@ class MobileServiceTest {
     @Test
     void createMobile_duplicateVnum_becomesDuplicateMobileException() {
         MobileDocument mobileDocument = mock(MobileDocument.class);
-        MobileDocument existing = mock(MobileDocument.class);
         when(mobileDocument.getId()).thenReturn("M1");
         when(mobileDocument.getVnum()).thenReturn("1001");
-        when(repo.findMobileByVnum("1001")).thenReturn(existing);
+        when(repo.insert(mobileDocument)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: SOMDB.Mobiles index: vnum dup key: { vnum: \"1001\" }"));
+        when(repo.existsById("M1")).thenReturn(false);
 
         assertThatThrownBy(() -> service.createMobile(mobileDocument))
                 .isInstanceOf(DuplicateMobileException.class)
                 .hasMessageContaining("Mobile with vnum '1001' already exists");
 
-        verify(repo).findMobileByVnum("1001");
+        verify(repo).insert(mobileDocument);
+        verify(repo).existsById("M1");
         verifyNoMoreInteractions(repo);
     }
 
@@ -130,13 +141,11 @@ class MobileServiceTest {
         MobileDocument mobileDocument = mock(MobileDocument.class);
         when(mobileDocument.getId()).thenReturn("M1");
         when(mobileDocument.getVnum()).thenReturn("1001");
-        when(repo.findMobileByVnum("1001")).thenReturn(null);
-        when(repo.save(mobileDocument)).thenReturn(mobileDocument);
+        when(repo.insert(mobileDocument)).thenReturn(mobileDocument);
 
         assertThat(service.createMobile(mobileDocument)).isSameAs(mobileDocument);
 
-        verify(repo).findMobileByVnum("1001");
-        verify(repo).save(mobileDocument);
+        verify(repo).insert(mobileDocument);
         verifyNoMoreInteractions(repo);
     }
 
@@ -145,15 +154,13 @@ class MobileServiceTest {
         MobileDocument mobileDocument = mock(MobileDocument.class);
         when(mobileDocument.getId()).thenReturn("M1");
         when(mobileDocument.getVnum()).thenReturn("1001");
-        when(repo.findMobileByVnum("1001")).thenReturn(null);
-        when(repo.save(mobileDocument)).thenThrow(new DataAccessResourceFailureException("db down"));
+        when(repo.insert(mobileDocument)).thenThrow(new DataAccessResourceFailureException("db down"));
 
         assertThatThrownBy(() -> service.createMobile(mobileDocument))
                 .isInstanceOf(MobilePersistenceException.class)
                 .hasMessageContaining("Failed to create mobile");
 
-        verify(repo).findMobileByVnum("1001");
-        verify(repo).save(mobileDocument);
+        verify(repo).insert(mobileDocument);
         verifyNoMoreInteractions(repo);
     }
 
@@ -170,48 +177,49 @@ class MobileServiceTest {
     }
 
     @Test
-    void saveMobileForId_blankId_becomesNullPointerException() {
-        MobileDocument input = mock(MobileDocument.class);
-        when(repo.findMobileById("M1")).thenReturn(null);
-
-        assertThatThrownBy(() -> service.saveMobileForId("M1", input))
-                .isInstanceOf(NullPointerException.class);
+    void saveMobileForId_blankId_throwsInvalidMobileException() {
+        assertThatThrownBy(() -> service.saveMobileForId(" ", new MobileDocument()))
+                .isInstanceOf(InvalidMobileException.class);
 
-        verify(repo).findMobileById("M1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveMobileForId_nullMobile_becomesInvalidMobileException() {
-        when(repo.findMobileById("M1")).thenReturn(null);
-
+    void saveMobileForId_nullMobile_throwsInvalidMobileException() {
         assertThatThrownBy(() -> service.saveMobileForId("M1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidMobileException.class);
 
-        verify(repo).findMobileById("M1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveMobileForId_ok_savesByLookup() {
-        MobileDocument input = mock(MobileDocument.class);
-        MobileDocument existing = mock(MobileDocument.class);
-
-        when(existing.getId()).thenReturn("M1");
-        when(input.getId()).thenReturn("M1");
-        when(repo.findMobileById("M1")).thenReturn(existing);
+    void saveMobileForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        MobileDocument input = new MobileDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
         assertThat(service.saveMobileForId("M1", input)).isSameAs(input);
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findMobileById("M1");
-        verify(existing, times(1)).getId();
-        verify(input, times(1)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("M1");
+        verify(repo).save(input);
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void saveMobileForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        MobileDocument input = new MobileDocument();
+        input.setVersion(3L);
+        MobileDocument current = new MobileDocument();
+        current.setId("M1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("M1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.saveMobileForId("M1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deleteMobileById_blankId_becomesInvalidMobileException() {
         assertThatThrownBy(() -> service.deleteMobileById(""))
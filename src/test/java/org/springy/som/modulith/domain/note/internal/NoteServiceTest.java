@@ -3,19 +3,19 @@ package org.springy.som.modulith.domain.note.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.exception.VersionConflictException;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -135,58 +135,47 @@ class NoteServiceTest {
 
 
     @Test
-    void saveNoteForId_blankId_throwsNullPointerException() {
-        NoteDocument n = mock(NoteDocument.class);
-        when(repo.findNoteById("  ")).thenReturn(null);
-
-        assertThatThrownBy(() -> service.saveNoteForId("  ", n))
-                .isInstanceOf(NullPointerException.class);
+    void saveNoteForId_blankId_throwsInvalidNoteException() {
+        assertThatThrownBy(() -> service.saveNoteForId(" ", new NoteDocument()))
+                .isInstanceOf(InvalidNoteException.class);
 
-        verify(repo).findNoteById("  ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveNoteForId_nullNote_throwsNullPointerException() {
-        when(repo.findNoteById("N1")).thenReturn(null);
-
+    void saveNoteForId_nullNote_throwsInvalidNoteException() {
         assertThatThrownBy(() -> service.saveNoteForId("N1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidNoteException.class);
 
-        verify(repo).findNoteById("N1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveNoteForId_blankNoteId_throwsNullPointerException() {
-        NoteDocument input = mock(NoteDocument.class);
-        when(repo.findNoteById("N1")).thenReturn(null);
+    void saveNoteForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        NoteDocument input = new NoteDocument();
+        input.setVersion(3L);
+        when(repo.save(input)).thenReturn(input);
 
-        assertThatThrownBy(() -> service.saveNoteForId("N1", input))
-                .isInstanceOf(NullPointerException.class);
+        assertThat(service.saveNoteForId("N1", input)).isSameAs(input);
 
-        verify(repo).findNoteById("N1");
+        assertThat(input.getId()).isEqualTo("N1");
+        verify(repo).save(input);
         verifyNoMoreInteractions(repo);
     }
 
     @Test
-    void saveNoteForId_success_savesLookupResult() {
-        NoteDocument payload = mock(NoteDocument.class);
-        NoteDocument existing = mock(NoteDocument.class);
+    void saveNoteForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        NoteDocument input = new NoteDocument();
+        input.setVersion(3L);
+        NoteDocument current = new NoteDocument();
+        current.setId("N1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("N1")).thenReturn(Optional.of(current));
 
-        when(existing.getId()).thenReturn("N1");
-        when(repo.findNoteById("N1")).thenReturn(existing);
-        when(repo.save(payload)).thenReturn(payload);
-
-        NoteDocument out = service.saveNoteForId("N1", payload);
-
-        assertThat(out).isSameAs(payload);
-
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findNoteById("N1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(payload);
-        verifyNoMoreInteractions(repo);
+        assertThatThrownBy(() -> service.saveNoteForId("N1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
     }
 
     @Test
@@ -3,12 +3,14 @@ package org.springy.som.modulith.domain.player.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.exception.VersionConflictException;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -122,46 +124,49 @@ class PlayerServiceTest {
     }
 
     @Test
-    void savePlayerAccountForId_blankId_becomesInvalidPlayerException() {
-        PlayerDocument account = mock(PlayerDocument.class);
-        when(repo.findPlayerAccountById(" ")).thenReturn(null);
-
-        assertThatThrownBy(() -> service.savePlayerAccountForId(" ", account))
-                .isInstanceOf(NullPointerException.class);
+    void savePlayerAccountForId_blankId_throwsInvalidPlayerException() {
+        assertThatThrownBy(() -> service.savePlayerAccountForId(" ", new PlayerDocument()))
+                .isInstanceOf(InvalidPlayerException.class);
 
-        verify(repo).findPlayerAccountById(" ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void savePlayerAccountForId_nullAccount_becomesInvalidPlayerException() {
-        when(repo.findPlayerAccountById("P1")).thenReturn(null);
-
+    void savePlayerAccountForId_nullAccount_throwsInvalidPlayerException() {
         assertThatThrownBy(() -> service.savePlayerAccountForId("P1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidPlayerException.class);
 
-        verify(repo).findPlayerAccountById("P1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void savePlayerAccountForId_ok_savesByLookup() {
-        PlayerDocument input = mock(PlayerDocument.class);
-        PlayerDocument existing = mock(PlayerDocument.class);
-
-        when(existing.getId()).thenReturn("P1");
-        when(repo.findPlayerAccountById("P1")).thenReturn(existing);
+    void savePlayerAccountForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        PlayerDocument input = new PlayerDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
         assertThat(service.savePlayerAccountForId("P1", input)).isSameAs(input);
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findPlayerAccountById("P1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("P1");
+        verify(repo).save(input);
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void savePlayerAccountForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        PlayerDocument input = new PlayerDocument();
+        input.setVersion(3L);
+        PlayerDocument current = new PlayerDocument();
+        current.setId("P1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("P1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.savePlayerAccountForId("P1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deletePlayerAccountById_blankId_becomesInvalidPlayerException() {
         assertThatThrownBy(() -> service.deletePlayerAccountById(""))
@@ -1,6 +1,7 @@
 package org.springy.som.modulith.domain.race.internal;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -9,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -27,7 +29,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(RaceController.class)
-@Import(RaceApiExceptionHandler.class)
+@Import({RaceApiExceptionHandler.class, CollectionSnapshots.class})
 @WithMockUser
 public class RaceControllerTest {
     @Autowired
@@ -36,18 +38,26 @@ public class RaceControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    CollectionSnapshots collectionSnapshots;
+
     @MockitoBean
     RaceService raceService;
 
+    @BeforeEach
+    void resetSnapshots() {
+        collectionSnapshots.touch("races");
+    }
+
     @Test
     void getAllPlayers_ok() throws Exception {
-        when(raceService.getAllRaces()).thenReturn(java.util.List.of());
+        when(raceService.loadAllRaces()).thenReturn(java.util.List.of());
 
         mockMvc.perform(get("/api/v1/races"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
-        verify(raceService).getAllRaces();
+        verify(raceService).loadAllRaces();
     }
 
     @Test
@@ -82,14 +92,14 @@ public class RaceControllerTest {
 
     @Test
     void getAllPlayer_persistenceDown_becomes503ProblemDetail() throws Exception {
-        when(raceService.getAllRaces()).thenThrow(new RacePersistenceException("Failed to load players"));
+        when(raceService.loadAllRaces()).thenThrow(new RacePersistenceException("Failed to load players"));
 
         mockMvc.perform(get("/api/v1/races"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(503));
 
-        verify(raceService).getAllRaces();
+        verify(raceService).loadAllRaces();
     }
 
     @Test
@@ -3,12 +3,18 @@ package org.springy.som.modulith.domain.race.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.race.api.RaceChangedEvent;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -21,11 +27,17 @@ class RaceServiceTest {
 
     @Mock
     private RaceRepository repo;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CollectionSnapshots collectionSnapshots;
+    @Mock
+    private CacheInvalidations cacheInvalidations;
     private RaceService service;
 
     @BeforeEach
     void setUp() {
-        service = new RaceService(repo);
+        service = new RaceService(repo, eventPublisher, collectionSnapshots, cacheInvalidations);
     }
 
     @Test
@@ -39,6 +51,15 @@ class RaceServiceTest {
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void loadAllRaces_dbFailure_becomesPersistenceExceptionInsteadOfEmptyList() {
+        when(repo.findAll()).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> service.loadAllRaces())
+                .isInstanceOf(RacePersistenceException.class)
+                .hasMessageContaining("Failed to load races");
+    }
+
     @Test
     void getRomRaceByName_delegates() {
         RaceDocument race = mock(RaceDocument.class);
@@ -91,6 +112,7 @@ class RaceServiceTest {
         assertThat(service.createRace(race)).isSameAs(race);
 
         verify(repo).save(race);
+        verify(eventPublisher).publishEvent(any(RaceChangedEvent.class));
         verifyNoMoreInteractions(repo);
     }
 
@@ -123,46 +145,50 @@ class RaceServiceTest {
     }
 
     @Test
-    void saveRomRaceForId_blankId_becomesInvalidRomRaceException() {
-        RaceDocument race = mock(RaceDocument.class);
-        when(repo.findRomRaceById(" ")).thenReturn(null);
-
-        assertThatThrownBy(() -> service.saveRaceForId(" ", race))
-                .isInstanceOf(NullPointerException.class);
+    void saveRaceForId_blankId_throwsInvalidRomRaceException() {
+        assertThatThrownBy(() -> service.saveRaceForId(" ", new RaceDocument()))
+                .isInstanceOf(InvalidRomRaceException.class);
 
-        verify(repo).findRomRaceById(" ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveRomRaceForId_nullRace_becomesInvalidRomRaceException() {
-        when(repo.findRomRaceById("R1")).thenReturn(null);
-
+    void saveRaceForId_nullRace_throwsInvalidRomRaceException() {
         assertThatThrownBy(() -> service.saveRaceForId("R1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidRomRaceException.class);
 
-        verify(repo).findRomRaceById("R1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveRomRaceForId_ok_savesByLookup() {
-        RaceDocument input = mock(RaceDocument.class);
-        RaceDocument existing = mock(RaceDocument.class);
-
-        when(existing.getId()).thenReturn("R1");
-        when(repo.findRomRaceById("R1")).thenReturn(existing);
+    void saveRaceForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        RaceDocument input = new RaceDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
         assertThat(service.saveRaceForId("R1", input)).isSameAs(input);
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findRomRaceById("R1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("R1");
+        verify(repo).save(input);
+        verify(eventPublisher).publishEvent(any(RaceChangedEvent.class));
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void saveRaceForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        RaceDocument input = new RaceDocument();
+        input.setVersion(3L);
+        RaceDocument current = new RaceDocument();
+        current.setId("R1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("R1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.saveRaceForId("R1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deleteRomRaceById_blankId_becomesInvalidRomRaceException() {
         assertThatThrownBy(() -> service.deleteRaceById(""))
@@ -191,6 +217,7 @@ class RaceServiceTest {
 
         verify(repo).existsById("R1");
         verify(repo).deleteById("R1");
+        verify(eventPublisher).publishEvent(any(RaceChangedEvent.class));
         verifyNoMoreInteractions(repo);
     }
 
@@ -216,6 +243,7 @@ class RaceServiceTest {
 
         verify(repo).count();
         verify(repo).deleteAll();
+        verify(eventPublisher).publishEvent(any(RaceChangedEvent.class));
         verifyNoMoreInteractions(repo);
     }
 
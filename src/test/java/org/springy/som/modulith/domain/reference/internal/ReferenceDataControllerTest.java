@@ -0,0 +1,58 @@
+package org.springy.som.modulith.domain.reference.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.domain.reference.api.CharacterStatsView;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReferenceDataController.class)
+@Import(ReferenceApiExceptionHandler.class)
+@WithMockUser
+public class ReferenceDataControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    ReferenceDataService referenceDataService;
+
+    @Test
+    void getCharacterStats_ok() throws Exception {
+        when(referenceDataService.getCharacterStats("dwarf", "warrior", 10))
+                .thenReturn(new CharacterStatsView("R2", "C4", 10, 17, 12, 14, 10, 15, 11, 15, 11, 75, false, 1750));
+
+        mockMvc.perform(get("/api/v1/reference/stats")
+                        .param("race", "dwarf")
+                        .param("class", "warrior")
+                        .param("level", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.str").value(17))
+                .andExpect(jsonPath("$.thac0").value(11));
+
+        verify(referenceDataService).getCharacterStats("dwarf", "warrior", 10);
+    }
+
+    @Test
+    void getCharacterStats_unknownRace_becomes404ProblemDetail() throws Exception {
+        when(referenceDataService.getCharacterStats("gnome", "warrior", 1))
+                .thenThrow(new ReferenceNotFoundException("race gnome"));
+
+        mockMvc.perform(get("/api/v1/reference/stats")
+                        .param("race", "gnome")
+                        .param("class", "warrior"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.detail").value("race gnome"));
+    }
+}
@@ -0,0 +1,180 @@
+package org.springy.som.modulith.domain.reference.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springy.som.modulith.domain.clazz.api.ClassApi;
+import org.springy.som.modulith.domain.clazz.api.ClassChangedEvent;
+import org.springy.som.modulith.domain.clazz.internal.ClassDocument;
+import org.springy.som.modulith.domain.race.api.RaceApi;
+import org.springy.som.modulith.domain.race.api.RaceChangedEvent;
+import org.springy.som.modulith.domain.race.internal.RaceDocument;
+import org.springy.som.modulith.domain.reference.api.CharacterStatsView;
+import org.springy.som.modulith.domain.reference.api.ClassTable;
+import org.springy.som.modulith.domain.reference.api.RaceTable;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataServiceTest {
+    @Mock
+    private RaceApi raceApi;
+    @Mock
+    private ClassApi classApi;
+    private ReferenceTables referenceTables;
+    private ReferenceDataService service;
+
+    @BeforeEach
+    void setUp() {
+        referenceTables = new ReferenceTables(raceApi, classApi, true);
+        service = new ReferenceDataService(referenceTables);
+    }
+
+    @Test
+    void tables_loadOnceAtStartupAndIndexByIdOrName() {
+        load();
+
+        RaceTable races = service.getRaceTable();
+        ClassTable classes = service.getClassTable();
+        int dwarf = races.ordinal("Dwarf");
+        int warrior = classes.ordinal("C4");
+
+        assertThat(races.ordinal("R2")).isEqualTo(dwarf);
+        assertThat(races.stat(dwarf, RaceTable.CON)).isEqualTo(15);
+        assertThat(races.maxStat(dwarf, RaceTable.STR)).isEqualTo(20);
+        assertThat(races.classMultiplier(dwarf, warrior)).isEqualTo(100);
+        assertThat(races.classMultiplier(dwarf, classes.ordinal("mage"))).isEqualTo(150);
+        assertThat(classes.thac0(warrior, 32)).isEqualTo(-10);
+        assertThat(classes.thac0(warrior, 16)).isEqualTo(5);
+        assertThat(races.ordinal("gnome")).isEqualTo(-1);
+        verify(raceApi, times(1)).streamAllBy();
+        verify(classApi, times(1)).streamAllBy();
+    }
+
+    @Test
+    void getCharacterStats_appliesPrimeBonusCappedAtRaceMaximum() {
+        load();
+
+        CharacterStatsView warrior = service.getCharacterStats("dwarf", "warrior", 10);
+        CharacterStatsView mage = service.getCharacterStats("R2", "C1", 1);
+
+        assertThat(warrior.str()).isEqualTo(17);
+        assertThat(warrior.thac0()).isEqualTo(11);
+        assertThat(warrior.hpGainMin()).isEqualTo(11);
+        assertThat(warrior.hpGainMax()).isEqualTo(15);
+        assertThat(warrior.usesMana()).isFalse();
+        assertThat(warrior.expPerLevel()).isEqualTo(1750);
+        assertThat(mage.INT()).isEqualTo(15);
+        assertThat(mage.expPerLevel()).isEqualTo(2625);
+    }
+
+    @Test
+    void getCharacterStats_unknownRace_becomesReferenceNotFoundException() {
+        load();
+
+        assertThatThrownBy(() -> service.getCharacterStats("gnome", "warrior", 1))
+                .isInstanceOf(ReferenceNotFoundException.class)
+                .hasMessageContaining("gnome");
+    }
+
+    @Test
+    void getCharacterStats_blankClass_becomesInvalidReferenceException() {
+        assertThatThrownBy(() -> service.getCharacterStats("dwarf", " ", 1))
+                .isInstanceOf(InvalidReferenceException.class)
+                .hasMessage("ROM class id or name must be provided");
+
+        verifyNoInteractions(raceApi, classApi);
+    }
+
+    @Test
+    void raceChanged_reloadsRacesOnNextRead() {
+        load();
+        when(raceApi.streamAllRaces()).thenReturn(Stream.of(race("R1", "Human", 13, List.of())));
+
+        referenceTables.onRaceChanged(new RaceChangedEvent("R2"));
+
+        assertThat(service.getRaceTable().size()).isEqualTo(1);
+        assertThat(service.getClassTable().size()).isEqualTo(2);
+        verify(raceApi, times(2)).streamAllBy();
+        verify(classApi, times(1)).streamAllBy();
+    }
+
+    @Test
+    void classChanged_reloadsClassesOnNextRead() {
+        load();
+        when(classApi.streamAllClasses()).thenReturn(Stream.of(clazz("C1", "mage", "INT", 20, 6, 6, 8, true)));
+
+        referenceTables.onClassChanged(new ClassChangedEvent(null));
+
+        assertThat(service.getClassTable().size()).isEqualTo(1);
+        assertThat(service.getRaceTable().size()).isEqualTo(2);
+        verify(classApi, times(2)).streamAllClasses();
+        verify(raceApi, times(1)).streamAllRaces();
+    }
+
+    @Test
+    void getRaceTable_dataAccess_becomesReferencePersistenceException() {
+        when(raceApi.streamAllRaces()).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> service.getRaceTable())
+                .isInstanceOf(ReferencePersistenceException.class)
+                .hasMessageContaining("Failed to load races");
+    }
+
+    @Test
+    void expPerLevel_followsRomCreationPointCurve() {
+        assertThat(ReferenceDataService.expPerLevel(30, 100)).isEqualTo(1000);
+        assertThat(ReferenceDataService.expPerLevel(45, 100)).isEqualTo(1250);
+        assertThat(ReferenceDataService.expPerLevel(60, 100)).isEqualTo(2000);
+        assertThat(ReferenceDataService.expPerLevel(80, 100)).isEqualTo(4000);
+        assertThat(ReferenceDataService.expPerLevel(60, 150)).isEqualTo(3000);
+    }
+
+    private void load() {
+        RaceDocument dwarf = race("R2", "Dwarf", 55, List.of(150, 100, 125, 100));
+        dwarf.setStr(14);
+        dwarf.setMaxStr(20);
+        dwarf.setINT(12);
+        dwarf.setMaxInt(16);
+        dwarf.setCon(15);
+        dwarf.setMaxCon(21);
+        when(raceApi.streamAllRaces()).thenReturn(Stream.of(race("R1", "Human", 40, List.of()), dwarf));
+        when(classApi.streamAllClasses()).thenReturn(Stream.of(
+                clazz("C1", "mage", "INT", 20, 6, 6, 8, true),
+                clazz("C4", "warrior", "STR", 20, -10, 11, 15, false)));
+        referenceTables.warmupTasks().forEach(WarmupTask::run);
+    }
+
+    private static RaceDocument race(String id, String name, int points, List<Integer> classMultiplier) {
+        RaceDocument doc = new RaceDocument();
+        doc.setId(id);
+        doc.setName(name);
+        doc.setPoints(points);
+        doc.setClassMultiplier(classMultiplier);
+        return doc;
+    }
+
+    private static ClassDocument clazz(String id, String name, String prime, int thac0At0, int thac0At32,
+                                       int hpMin, int hpMax, boolean usesMana) {
+        ClassDocument doc = new ClassDocument();
+        doc.setId(id);
+        doc.setName(name);
+        doc.setPrimaryAttribute(prime);
+        doc.setSkillAdept(75);
+        doc.setThac0_00(thac0At0);
+        doc.setThac0_32(thac0At32);
+        doc.setHpMin(hpMin);
+        doc.setHpMax(hpMax);
+        doc.setFMana(usesMana);
+        return doc;
+    }
+}
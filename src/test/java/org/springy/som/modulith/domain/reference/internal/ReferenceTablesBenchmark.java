@@ -0,0 +1,100 @@
+package org.springy.som.modulith.domain.reference.internal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springy.som.modulith.domain.clazz.api.ClassMapper;
+import org.springy.som.modulith.domain.clazz.api.ClassView;
+import org.springy.som.modulith.domain.clazz.internal.ClassDocument;
+import org.springy.som.modulith.domain.race.api.RaceMapper;
+import org.springy.som.modulith.domain.race.api.RaceView;
+import org.springy.som.modulith.domain.race.internal.RaceDocument;
+import org.springy.som.modulith.domain.reference.api.ClassTable;
+import org.springy.som.modulith.domain.reference.api.RaceTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-lookup cost of {@link RaceTable} and {@link ClassTable} reads, by id and by pre-resolved ordinal.
+ * Run with {@code main} from the test classpath; surefire does not pick it up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReferenceTablesBenchmark {
+    private static final String[] RACES = {"human", "elf", "dwarf", "giant", "pixie", "halfling", "half-orc", "gnome"};
+    private static final String[] CLASSES = {"mage", "cleric", "thief", "warrior"};
+
+    private RaceTable races;
+    private ClassTable classes;
+    private int dwarf;
+    private int warrior;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReferenceTablesBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        List<RaceView> raceViews = new ArrayList<>();
+        for (int i = 0; i < RACES.length; i++) {
+            RaceDocument doc = new RaceDocument();
+            doc.setId("R" + i);
+            doc.setName(RACES[i]);
+            doc.setStr(12 + i % 4);
+            doc.setMaxStr(18 + i % 4);
+            doc.setClassMultiplier(List.of(100, 125, 110, 150));
+            raceViews.add(RaceMapper.toView(doc));
+        }
+        List<ClassView> classViews = new ArrayList<>();
+        for (int i = 0; i < CLASSES.length; i++) {
+            ClassDocument doc = new ClassDocument();
+            doc.setId("C" + i);
+            doc.setName(CLASSES[i]);
+            doc.setThac0_00(20);
+            doc.setThac0_32(6 - 4 * i);
+            classViews.add(ClassMapper.toView(doc));
+        }
+        races = RaceTable.of(raceViews);
+        classes = ClassTable.of(classViews);
+        dwarf = races.ordinal("dwarf");
+        warrior = classes.ordinal("warrior");
+    }
+
+    @Benchmark
+    public int statByOrdinal() {
+        return races.stat(dwarf, RaceTable.STR);
+    }
+
+    @Benchmark
+    public int thac0ByOrdinal() {
+        return classes.thac0(warrior, 17);
+    }
+
+    @Benchmark
+    public int statById() {
+        return races.stat(races.ordinal("R2"), RaceTable.STR);
+    }
+
+    @Benchmark
+    public int classMultiplierByName() {
+        return races.classMultiplier(races.ordinal("Dwarf"), classes.ordinal("Warrior"));
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springy.som.modulith.domain.race.internal.InvalidRomRaceException;
 import org.springy.som.modulith.domain.race.internal.RaceNotFoundException;
 import org.springy.som.modulith.domain.race.internal.RacePersistenceException;
+import org.springy.som.modulith.web.KeysetPage;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -64,6 +65,23 @@ public class ResetControllerTest {
         verify(resetService).getAllResetsByAreaId(anyString());
     }
 
+    @Test
+    void getResetsPageByAreaId_withSize_returnsItemsAndNextToken() throws Exception {
+        ResetDocument reset = new ResetDocument();
+        reset.setId("R1");
+        reset.setAreaId("A1");
+        when(resetService.getResetsPageByAreaId("A1", null, 1))
+                .thenReturn(new KeysetPage<>(java.util.List.of(reset), KeysetPage.encode("R1")));
+
+        mockMvc.perform(get("/api/v1/resets/area/A1").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value("R1"))
+                .andExpect(jsonPath("$.next").value(KeysetPage.encode("R1")));
+
+        verify(resetService).getResetsPageByAreaId("A1", null, 1);
+        verifyNoMoreInteractions(resetService);
+    }
+
     @Test
     void getResetById_notFound_becomes404ProblemDetail() throws Exception {
         when(resetService.getResetById("A1")).thenThrow(new RaceNotFoundException("A1"));
@@ -0,0 +1,208 @@
+package org.springy.som.modulith.domain.reset.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.area.api.AreasDeletedEvent;
+import org.springy.som.modulith.domain.reset.api.AreaResetEvent;
+import org.springy.som.modulith.domain.reset.api.ResetTarget;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springy.som.modulith.domain.reset.internal.ResetProgramTest.reset;
+
+class ResetEngineTest {
+    private static final int AREAS = 300;
+    private static final int PARALLELISM = 4;
+
+    private final ResetRepository repo = mock(ResetRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, AtomicInteger> resetsByArea = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private ResetEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void start_resetsHundredsOfAreasInParallelOnTheBoundedPool() {
+        List<String> areaIds = areaIds(AREAS);
+        when(repo.findDistinctAreaIds()).thenReturn(areaIds);
+        when(repo.findAllByAreaId(anyString())).thenAnswer(invocation -> program(invocation.getArgument(0)));
+        engine = engine(new SlowTarget(), 300);
+
+        engine.start();
+
+        assertThat(engine.scheduledAreas()).isEqualTo(AREAS);
+        await().atMost(Duration.ofSeconds(20))
+                .until(() -> resetsByArea.size() == AREAS && resetsByArea.values().stream().allMatch(count -> count.get() >= 2));
+        assertThat(maxRunning.get()).isBetween(2, PARALLELISM);
+        assertThat(threads).hasSizeLessThanOrEqualTo(PARALLELISM);
+        // Each area was compiled once and then rerun from memory.
+        verify(repo, times(AREAS)).findAllByAreaId(anyString());
+        assertThat(meterRegistry.get("som.resets.duration").timer().count()).isGreaterThanOrEqualTo(2L * AREAS);
+        assertThat(meterRegistry.find("som.resets.duration").timers()).hasSize(1);
+    }
+
+    @Test
+    void phase_spreadsAreasOverTheInterval() {
+        engine = engine(ResetTarget.ACCEPT_ALL, 60_000);
+        int[] perSecond = new int[60];
+
+        for (String areaId : areaIds(600)) {
+            long phase = engine.phase(areaId);
+            assertThat(phase).isBetween(0L, 59_999L);
+            perSecond[(int) (phase / 1000)]++;
+        }
+
+        // Ten areas per second on average; consecutive ids must not bunch up on one tick.
+        assertThat(IntStream.of(perSecond).max().orElseThrow()).isLessThanOrEqualTo(25);
+        assertThat(IntStream.of(perSecond).filter(count -> count == 0).count()).isZero();
+    }
+
+    @Test
+    void reset_failingArea_keepsItsTimerAndCountsTheFailure() {
+        when(repo.findDistinctAreaIds()).thenReturn(List.of("area-ok", "area-bad"));
+        when(repo.findAllByAreaId(anyString())).thenAnswer(invocation -> program(invocation.getArgument(0)));
+        engine = engine(new ResetTarget() {
+            @Override
+            public boolean loadMobile(String areaId, String mobileVnum, int worldLimit, String roomVnum, int roomLimit) {
+                if (areaId.equals("area-bad")) {
+                    throw new IllegalStateException("broken mobile");
+                }
+                return true;
+            }
+        }, 50);
+
+        engine.start();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> meterRegistry.counter("som.resets.failures").count() >= 2);
+        assertThat(engine.scheduledAreas()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateReset_recompilesOnlyTheAreaHoldingIt() {
+        when(repo.findAllByAreaId(anyString())).thenAnswer(invocation -> program(invocation.getArgument(0)));
+        engine = engine(ResetTarget.ACCEPT_ALL, 60_000);
+        engine.reset("area-001");
+        engine.reset("area-002");
+
+        engine.invalidateReset("area-002-M");
+        engine.reset("area-001");
+        AreaResetEvent event = engine.reset("area-002");
+
+        verify(repo, times(1)).findAllByAreaId("area-001");
+        verify(repo, times(2)).findAllByAreaId("area-002");
+        assertThat(event.mobiles()).isEqualTo(1);
+        assertThat(event.objects()).isEqualTo(2);
+        assertThat(event.doors()).isEqualTo(1);
+    }
+
+    @Test
+    void onRemoteCacheInvalidation_recompilesTheAreaHoldingTheReset_orEverythingWhenIdIsNull() {
+        when(repo.findAllByAreaId(anyString())).thenAnswer(invocation -> program(invocation.getArgument(0)));
+        ResetDocument moved = reset("area-002-M", "M", "3000", "1", "3001", "1");
+        moved.setAreaId("area-002");
+        when(repo.findById("area-002-M")).thenReturn(Optional.of(moved));
+        engine = engine(ResetTarget.ACCEPT_ALL, 60_000);
+        engine.reset("area-001");
+        engine.reset("area-002");
+
+        engine.onRemoteCacheInvalidation(new RemoteCacheInvalidation(ResetService.COLLECTION, "area-002-M"));
+        engine.reset("area-001");
+        engine.reset("area-002");
+        verify(repo, times(1)).findAllByAreaId("area-001");
+        verify(repo, times(2)).findAllByAreaId("area-002");
+
+        engine.onRemoteCacheInvalidation(new RemoteCacheInvalidation(ResetService.COLLECTION, null));
+        engine.reset("area-001");
+        verify(repo, times(2)).findAllByAreaId("area-001");
+    }
+
+    @Test
+    void onAreasDeleted_cancelsTheAreasTimers() {
+        when(repo.findDistinctAreaIds()).thenReturn(areaIds(10));
+        engine = engine(ResetTarget.ACCEPT_ALL, 60_000);
+        engine.start();
+
+        engine.onAreasDeleted(new AreasDeletedEvent(List.of("area-003", "area-007")));
+        engine.invalidate("area-new");
+
+        assertThat(engine.scheduledAreas()).isEqualTo(9);
+    }
+
+    @Test
+    void start_withoutResetTargetBean_schedulesNothing() {
+        when(repo.findDistinctAreaIds()).thenReturn(areaIds(10));
+        engine = engine(new StaticListableBeanFactory(), 60_000);
+
+        engine.start();
+
+        assertThat(engine.isRunning()).isFalse();
+        assertThat(engine.scheduledAreas()).isZero();
+        verify(repo, times(0)).findDistinctAreaIds();
+    }
+
+    private ResetEngine engine(ResetTarget target, long intervalMillis) {
+        return engine(new StaticListableBeanFactory(Map.of("resetTarget", target)), intervalMillis);
+    }
+
+    private ResetEngine engine(StaticListableBeanFactory beans, long intervalMillis) {
+        return new ResetEngine(repo, beans.getBeanProvider(ResetTarget.class), event -> {
+            if (event instanceof AreaResetEvent reset) {
+                resetsByArea.computeIfAbsent(reset.areaId(), id -> new AtomicInteger()).incrementAndGet();
+            }
+        }, meterRegistry, true, intervalMillis, PARALLELISM);
+    }
+
+    private static List<String> areaIds(int count) {
+        return IntStream.range(0, count).mapToObj(i -> String.format("area-%03d", i)).toList();
+    }
+
+    private static List<ResetDocument> program(String areaId) {
+        return List.of(
+                reset(areaId + "-M", "M", "3000", "1", "3001", "1"),
+                reset(areaId + "-E", "E", "3020", "0", "16", null),
+                reset(areaId + "-O", "O", "3010", "0", "3001", null),
+                reset(areaId + "-D", "D", "3001", "0", "1", null));
+    }
+
+    /** Holds each mobile load briefly so runs on different areas overlap. */
+    private class SlowTarget implements ResetTarget {
+        @Override
+        public boolean loadMobile(String areaId, String mobileVnum, int worldLimit, String roomVnum, int roomLimit) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            threads.add(Thread.currentThread().getName());
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.springy.som.modulith.domain.reset.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springy.som.modulith.domain.reset.api.ResetTarget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResetProgramTest {
+
+    @Test
+    void compile_dropsUnknownCommandsAndUnreadableNumbers() {
+        ResetProgram program = ResetProgram.compile("A1", List.of(
+                reset("R1", "M", "3000", "1", "3001", "1"),
+                reset("R2", "X", "3000", null, null, null),
+                reset("R3", "D", "3001", "north", "1", null),
+                reset("R4", "O", null, null, "3001", null),
+                reset("R5", "o", "3010", "0", "3001", null)));
+
+        assertThat(program.size()).isEqualTo(2);
+        assertThat(program.skipped()).isEqualTo(3);
+        assertThat(program.contains("R2")).isTrue();
+        assertThat(program.contains("R9")).isFalse();
+    }
+
+    @Test
+    void run_skipsEquipmentOfAMobileThatWasNotLoaded() {
+        List<String> calls = new ArrayList<>();
+        ResetTarget target = new ResetTarget() {
+            @Override
+            public boolean loadMobile(String areaId, String mobileVnum, int worldLimit, String roomVnum, int roomLimit) {
+                calls.add("M " + mobileVnum + " " + worldLimit + " " + roomVnum + " " + roomLimit);
+                return !mobileVnum.equals("3001");
+            }
+
+            @Override
+            public boolean equipMobile(String areaId, String objectVnum, int wearLocation) {
+                calls.add("E " + objectVnum + " " + wearLocation);
+                return true;
+            }
+
+            @Override
+            public void setDoor(String areaId, String roomVnum, int door, int state) {
+                calls.add("D " + roomVnum + " " + door + " " + state);
+            }
+        };
+        ResetProgram program = ResetProgram.compile("A1", List.of(
+                reset("R1", "M", "3000", "1", "3001", "2"),
+                reset("R2", "E", "3020", "0", "16", null),
+                reset("R3", "G", "3021", "0", null, null),
+                reset("R4", "M", "3001", "1", "3002", "1"),
+                reset("R5", "E", "3022", "0", "5", null),
+                reset("R6", "O", "3010", "0", "3001", null),
+                reset("R7", "D", "3001", "0", "2", null)));
+
+        ResetProgram.Outcome outcome = program.run(target);
+
+        assertThat(calls).containsExactly(
+                "M 3000 1 3001 2",
+                "E 3020 16",
+                "E 3021 -1",
+                "M 3001 1 3002 1",
+                "D 3001 0 2");
+        assertThat(outcome).isEqualTo(new ResetProgram.Outcome(1, 3, 1));
+    }
+
+    static ResetDocument reset(String id, String command, String arg1, String arg2, String arg3, String arg4) {
+        ResetDocument reset = new ResetDocument();
+        reset.setId(id);
+        reset.setCommand(command);
+        reset.setArg1(arg1);
+        reset.setArg2(arg2);
+        reset.setArg3(arg3);
+        reset.setArg4(arg4);
+        return reset;
+    }
+}
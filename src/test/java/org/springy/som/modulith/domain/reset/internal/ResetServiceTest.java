@@ -3,12 +3,18 @@ package org.springy.som.modulith.domain.reset.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
+import org.springy.som.modulith.web.KeysetPage;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -22,11 +28,17 @@ class ResetServiceTest {
 
     @Mock
     private ResetRepository repo;
+    @Mock
+    private MongoBulkUpserter bulkUpserter;
+    @Mock
+    private ResetEngine resetEngine;
+    @Mock
+    private CacheInvalidations cacheInvalidations;
     private ResetService service;
 
     @BeforeEach
     void setUp() {
-        service = new ResetService(repo);
+        service = new ResetService(repo, bulkUpserter, resetEngine, cacheInvalidations);
     }
 
     @Test
@@ -51,6 +63,33 @@ class ResetServiceTest {
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void getResetsPageByAreaId_firstPage_fetchesOneExtraAndIssuesToken() {
+        ResetDocument r1 = reset("R1");
+        ResetDocument r2 = reset("R2");
+        when(repo.findAllByAreaIdOrderByIdAsc("A1", Limit.of(2))).thenReturn(List.of(r1, r2));
+
+        KeysetPage<ResetDocument> page = service.getResetsPageByAreaId("A1", null, 1);
+
+        assertThat(page.items()).containsExactly(r1);
+        assertThat(KeysetPage.decode(page.next())).isEqualTo("R1");
+        verify(repo).findAllByAreaIdOrderByIdAsc("A1", Limit.of(2));
+        verifyNoMoreInteractions(repo);
+    }
+
+    @Test
+    void getResetsPageByAreaId_afterToken_seeksPastLastId() {
+        ResetDocument r3 = reset("R3");
+        when(repo.findAllByAreaIdAndIdGreaterThanOrderByIdAsc("A1", "R2", Limit.of(3))).thenReturn(List.of(r3));
+
+        KeysetPage<ResetDocument> page = service.getResetsPageByAreaId("A1", KeysetPage.encode("R2"), 2);
+
+        assertThat(page.items()).containsExactly(r3);
+        assertThat(page.next()).isNull();
+        verify(repo).findAllByAreaIdAndIdGreaterThanOrderByIdAsc("A1", "R2", Limit.of(3));
+        verifyNoMoreInteractions(repo);
+    }
+
     @Test
     void getResetByName_delegates() {
         ResetDocument resetDocument = mock(ResetDocument.class);
@@ -135,46 +174,52 @@ class ResetServiceTest {
     }
 
     @Test
-    void saveResetForId_blankId_becomesInvalidResetException() {
-        ResetDocument resetDocument = mock(ResetDocument.class);
-        when(repo.findResetById(" ")).thenReturn(null);
+    void saveResetForId_blankId_throwsInvalidResetException() {
+        assertThatThrownBy(() -> service.saveResetForId(" ", new ResetDocument()))
+                .isInstanceOf(InvalidResetException.class);
 
-        assertThatThrownBy(() -> service.saveResetForId(" ", resetDocument))
-                .isInstanceOf(NullPointerException.class);
-
-        verify(repo).findResetById(" ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveResetForId_nullReset_becomesInvalidResetException() {
-        when(repo.findResetById("RS1")).thenReturn(null);
-
+    void saveResetForId_nullReset_throwsInvalidResetException() {
         assertThatThrownBy(() -> service.saveResetForId("RS1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidResetException.class);
 
-        verify(repo).findResetById("RS1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveResetForId_ok_savesByLookup() {
-        ResetDocument input = mock(ResetDocument.class);
-        ResetDocument existing = mock(ResetDocument.class);
-
-        when(existing.getId()).thenReturn("RS1");
-        when(repo.findResetById("RS1")).thenReturn(existing);
+    void saveResetForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        ResetDocument input = new ResetDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
+        input.setAreaId("A2");
         assertThat(service.saveResetForId("RS1", input)).isSameAs(input);
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findResetById("RS1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("RS1");
+        verify(repo).save(input);
+        verify(resetEngine).invalidateReset("RS1");
+        verify(resetEngine).invalidate("A2");
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void saveResetForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        ResetDocument input = new ResetDocument();
+        input.setVersion(3L);
+        ResetDocument current = new ResetDocument();
+        current.setId("RS1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("RS1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.saveResetForId("RS1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deleteResetById_blankId_becomesInvalidResetException() {
         assertThatThrownBy(() -> service.deleteResetById(""))
@@ -203,6 +248,7 @@ class ResetServiceTest {
 
         verify(repo).existsById("RS1");
         verify(repo).deleteById("RS1");
+        verify(resetEngine).invalidateReset("RS1");
         verifyNoMoreInteractions(repo);
     }
 
@@ -228,6 +274,7 @@ class ResetServiceTest {
 
         verify(repo).count();
         verify(repo).deleteAll();
+        verify(resetEngine).clear();
         verifyNoMoreInteractions(repo);
     }
 
@@ -271,4 +318,11 @@ class ResetServiceTest {
 
         verifyNoInteractions(repo);
     }
+
+    private static ResetDocument reset(String id) {
+        ResetDocument doc = new ResetDocument();
+        doc.setId(id);
+        doc.setAreaId("A1");
+        return doc;
+    }
 }
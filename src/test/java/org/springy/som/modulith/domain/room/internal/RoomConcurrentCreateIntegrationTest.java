@@ -0,0 +1,103 @@
+package org.springy.som.modulith.domain.room.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
+import org.springy.som.modulith.mongo.MongoIndexProvisioner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({RoomService.class, WorldGraph.class, RoomTimers.class, CacheInvalidations.class, SimpleMeterRegistry.class,
+        MongoBulkUpserter.class, MongoIndexProvisioner.class})
+class RoomConcurrentCreateIntegrationTest {
+    private static final int WRITERS = 8;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mongodb.embedded.version", () -> "4.0.2");
+        registry.add("spring.mongodb.embedded.port", () -> 0);
+        registry.add("spring.data.mongodb.database", () -> "som-test");
+    }
+
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private MongoIndexProvisioner provisioner;
+
+    @BeforeEach
+    void setUp() {
+        provisioner.provision();
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void createRoom_concurrentWritersOnSameVnum_exactlyOneWins() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RoomDocument>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                RoomDocument room = room("R" + i, "3001");
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return roomService.createRoom(room);
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            int duplicates = 0;
+            for (Future<RoomDocument> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException ex) {
+                    assertThat(ex.getCause()).isInstanceOf(DuplicateRoomException.class);
+                    duplicates++;
+                }
+            }
+
+            assertThat(created).isEqualTo(1);
+            assertThat(duplicates).isEqualTo(WRITERS - 1);
+            assertThat(roomRepository.count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static RoomDocument room(String id, String vnum) {
+        RoomDocument room = new RoomDocument();
+        room.setId(id);
+        room.setAreaId("A1");
+        room.setVnum(vnum);
+        room.setName("Temple square");
+        return room;
+    }
+}
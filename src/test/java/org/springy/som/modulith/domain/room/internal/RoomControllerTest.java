@@ -9,6 +9,11 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.domain.room.api.RoomDistance;
+import org.springy.som.modulith.domain.room.api.RoomPath;
+import org.springy.som.modulith.domain.room.api.RoomPathStep;
+import org.springy.som.modulith.web.InvalidPageRequestException;
+import org.springy.som.modulith.web.KeysetPage;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -41,18 +46,60 @@ public class RoomControllerTest {
 
     @Test
     void getAllResets_ok() throws Exception {
-        when(roomService.getAllRooms()).thenReturn(java.util.List.of());
+        when(roomService.getAllRoomViews()).thenReturn(java.util.List.of());
 
         mockMvc.perform(get("/api/v1/rooms"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
-        verify(roomService).getAllRooms();
+        verify(roomService).getAllRoomViews();
+    }
+
+    @Test
+    void getAllRoomsByAreaId_withoutSize_returnsPlainList() throws Exception {
+        RoomDocument room = new RoomDocument();
+        room.setId("R1");
+        room.setAreaId("A1");
+        room.setName("Temple");
+        when(roomService.getAllRoomsByAreaId("A1")).thenReturn(java.util.List.of(room));
+
+        mockMvc.perform(get("/api/v1/rooms/area/{areaId}", "A1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("R1"));
+
+        verify(roomService).getAllRoomsByAreaId("A1");
+        verifyNoMoreInteractions(roomService);
+    }
+
+    @Test
+    void getRoomsPageByAreaId_returnsItemsAndNextToken() throws Exception {
+        RoomDocument room = new RoomDocument();
+        room.setId("R1");
+        room.setAreaId("A1");
+        room.setName("Temple");
+        when(roomService.getRoomsPageByAreaId("A1", null, 1))
+                .thenReturn(new KeysetPage<>(java.util.List.of(room), KeysetPage.encode("R1")));
+
+        mockMvc.perform(get("/api/v1/rooms/area/{areaId}", "A1").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value("R1"))
+                .andExpect(jsonPath("$.next").value(KeysetPage.encode("R1")));
+
+        verify(roomService).getRoomsPageByAreaId("A1", null, 1);
+    }
+
+    @Test
+    void getRoomsPage_invalidToken_becomes400ProblemDetail() throws Exception {
+        when(roomService.getRoomsPage("bogus", 10)).thenThrow(new InvalidPageRequestException("Invalid page token: bogus"));
+
+        mockMvc.perform(get("/api/v1/rooms").param("size", "10").param("after", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
     }
 
     @Test
     void getResetById_notFound_becomes404ProblemDetail() throws Exception {
-        when(roomService.getRoomById("A1")).thenThrow(new RoomNotFoundException("A1"));
+        when(roomService.getRoomViewById("A1")).thenThrow(new RoomNotFoundException("A1"));
 
         mockMvc.perform(get("/api/v1/rooms/A1"))
                 .andExpect(status().isNotFound())
@@ -61,12 +108,12 @@ public class RoomControllerTest {
                 .andExpect(jsonPath("$.title").exists())
                 .andExpect(jsonPath("$.detail").exists());
 
-        verify(roomService).getRoomById("A1");
+        verify(roomService).getRoomViewById("A1");
     }
 
     @Test
     void getResetById_blankId_becomes400ProblemDetail() throws Exception {
-        when(roomService.getRoomById(anyString())).thenThrow(new InvalidRoomException("Player id must be provided"));
+        when(roomService.getRoomViewById(anyString())).thenThrow(new InvalidRoomException("Player id must be provided"));
 
         mockMvc.perform(get("/api/v1/rooms/{id}", "  ")
                         .accept(MediaType.APPLICATION_JSON))
@@ -76,20 +123,20 @@ public class RoomControllerTest {
                 .andExpect(jsonPath("$.title").exists())
                 .andExpect(jsonPath("$.detail").exists());
 
-        verify(roomService).getRoomById("  ");
+        verify(roomService).getRoomViewById("  ");
     }
 
 
     @Test
     void getAllReset_persistenceDown_becomes503ProblemDetail() throws Exception {
-        when(roomService.getAllRooms()).thenThrow(new RoomPersistenceException("Failed to load players"));
+        when(roomService.getAllRoomViews()).thenThrow(new RoomPersistenceException("Failed to load players"));
 
         mockMvc.perform(get("/api/v1/rooms"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(503));
 
-        verify(roomService).getAllRooms();
+        verify(roomService).getAllRoomViews();
     }
 
     @Test
@@ -229,6 +276,36 @@ public class RoomControllerTest {
                 .andExpect(jsonPath("$.detail").exists());
     }
 
+    @Test
+    void findPath_returnsSteps() throws Exception {
+        when(roomService.findPath("R1", "R4")).thenReturn(new RoomPath("R1", "R4", java.util.List.of(
+                new RoomPathStep("north", "R2", "3002"),
+                new RoomPathStep("down", "R4", "3004"))));
+
+        mockMvc.perform(get("/api/v1/rooms/path").param("from", "R1").param("to", "R4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.steps[0].direction").value("north"))
+                .andExpect(jsonPath("$.steps[1].roomId").value("R4"));
+    }
+
+    @Test
+    void findPath_unreachable_returns404() throws Exception {
+        when(roomService.findPath("R4", "R1")).thenThrow(new RoomPathNotFoundException("No path from room 'R4' to room 'R1'"));
+
+        mockMvc.perform(get("/api/v1/rooms/path").param("from", "R4").param("to", "R1"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    @Test
+    void getRoomsWithin_passesSteps() throws Exception {
+        when(roomService.getRoomsWithin("R1", 2)).thenReturn(java.util.List.of(new RoomDistance("R2", "3002", 1)));
+
+        mockMvc.perform(get("/api/v1/rooms/R1/nearby").param("steps", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].steps").value(1));
+    }
+
     @Test
     void deleteAll_returns200AndDeletedCount() throws Exception {
         when(roomService.deleteAllRooms()).thenReturn(7L);
@@ -3,12 +3,21 @@ package org.springy.som.modulith.domain.room.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.area.api.AreasDeletedEvent;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.web.KeysetPage;
+import org.springy.som.modulith.mongo.MongoBulkUpserter;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -22,11 +31,19 @@ class RoomServiceTest {
 
     @Mock
     private RoomRepository repo;
+    @Mock
+    private MongoBulkUpserter bulkUpserter;
+    @Mock
+    private WorldGraph worldGraph;
+    @Mock
+    private RoomTimers roomTimers;
+    @Mock
+    private CacheInvalidations cacheInvalidations;
     private RoomService service;
 
     @BeforeEach
     void setUp() {
-        service = new RoomService(repo);
+        service = new RoomService(repo, bulkUpserter, worldGraph, roomTimers, cacheInvalidations);
     }
 
     @Test
@@ -40,6 +57,42 @@ class RoomServiceTest {
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void getRoomsPage_firstPage_fetchesOneExtraAndIssuesToken() {
+        RoomDocument r1 = room("R1");
+        RoomDocument r2 = room("R2");
+        RoomDocument r3 = room("R3");
+        when(repo.findAllByOrderByIdAsc(Limit.of(3))).thenReturn(List.of(r1, r2, r3));
+
+        KeysetPage<RoomDocument> page = service.getRoomsPage(null, 2);
+
+        assertThat(page.items()).containsExactly(r1, r2);
+        assertThat(KeysetPage.decode(page.next())).isEqualTo("R2");
+        verify(repo).findAllByOrderByIdAsc(Limit.of(3));
+        verifyNoMoreInteractions(repo);
+    }
+
+    @Test
+    void getAllRoomsByAreaId_dbFailure_becomesPersistenceException() {
+        when(repo.findAllByAreaId("A1")).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> service.getAllRoomsByAreaId("A1"))
+                .isInstanceOf(RoomPersistenceException.class);
+    }
+
+    @Test
+    void getRoomsPageByAreaId_afterToken_seeksPastLastId() {
+        RoomDocument r3 = room("R3");
+        when(repo.findAllByAreaIdAndIdGreaterThanOrderByIdAsc("A1", "R2", Limit.of(3))).thenReturn(List.of(r3));
+
+        KeysetPage<RoomDocument> page = service.getRoomsPageByAreaId("A1", KeysetPage.encode("R2"), 2);
+
+        assertThat(page.items()).containsExactly(r3);
+        assertThat(page.next()).isNull();
+        verify(repo).findAllByAreaIdAndIdGreaterThanOrderByIdAsc("A1", "R2", Limit.of(3));
+        verifyNoMoreInteractions(repo);
+    }
+
     @Test
     void getRoomByName_delegates() {
         RoomDocument roomDocument = mock(RoomDocument.class);
@@ -114,15 +167,17 @@ class RoomServiceTest {
         RoomDocument roomDocument = mock(RoomDocument.class);
         when(roomDocument.getId()).thenReturn("R1");
         when(roomDocument.getVnum()).thenReturn("3001");
-        RoomDocument existing = mock(RoomDocument.class);
 
-        when(repo.findRoomByVnum("3001")).thenReturn(existing);
+        when(repo.insert(roomDocument)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: SOMDB.Rooms index: vnum dup key: { vnum: \"3001\" }"));
+        when(repo.existsById("R1")).thenReturn(false);
 
         assertThatThrownBy(() -> service.createRoom(roomDocument))
                 .isInstanceOf(DuplicateRoomException.class)
                 .hasMessageContaining("Room with vnum '3001' already exists");
 
-        verify(repo).findRoomByVnum("3001");
+        verify(repo).insert(roomDocument);
+        verify(repo).existsById("R1");
         verifyNoMoreInteractions(repo);
     }
 
@@ -131,13 +186,14 @@ class RoomServiceTest {
         RoomDocument roomDocument = mock(RoomDocument.class);
         when(roomDocument.getId()).thenReturn("R1");
         when(roomDocument.getVnum()).thenReturn("3001");
-        when(repo.findRoomByVnum("3001")).thenReturn(null);
-        when(repo.save(roomDocument)).thenReturn(roomDocument);
+        when(repo.insert(roomDocument)).thenReturn(roomDocument);
 
         assertThat(service.createRoom(roomDocument)).isSameAs(roomDocument);
 
-        verify(repo).findRoomByVnum("3001");
-        verify(repo).save(roomDocument);
+        verify(repo).insert(roomDocument);
+        verify(worldGraph).put(roomDocument);
+        verify(roomTimers).schedule(roomDocument);
+        verify(cacheInvalidations).publish(RoomService.COLLECTION, "R1");
         verifyNoMoreInteractions(repo);
     }
 
@@ -146,15 +202,13 @@ class RoomServiceTest {
         RoomDocument roomDocument = mock(RoomDocument.class);
         when(roomDocument.getId()).thenReturn("R1");
         when(roomDocument.getVnum()).thenReturn("3001");
-        when(repo.findRoomByVnum("3001")).thenReturn(null);
-        when(repo.save(roomDocument)).thenThrow(new DataAccessResourceFailureException("db down"));
+        when(repo.insert(roomDocument)).thenThrow(new DataAccessResourceFailureException("db down"));
 
         assertThatThrownBy(() -> service.createRoom(roomDocument))
                 .isInstanceOf(RoomPersistenceException.class)
                 .hasMessageContaining(dbDown);
 
-        verify(repo).findRoomByVnum("3001");
-        verify(repo).save(roomDocument);
+        verify(repo).insert(roomDocument);
         verifyNoMoreInteractions(repo);
     }
 
@@ -163,59 +217,60 @@ class RoomServiceTest {
         RoomDocument roomDocument = mock(RoomDocument.class);
         when(roomDocument.getId()).thenReturn("R1").thenThrow(new RuntimeException("boom"));
         when(roomDocument.getVnum()).thenReturn("3001");
-        when(repo.findRoomByVnum("3001")).thenReturn(null);
-        when(repo.save(roomDocument)).thenThrow(new DataAccessResourceFailureException("db down"));
+        when(repo.insert(roomDocument)).thenThrow(new DataAccessResourceFailureException("db down"));
 
         assertThatThrownBy(() -> service.createRoom(roomDocument))
                 .isInstanceOf(RoomPersistenceException.class)
                 .hasMessageContaining(dbDown);
 
-        verify(repo).findRoomByVnum("3001");
-        verify(repo).save(roomDocument);
+        verify(repo).insert(roomDocument);
         verifyNoMoreInteractions(repo);
     }
 
     @Test
-    void saveRoomForId_blankId_becomesNullPointerException() {
-        RoomDocument roomDocument = mock(RoomDocument.class);
-        when(repo.findRoomById(" ")).thenReturn(null);
-
-        assertThatThrownBy(() -> service.saveRoomForId(" ", roomDocument))
-                .isInstanceOf(NullPointerException.class);
+    void saveRoomForId_blankId_throwsInvalidRoomException() {
+        assertThatThrownBy(() -> service.saveRoomForId(" ", new RoomDocument()))
+                .isInstanceOf(InvalidRoomException.class);
 
-        verify(repo).findRoomById(" ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveRoomForId_nullRoom_becomesNullPointerException() {
-        when(repo.findRoomById("R1")).thenReturn(null);
-
+    void saveRoomForId_nullRoom_throwsInvalidRoomException() {
         assertThatThrownBy(() -> service.saveRoomForId("R1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidRoomException.class);
 
-        verify(repo).findRoomById("R1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveRoomForId_ok_savesByLookup() {
-        RoomDocument input = mock(RoomDocument.class);
-        RoomDocument existing = mock(RoomDocument.class);
-
-        when(existing.getId()).thenReturn("R1");
-        when(repo.findRoomById("R1")).thenReturn(existing);
+    void saveRoomForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        RoomDocument input = new RoomDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
         assertThat(service.saveRoomForId("R1", input)).isSameAs(input);
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findRoomById("R1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("R1");
+        verify(repo).save(input);
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void saveRoomForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        RoomDocument input = new RoomDocument();
+        input.setVersion(3L);
+        RoomDocument current = new RoomDocument();
+        current.setId("R1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("R1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.saveRoomForId("R1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deleteRoomById_blankId_becomesInvalidRoomException() {
         assertThatThrownBy(() -> service.deleteRoomById(""))
@@ -244,6 +299,8 @@ class RoomServiceTest {
 
         verify(repo).existsById("R1");
         verify(repo).deleteById("R1");
+        verify(worldGraph).remove("R1");
+        verify(roomTimers).cancel("R1");
         verifyNoMoreInteractions(repo);
     }
 
@@ -284,6 +341,64 @@ class RoomServiceTest {
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void findPath_unreachable_becomesRoomPathNotFoundException() {
+        when(worldGraph.path("R1", "R9")).thenReturn(null);
+
+        assertThatThrownBy(() -> service.findPath("R1", "R9"))
+                .isInstanceOf(RoomPathNotFoundException.class)
+                .hasMessageContaining("No path from room 'R1' to room 'R9'");
+    }
+
+    @Test
+    void findPath_dataAccess_becomesRoomPersistenceException() {
+        when(worldGraph.path("R1", "R2")).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> service.findPath("R1", "R2"))
+                .isInstanceOf(RoomPersistenceException.class)
+                .hasMessageContaining("Failed to load world graph");
+    }
+
+    @Test
+    void getRoomsWithin_negativeSteps_becomesInvalidRoomException() {
+        assertThatThrownBy(() -> service.getRoomsWithin("R1", -1))
+                .isInstanceOf(InvalidRoomException.class)
+                .hasMessage("steps must not be negative");
+
+        verifyNoInteractions(worldGraph);
+    }
+
+    @Test
+    void onAreasDeleted_dropsTheAreasRoomsFromTheGraph() {
+        service.onAreasDeleted(new AreasDeletedEvent(List.of("A1")));
+
+        verify(worldGraph).removeAreas(List.of("A1"));
+        verify(roomTimers).cancelAreas(List.of("A1"));
+        verify(cacheInvalidations).publishAll(RoomService.COLLECTION);
+    }
+
+    @Test
+    void onRemoteCacheInvalidation_room_reschedulesItsTimersFromAFreshRead() {
+        RoomDocument room = new RoomDocument();
+        room.setId("R1");
+        when(repo.findById("R1")).thenReturn(Optional.of(room));
+
+        service.onRemoteCacheInvalidation(new RemoteCacheInvalidation(RoomService.COLLECTION, "R1"));
+
+        verify(worldGraph).invalidate();
+        verify(roomTimers).cancel("R1");
+        verify(roomTimers).schedule(room);
+    }
+
+    @Test
+    void onRemoteCacheInvalidation_wholeCollection_reloadsEveryTimer() {
+        service.onRemoteCacheInvalidation(new RemoteCacheInvalidation(RoomService.COLLECTION, null));
+
+        verify(worldGraph).invalidate();
+        verify(roomTimers).reload();
+        verifyNoInteractions(repo);
+    }
+
     @Test
     void getAllRoomsFallback_returnsEmptyList() throws Exception {
         var m = RoomService.class.getDeclaredMethod("getAllRoomsFallback", Throwable.class);
@@ -312,4 +427,10 @@ class RoomServiceTest {
 
         verifyNoInteractions(repo);
     }
+
+    private static RoomDocument room(String id) {
+        RoomDocument roomDocument = new RoomDocument();
+        roomDocument.setId(id);
+        return roomDocument;
+    }
 }
@@ -0,0 +1,125 @@
+package org.springy.som.modulith.domain.room.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springy.som.modulith.domain.room.api.RoomSpawnsDueEvent;
+import org.springy.som.modulith.domain.room.api.RoomTeleportsDueEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomTimersTest {
+    private final RoomRepository repo = mock(RoomRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Object> events = new ArrayList<>();
+    private final RoomTimers timers = new RoomTimers(repo, events::add, meterRegistry, true, 1000, 16);
+
+    @Test
+    void tick_publishesEveryRoomDueOnTheSameTickAsOneEvent() {
+        timers.schedule(room("R1", "A1", true, 0, 2, 0));
+        timers.schedule(room("R2", "A1", true, 0, 2, 0));
+        timers.schedule(room("R3", "A2", false, 0, 0, 2));
+
+        timers.tick();
+        assertThat(events).isEmpty();
+
+        timers.tick();
+        assertThat(events).containsExactly(
+                new RoomSpawnsDueEvent(List.of("R1", "R2")),
+                new RoomTeleportsDueEvent(List.of("R3")));
+        assertThat(meterRegistry.counter("som.rooms.timers.fired", "kind", "spawn").count()).isEqualTo(2);
+        assertThat(meterRegistry.get("som.rooms.timers.scheduled").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void tick_refiresEveryPeriodPastTheWheelSize() {
+        timers.schedule(room("R1", "A1", true, 3, 20, 0));
+
+        List<Integer> firedAt = new ArrayList<>();
+        for (int i = 1; i <= 45; i++) {
+            events.clear();
+            timers.tick();
+            if (!events.isEmpty()) {
+                firedAt.add(i);
+            }
+        }
+
+        // First after spawnTimer, then every spawnTime, even though 20 ticks wrap a 16-slot wheel.
+        assertThat(firedAt).containsExactly(3, 23, 43);
+    }
+
+    @Test
+    void schedule_again_replacesTheRoomsDeadlines() {
+        timers.schedule(room("R1", "A1", true, 0, 2, 0));
+        timers.tick();
+
+        timers.schedule(room("R1", "A1", false, 0, 0, 0));
+        timers.tick();
+        timers.tick();
+
+        assertThat(events).isEmpty();
+        assertThat(meterRegistry.get("som.rooms.timers.scheduled").gauge().value()).isZero();
+    }
+
+    @Test
+    void cancelAreas_dropsOnlyThoseAreasRooms() {
+        timers.schedule(room("R1", "A1", true, 0, 1, 0));
+        timers.schedule(room("R2", "A2", true, 0, 1, 0));
+
+        timers.cancelAreas(List.of("A1"));
+        timers.tick();
+
+        assertThat(events).containsExactly(new RoomSpawnsDueEvent(List.of("R2")));
+    }
+
+    @Test
+    void reload_replacesEverythingWithTheStoredTimers() {
+        timers.schedule(room("R1", "A1", true, 0, 1, 0));
+        when(repo.streamTimedBy()).thenAnswer(invocation -> Stream.of(room("R9", "A9", false, 0, 0, 1)));
+
+        timers.reload();
+        timers.tick();
+
+        assertThat(events).containsExactly(new RoomTeleportsDueEvent(List.of("R9")));
+    }
+
+    @Test
+    void schedule_roundsPartialTicksUp() {
+        RoomTimers coarse = new RoomTimers(repo, events::add, meterRegistry, true, 2000, 16);
+        coarse.schedule(room("R1", "A1", true, 0, 3, 0));
+
+        coarse.tick();
+        assertThat(events).isEmpty();
+        coarse.tick();
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void disabled_queuesNothingAndNeverFires() {
+        RoomTimers off = new RoomTimers(repo, events::add, meterRegistry, false, 1000, 16);
+        off.schedule(room("R1", "A1", true, 0, 1, 1));
+        off.start();
+
+        off.tick();
+        off.tick();
+
+        assertThat(off.isRunning()).isFalse();
+        assertThat(events).isEmpty();
+    }
+
+    private static RoomDocument room(String id, String areaId, boolean spawn, int spawnTimer, int spawnTime, int teleDelay) {
+        RoomDocument room = new RoomDocument();
+        room.setId(id);
+        room.setAreaId(areaId);
+        room.setSpawn(spawn);
+        room.setSpawnTimer(spawnTimer);
+        room.setSpawnTime(spawnTime);
+        room.setTeleDelay(teleDelay);
+        return room;
+    }
+}
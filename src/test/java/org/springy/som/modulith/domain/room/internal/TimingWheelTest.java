@@ -0,0 +1,87 @@
+package org.springy.som.modulith.domain.room.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+
+    @Test
+    void constructor_rejectsSizesThatAreNotPowersOfTwo() {
+        assertThatThrownBy(() -> new TimingWheel<String>(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel<String>(100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void advance_expiresOnTheScheduledTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(8);
+        wheel.schedule("a", 3);
+        wheel.schedule("b", 1);
+
+        assertThat(wheel.advance()).containsExactly("b");
+        assertThat(wheel.advance()).isEmpty();
+        assertThat(wheel.advance()).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_keepsTimeoutsThatAreRevolutionsAway() {
+        TimingWheel<String> wheel = new TimingWheel<>(4);
+        TimingWheel.Timeout<String> far = wheel.schedule("far", 10);
+        wheel.schedule("near", 2);
+
+        List<Integer> firedAt = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            List<String> expired = wheel.advance();
+            if (expired.contains("far")) {
+                firedAt.add(i);
+            }
+        }
+
+        // Slot 2 is visited on ticks 2, 6 and 10; only the last one is due.
+        assertThat(firedAt).containsExactly(10);
+        assertThat(far.isPending()).isFalse();
+    }
+
+    @Test
+    void cancel_removesThePendingTimeout() {
+        TimingWheel<String> wheel = new TimingWheel<>(8);
+        TimingWheel.Timeout<String> first = wheel.schedule("a", 2);
+        TimingWheel.Timeout<String> second = wheel.schedule("b", 2);
+        wheel.schedule("c", 2);
+
+        wheel.cancel(second);
+        wheel.cancel(second);
+        wheel.cancel(null);
+
+        assertThat(wheel.size()).isEqualTo(2);
+        wheel.advance();
+        assertThat(wheel.advance()).containsExactly("a", "c");
+        assertThat(first.isPending()).isFalse();
+    }
+
+    @Test
+    void schedule_treatsNonPositiveDelaysAsOneTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(8);
+        wheel.schedule("now", 0);
+
+        assertThat(wheel.advance()).containsExactly("now");
+    }
+
+    @Test
+    void clear_dropsEverything() {
+        TimingWheel<String> wheel = new TimingWheel<>(8);
+        TimingWheel.Timeout<String> timeout = wheel.schedule("a", 1);
+        wheel.schedule("b", 5);
+
+        wheel.clear();
+
+        assertThat(wheel.size()).isZero();
+        assertThat(timeout.isPending()).isFalse();
+        assertThat(wheel.advance()).isEmpty();
+    }
+}
@@ -0,0 +1,140 @@
+package org.springy.som.modulith.domain.room.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springy.som.modulith.domain.room.api.RoomComponent;
+import org.springy.som.modulith.domain.room.api.RoomDistance;
+import org.springy.som.modulith.domain.room.api.RoomPath;
+import org.springy.som.modulith.domain.room.api.RoomPathStep;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorldGraphTest {
+    private final RoomRepository repo = mock(RoomRepository.class);
+    private final List<RoomDocument> stored = new ArrayList<>();
+    private WorldGraph graph;
+
+    // Temple square: 3001 <-> 3002 <-> 3003, 3002 -> 3004 one-way, and 3005 <-> 3006 off on its own.
+    @BeforeEach
+    void setUp() {
+        stored.add(room("R1", "A1", "3001", "north 3002"));
+        stored.add(room("R2", "A1", "3002", "south 3001", "east 3003", "down 3004"));
+        stored.add(room("R3", "A1", "3003", "west 3002"));
+        stored.add(room("R4", "A1", "3004"));
+        stored.add(room("R5", "A2", "3005", "up 3006"));
+        stored.add(room("R6", "A2", "3006", "down 3005", "garbage"));
+        when(repo.streamExitsBy()).thenAnswer(invocation -> List.copyOf(stored).stream());
+        graph = new WorldGraph(repo, true);
+    }
+
+    @Test
+    void path_followsExitsAndNamesTheDirections() {
+        RoomPath path = graph.path("R1", "R4");
+
+        assertThat(path.steps()).containsExactly(
+                new RoomPathStep("north", "R2", "3002"),
+                new RoomPathStep("down", "R4", "3004"));
+    }
+
+    @Test
+    void path_respectsOneWayExits() {
+        assertThat(graph.path("R4", "R1")).isNull();
+        assertThat(graph.path("R1", "R5")).isNull();
+        assertThat(graph.path("R3", "R3").steps()).isEmpty();
+    }
+
+    @Test
+    void path_unknownRoom_becomesRoomNotFoundException() {
+        assertThatThrownBy(() -> graph.path("R1", "R99"))
+                .isInstanceOf(RoomNotFoundException.class)
+                .hasMessage("R99");
+    }
+
+    @Test
+    void within_listsRoomsNearestFirst() {
+        assertThat(graph.within("R1", 2)).containsExactly(
+                new RoomDistance("R2", "3002", 1),
+                new RoomDistance("R3", "3003", 2),
+                new RoomDistance("R4", "3004", 2));
+        assertThat(graph.within("R1", 1)).extracting(RoomDistance::roomId).containsExactly("R2");
+        assertThat(graph.within("R1", 0)).isEmpty();
+    }
+
+    @Test
+    void components_joinRoomsLinkedInEitherDirection() {
+        assertThat(graph.components()).containsExactly(new RoomComponent("R1", 4), new RoomComponent("R5", 2));
+        assertThat(graph.componentOf("R4")).isEqualTo(new RoomComponent("R1", 4));
+        assertThat(graph.componentOf("R6")).isEqualTo(new RoomComponent("R5", 2));
+    }
+
+    @Test
+    void put_resolvesExitsToARoomCreatedLater_withoutReloading() {
+        assertThat(graph.path("R1", "R4")).isNotNull();
+        graph.put(room("R4", "A1", "3004", "east 3007"));
+
+        graph.put(room("R7", "A1", "3007", "north 3005"));
+
+        assertThat(graph.path("R1", "R6").steps()).extracting(RoomPathStep::roomId)
+                .containsExactly("R2", "R4", "R7", "R5", "R6");
+        assertThat(graph.components()).containsExactly(new RoomComponent("R1", 7));
+        verify(repo, times(1)).streamExitsBy();
+    }
+
+    @Test
+    void put_publishesANewSnapshotAndLeavesTheOneReadersHoldUntouched() {
+        WorldGraph.Snapshot before = graph.snapshot();
+
+        graph.put(room("R7", "A1", "3007", "north 3001"));
+        WorldGraph.Snapshot after = graph.snapshot();
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(before.size()).isEqualTo(6);
+        assertThatThrownBy(() -> before.require("R7")).isInstanceOf(RoomNotFoundException.class);
+        assertThat(after.size()).isEqualTo(7);
+        assertThat(graph.path("R7", "R3").steps()).hasSize(3);
+    }
+
+    @Test
+    void remove_and_removeAreas_dropRoomsFromRoutes() {
+        graph.remove("R2");
+        assertThat(graph.path("R1", "R3")).isNull();
+
+        graph.removeAreas(List.of("A2"));
+        assertThatThrownBy(() -> graph.componentOf("R5")).isInstanceOf(RoomNotFoundException.class);
+        assertThat(graph.components()).hasSize(3);
+    }
+
+    @Test
+    void invalidate_reloadsFromTheRepository() {
+        graph.path("R1", "R2");
+        stored.add(room("R8", "A1", "3008", "south 3001"));
+
+        graph.invalidate();
+
+        assertThat(graph.path("R8", "R4").steps()).hasSize(3);
+        verify(repo, times(2)).streamExitsBy();
+    }
+
+    @Test
+    void warmupTasks_reportTheRoomCount() {
+        assertThat(graph.warmupTasks()).singleElement().satisfies(task -> assertThat(task.run()).isEqualTo(6));
+        assertThat(new WorldGraph(repo, false).warmupTasks()).isEmpty();
+    }
+
+    private static RoomDocument room(String id, String areaId, String vnum, String... exits) {
+        RoomDocument room = new RoomDocument();
+        room.setId(id);
+        room.setAreaId(areaId);
+        room.setVnum(vnum);
+        room.setExits(List.of(exits));
+        return room;
+    }
+}
@@ -3,12 +3,15 @@ package org.springy.som.modulith.domain.shop.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.exception.VersionConflictException;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -21,11 +24,13 @@ class ShopServiceTest {
 
     @Mock
     private ShopRepository repo;
+    @Mock
+    private CacheInvalidations cacheInvalidations;
     private ShopService service;
 
     @BeforeEach
     void setUp() {
-        service = new ShopService(repo);
+        service = new ShopService(repo, cacheInvalidations);
     }
 
     @Test
@@ -123,46 +128,49 @@ class ShopServiceTest {
     }
 
     @Test
-    void saveShopForId_blankId_becomesNullPointerException() {
-        ShopDocument shopDocument = mock(ShopDocument.class);
-        when(repo.findShopById(" ")).thenReturn(null);
+    void saveShopForId_blankId_throwsInvalidShopException() {
+        assertThatThrownBy(() -> service.saveShopForId(" ", new ShopDocument()))
+                .isInstanceOf(InvalidShopException.class);
 
-        assertThatThrownBy(() -> service.saveShopForId(" ", shopDocument))
-                .isInstanceOf(NullPointerException.class);
-
-        verify(repo).findShopById(" ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveShopForId_nullShop_becomesNullPointerException() {
-        when(repo.findShopById("S1")).thenReturn(null);
-
+    void saveShopForId_nullShop_throwsInvalidShopException() {
         assertThatThrownBy(() -> service.saveShopForId("S1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidShopException.class);
 
-        verify(repo).findShopById("S1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveShopForId_ok_savesByLookup() {
-        ShopDocument input = mock(ShopDocument.class);
-        ShopDocument existing = mock(ShopDocument.class);
-
-        when(existing.getId()).thenReturn("S1");
-        when(repo.findShopById("S1")).thenReturn(existing);
+    void saveShopForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        ShopDocument input = new ShopDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
         assertThat(service.saveShopForId("S1", input)).isSameAs(input);
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findShopById("S1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("S1");
+        verify(repo).save(input);
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void saveShopForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        ShopDocument input = new ShopDocument();
+        input.setVersion(3L);
+        ShopDocument current = new ShopDocument();
+        current.setId("S1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("S1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.saveShopForId("S1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deleteShopById_blankId_becomesInvalidShopException() {
         assertThatThrownBy(() -> service.deleteShopById(""))
@@ -184,7 +192,7 @@ class ShopServiceTest {
     }
 
     @Test
-    void deleteShopById_ok_deletes() {
+    void deleteShopById_ok_deletesAndPublishesInvalidation() {
         when(repo.existsById("S1")).thenReturn(true);
 
         service.deleteShopById("S1");
@@ -192,6 +200,7 @@ class ShopServiceTest {
         verify(repo).existsById("S1");
         verify(repo).deleteById("S1");
         verifyNoMoreInteractions(repo);
+        verify(cacheInvalidations).publish(ShopService.COLLECTION, "S1");
     }
 
     @Test
@@ -1,15 +1,19 @@
 package org.springy.som.modulith.domain.skill.internal;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.domain.AbilityMatrix;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import java.util.List;
 
@@ -18,6 +22,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -27,11 +32,12 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(SkillController.class)
-@Import(SkillApiExceptionHandler.class)
+@Import({SkillApiExceptionHandler.class, CollectionSnapshots.class})
 @WithMockUser
 public class SkillControllerTest {
     @Autowired
@@ -40,6 +46,9 @@ public class SkillControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    CollectionSnapshots collectionSnapshots;
+
     @MockitoBean
     SkillService skillService;
 
@@ -49,15 +58,85 @@ public class SkillControllerTest {
     @Mock
     SkillDocument skillDocument;
 
+    @BeforeEach
+    void resetSnapshots() {
+        collectionSnapshots.touch("skills");
+    }
+
     @Test
     void getAllSkills_ok() throws Exception {
-        when(skillService.getAllSkills()).thenReturn(List.of());
+        when(skillService.loadAllSkills()).thenReturn(List.of());
 
         mockMvc.perform(get("/api/v1/skills"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
-        verify(skillService).getAllSkills();
+        verify(skillService).loadAllSkills();
+    }
+
+    @Test
+    void getAllSkills_matchingIfNoneMatch_returns304WithoutReloading() throws Exception {
+        SkillDocument bash = new SkillDocument();
+        bash.setId("SK1");
+        bash.setName("bash");
+        when(skillService.loadAllSkills()).thenReturn(List.of(bash));
+
+        String etag = mockMvc.perform(get("/api/v1/skills"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("bash"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/skills").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        verify(skillService, times(1)).loadAllSkills();
+    }
+
+    @Test
+    void getAllSkills_afterWrite_servesNewETag() throws Exception {
+        when(skillService.loadAllSkills()).thenReturn(List.of());
+        String etag = mockMvc.perform(get("/api/v1/skills"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        SkillDocument bash = new SkillDocument();
+        bash.setId("SK1");
+        when(skillService.loadAllSkills()).thenReturn(List.of(bash));
+
+        collectionSnapshots.touch(SkillService.COLLECTION);
+
+        mockMvc.perform(get("/api/v1/skills").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("SK1"));
+    }
+
+    @Test
+    void getAllSkills_afterFailedLoad_rebuildsOnNextRequest() throws Exception {
+        SkillDocument bash = new SkillDocument();
+        bash.setId("SK1");
+        when(skillService.loadAllSkills())
+                .thenThrow(new SkillPersistenceException("Failed to load skills"))
+                .thenReturn(List.of(bash));
+
+        mockMvc.perform(get("/api/v1/skills"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/api/v1/skills"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("SK1"));
+
+        verify(skillService, times(2)).loadAllSkills();
+    }
+
+    @Test
+    void getSkillsAvailableTo_ok_returnsEligibleSkills() throws Exception {
+        when(skillService.getSkillsAvailableTo("mage", 10))
+                .thenReturn(List.of(new AbilityMatrix.Available("SK1", "armor", 5, 2)));
+
+        mockMvc.perform(get("/api/v1/skills/available").param("class", "mage").param("level", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("armor"))
+                .andExpect(jsonPath("$[0].level").value(5));
+
+        verify(skillService).getSkillsAvailableTo("mage", 10);
     }
 
     @Test
@@ -92,14 +171,14 @@ public class SkillControllerTest {
 
     @Test
     void getAllSkills_persistenceDown_becomes503ProblemDetail() throws Exception {
-        when(skillService.getAllSkills()).thenThrow(new SkillPersistenceException("Failed to load skills"));
+        when(skillService.loadAllSkills()).thenThrow(new SkillPersistenceException("Failed to load skills"));
 
         mockMvc.perform(get("/api/v1/skills"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(503));
 
-        verify(skillService).getAllSkills();
+        verify(skillService).loadAllSkills();
     }
 
     @Test
@@ -8,9 +8,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.cache.RemoteCacheInvalidation;
+import org.springy.som.modulith.domain.AbilityMatrix;
 import org.springy.som.modulith.domain.skill.api.SkillDeletedEvent;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -26,11 +34,17 @@ class SkillServiceTest {
     private SkillRepository repo;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SkillMatrix skillMatrix;
+    @Mock
+    private CollectionSnapshots collectionSnapshots;
+    @Mock
+    private CacheInvalidations cacheInvalidations;
     private SkillService service;
 
     @BeforeEach
     void setUp() {
-        service = new SkillService(repo, eventPublisher);
+        service = new SkillService(repo, eventPublisher, skillMatrix, collectionSnapshots, cacheInvalidations);
     }
 
     @Test
@@ -142,6 +156,39 @@ class SkillServiceTest {
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void getSkillsAvailableTo_blankClass_becomesInvalidSkillException() {
+        assertThatThrownBy(() -> service.getSkillsAvailableTo(" ", 10))
+                .isInstanceOf(InvalidSkillException.class)
+                .hasMessage("ROM skill class name must be provided");
+
+        verifyNoInteractions(skillMatrix);
+    }
+
+    @Test
+    void getSkillsAvailableTo_ok_readsCompiledMatrix() {
+        SkillDocument document = new SkillDocument();
+        document.setId("SK1");
+        document.setName("armor");
+        document.setLevelByClass(Map.of("cleric", 1, "mage", 5));
+        document.setRatingByClass(Map.of("cleric", 1, "mage", 2));
+        when(skillMatrix.get()).thenReturn(AbilityMatrix.of(List.of(document), SkillDocument::getId, SkillDocument::getName,
+                SkillDocument::getLevelByClass, SkillDocument::getRatingByClass));
+
+        assertThat(service.getSkillsAvailableTo("Mage", 5)).containsExactly(new AbilityMatrix.Available("SK1", "armor", 5, 2));
+        assertThat(service.canUseSkill("armor", "mage", 4)).isFalse();
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void getSkillsAvailableTo_dataAccess_becomesSkillPersistenceException() {
+        when(skillMatrix.get()).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> service.getSkillsAvailableTo("mage", 10))
+                .isInstanceOf(SkillPersistenceException.class)
+                .hasMessageContaining("Failed to load Skill matrix");
+    }
+
     @Test
     void createSkill_null_becomesInvalidSkillException() {
         assertThatThrownBy(() -> service.createSkill(null))
@@ -172,9 +219,24 @@ class SkillServiceTest {
         assertThat(service.createSkill(skillDocument)).isSameAs(skillDocument);
 
         verify(repo).save(skillDocument);
+        verify(skillMatrix).invalidate();
+        verify(collectionSnapshots).touch(SkillService.COLLECTION);
+        verify(cacheInvalidations).publish(SkillService.COLLECTION, "SK1");
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void onRemoteCacheInvalidation_dropsMatrixAndSnapshotForSkillsOnly() {
+        service.onRemoteCacheInvalidation(new RemoteCacheInvalidation("spells", "SP1"));
+        verifyNoInteractions(skillMatrix, collectionSnapshots);
+
+        service.onRemoteCacheInvalidation(new RemoteCacheInvalidation(SkillService.COLLECTION, "SK1"));
+
+        verify(skillMatrix).invalidate();
+        verify(collectionSnapshots).touch(SkillService.COLLECTION);
+        verifyNoInteractions(repo, cacheInvalidations);
+    }
+
     @Test
     void createSkill_dataAccess_becomesSkillPersistenceException() {
         SkillDocument skillDocument = mock(SkillDocument.class);
@@ -190,46 +252,51 @@ class SkillServiceTest {
     }
 
     @Test
-    void saveSkillForId_blankId_becomesNullPointerException() {
-        SkillDocument skillDocument = mock(SkillDocument.class);
-        when(repo.findSkillById(" ")).thenReturn(null);
+    void saveSkillForId_blankId_throwsInvalidSkillException() {
+        assertThatThrownBy(() -> service.saveSkillForId(" ", new SkillDocument()))
+                .isInstanceOf(InvalidSkillException.class);
 
-        assertThatThrownBy(() -> service.saveSkillForId(" ", skillDocument))
-                .isInstanceOf(NullPointerException.class);
-
-        verify(repo).findSkillById(" ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveSkillForId_nullSkill_becomesNullPointerException() {
-        when(repo.findSkillById("SK1")).thenReturn(null);
-
+    void saveSkillForId_nullSkill_throwsInvalidSkillException() {
         assertThatThrownBy(() -> service.saveSkillForId("SK1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidSkillException.class);
 
-        verify(repo).findSkillById("SK1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveSkillForId_ok_savesByLookup() {
-        SkillDocument input = mock(SkillDocument.class);
-        SkillDocument existing = mock(SkillDocument.class);
-
-        when(existing.getId()).thenReturn("SK1");
-        when(repo.findSkillById("SK1")).thenReturn(existing);
+    void saveSkillForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        SkillDocument input = new SkillDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
         assertThat(service.saveSkillForId("SK1", input)).isSameAs(input);
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findSkillById("SK1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("SK1");
+        verify(repo).save(input);
+        verify(skillMatrix).invalidate();
+        verify(collectionSnapshots).touch(SkillService.COLLECTION);
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void saveSkillForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        SkillDocument input = new SkillDocument();
+        input.setVersion(3L);
+        SkillDocument current = new SkillDocument();
+        current.setId("SK1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("SK1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.saveSkillForId("SK1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deleteSkillById_blankId_becomesInvalidSkillException() {
         assertThatThrownBy(() -> service.deleteSkillById(""))
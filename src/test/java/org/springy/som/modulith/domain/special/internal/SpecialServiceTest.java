@@ -3,12 +3,15 @@ package org.springy.som.modulith.domain.special.internal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.exception.VersionConflictException;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -21,11 +24,13 @@ class SpecialServiceTest {
 
     @Mock
     private SpecialRepository repo;
+    @Mock
+    private CacheInvalidations cacheInvalidations;
     private SpecialService service;
 
     @BeforeEach
     void setUp() {
-        service = new SpecialService(repo);
+        service = new SpecialService(repo, cacheInvalidations);
     }
 
     @Test
@@ -123,46 +128,49 @@ class SpecialServiceTest {
     }
 
     @Test
-    void saveSpecialForId_blankId_becomesNullPointerException() {
-        SpecialDocument specialDocument = mock(SpecialDocument.class);
-        when(repo.findSpecialById(" ")).thenReturn(null);
+    void saveSpecialForId_blankId_throwsInvalidSpecialException() {
+        assertThatThrownBy(() -> service.saveSpecialForId(" ", new SpecialDocument()))
+                .isInstanceOf(InvalidSpecialException.class);
 
-        assertThatThrownBy(() -> service.saveSpecialForId(" ", specialDocument))
-                .isInstanceOf(NullPointerException.class);
-
-        verify(repo).findSpecialById(" ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveSpecialForId_nullSpecial_becomesNullPointerException() {
-        when(repo.findSpecialById("S1")).thenReturn(null);
-
+    void saveSpecialForId_nullSpecial_throwsInvalidSpecialException() {
         assertThatThrownBy(() -> service.saveSpecialForId("S1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidSpecialException.class);
 
-        verify(repo).findSpecialById("S1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveSpecialForId_ok_savesByLookup() {
-        SpecialDocument input = mock(SpecialDocument.class);
-        SpecialDocument existing = mock(SpecialDocument.class);
-
-        when(existing.getId()).thenReturn("S1");
-        when(repo.findSpecialById("S1")).thenReturn(existing);
+    void saveSpecialForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        SpecialDocument input = new SpecialDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
         assertThat(service.saveSpecialForId("S1", input)).isSameAs(input);
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findSpecialById("S1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("S1");
+        verify(repo).save(input);
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void saveSpecialForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        SpecialDocument input = new SpecialDocument();
+        input.setVersion(3L);
+        SpecialDocument current = new SpecialDocument();
+        current.setId("S1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("S1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.saveSpecialForId("S1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deleteSpecialById_blankId_becomesInvalidSpecialException() {
         assertThatThrownBy(() -> service.deleteSpecialById(""))
@@ -184,7 +192,7 @@ class SpecialServiceTest {
     }
 
     @Test
-    void deleteSpecialById_ok_deletes() {
+    void deleteSpecialById_ok_deletesAndPublishesInvalidation() {
         when(repo.existsById("S1")).thenReturn(true);
 
         service.deleteSpecialById("S1");
@@ -192,6 +200,7 @@ class SpecialServiceTest {
         verify(repo).existsById("S1");
         verify(repo).deleteById("S1");
         verifyNoMoreInteractions(repo);
+        verify(cacheInvalidations).publish(SpecialService.COLLECTION, "S1");
     }
 
     @Test
@@ -1,6 +1,7 @@
 package org.springy.som.modulith.domain.spell.internal.internal;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springy.som.modulith.domain.AbilityMatrix;
 import org.springy.som.modulith.domain.spell.internal.InvalidSpellException;
 import org.springy.som.modulith.domain.spell.internal.SpellApiExceptionHandler;
 import org.springy.som.modulith.domain.spell.internal.SpellController;
@@ -18,6 +20,7 @@ import org.springy.som.modulith.domain.spell.internal.SpellNotFoundException;
 import org.springy.som.modulith.domain.spell.internal.SpellPersistenceException;
 import org.springy.som.modulith.domain.spell.internal.SpellRepository;
 import org.springy.som.modulith.domain.spell.internal.SpellService;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import java.util.List;
 
@@ -38,7 +41,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(SpellController.class)
-@Import(SpellApiExceptionHandler.class)
+@Import({SpellApiExceptionHandler.class, CollectionSnapshots.class})
 @WithMockUser
 public class SpellControllerTest {
     @Autowired
@@ -47,6 +50,9 @@ public class SpellControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    CollectionSnapshots collectionSnapshots;
+
     @MockitoBean
     SpellService spellService;
 
@@ -56,15 +62,33 @@ public class SpellControllerTest {
     @Mock
     SpellDocument spellDocument;
 
+    @BeforeEach
+    void resetSnapshots() {
+        collectionSnapshots.touch("spells");
+    }
+
     @Test
     void getAllSpells_ok() throws Exception {
-        when(spellService.getAllSpells()).thenReturn(List.of());
+        when(spellService.loadAllSpells()).thenReturn(List.of());
 
         mockMvc.perform(get("/api/v1/spells"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
 
-        verify(spellService).getAllSpells();
+        verify(spellService).loadAllSpells();
+    }
+
+    @Test
+    void getSpellsAvailableTo_ok_returnsEligibleSpells() throws Exception {
+        when(spellService.getSpellsAvailableTo("mage", 10))
+                .thenReturn(List.of(new AbilityMatrix.Available("SK1", "armor", 5, 2)));
+
+        mockMvc.perform(get("/api/v1/spells/available").param("class", "mage").param("level", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("armor"))
+                .andExpect(jsonPath("$[0].level").value(5));
+
+        verify(spellService).getSpellsAvailableTo("mage", 10);
     }
 
     @Test
@@ -99,14 +123,14 @@ public class SpellControllerTest {
 
     @Test
     void getAllSpells_persistenceDown_becomes503ProblemDetail() throws Exception {
-        when(spellService.getAllSpells()).thenThrow(new SpellPersistenceException("Failed to load spells"));
+        when(spellService.loadAllSpells()).thenThrow(new SpellPersistenceException("Failed to load spells"));
 
         mockMvc.perform(get("/api/v1/spells"))
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(503));
 
-        verify(spellService).getAllSpells();
+        verify(spellService).loadAllSpells();
     }
 
     @Test
@@ -8,15 +8,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springy.som.modulith.cache.CacheInvalidations;
+import org.springy.som.modulith.domain.AbilityMatrix;
 import org.springy.som.modulith.domain.spell.api.SpellDeletedEvent;
 import org.springy.som.modulith.domain.spell.internal.InvalidSpellException;
 import org.springy.som.modulith.domain.spell.internal.SpellDocument;
+import org.springy.som.modulith.domain.spell.internal.SpellMatrix;
 import org.springy.som.modulith.domain.spell.internal.SpellNotFoundException;
 import org.springy.som.modulith.domain.spell.internal.SpellPersistenceException;
 import org.springy.som.modulith.domain.spell.internal.SpellRepository;
 import org.springy.som.modulith.domain.spell.internal.SpellService;
+import org.springy.som.modulith.exception.VersionConflictException;
+import org.springy.som.modulith.web.CollectionSnapshots;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -40,11 +48,17 @@ class SpellServiceTest {
     private SpellRepository repo;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SpellMatrix spellMatrix;
+    @Mock
+    private CollectionSnapshots collectionSnapshots;
+    @Mock
+    private CacheInvalidations cacheInvalidations;
     private SpellService service;
 
     @BeforeEach
     void setUp() {
-        service = new SpellService(repo, eventPublisher);
+        service = new SpellService(repo, eventPublisher, spellMatrix, collectionSnapshots, cacheInvalidations);
     }
 
     @Test
@@ -156,6 +170,39 @@ class SpellServiceTest {
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void getSpellsAvailableTo_blankClass_becomesInvalidSpellException() {
+        assertThatThrownBy(() -> service.getSpellsAvailableTo(" ", 10))
+                .isInstanceOf(InvalidSpellException.class)
+                .hasMessage("ROM spell class name must be provided");
+
+        verifyNoInteractions(spellMatrix);
+    }
+
+    @Test
+    void getSpellsAvailableTo_ok_readsCompiledMatrix() {
+        SpellDocument document = new SpellDocument();
+        document.setId("SK1");
+        document.setName("armor");
+        document.setLevelByClass(Map.of("cleric", 1, "mage", 5));
+        document.setRatingByClass(Map.of("cleric", 1, "mage", 2));
+        when(spellMatrix.get()).thenReturn(AbilityMatrix.of(List.of(document), SpellDocument::getId, SpellDocument::getName,
+                SpellDocument::getLevelByClass, SpellDocument::getRatingByClass));
+
+        assertThat(service.getSpellsAvailableTo("Mage", 5)).containsExactly(new AbilityMatrix.Available("SK1", "armor", 5, 2));
+        assertThat(service.canUseSpell("armor", "mage", 4)).isFalse();
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void getSpellsAvailableTo_dataAccess_becomesSpellPersistenceException() {
+        when(spellMatrix.get()).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThatThrownBy(() -> service.getSpellsAvailableTo("mage", 10))
+                .isInstanceOf(SpellPersistenceException.class)
+                .hasMessageContaining("Failed to load Spell matrix");
+    }
+
     @Test
     void createSpell_null_becomesInvalidSpellException() {
         assertThatThrownBy(() -> service.createSpell(null))
@@ -186,6 +233,7 @@ class SpellServiceTest {
         assertThat(service.createSpell(spellDocument)).isSameAs(spellDocument);
 
         verify(repo).save(spellDocument);
+        verify(spellMatrix).invalidate();
         verifyNoMoreInteractions(repo);
     }
 
@@ -204,46 +252,50 @@ class SpellServiceTest {
     }
 
     @Test
-    void saveSpellForId_blankId_becomesNullPointerException() {
-        SpellDocument spellDocument = mock(SpellDocument.class);
-        when(repo.findSpellById(" ")).thenReturn(null);
-
-        assertThatThrownBy(() -> service.saveSpellForId(" ", spellDocument))
-                .isInstanceOf(NullPointerException.class);
+    void saveSpellForId_blankId_throwsInvalidSpellException() {
+        assertThatThrownBy(() -> service.saveSpellForId(" ", new SpellDocument()))
+                .isInstanceOf(InvalidSpellException.class);
 
-        verify(repo).findSpellById(" ");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveSpellForId_nullSpell_becomesNullPointerException() {
-        when(repo.findSpellById("SK1")).thenReturn(null);
-
+    void saveSpellForId_nullSpell_throwsInvalidSpellException() {
         assertThatThrownBy(() -> service.saveSpellForId("SK1", null))
-                .isInstanceOf(NullPointerException.class);
+                .isInstanceOf(InvalidSpellException.class);
 
-        verify(repo).findSpellById("SK1");
-        verifyNoMoreInteractions(repo);
+        verifyNoInteractions(repo);
     }
 
     @Test
-    void saveSpellForId_ok_savesByLookup() {
-        SpellDocument input = mock(SpellDocument.class);
-        SpellDocument existing = mock(SpellDocument.class);
-
-        when(existing.getId()).thenReturn("SK1");
-        when(repo.findSpellById("SK1")).thenReturn(existing);
+    void saveSpellForId_ok_savesUnderPathIdWithoutReadingFirst() {
+        SpellDocument input = new SpellDocument();
+        input.setVersion(3L);
         when(repo.save(input)).thenReturn(input);
 
         assertThat(service.saveSpellForId("SK1", input)).isSameAs(input);
 
-        InOrder inOrder = inOrder(repo);
-        inOrder.verify(repo).findSpellById("SK1");
-        verify(existing, times(2)).getId();
-        inOrder.verify(repo).save(input);
+        assertThat(input.getId()).isEqualTo("SK1");
+        verify(repo).save(input);
+        verify(spellMatrix).invalidate();
         verifyNoMoreInteractions(repo);
     }
 
+    @Test
+    void saveSpellForId_staleVersion_throwsVersionConflictWithCurrentVersion() {
+        SpellDocument input = new SpellDocument();
+        input.setVersion(3L);
+        SpellDocument current = new SpellDocument();
+        current.setId("SK1");
+        current.setVersion(5L);
+        when(repo.save(input)).thenThrow(new OptimisticLockingFailureException("stale"));
+        when(repo.findById("SK1")).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.saveSpellForId("SK1", input))
+                .isInstanceOf(VersionConflictException.class)
+                .hasFieldOrPropertyWithValue("currentVersion", 5L);
+    }
+
     @Test
     void deleteSpellById_blankId_becomesInvalidSpellException() {
         assertThatThrownBy(() -> service.deleteSpellById(""))
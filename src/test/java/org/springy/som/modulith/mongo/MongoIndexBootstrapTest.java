@@ -0,0 +1,48 @@
+package org.springy.som.modulith.mongo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoIndexBootstrapTest {
+    private final MongoIndexProvisioner provisioner = mock(MongoIndexProvisioner.class);
+    private final QueryPlanVerifier verifier = mock(QueryPlanVerifier.class);
+    private final MongoVersionBackfill versionBackfill = mock(MongoVersionBackfill.class);
+
+    @Test
+    void warn_verifierBlowsUp_startupContinues() {
+        when(verifier.verify()).thenThrow(new IllegalArgumentException("No property 'distinctAreaIds' found"));
+
+        assertThatCode(() -> bootstrap("warn").afterSingletonsInstantiated()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void warn_violations_areOnlyLogged() {
+        when(verifier.verify()).thenReturn(List.of(unverifiable()));
+
+        assertThatCode(() -> bootstrap("warn").afterSingletonsInstantiated()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void fail_violations_failStartup() {
+        when(verifier.verify()).thenReturn(List.of(unverifiable()));
+
+        assertThatThrownBy(() -> bootstrap("fail").afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ResetRepository.findDistinctAreaIds could not be explained");
+    }
+
+    private MongoIndexBootstrap bootstrap(String verification) {
+        return new MongoIndexBootstrap(provisioner, verifier, versionBackfill, false, false, verification);
+    }
+
+    private static QueryPlanViolation unverifiable() {
+        return QueryPlanViolation.unverifiable("ResetRepository", "findDistinctAreaIds", "Resets",
+                new IllegalArgumentException("No property 'distinctAreaIds' found"));
+    }
+}
@@ -0,0 +1,78 @@
+package org.springy.som.modulith.mongo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoIndexProvisionerTest {
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final IndexOperations indexOps = mock(IndexOperations.class);
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+
+    @BeforeEach
+    void setUp() {
+        mappingContext.setInitialEntitySet(Set.of(Sample.class));
+        mappingContext.afterPropertiesSet();
+        when(mongoTemplate.collectionExists("Samples")).thenReturn(true);
+        when(mongoTemplate.indexOps("Samples")).thenReturn(indexOps);
+    }
+
+    @Test
+    void provision_uniqueIndexFails_failsStartup() {
+        when(indexOps.ensureIndex(any())).thenAnswer(inv -> {
+            IndexDefinition definition = inv.getArgument(0);
+            if (definition.getIndexOptions().getBoolean("unique", false)) {
+                throw new DuplicateKeyException("E11000 duplicate key error collection: SOMDB.Samples");
+            }
+            return "ok";
+        });
+
+        assertThatThrownBy(() -> provisioner().provision())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Samples")
+                .hasMessageContaining("vnum");
+    }
+
+    @Test
+    void provision_plainIndexFails_isOnlyLogged() {
+        when(indexOps.ensureIndex(any())).thenAnswer(inv -> {
+            IndexDefinition definition = inv.getArgument(0);
+            if (!definition.getIndexOptions().getBoolean("unique", false)) {
+                throw new DataIntegrityViolationException("index options conflict");
+            }
+            return "ok";
+        });
+
+        assertThat(provisioner().provision()).isEqualTo(1);
+    }
+
+    private MongoIndexProvisioner provisioner() {
+        return new MongoIndexProvisioner(mongoTemplate, mappingContext);
+    }
+
+    @Document("Samples")
+    static class Sample {
+        @Id
+        String id;
+        @Indexed(unique = true)
+        String vnum;
+        @Indexed
+        String areaId;
+    }
+}
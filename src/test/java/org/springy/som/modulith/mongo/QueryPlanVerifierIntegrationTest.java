@@ -0,0 +1,68 @@
+package org.springy.som.modulith.mongo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataMongoTest
+@Import({MongoIndexProvisioner.class, QueryPlanVerifier.class, MongoVersionBackfill.class, MongoIndexBootstrap.class})
+class QueryPlanVerifierIntegrationTest {
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mongodb.embedded.version", () -> "4.0.2");
+        registry.add("spring.mongodb.embedded.port", () -> 0);
+        registry.add("spring.data.mongodb.database", () -> "som-test");
+        registry.add("som.mongo.query-plan.verification", () -> "fail");
+    }
+
+    @Autowired
+    private MongoIndexProvisioner provisioner;
+    @Autowired
+    private QueryPlanVerifier verifier;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void startup_provisionsDeclaredIndexes() {
+        assertThat(indexNames("Rooms")).contains("areaId_vnum", "areaId_id", "areaId_name", "vnum");
+        assertThat(indexNames("Items")).contains("areaId_vnum", "vnum", "name");
+        assertThat(indexNames("Characters")).contains("accountId_id", "name");
+        assertThat(indexNames("Helps")).contains("keyword");
+        assertThat(indexNames("Notes")).contains("type_id");
+    }
+
+    @Test
+    void verify_everyRepositoryQueryIsIndexed() {
+        assertThat(verifier.verify()).isEmpty();
+    }
+
+    @Test
+    void verify_missingIndex_reportsCollectionScan() {
+        mongoTemplate.indexOps("Helps").dropIndex("keyword");
+        try {
+            List<QueryPlanViolation> violations = verifier.verify();
+
+            assertThat(violations)
+                    .extracting(QueryPlanViolation::repository, QueryPlanViolation::method)
+                    .containsExactly(tuple("HelpRepository", "findHelpByKeyword"));
+        } finally {
+            provisioner.provision();
+        }
+        assertThat(verifier.verify()).isEmpty();
+    }
+
+    private List<String> indexNames(String collection) {
+        return mongoTemplate.indexOps(collection).getIndexInfo().stream().map(IndexInfo::getName).toList();
+    }
+}
@@ -0,0 +1,226 @@
+package org.springy.som.modulith.mongo;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.projection.EntityProjection;
+import org.springy.som.modulith.domain.game.api.GameDataMapper;
+import org.springy.som.modulith.domain.game.api.GameDataView;
+import org.springy.som.modulith.domain.game.internal.GameDataDocument;
+import org.springy.som.modulith.domain.item.api.ItemMapper;
+import org.springy.som.modulith.domain.item.api.ItemView;
+import org.springy.som.modulith.domain.item.internal.ItemDocument;
+import org.springy.som.modulith.domain.mobile.api.MobileMapper;
+import org.springy.som.modulith.domain.mobile.api.MobileView;
+import org.springy.som.modulith.domain.mobile.internal.MobileDocument;
+import org.springy.som.modulith.domain.room.api.RoomMapper;
+import org.springy.som.modulith.domain.room.api.RoomView;
+import org.springy.som.modulith.domain.room.internal.RoomDocument;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-document read cost of the old path (BSON to *Document, then the static mapper) against
+ * the repository DTO projection that reads the BSON straight into the *View record.
+ * Run with {@code main} from the test classpath; surefire does not pick it up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ViewProjectionBenchmark {
+    private MappingMongoConverter converter;
+
+    private Document item;
+    private Document mobile;
+    private Document room;
+    private Document gameData;
+
+    private EntityProjection<ItemView, ItemDocument> itemProjection;
+    private EntityProjection<MobileView, MobileDocument> mobileProjection;
+    private EntityProjection<RoomView, RoomDocument> roomProjection;
+    private EntityProjection<GameDataView, GameDataDocument> gameDataProjection;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ViewProjectionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        item = write(itemDocument());
+        mobile = write(mobileDocument());
+        room = write(roomDocument());
+        gameData = write(gameDataDocument());
+
+        itemProjection = converter.getProjectionIntrospector().introspect(ItemView.class, ItemDocument.class);
+        mobileProjection = converter.getProjectionIntrospector().introspect(MobileView.class, MobileDocument.class);
+        roomProjection = converter.getProjectionIntrospector().introspect(RoomView.class, RoomDocument.class);
+        gameDataProjection = converter.getProjectionIntrospector().introspect(GameDataView.class, GameDataDocument.class);
+    }
+
+    @Benchmark
+    public ItemView item_documentThenMapper() {
+        return ItemMapper.toView(converter.read(ItemDocument.class, item));
+    }
+
+    @Benchmark
+    public ItemView item_projection() {
+        return converter.project(itemProjection, item);
+    }
+
+    @Benchmark
+    public MobileView mobile_documentThenMapper() {
+        return MobileMapper.toView(converter.read(MobileDocument.class, mobile));
+    }
+
+    @Benchmark
+    public MobileView mobile_projection() {
+        return converter.project(mobileProjection, mobile);
+    }
+
+    @Benchmark
+    public RoomView room_documentThenMapper() {
+        return RoomMapper.toView(converter.read(RoomDocument.class, room));
+    }
+
+    @Benchmark
+    public RoomView room_projection() {
+        return converter.project(roomProjection, room);
+    }
+
+    @Benchmark
+    public GameDataView gameData_documentThenMapper() {
+        return GameDataMapper.toView(converter.read(GameDataDocument.class, gameData));
+    }
+
+    @Benchmark
+    public GameDataView gameData_projection() {
+        return converter.project(gameDataProjection, gameData);
+    }
+
+    private Document write(Object source) {
+        Document target = new Document();
+        converter.write(source, target);
+        return target;
+    }
+
+    private static ItemDocument itemDocument() {
+        ItemDocument doc = new ItemDocument();
+        doc.setId("item-3001");
+        doc.setAreaId("midgaard");
+        doc.setVnum("3001");
+        doc.setName("barrel beer");
+        doc.setShortDescription("a barrel of beer");
+        doc.setLongDescription("A beer barrel has been left here.");
+        doc.setMaterial("wood");
+        doc.setItemType("drink");
+        doc.setExtraFlags("0");
+        doc.setWearFlags("A");
+        doc.setValue0("300");
+        doc.setValue1("300");
+        doc.setValue2("beer");
+        doc.setValue3("0");
+        doc.setValue4("0");
+        doc.setLevel(1);
+        doc.setWeight(160);
+        doc.setCost(60);
+        doc.setCondition("P");
+        doc.setAffectData(List.of("hitroll 1", "damroll 1"));
+        doc.setExtraDescr(List.of("barrel", "It is a large wooden barrel."));
+        return doc;
+    }
+
+    private static MobileDocument mobileDocument() {
+        MobileDocument doc = new MobileDocument();
+        doc.setId("mobile-3000");
+        doc.setAreaId("midgaard");
+        doc.setVnum("3000");
+        doc.setName("wizard");
+        doc.setShortDescription("the wizard");
+        doc.setLongDescription("A wizard walks around behind the counter, talking to himself.");
+        doc.setDescription("The wizard looks old and senile.");
+        doc.setRace("human");
+        doc.setAlignment("900");
+        doc.setGroup("0");
+        doc.setDamType("magic");
+        doc.setHitDice("10d10+100");
+        doc.setManaDice("10d10+100");
+        doc.setDamageDice("2d8+5");
+        doc.setArmorClass("-5 -5 -5 -5");
+        doc.setStartPos("stand");
+        doc.setDefaultPos("stand");
+        doc.setSex("male");
+        doc.setSize("medium");
+        doc.setMaterial("flesh");
+        doc.setFlags("ABV");
+        doc.setStatusFlags(Map.of("sentinel", true, "train", false));
+        doc.setLevel(23);
+        doc.setHitroll(8);
+        doc.setGold(500);
+        doc.setSilver(25);
+        return doc;
+    }
+
+    private static RoomDocument roomDocument() {
+        RoomDocument doc = new RoomDocument();
+        doc.setId("room-3001");
+        doc.setAreaId("midgaard");
+        doc.setVnum("3001");
+        doc.setName("The Temple Of Mota");
+        doc.setDescription("You are in the southern end of the temple hall in the Temple of Mota.");
+        doc.setExtraDescription("A massive statue of Mota dominates the hall.");
+        doc.setRoomFlags(8);
+        doc.setSectorType(0);
+        doc.setExits(List.of("north 3054", "south 3005", "down 3004"));
+        doc.setMobiles(Map.of("3000", "wizard", "3005", "cityguard"));
+        return doc;
+    }
+
+    private static GameDataDocument gameDataDocument() {
+        return new GameDataDocument(
+                "rom-2.4",
+                "ruleset",
+                "active",
+                new GameDataDocument.Version("rom", List.of("merc", "diku"), "2.4.0", Instant.parse("2026-01-01T00:00:00Z"), null),
+                Map.of("position", Map.of("dead", 0, "standing", 8)),
+                Map.of("str", Map.of("tohit", 0, "todam", 1)),
+                Map.of("mage", Map.of("prime", "int", "thac0_00", 20)),
+                Map.of("human", Map.of("pc", true)),
+                Map.of("human", Map.of("points", 0)),
+                Map.of("on", Map.of("flag", "WIZ_ON")),
+                Map.of("rom basics", Map.of("rating", 0)),
+                Map.of("mage", Map.of("1", "Apprentice of Magic")),
+                Map.of("light", Map.of("type", 1)),
+                Map.of("sword", Map.of("vnum", 3022)),
+                Map.of("slash", Map.of("noun", "slash")),
+                Map.of("water", Map.of("color", "clear")),
+                new GameDataDocument.Integrity("sha256:0", new GameDataDocument.Build("area-import", "1.0", Map.of()))
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package org.springy.som.modulith.warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheWarmupRunnerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void warmUp_loadsAllCollectionsConcurrentlyAndReportsSizes() {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        CacheWarmup commands = () -> List.of(new WarmupTask("Commands", () -> awaitOthers(allStarted, 12)));
+        CacheWarmup reference = () -> List.of(
+                new WarmupTask("RomRaces", () -> awaitOthers(allStarted, 5)),
+                new WarmupTask("RomClasses", () -> awaitOthers(allStarted, 4)));
+
+        List<WarmupResult> results = runner(List.of(commands, reference), 3, 5).warmUp();
+
+        assertThat(results).extracting(WarmupResult::collection).containsExactly("Commands", "RomRaces", "RomClasses");
+        assertThat(results).extracting(WarmupResult::status).containsOnly(WarmupResult.Status.LOADED);
+        assertThat(results).extracting(WarmupResult::size).containsExactly(12, 5, 4);
+        assertThat(meterRegistry.get("som.warmup.size").tag("collection", "Commands").gauge().value()).isEqualTo(12);
+        assertThat(meterRegistry.get("som.warmup.load").tag("collection", "RomClasses").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void warmUp_failedCollection_doesNotStopTheOthers() {
+        CacheWarmup helps = () -> List.of(new WarmupTask("Helps", () -> {
+            throw new DataAccessResourceFailureException("db down");
+        }));
+        CacheWarmup socials = () -> List.of(new WarmupTask("Socials", () -> 40));
+
+        List<WarmupResult> results = runner(List.of(helps, socials), 2, 5).warmUp();
+
+        assertThat(results).extracting(WarmupResult::status)
+                .containsExactly(WarmupResult.Status.FAILED, WarmupResult.Status.LOADED);
+    }
+
+    @Test
+    void warmUp_slowCollection_isCutOffAtTheTimeout() {
+        CountDownLatch never = new CountDownLatch(2);
+        CacheWarmup gameData = () -> List.of(new WarmupTask("GameData", () -> awaitOthers(never, 1)));
+
+        List<WarmupResult> results = runner(List.of(gameData), 1, 1).warmUp();
+
+        assertThat(results).extracting(WarmupResult::status).containsExactly(WarmupResult.Status.TIMED_OUT);
+    }
+
+    @Test
+    void run_disabled_loadsNothing() throws Exception {
+        CacheWarmup spells = () -> {
+            throw new AssertionError("warm-up is disabled");
+        };
+
+        new CacheWarmupRunner(List.of(spells), meterRegistry, false, 4, 5).run(null);
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    private CacheWarmupRunner runner(List<CacheWarmup> warmups, int parallelism, long timeoutSeconds) {
+        return new CacheWarmupRunner(warmups, meterRegistry, true, parallelism, timeoutSeconds);
+    }
+
+    private static int awaitOthers(CountDownLatch latch, int size) {
+        latch.countDown();
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("collections were not loaded concurrently");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+        return size;
+    }
+}
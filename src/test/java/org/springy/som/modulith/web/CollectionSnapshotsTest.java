@@ -0,0 +1,158 @@
+package org.springy.som.modulith.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springy.som.modulith.warmup.WarmupTask;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CollectionSnapshotsTest {
+    private final CollectionSnapshots snapshots = new CollectionSnapshots(new ObjectMapper());
+
+    @Test
+    void snapshot_unchangedCollection_isBuiltOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        CollectionSnapshots.Snapshot first = snapshots.snapshot("skills", () -> {
+            loads.incrementAndGet();
+            return List.of("bash");
+        });
+        CollectionSnapshots.Snapshot second = snapshots.snapshot("skills", () -> {
+            loads.incrementAndGet();
+            return List.of("bash");
+        });
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(new String(first.body(), StandardCharsets.UTF_8)).isEqualTo("[\"bash\"]");
+        assertThat(first.etag()).startsWith("\"sha256:").endsWith("\"");
+    }
+
+    @Test
+    void snapshot_concurrentColdCallers_shareOneBuild() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<List<?>> slowSource = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of("bash");
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CollectionSnapshots.Snapshot>> callers = new ArrayList<>();
+            callers.add(pool.submit(() -> snapshots.snapshot("skills", slowSource)));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                callers.add(pool.submit(() -> snapshots.snapshot("skills", slowSource)));
+            }
+            release.countDown();
+
+            CollectionSnapshots.Snapshot first = callers.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<CollectionSnapshots.Snapshot> caller : callers) {
+                assertThat(caller.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void touch_rebuildsAndEtagFollowsContent() {
+        List<String> skills = new ArrayList<>(List.of("bash"));
+        String before = snapshots.snapshot("skills", () -> List.copyOf(skills)).etag();
+
+        snapshots.touch("skills");
+        String unchanged = snapshots.snapshot("skills", () -> List.copyOf(skills)).etag();
+        skills.add("kick");
+        snapshots.touch("skills");
+        String changed = snapshots.snapshot("skills", () -> List.copyOf(skills)).etag();
+
+        assertThat(unchanged).isEqualTo(before);
+        assertThat(changed).isNotEqualTo(before);
+    }
+
+    @Test
+    void snapshot_writeDuringLoad_isNotReusedForTheNewVersion() {
+        AtomicInteger loads = new AtomicInteger();
+
+        snapshots.snapshot("spells", () -> {
+            loads.incrementAndGet();
+            snapshots.touch("spells");
+            return List.of("armor");
+        });
+        snapshots.snapshot("spells", () -> {
+            loads.incrementAndGet();
+            return List.of("armor", "bless");
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void respond_failedSource_isNotCachedAndNextRequestRebuilds() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<Integer>> source = () -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException("db down");
+            }
+            return List.of(1);
+        };
+
+        assertThatThrownBy(() -> snapshots.respond("helps", source, n -> "H" + n))
+                .isInstanceOf(IllegalStateException.class);
+        ResponseEntity<byte[]> response = snapshots.respond("helps", source, n -> "H" + n);
+
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("[\"H1\"]");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void warmupTask_buildsTheSnapshotRespondServes() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<Integer>> source = () -> {
+            loads.incrementAndGet();
+            return List.of(1, 2);
+        };
+
+        WarmupTask task = snapshots.warmupTask("races", source, n -> "R" + n);
+        int entries = task.run();
+        ResponseEntity<byte[]> response = snapshots.respond("races", source, n -> "R" + n);
+
+        assertThat(task.collection()).isEqualTo("races snapshot");
+        assertThat(entries).isEqualTo(2);
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("[\"R1\",\"R2\"]");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void respond_mapsDocumentsAndSetsEtag() {
+        ResponseEntity<byte[]> response = snapshots.respond("helps", () -> List.of(1, 2), n -> "H" + n);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getETag()).startsWith("\"sha256:");
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("[\"H1\",\"H2\"]");
+    }
+}
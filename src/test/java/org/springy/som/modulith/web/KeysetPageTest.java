@@ -0,0 +1,52 @@
+package org.springy.som.modulith.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPageTest {
+
+    @Test
+    void fetchLimit_requestsOneExtraRow() {
+        assertThat(KeysetPage.fetchLimit(50).max()).isEqualTo(51);
+    }
+
+    @Test
+    void fetchLimit_outOfRange_throws() {
+        assertThatThrownBy(() -> KeysetPage.fetchLimit(0)).isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> KeysetPage.fetchLimit(KeysetPage.MAX_SIZE + 1))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void of_extraRowPresent_trimsAndIssuesToken() {
+        KeysetPage<String> page = KeysetPage.of(List.of("a", "b", "c"), 2, Function.identity());
+
+        assertThat(page.items()).containsExactly("a", "b");
+        assertThat(KeysetPage.decode(page.next())).isEqualTo("b");
+    }
+
+    @Test
+    void of_lastPage_hasNoToken() {
+        KeysetPage<String> page = KeysetPage.of(List.of("a", "b"), 2, Function.identity());
+
+        assertThat(page.items()).containsExactly("a", "b");
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    void decode_blank_isFirstPage() {
+        assertThat(KeysetPage.decode(null)).isNull();
+        assertThat(KeysetPage.decode(" ")).isNull();
+    }
+
+    @Test
+    void decode_garbage_throws() {
+        assertThatThrownBy(() -> KeysetPage.decode("!!!")).isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> KeysetPage.decode("Zm9v")).isInstanceOf(InvalidPageRequestException.class);
+    }
+}
@@ -0,0 +1,72 @@
+package org.springy.som.modulith.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonStreamsTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void respond_setsNdjsonContentTypeAndClosesCursor() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ResponseEntity<StreamingResponseBody> response = NdjsonStreams.respond(
+                () -> Stream.of("a", "b", "c").onClose(() -> closed.set(true)),
+                Function.identity(),
+                objectMapper);
+        assertThat(closed).isFalse();
+        response.getBody().writeTo(out);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("\"a\"\n\"b\"\n\"c\"\n");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void respond_clientDisconnects_stopsReadingAndClosesCursor() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicInteger read = new AtomicInteger();
+
+        NdjsonStreams.respond(
+                        () -> IntStream.range(0, 1_000_000).boxed().peek(i -> read.incrementAndGet()).onClose(() -> closed.set(true)),
+                        Function.identity(),
+                        objectMapper)
+                .getBody()
+                .writeTo(new DisconnectingOutputStream(1_000));
+
+        assertThat(read.get()).isLessThan(1_000);
+        assertThat(closed).isTrue();
+    }
+
+    private static final class DisconnectingOutputStream extends OutputStream {
+        private final int limit;
+        private int bytes;
+
+        private DisconnectingOutputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (++bytes > limit) {
+                throw new IOException("Broken pipe");
+            }
+        }
+    }
+}